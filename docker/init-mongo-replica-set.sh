@@ -0,0 +1,41 @@
+#!/bin/bash
+
+# Initialize a three-member MongoDB replica set for secondary-read testing
+echo "Initializing MongoDB replica set..."
+
+# Wait for every member to be ready
+for member in mongo1:27017 mongo2:27018 mongo3:27019; do
+    until mongosh --host "$member" --eval "print('ready')" > /dev/null 2>&1; do
+        echo "Waiting for $member to be ready..."
+        sleep 2
+    done
+done
+
+# Initialize replica set, mongo1 is preferred as primary
+mongosh --host mongo1:27017 --eval "
+try {
+    rs.status();
+    print('Replica set already initialized');
+} catch (e) {
+    rs.initiate({
+        _id: 'rs0',
+        members: [
+            { _id: 0, host: 'mongo1:27017', priority: 2 },
+            { _id: 1, host: 'mongo2:27018', priority: 1 },
+            { _id: 2, host: 'mongo3:27019', priority: 1 }
+        ]
+    });
+}
+"
+
+# Wait for a primary to be elected
+echo "Waiting for primary election..."
+mongosh --host mongo1:27017 --eval "
+while (!db.hello().isWritablePrimary) {
+    print('Waiting for primary...');
+    sleep(1000);
+}
+print('Replica set is ready!');
+"
+
+echo "MongoDB replica set setup completed!"
@@ -0,0 +1,116 @@
+#!/bin/bash
+
+# Startup benchmark for Order Service
+# Reports time-to-ready and time-to-first-message-consumed (both measured from JVM start)
+#
+# Usage: scripts/startup-benchmark.sh [cold|fast] [iterations]
+#   cold - plain fat jar (mvn package)
+#   fast - AOT + CDS archive (mvn package -Pfast-startup), same layout as the Dockerfile
+#
+# Requires MongoDB and RabbitMQ from docker-compose.yml and a queue already declared by a previous run.
+
+set -euo pipefail
+
+MODE=${1:-cold}
+ITERATIONS=${2:-5}
+
+RABBITMQ_MANAGEMENT_URL=${RABBITMQ_MANAGEMENT_URL:-http://localhost:15672}
+RABBITMQ_USERNAME=${RABBITMQ_USERNAME:-guest}
+RABBITMQ_PASSWORD=${RABBITMQ_PASSWORD:-guest}
+EXCHANGE_NAME="orders.incoming.ex"
+ROUTING_KEY="order.created"
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+ROOT_DIR=$(cd "$(dirname "$0")/.." && pwd)
+JAR="$ROOT_DIR/target/order-service-1.0.0-SNAPSHOT.jar"
+WORK_DIR="$ROOT_DIR/target/startup-benchmark"
+LOG_FILE="$WORK_DIR/app.log"
+
+echo "⏱️  Order Service Startup Benchmark (mode: $MODE, iterations: $ITERATIONS)"
+echo "======================================================================"
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ $JAR not found. Build it first: mvn package -DskipTests$([ "$MODE" = "fast" ] && echo " -Pfast-startup")"
+    exit 1
+fi
+
+mkdir -p "$WORK_DIR"
+
+case "$MODE" in
+    cold)
+        JAVA_CMD=(java -jar "$JAR")
+        ;;
+    fast)
+        rm -rf "$WORK_DIR/extracted"
+        java -Djarmode=tools -jar "$JAR" extract --destination "$WORK_DIR/extracted"
+        echo "🏋️  Training CDS archive..."
+        (cd "$WORK_DIR/extracted" && java -XX:ArchiveClassesAtExit=application.jsa \
+            -Dspring.aot.enabled=true \
+            -Dspring.context.exit=onRefresh \
+            -Dspring.data.mongodb.auto-index-creation=false \
+            -jar order-service-1.0.0-SNAPSHOT.jar > "$WORK_DIR/training.log" 2>&1)
+        JAVA_CMD=(java -XX:SharedArchiveFile="$WORK_DIR/extracted/application.jsa" -Dspring.aot.enabled=true
+                  -jar "$WORK_DIR/extracted/order-service-1.0.0-SNAPSHOT.jar")
+        ;;
+    *)
+        echo "❌ Unknown mode: $MODE (expected cold or fast)"
+        exit 1
+        ;;
+esac
+
+# The message is published before the JVM starts, like a backlog waiting for a freshly scaled replica
+publish_message() {
+    local external_id="STARTUP-BENCH-$(date +%s%N)"
+    local payload="{\"externalId\":\"$external_id\",\"correlationId\":\"$external_id\",\"items\":[{\"productId\":\"PROD-001\",\"productName\":\"Benchmark\",\"unitPrice\":1.00,\"quantity\":1}]}"
+    local body
+    body=$(printf '{"properties":{"content_type":"application/json"},"routing_key":"%s","payload":%s,"payload_encoding":"string"}' \
+        "$ROUTING_KEY" "$(printf '%s' "$payload" | python3 -c 'import json,sys; print(json.dumps(sys.stdin.read()))')")
+    curl -sf -u "$RABBITMQ_USERNAME:$RABBITMQ_PASSWORD" -H "content-type: application/json" \
+        -X POST "$RABBITMQ_MANAGEMENT_URL/api/exchanges/%2F/$EXCHANGE_NAME/publish" -d "$body" > /dev/null
+}
+
+# Waits for a "Startup: ..." log line and prints its millisecond value
+wait_for_log() {
+    local pattern=$1
+    local deadline=$((SECONDS + TIMEOUT_SECONDS))
+    while [ $SECONDS -lt $deadline ]; do
+        local line
+        line=$(grep -m1 "$pattern" "$LOG_FILE" 2>/dev/null || true)
+        if [ -n "$line" ]; then
+            echo "$line" | sed -E 's/.* ([0-9]+) ms after JVM start.*/\1/'
+            return 0
+        fi
+        sleep 0.1
+    done
+    return 1
+}
+
+ready_total=0
+first_message_total=0
+
+for i in $(seq 1 "$ITERATIONS"); do
+    publish_message
+    : > "$LOG_FILE"
+
+    "${JAVA_CMD[@]}" > "$LOG_FILE" 2>&1 &
+    APP_PID=$!
+
+    if ! ready_ms=$(wait_for_log "Startup: ready") || \
+       ! first_message_ms=$(wait_for_log "Startup: first message consumed"); then
+        kill "$APP_PID" 2>/dev/null || true
+        echo "❌ Run $i timed out after ${TIMEOUT_SECONDS}s, see $LOG_FILE"
+        exit 1
+    fi
+
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+
+    echo "Run $i: time-to-ready=${ready_ms} ms, time-to-first-message=${first_message_ms} ms"
+    ready_total=$((ready_total + ready_ms))
+    first_message_total=$((first_message_total + first_message_ms))
+done
+
+echo ""
+echo "📊 Average over $ITERATIONS runs ($MODE):"
+echo "   time-to-ready:         $((ready_total / ITERATIONS)) ms"
+echo "   time-to-first-message: $((first_message_total / ITERATIONS)) ms"
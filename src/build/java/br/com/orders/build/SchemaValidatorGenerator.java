@@ -0,0 +1,416 @@
+package br.com.orders.build;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compiles a JSON schema into a streaming validator class during generate-sources.
+ *
+ * <p>Run by exec-maven-plugin as a single-file source program, so it must stay dependency-free apart from
+ * Jackson. The emitted checks and messages reproduce the validator that was hand-written before this
+ * generator existed: keywords that validator never enforced are listed in the generated class comment
+ * instead of being checked, and any schema construct it cannot express fails the build.
+ *
+ * <p>Usage: {@code java SchemaValidatorGenerator.java <schema.json> <output-dir> <package> <class-name>}
+ */
+public class SchemaValidatorGenerator {
+
+    private static final Set<String> DESCRIPTIVE_KEYWORDS = Set.of("$schema", "title", "description");
+
+    private final JsonNode schema;
+    private final String schemaName;
+    private final String packageName;
+    private final String className;
+    private final Set<String> notEnforced = new TreeSet<>();
+    private final StringBuilder methods = new StringBuilder();
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 4) {
+            throw new IllegalArgumentException("Usage: SchemaValidatorGenerator <schema.json> <output-dir> <package> <class-name>");
+        }
+
+        var schemaPath = Path.of(args[0]);
+        var generator = new SchemaValidatorGenerator(
+                new ObjectMapper().readTree(schemaPath.toFile()), schemaPath.getFileName().toString(), args[2], args[3]);
+        var source = generator.generate();
+
+        var target = Path.of(args[1]).resolve(args[2].replace('.', '/')).resolve(args[3] + ".java");
+        Files.createDirectories(target.getParent());
+        if (!Files.exists(target) || !Files.readString(target).equals(source)) {
+            Files.writeString(target, source);
+        }
+        System.out.println("Generated " + target + " from " + schemaPath);
+    }
+
+    SchemaValidatorGenerator(final JsonNode schema, final String schemaName, final String packageName, final String className) {
+        this.schema = schema;
+        this.schemaName = schemaName;
+        this.packageName = packageName;
+        this.className = className;
+    }
+
+    String generate() {
+        requireType(schema, "object", "root");
+        collectNotEnforced(schema, "", Set.of("type", "required", "properties"));
+
+        var rootMethod = new StringBuilder();
+        generateRoot(rootMethod);
+
+        var out = new StringBuilder();
+        out.append("package ").append(packageName).append(";\n\n");
+        out.append("import com.fasterxml.jackson.core.JsonFactory;\n");
+        out.append("import com.fasterxml.jackson.core.JsonParser;\n");
+        out.append("import com.fasterxml.jackson.core.JsonToken;\n\n");
+        out.append("import java.io.IOException;\n\n");
+        out.append("// GENERATED from schemas/").append(schemaName).append(" by SchemaValidatorGenerator, do not edit.\n");
+        out.append("// Validates on the token stream without building a tree; a repeated key replaces the earlier value,\n");
+        out.append("// and syntax errors anywhere in the document win over constraint violations, as with readTree.\n");
+        if (!notEnforced.isEmpty()) {
+            out.append("// Not enforced, for parity with the previous hand-written checks: ")
+                    .append(String.join(", ", notEnforced)).append("\n");
+        }
+        out.append("public final class ").append(className).append(" {\n\n");
+        out.append("    private final JsonFactory jsonFactory;\n\n");
+        out.append("    public ").append(className).append("(final JsonFactory jsonFactory) {\n");
+        out.append("        this.jsonFactory = jsonFactory;\n");
+        out.append("    }\n\n");
+        out.append("    // Returns the first violation, or null when the document is valid. Malformed JSON throws.\n");
+        out.append("    public String validate(final String json) throws IOException {\n");
+        out.append("        try (JsonParser parser = jsonFactory.createParser(json)) {\n");
+        out.append("            return validateRoot(parser);\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+        out.append("    // Same checks straight on the encoded body, without decoding it into a String first\n");
+        out.append("    public String validate(final byte[] json) throws IOException {\n");
+        out.append("        try (JsonParser parser = jsonFactory.createParser(json)) {\n");
+        out.append("            return validateRoot(parser);\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+        out.append(rootMethod);
+        out.append(methods);
+        out.append(HELPERS);
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private void generateRoot(final StringBuilder out) {
+        var properties = properties(schema, "root");
+        var required = required(schema);
+
+        out.append("    private static String validateRoot(final JsonParser parser) throws IOException {\n");
+        out.append("        JsonToken token = parser.nextToken();\n");
+        out.append("        if (token != JsonToken.START_OBJECT) {\n");
+        out.append("            parser.skipChildren();\n");
+        out.append("            return \"JSON message must be an object, but got: \" + nodeType(token);\n");
+        out.append("        }\n\n");
+
+        var checks = new StringBuilder();
+        var cases = new StringBuilder();
+        var state = new StringBuilder();
+
+        for (Map.Entry<String, JsonNode> property : fields(properties)) {
+            var name = property.getKey();
+            var definition = property.getValue();
+            var type = type(definition, name);
+            var isRequired = required.contains(name);
+
+            switch (type) {
+                case "string" -> {
+                    collectNotEnforced(definition, name + ".", Set.of("type"));
+                    state.append("        boolean ").append(name).append("Present = false;\n");
+                    state.append("        boolean ").append(name).append("Null = false;\n");
+                    cases.append("                case \"").append(name).append("\" -> {\n");
+                    cases.append("                    ").append(name).append("Present = true;\n");
+                    cases.append("                    ").append(name).append("Null = token == JsonToken.VALUE_NULL;\n");
+                    cases.append("                    parser.skipChildren();\n");
+                    cases.append("                }\n");
+                    if (isRequired) {
+                        checks.append("        if (!").append(name).append("Present || ").append(name).append("Null) {\n");
+                        checks.append("            return \"Missing required field: ").append(name).append("\";\n");
+                        checks.append("        }\n");
+                    }
+                }
+                case "array" -> {
+                    if (!isRequired) {
+                        throw unsupported("optional array property " + name);
+                    }
+                    var minItems = definition.path("minItems").asInt(0);
+                    if (minItems > 1) {
+                        throw unsupported("minItems " + minItems + " on " + name);
+                    }
+                    collectNotEnforced(definition, name + ".", Set.of("type", "minItems", "items"));
+                    var elementMethod = "validate" + capitalize(singular(name));
+                    generateArrayElement(elementMethod, name, definition.path("items"));
+
+                    state.append("        boolean ").append(name).append("Present = false;\n");
+                    state.append("        boolean ").append(name).append("Array = false;\n");
+                    state.append("        int ").append(name).append("Size = 0;\n");
+                    state.append("        String ").append(name).append("Violation = null;\n");
+                    cases.append("                case \"").append(name).append("\" -> {\n");
+                    cases.append("                    ").append(name).append("Present = true;\n");
+                    cases.append("                    ").append(name).append("Array = token == JsonToken.START_ARRAY;\n");
+                    cases.append("                    ").append(name).append("Size = 0;\n");
+                    cases.append("                    ").append(name).append("Violation = null;\n");
+                    cases.append("                    if (").append(name).append("Array) {\n");
+                    cases.append("                        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {\n");
+                    cases.append("                            if (").append(name).append("Violation == null) {\n");
+                    cases.append("                                ").append(name).append("Violation = ").append(elementMethod)
+                            .append("(parser, token, ").append(name).append("Size);\n");
+                    cases.append("                            } else {\n");
+                    cases.append("                                parser.skipChildren();\n");
+                    cases.append("                            }\n");
+                    cases.append("                            ").append(name).append("Size++;\n");
+                    cases.append("                        }\n");
+                    cases.append("                    } else {\n");
+                    cases.append("                        parser.skipChildren();\n");
+                    cases.append("                    }\n");
+                    cases.append("                }\n");
+
+                    checks.append("        if (!").append(name).append("Present || !").append(name).append("Array) {\n");
+                    checks.append("            return \"Missing required field: ").append(name).append(" (must be an array)\";\n");
+                    checks.append("        }\n");
+                    if (minItems == 1) {
+                        checks.append("        if (").append(name).append("Size == 0) {\n");
+                        checks.append("            return \"").append(capitalize(name)).append(" array cannot be empty\";\n");
+                        checks.append("        }\n");
+                    }
+                    checks.append("        if (").append(name).append("Violation != null) {\n");
+                    checks.append("            return ").append(name).append("Violation;\n");
+                    checks.append("        }\n");
+                }
+                default -> throw unsupported("root property " + name + " of type " + type);
+            }
+        }
+
+        // Optional properties are checked after all required ones, matching the previous check order
+        for (Map.Entry<String, JsonNode> property : fields(properties)) {
+            var name = property.getKey();
+            if (!required.contains(name)) {
+                checks.append("        if (").append(name).append("Present && ").append(name).append("Null) {\n");
+                checks.append("            return \"").append(name).append(" cannot be null if present\";\n");
+                checks.append("        }\n");
+            }
+        }
+
+        out.append(state).append("\n");
+        out.append("        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {\n");
+        out.append("            String field = parser.currentName();\n");
+        out.append("            token = parser.nextToken();\n");
+        out.append("            switch (field) {\n");
+        out.append(cases);
+        out.append("                default -> parser.skipChildren();\n");
+        out.append("            }\n");
+        out.append("        }\n\n");
+        out.append(checks);
+        out.append("        return null;\n");
+        out.append("    }\n\n");
+    }
+
+    private void generateArrayElement(final String methodName, final String arrayName, final JsonNode definition) {
+        requireType(definition, "object", arrayName + ".items");
+        collectNotEnforced(definition, arrayName + ".items.", Set.of("type", "required", "properties"));
+
+        var label = singular(arrayName);
+        var properties = properties(definition, arrayName + ".items");
+        var required = required(definition);
+
+        var state = new StringBuilder();
+        var cases = new StringBuilder();
+        var presenceChecks = new StringBuilder();
+        var rangeChecks = new StringBuilder();
+
+        for (Map.Entry<String, JsonNode> property : fields(properties)) {
+            var name = property.getKey();
+            var propertyDefinition = property.getValue();
+            var type = type(propertyDefinition, arrayName + ".items." + name);
+            var path = arrayName + ".items." + name + ".";
+
+            if (!required.contains(name)) {
+                // The previous checks ignored optional element properties entirely
+                collectNotEnforced(propertyDefinition, path, Set.of());
+                continue;
+            }
+
+            switch (type) {
+                case "string" -> {
+                    collectNotEnforced(propertyDefinition, path, Set.of("type"));
+                    state.append("        boolean ").append(name).append("Present = false;\n");
+                    state.append("        boolean ").append(name).append("Null = false;\n");
+                    cases.append("                case \"").append(name).append("\" -> {\n");
+                    cases.append("                    ").append(name).append("Present = true;\n");
+                    cases.append("                    ").append(name).append("Null = token == JsonToken.VALUE_NULL;\n");
+                    cases.append("                    parser.skipChildren();\n");
+                    cases.append("                }\n");
+                    presenceChecks.append("        if (!").append(name).append("Present || ").append(name).append("Null) {\n");
+                    presenceChecks.append("            return \"Missing required field: ").append(name)
+                            .append(" in ").append(label).append(" \" + index;\n");
+                    presenceChecks.append("        }\n");
+                }
+                case "number", "integer" -> {
+                    var integer = type.equals("integer");
+                    // "integer" was only ever checked as a number, truncated like JsonNode.asInt()
+                    if (integer) {
+                        notEnforced.add(path + "type:integer");
+                    }
+                    collectNotEnforced(propertyDefinition, path, Set.of("type", "minimum"));
+                    var valueType = integer ? "int" : "double";
+                    var reader = integer ? "asInt(parser)" : "parser.getDoubleValue()";
+
+                    state.append("        boolean ").append(name).append("Present = false;\n");
+                    state.append("        boolean ").append(name).append("Number = false;\n");
+                    state.append("        ").append(valueType).append(" ").append(name).append("Value = 0;\n");
+                    cases.append("                case \"").append(name).append("\" -> {\n");
+                    cases.append("                    ").append(name).append("Present = true;\n");
+                    cases.append("                    ").append(name).append("Number = token.isNumeric();\n");
+                    cases.append("                    ").append(name).append("Value = ").append(name)
+                            .append("Number ? ").append(reader).append(" : 0;\n");
+                    cases.append("                    parser.skipChildren();\n");
+                    cases.append("                }\n");
+                    presenceChecks.append("        if (!").append(name).append("Present || !").append(name).append("Number) {\n");
+                    presenceChecks.append("            return \"Missing or invalid field: ").append(name)
+                            .append(" in ").append(label).append(" \" + index + \" (must be a number)\";\n");
+                    presenceChecks.append("        }\n");
+
+                    if (propertyDefinition.has("minimum")) {
+                        var minimum = propertyDefinition.get("minimum");
+                        rangeChecks.append("        if (").append(name).append("Value < ").append(literal(minimum, integer)).append(") {\n");
+                        rangeChecks.append("            return \"").append(name).append(" in ").append(label)
+                                .append(" \" + index + \" ").append(minimumMessage(minimum, integer)).append("\";\n");
+                        rangeChecks.append("        }\n");
+                    }
+                }
+                default -> throw unsupported(arrayName + ".items property " + name + " of type " + type);
+            }
+        }
+
+        methods.append("    private static String ").append(methodName)
+                .append("(final JsonParser parser, JsonToken token, final int index) throws IOException {\n");
+        methods.append("        if (token != JsonToken.START_OBJECT) {\n");
+        methods.append("            parser.skipChildren();\n");
+        methods.append("            return \"").append(capitalize(label)).append(" at index \" + index + \" must be an object\";\n");
+        methods.append("        }\n\n");
+        methods.append(state).append("\n");
+        methods.append("        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {\n");
+        methods.append("            String field = parser.currentName();\n");
+        methods.append("            token = parser.nextToken();\n");
+        methods.append("            switch (field) {\n");
+        methods.append(cases);
+        methods.append("                default -> parser.skipChildren();\n");
+        methods.append("            }\n");
+        methods.append("        }\n\n");
+        methods.append(presenceChecks);
+        methods.append(rangeChecks);
+        methods.append("        return null;\n");
+        methods.append("    }\n\n");
+    }
+
+    private static String minimumMessage(final JsonNode minimum, final boolean integer) {
+        if (integer) {
+            return minimum.asLong() == 1 ? "must be a positive integer" : "must be an integer of at least " + minimum.asText();
+        }
+        return minimum.asDouble() == 0 ? "must be positive" : "must be at least " + minimum.asText();
+    }
+
+    private static String literal(final JsonNode minimum, final boolean integer) {
+        if (integer) {
+            if (!minimum.canConvertToInt()) {
+                throw unsupported("integer minimum " + minimum.asText());
+            }
+            return Integer.toString(minimum.asInt());
+        }
+        return Double.toString(minimum.asDouble());
+    }
+
+    private void collectNotEnforced(final JsonNode definition, final String path, final Set<String> handled) {
+        for (Map.Entry<String, JsonNode> keyword : fields(definition)) {
+            var name = keyword.getKey();
+            if (!handled.contains(name) && !DESCRIPTIVE_KEYWORDS.contains(name)) {
+                notEnforced.add(path + name + (keyword.getValue().isValueNode() ? ":" + keyword.getValue().asText() : ""));
+            }
+        }
+    }
+
+    private static JsonNode properties(final JsonNode definition, final String path) {
+        var properties = definition.path("properties");
+        if (!properties.isObject()) {
+            throw unsupported(path + " without properties");
+        }
+        return properties;
+    }
+
+    private static Set<String> required(final JsonNode definition) {
+        var required = new LinkedHashSet<String>();
+        definition.path("required").forEach(name -> required.add(name.asText()));
+        return required;
+    }
+
+    private static String type(final JsonNode definition, final String path) {
+        var type = definition.path("type");
+        if (!type.isTextual()) {
+            throw unsupported(path + " without a single type");
+        }
+        return type.asText();
+    }
+
+    private static void requireType(final JsonNode definition, final String expected, final String path) {
+        var type = type(definition, path);
+        if (!type.equals(expected)) {
+            throw unsupported(path + " of type " + type);
+        }
+    }
+
+    private static List<Map.Entry<String, JsonNode>> fields(final JsonNode node) {
+        return new ArrayList<>(node.properties());
+    }
+
+    private static String singular(final String name) {
+        return name.endsWith("s") ? name.substring(0, name.length() - 1) : name;
+    }
+
+    private static String capitalize(final String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static IllegalStateException unsupported(final String construct) {
+        return new IllegalStateException("SchemaValidatorGenerator does not support " + construct);
+    }
+
+    private static final String HELPERS = """
+                // Same names as JsonNodeType, so messages match a readTree-based check
+                private static String nodeType(final JsonToken token) {
+                    if (token == null) {
+                        return "MISSING";
+                    }
+                    return switch (token) {
+                        case START_OBJECT -> "OBJECT";
+                        case START_ARRAY -> "ARRAY";
+                        case VALUE_STRING -> "STRING";
+                        case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> "NUMBER";
+                        case VALUE_TRUE, VALUE_FALSE -> "BOOLEAN";
+                        case VALUE_NULL -> "NULL";
+                        case VALUE_EMBEDDED_OBJECT -> "POJO";
+                        default -> token.name();
+                    };
+                }
+
+                // Mirrors JsonNode.asInt() for the node type readTree would have created
+                private static int asInt(final JsonParser parser) throws IOException {
+                    return switch (parser.getNumberType()) {
+                        case INT -> parser.getIntValue();
+                        case LONG -> (int) parser.getLongValue();
+                        case BIG_INTEGER -> parser.getBigIntegerValue().intValue();
+                        default -> (int) parser.getDoubleValue();
+                    };
+                }
+            """;
+}
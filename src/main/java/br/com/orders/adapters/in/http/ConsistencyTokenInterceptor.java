@@ -0,0 +1,40 @@
+package br.com.orders.adapters.in.http;
+
+import br.com.orders.adapters.out.mongo.ConsistencyToken;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Clients that must see their own ack echo the X-Consistency-Token it returned; reads without it keep the
+// configured read preference and staleness bound
+@Component
+@Slf4j
+public class ConsistencyTokenInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        var header = request.getHeader(HEADER);
+        if (header == null || header.isBlank()) {
+            return true;
+        }
+        try {
+            ConsistencyToken.bind(ConsistencyToken.decode(header));
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejecting malformed consistency token: {}", header);
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return false;
+        }
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler,
+                                final Exception ex) {
+        ConsistencyToken.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.orders.adapters.in.http;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+// Emits an OrderApiRequestEvent per request, timed from handler lookup to the end of response serialization;
+// nothing is kept on the request while no recording enables the event
+@Component
+public class FlightRecorderInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = FlightRecorderInterceptor.class.getName() + ".event";
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        var event = new OrderApiRequestEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response, final Object handler,
+                                final Exception ex) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof OrderApiRequestEvent event)) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.route = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+            if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables
+                    && variables.get("id") instanceof String id) {
+                event.orderId = id;
+            }
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package br.com.orders.adapters.in.http;
+
+import br.com.orders.adapters.in.http.dto.OrderImportLine;
+import br.com.orders.adapters.in.http.dto.OrderImportSummary;
+import br.com.orders.adapters.in.messaging.dto.OrderCreatedMessage;
+import br.com.orders.adapters.in.messaging.mapper.OrderMessageMapper;
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.service.ImportOrdersService;
+import br.com.orders.domain.service.ImportOrdersService.ImportStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Reads OrderCreated payloads one NDJSON line at a time and hands them to ImportOrdersService in chunks bounded by
+// count and bytes, so memory stays at one chunk however long the body is. Lines are validated and mapped with the
+// listener's JsonSchemaValidator and OrderMessageMapper; results are written and flushed after every chunk
+@Component
+@Slf4j
+public class NdjsonOrderImporter {
+
+    private final JsonSchemaValidator jsonSchemaValidator;
+    private final ObjectMapper objectMapper;
+    private final OrderMessageMapper orderMessageMapper;
+    private final ImportOrdersService importOrdersService;
+    private final ObjectWriter lineWriter;
+    private final ObjectWriter summaryWriter;
+    private final Map<ImportStatus, Counter> lineCounters = new EnumMap<>(ImportStatus.class);
+    private final int chunkSize;
+    private final long chunkBytes;
+    private final int maxLineBytes;
+
+    public NdjsonOrderImporter(final JsonSchemaValidator jsonSchemaValidator,
+                               final ObjectMapper objectMapper,
+                               final OrderMessageMapper orderMessageMapper,
+                               final ImportOrdersService importOrdersService,
+                               final MeterRegistry meterRegistry,
+                               @Value("${app.orders.import.chunk-size:1000}") final int chunkSize,
+                               @Value("${app.orders.import.chunk-bytes:8MB}") final DataSize chunkBytes,
+                               @Value("${app.orders.import.max-line-length:1MB}") final DataSize maxLineLength) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("app.orders.import.chunk-size must be positive");
+        }
+        this.jsonSchemaValidator = jsonSchemaValidator;
+        this.objectMapper = objectMapper;
+        this.orderMessageMapper = orderMessageMapper;
+        this.importOrdersService = importOrdersService;
+        this.lineWriter = objectMapper.writerFor(OrderImportLine.class);
+        this.summaryWriter = objectMapper.writerFor(OrderImportSummary.class);
+        this.chunkSize = chunkSize;
+        this.chunkBytes = chunkBytes.toBytes();
+        this.maxLineBytes = (int) Math.min(Integer.MAX_VALUE - 8, maxLineLength.toBytes());
+        for (ImportStatus status : ImportStatus.values()) {
+            lineCounters.put(status, Counter.builder("orders.import.lines")
+                    .tag("status", status.name())
+                    .description("Lines read by POST /orders/import, by outcome")
+                    .register(meterRegistry));
+        }
+    }
+
+    public OrderImportSummary importOrders(final InputStream body, final OutputStream out) throws IOException {
+        var run = new ImportRun(out);
+        var lines = new LineReader(body, maxLineBytes);
+        var started = System.nanoTime();
+        try {
+            for (var line = lines.next(); line != null; line = lines.next()) {
+                run.lineNumber++;
+                if (line.tooLong()) {
+                    run.report(new OrderImportLine(run.lineNumber, ImportStatus.INVALID, null, null, null,
+                            "Line exceeds app.orders.import.max-line-length of " + maxLineBytes + " bytes"));
+                } else if (!isBlank(line.bytes())) {
+                    read(run, line.bytes());
+                }
+            }
+            run.flush();
+        } catch (ChunkFailedException e) {
+            run.abortedWith = e.getCause().getMessage();
+            log.error("Order import aborted at line {}: {}", run.lineNumber, e.getCause().getMessage(), e.getCause());
+        }
+
+        var summary = new OrderImportSummary(true, run.lineNumber, run.count(ImportStatus.IMPORTED),
+                run.count(ImportStatus.EXISTS), run.count(ImportStatus.ARCHIVED), run.count(ImportStatus.INVALID), run.count(ImportStatus.FAILED),
+                (System.nanoTime() - started) / 1_000_000, run.abortedWith != null, run.abortedWith);
+        out.write(summaryWriter.writeValueAsBytes(summary));
+        out.write('\n');
+        out.flush();
+        return summary;
+    }
+
+    private void read(final ImportRun run, final byte[] bytes) throws IOException {
+        Order order;
+        try {
+            jsonSchemaValidator.validateOrderCreated(bytes);
+            order = orderMessageMapper.toDomain(objectMapper.readValue(bytes, OrderCreatedMessage.class));
+        } catch (Exception e) {
+            run.report(new OrderImportLine(run.lineNumber, ImportStatus.INVALID, null, null, null, e.getMessage()));
+            return;
+        }
+
+        // A second line for the same order must be written after the first, not in the same bulkWrite
+        if (run.pendingExternalIds.contains(order.getExternalId())) {
+            run.flush();
+        }
+        run.add(order, bytes.length);
+        if (run.pending.size() >= chunkSize || run.pendingBytes >= chunkBytes) {
+            run.flush();
+        }
+    }
+
+    private static boolean isBlank(final byte[] bytes) {
+        for (byte b : bytes) {
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // State of one request; the importer itself is shared between requests
+    private final class ImportRun {
+
+        private final OutputStream out;
+        private final List<Order> pending = new ArrayList<>();
+        private final List<Long> pendingLines = new ArrayList<>();
+        private final Set<String> pendingExternalIds = new HashSet<>();
+        private final Map<ImportStatus, Long> counts = new EnumMap<>(ImportStatus.class);
+        private long pendingBytes;
+        private long lineNumber;
+        private String abortedWith;
+
+        ImportRun(final OutputStream out) {
+            this.out = out;
+        }
+
+        void add(final Order order, final int bytes) {
+            pending.add(order);
+            pendingLines.add(lineNumber);
+            pendingExternalIds.add(order.getExternalId());
+            pendingBytes += bytes;
+        }
+
+        void flush() throws IOException {
+            if (!pending.isEmpty()) {
+                List<ImportOrdersService.ImportOutcome> outcomes;
+                try {
+                    outcomes = importOrdersService.importChunk(pending);
+                } catch (Exception e) {
+                    for (int i = 0; i < pending.size(); i++) {
+                        report(new OrderImportLine(pendingLines.get(i), ImportStatus.FAILED,
+                                pending.get(i).getExternalId(), null, null, e.getMessage()));
+                    }
+                    out.flush();
+                    throw new ChunkFailedException(e);
+                }
+                for (int i = 0; i < pending.size(); i++) {
+                    var outcome = outcomes.get(i);
+                    var stored = outcome.order();
+                    report(new OrderImportLine(pendingLines.get(i), outcome.status(), pending.get(i).getExternalId(),
+                            stored != null ? stored.getId() : null, stored != null ? stored.getVersion() : null,
+                            outcome.error()));
+                }
+                pending.clear();
+                pendingLines.clear();
+                pendingExternalIds.clear();
+                pendingBytes = 0;
+            }
+            out.flush();
+        }
+
+        void report(final OrderImportLine result) throws IOException {
+            out.write(lineWriter.writeValueAsBytes(result));
+            out.write('\n');
+            counts.merge(result.status(), 1L, Long::sum);
+            lineCounters.get(result.status()).increment();
+        }
+
+        long count(final ImportStatus status) {
+            return counts.getOrDefault(status, 0L);
+        }
+    }
+
+    // Splits on \n without a per-byte read; lines longer than maxLength are skipped to their newline unbuffered
+    static final class LineReader {
+
+        private final InputStream in;
+        private final int maxLength;
+        private final byte[] buffer = new byte[64 * 1024];
+        private int position;
+        private int limit;
+
+        LineReader(final InputStream in, final int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        // Without the terminator (and a trailing \r); null once the body is exhausted
+        Line next() throws IOException {
+            var line = new ByteArrayOutputStream();
+            var tooLong = false;
+            var read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(in.read(buffer), 0);
+                    position = 0;
+                    if (limit == 0) {
+                        return read ? line(line, tooLong) : null;
+                    }
+                }
+                read = true;
+                var start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                if (!tooLong) {
+                    if (line.size() + (position - start) > maxLength) {
+                        tooLong = true;
+                        line = new ByteArrayOutputStream();
+                    } else {
+                        line.write(buffer, start, position - start);
+                    }
+                }
+                if (position < limit) {
+                    position++;
+                    return line(line, tooLong);
+                }
+            }
+        }
+
+        private static Line line(final ByteArrayOutputStream line, final boolean tooLong) {
+            var bytes = line.toByteArray();
+            if (bytes.length > 0 && bytes[bytes.length - 1] == '\r') {
+                bytes = Arrays.copyOf(bytes, bytes.length - 1);
+            }
+            return new Line(bytes, tooLong);
+        }
+    }
+
+    record Line(byte[] bytes, boolean tooLong) {
+    }
+
+    private static final class ChunkFailedException extends RuntimeException {
+        ChunkFailedException(final Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.orders.adapters.in.http;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.orders.OrderApiRequest")
+@Label("Order API Request")
+@Category({"Orders", "HTTP"})
+@Description("One request to the orders API (list, changes, lookup, claim, ack...), including response serialization")
+@StackTrace(false)
+class OrderApiRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    @Description("Matched route pattern, e.g. /orders/{id}/ack")
+    String route;
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Status")
+    int status;
+}
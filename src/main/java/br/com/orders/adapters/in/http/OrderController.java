@@ -1,27 +1,52 @@
 package br.com.orders.adapters.in.http;
 
+import br.com.orders.adapters.in.http.dto.OrderChangesResponse;
+import br.com.orders.adapters.in.http.dto.OrderClaimResponse;
+import br.com.orders.adapters.in.http.dto.OrderItemsResponse;
+import br.com.orders.adapters.in.http.dto.OrderLookupRequest;
+import br.com.orders.adapters.in.http.dto.OrderLookupResponse;
 import br.com.orders.adapters.in.http.dto.OrderResponse;
-import br.com.orders.adapters.in.http.mapper.OrderResponseMapper;
+import br.com.orders.adapters.in.http.dto.OrderStatsResponse;
+import br.com.orders.adapters.in.http.dto.ProjectedOrder;
+import br.com.orders.adapters.out.mongo.ReadRouting;
 import br.com.orders.domain.service.AckOrderService;
+import br.com.orders.domain.service.ClaimOrdersService;
 import br.com.orders.domain.service.ListOrdersService;
+import br.com.orders.domain.service.OrderItemsService;
+import br.com.orders.domain.service.OrderStatsService;
 import br.com.orders.domain.model.Order;
 import br.com.orders.domain.model.OrderStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/orders")
@@ -31,9 +56,15 @@ import java.util.Optional;
 @SecurityRequirement(name = "bearerAuth")
 public class OrderController {
     
+    private static final Resource PROTOBUF_SCHEMA = new ClassPathResource("schemas/orders.proto");
+    
     private final ListOrdersService listOrdersService;
     private final AckOrderService ackOrderService;
-    private final OrderResponseMapper orderResponseMapper;
+    private final ClaimOrdersService claimOrdersService;
+    private final OrderItemsService orderItemsService;
+    private final OrderStatsService orderStatsService;
+    private final ReadRouting readRouting;
+    private final NdjsonOrderImporter ndjsonOrderImporter;
     
     @GetMapping
     @Operation(summary = "List orders by status", description = "Retrieve orders filtered by status")
@@ -42,29 +73,190 @@ public class OrderController {
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
-    public ResponseEntity<Page<OrderResponse>> listOrders(
+    public ResponseEntity<Page<Order>> listOrders(
             @Parameter(description = "Order status filter") 
             @RequestParam(defaultValue = "AVAILABLE_FOR_B") OrderStatus status,
             @PageableDefault(size = 20) Pageable pageable) {
         
         log.debug("Listing orders with status: {} and page: {}", status, pageable);
         
+        // Orders are written directly by OrderJsonSerializer using the OrderResponse contract
         Page<Order> orders = listOrdersService.listOrdersByStatus(status, pageable);
-        Page<OrderResponse> response = orders.map(orderResponseMapper::toResponse);
         
-        log.debug("Returning {} orders", response.getTotalElements());
+        log.debug("Returning {} orders", orders.getTotalElements());
+        return ResponseEntity.ok(orders);
+    }
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Order counts by status", description = "Retrieve incrementally maintained order counts per status")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<OrderStatsResponse> getStats() {
+        log.debug("Getting order stats");
+        
+        var stats = orderStatsService.getStats();
+        var response = OrderStatsResponse.builder()
+                .counts(stats.counts())
+                .total(stats.total())
+                .asOf(stats.asOf())
+                .build();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/changes")
+    @Operation(summary = "List order changes since a watermark",
+            description = "Orders of any status modified after the watermark, oldest first; pass the returned watermark to continue")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid watermark or limit"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<OrderChangesResponse> listChanges(
+            @Parameter(description = "Watermark returned by the previous call, omit to start from the beginning")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Optional status filter, repeatable")
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @Parameter(description = "Maximum orders to return, capped by app.orders.changes.max-limit")
+            @RequestParam(defaultValue = "500") int limit) {
+        
+        log.debug("Listing order changes since: {} with status: {} and limit: {}", since, status, limit);
+        
+        try {
+            var changes = listOrdersService.listChangesSince(since, status, limit);
+            var response = OrderChangesResponse.builder()
+                    .orders(changes.orders())
+                    .watermark(changes.watermark())
+                    .hasMore(changes.hasMore())
+                    .build();
+            return ResponseEntity.ok(response);
+            
+        } catch (ListOrdersService.InvalidWatermarkException e) {
+            log.warn("Invalid changes request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/claim")
+    @Operation(summary = "Claim available orders",
+            description = "Lease up to limit AVAILABLE_FOR_B orders to the calling worker; expired leases are claimable again")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Orders claimed, possibly fewer than requested"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit, lease or worker"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<OrderClaimResponse> claimOrders(
+            @Parameter(description = "Maximum orders to claim, capped by app.orders.claim.max-limit")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Lease duration, e.g. 30s or 2m")
+            @RequestParam(defaultValue = "30s") String lease,
+            @Parameter(description = "Worker id, defaults to the token subject")
+            @RequestParam(required = false) String worker,
+            Principal principal) {
+        
+        var claimant = worker != null ? worker : principal != null ? principal.getName() : null;
+        log.debug("Worker {} claiming up to {} orders for {}", claimant, limit, lease);
+        
+        try {
+            var claim = claimOrdersService.claimOrders(claimant, limit, DurationStyle.detectAndParse(lease));
+            var response = OrderClaimResponse.builder()
+                    .claimToken(claim.claimToken())
+                    .worker(claim.worker())
+                    .claimedUntil(claim.claimedUntil())
+                    .orders(claim.orders())
+                    .build();
+            return ResponseEntity.ok(response);
+            
+        } catch (ClaimOrdersService.InvalidClaimException | IllegalArgumentException e) {
+            log.warn("Invalid claim request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up orders in bulk",
+            description = "Resolve up to app.orders.lookup.max-keys ids and/or externalIds in one call, optionally projecting fields")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lookup completed, missing keys are reported with found=false"),
+        @ApiResponse(responseCode = "400", description = "No keys, too many keys or unknown fields"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<OrderLookupResponse> lookupOrders(@RequestBody OrderLookupRequest request) {
+        var fields = request.fields() != null && !request.fields().isEmpty() ? request.fields() : null;
+        
+        ListOrdersService.OrderLookup lookup;
+        try {
+            lookup = listOrdersService.lookupOrders(request.ids(), request.externalIds(), fields);
+        } catch (ListOrdersService.InvalidLookupException e) {
+            log.warn("Invalid order lookup: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        
+        var results = new ArrayList<OrderLookupResponse.Result>();
+        addResults(results, request.ids(), "id", lookup.byId(), fields);
+        addResults(results, request.externalIds(), "externalId", lookup.byExternalId(), fields);
+        
+        var found = (int) results.stream().filter(OrderLookupResponse.Result::found).count();
+        var response = OrderLookupResponse.builder()
+                .results(results)
+                .found(found)
+                .notFound(results.size() - found)
+                .build();
+        
+        log.debug("Lookup resolved {} of {} keys", found, results.size());
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('SCOPE_orders:import')")
+    @Operation(summary = "Import orders in bulk",
+            description = "Backfill path that bypasses the broker: one OrderCreated payload per line, processed like the listener "
+                    + "and stored with bulk writes. Streams back one result line per input line and a final summary line")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import ran; per-line results and the summary are in the body"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden"),
+        @ApiResponse(responseCode = "415", description = "Body is not application/x-ndjson")
+    })
+    public void importOrders(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        // Written straight to the response rather than as an async StreamingResponseBody, which the MVC async
+        // timeout would cut off during a long backfill
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        
+        var summary = ndjsonOrderImporter.importOrders(request.getInputStream(), response.getOutputStream());
+        log.info("Order import of {} lines: {} imported, {} archived, {} invalid, {} failed in {} ms{}",
+                summary.lines(), summary.imported(), summary.archived(), summary.invalid(), summary.failed(),
+                summary.durationMs(), summary.aborted() ? " (aborted)" : "");
+    }
+    
+    @GetMapping(value = "/schema.proto", produces = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Protobuf schema",
+            description = "Schema of the responses returned with Accept: application/x-protobuf")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Schema retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<Resource> getProtobufSchema() {
+        return ResponseEntity.ok(PROTOBUF_SCHEMA);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID", description = "Retrieve a specific order by its ID")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Order retrieved successfully"),
+        @ApiResponse(responseCode = "200", description = "Order retrieved successfully",
+                content = @Content(schema = @Schema(implementation = OrderResponse.class))),
         @ApiResponse(responseCode = "404", description = "Order not found"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
-    public ResponseEntity<OrderResponse> getOrder(
+    public ResponseEntity<Order> getOrder(
             @Parameter(description = "Order ID") 
             @PathVariable String id) {
         
@@ -77,22 +269,65 @@ public class OrderController {
             return ResponseEntity.notFound().build();
         }
         
-        var response = orderResponseMapper.toResponse(order.get());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(order.get());
+    }
+    
+    @GetMapping("/{id}/items")
+    @Operation(summary = "List order items",
+            description = "Items of an order in stored order; pass the returned cursor to continue. Large orders return no items from GET /orders/{id}")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Items retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or limit"),
+        @ApiResponse(responseCode = "404", description = "Order not found"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    public ResponseEntity<OrderItemsResponse> listOrderItems(
+            @Parameter(description = "Order ID")
+            @PathVariable String id,
+            @Parameter(description = "Cursor returned by the previous call, omit to start from the first item")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum items to return, capped by app.orders.items.max-limit")
+            @RequestParam(defaultValue = "500") int limit) {
+        
+        log.debug("Listing items of order: {} from cursor: {} with limit: {}", id, cursor, limit);
+        
+        Optional<Order> order = listOrdersService.findOrderById(id);
+        if (order.isEmpty()) {
+            log.debug("Order not found: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+        
+        try {
+            var page = orderItemsService.pageItems(order.get(), cursor, limit);
+            var response = OrderItemsResponse.builder()
+                    .orderId(order.get().getId())
+                    .itemCount(order.get().getItemCount())
+                    .items(page.items())
+                    .cursor(page.cursor())
+                    .hasMore(page.hasMore())
+                    .build();
+            return ResponseEntity.ok(response);
+            
+        } catch (OrderItemsService.InvalidItemCursorException e) {
+            log.warn("Invalid items request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @PostMapping("/{id}/ack")
     // @PreAuthorize("hasAuthority('SCOPE_orders:ack')")
     @Operation(summary = "Acknowledge order", description = "Acknowledge receipt of an order")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Order acknowledged successfully"),
+        @ApiResponse(responseCode = "200", description = "Order acknowledged successfully",
+                content = @Content(schema = @Schema(implementation = OrderResponse.class))),
         @ApiResponse(responseCode = "404", description = "Order not found"),
         @ApiResponse(responseCode = "409", description = "Version conflict"),
         @ApiResponse(responseCode = "400", description = "Invalid order status"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden")
     })
-    public ResponseEntity<OrderResponse> acknowledgeOrder(
+    public ResponseEntity<Order> acknowledgeOrder(
             @Parameter(description = "Order ID") 
             @PathVariable String id,
             @Parameter(description = "Expected version for optimistic locking") 
@@ -102,10 +337,13 @@ public class OrderController {
         
         try {
             Order acknowledgedOrder = ackOrderService.acknowledgeOrder(id, expectedVersion);
-            OrderResponse response = orderResponseMapper.toResponse(acknowledgedOrder);
             
             log.info("Successfully acknowledged order: {}", id);
-            return ResponseEntity.ok(response);
+            var response = ResponseEntity.ok();
+            // Echoed on later reads so a secondary does not answer before it has applied this ack
+            readRouting.issueToken(Order.class, id)
+                    .ifPresent(token -> response.header(ConsistencyTokenInterceptor.HEADER, token.encode()));
+            return response.body(acknowledgedOrder);
             
         } catch (AckOrderService.OrderNotFoundException e) {
             log.warn("Order not found for acknowledgment: {}", id);
@@ -120,4 +358,19 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
+    
+    private void addResults(final List<OrderLookupResponse.Result> results, final List<String> keys, final String keyType,
+                            final Map<String, Order> orders, final Set<String> fields) {
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            var order = orders.get(key);
+            if (order == null) {
+                results.add(new OrderLookupResponse.Result(key, keyType, false, null));
+                continue;
+            }
+            results.add(new OrderLookupResponse.Result(key, keyType, true, new ProjectedOrder(order, fields)));
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package br.com.orders.adapters.in.http;
+
+import br.com.orders.adapters.in.http.dto.OrderChangesResponse;
+import br.com.orders.adapters.in.http.dto.OrderItemsResponse;
+import br.com.orders.adapters.in.http.dto.OrderStatsResponse;
+import br.com.orders.adapters.in.http.mapper.OrderProtobufWriter;
+import br.com.orders.domain.model.Order;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+// Write-only: serves the read endpoints as the messages of schemas/orders.proto when the client accepts protobuf
+public class OrderProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final MediaType PROTOBUF_IANA = new MediaType("application", "protobuf");
+
+    private static final int BUFFER_SIZE = 8192;
+
+    public OrderProtobufHttpMessageConverter() {
+        super(PROTOBUF, PROTOBUF_IANA);
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return Order.class.isAssignableFrom(clazz)
+                || Page.class.isAssignableFrom(clazz)
+                || OrderChangesResponse.class.equals(clazz)
+                || OrderItemsResponse.class.equals(clazz)
+                || OrderStatsResponse.class.equals(clazz);
+    }
+
+    @Override
+    public boolean canRead(final Class<?> clazz, final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(final Class<?> clazz, final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(final Object body, final HttpOutputMessage outputMessage) throws IOException {
+        var out = CodedOutputStream.newInstance(outputMessage.getBody(), BUFFER_SIZE);
+        try {
+            switch (body) {
+                case Order order -> OrderProtobufWriter.writeOrder(order, out);
+                case Page<?> page -> OrderProtobufWriter.writePage(page, out);
+                case OrderChangesResponse changes -> OrderProtobufWriter.writeChanges(changes, out);
+                case OrderItemsResponse items -> OrderProtobufWriter.writeItemPage(items, out);
+                case OrderStatsResponse stats -> OrderProtobufWriter.writeStats(stats, out);
+                default -> throw new HttpMessageNotWritableException("No protobuf representation for " + body.getClass().getName());
+            }
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new HttpMessageNotWritableException("Could not write protobuf: " + e.getMessage(), e);
+        }
+        out.flush();
+    }
+}
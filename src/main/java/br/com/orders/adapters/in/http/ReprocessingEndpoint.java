@@ -0,0 +1,88 @@
+package br.com.orders.adapters.in.http;
+
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.ReprocessMode;
+import br.com.orders.domain.service.ReprocessJobService;
+import br.com.orders.domain.service.ReprocessJobService.InvalidReprocessJobException;
+import br.com.orders.domain.service.ReprocessJobService.JobProgress;
+import br.com.orders.domain.service.ReprocessJobService.ReprocessJobConflictException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+// POST /actuator/reprocessing {"mode": "FAILED"|"RECALCULATE", "statuses": "...", "rate": n} starts a job,
+// GET lists recent jobs or one job's progress, DELETE /actuator/reprocessing/{id} cancels it
+@Component
+@Endpoint(id = "reprocessing")
+@ConditionalOnProperty(prefix = "app.reprocess", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReprocessingEndpoint {
+
+    private static final int STATUS_CONFLICT = 409;
+
+    private final ReprocessJobService reprocessJobService;
+
+    public ReprocessingEndpoint(final ReprocessJobService reprocessJobService) {
+        this.reprocessJobService = reprocessJobService;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(final String mode, @Nullable final String statuses, @Nullable final Integer rate) {
+        try {
+            var job = reprocessJobService.start(parseMode(mode), parseStatuses(statuses), rate);
+            return new WebEndpointResponse<>(reprocessJobService.progress(job.getId()).orElse(null), WebEndpointResponse.STATUS_OK);
+        } catch (InvalidReprocessJobException e) {
+            return new WebEndpointResponse<>(e.getMessage(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (ReprocessJobConflictException e) {
+            return new WebEndpointResponse<>(e.getMessage(), STATUS_CONFLICT);
+        }
+    }
+
+    @ReadOperation
+    public List<JobProgress> jobs() {
+        return reprocessJobService.recent();
+    }
+
+    @ReadOperation
+    @Nullable
+    public JobProgress job(@Selector final String id) {
+        return reprocessJobService.progress(id).orElse(null);
+    }
+
+    @DeleteOperation
+    @Nullable
+    public JobProgress cancel(@Selector final String id) {
+        return reprocessJobService.cancel(id).orElse(null);
+    }
+
+    private static ReprocessMode parseMode(final String mode) {
+        try {
+            return ReprocessMode.valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReprocessJobException("mode must be one of " + Arrays.toString(ReprocessMode.values()));
+        }
+    }
+
+    private static List<OrderStatus> parseStatuses(final String statuses) {
+        if (statuses == null || statuses.isBlank()) {
+            return List.of();
+        }
+        try {
+            return Arrays.stream(statuses.split(","))
+                    .map(String::trim)
+                    .filter(status -> !status.isEmpty())
+                    .map(status -> OrderStatus.valueOf(status.toUpperCase()))
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReprocessJobException("Unknown status in " + statuses);
+        }
+    }
+}
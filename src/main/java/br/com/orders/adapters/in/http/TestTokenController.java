@@ -37,8 +37,8 @@ public class TestTokenController {
         payload.put("aud", "order-service");
         payload.put("exp", Instant.now().plus(1, ChronoUnit.HOURS).getEpochSecond());
         payload.put("iat", Instant.now().getEpochSecond());
-        payload.put("scope", "orders:read orders:ack");
-        payload.put("authorities", new String[]{"SCOPE_orders:read", "SCOPE_orders:ack"});
+        payload.put("scope", "orders:read orders:ack orders:import");
+        payload.put("authorities", new String[]{"SCOPE_orders:read", "SCOPE_orders:ack", "SCOPE_orders:import"});
         
         // Encode header and payload
         String encodedHeader = Base64.getUrlEncoder().withoutPadding()
@@ -0,0 +1,14 @@
+package br.com.orders.adapters.in.http.dto;
+
+import br.com.orders.domain.model.Order;
+import lombok.Builder;
+
+import java.util.List;
+
+// Orders are written by OrderJsonSerializer with the OrderResponse contract
+@Builder
+public record OrderChangesResponse(
+        List<Order> orders,
+        String watermark,
+        boolean hasMore) {
+}
@@ -0,0 +1,16 @@
+package br.com.orders.adapters.in.http.dto;
+
+import br.com.orders.domain.model.Order;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Orders are written by OrderJsonSerializer with the OrderResponse contract; ack them with their version as usual
+@Builder
+public record OrderClaimResponse(
+        String claimToken,
+        String worker,
+        LocalDateTime claimedUntil,
+        List<Order> orders) {
+}
@@ -0,0 +1,16 @@
+package br.com.orders.adapters.in.http.dto;
+
+import br.com.orders.domain.service.ImportOrdersService.ImportStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One NDJSON line per non-blank input line, matched by its 1-based line number: invalid lines are reported as
+// soon as they are read, the others once their chunk is written, so lines may come back out of order
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderImportLine(
+        long line,
+        ImportStatus status,
+        String externalId,
+        String id,
+        Long version,
+        String error) {
+}
@@ -0,0 +1,19 @@
+package br.com.orders.adapters.in.http.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Last line of every import response. aborted means the store became unavailable and reading stopped: lines with
+// no result line of their own were not imported and should be sent again
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderImportSummary(
+        boolean summary,
+        long lines,
+        long imported,
+        long exists,
+        long archived,
+        long invalid,
+        long failed,
+        long durationMs,
+        boolean aborted,
+        String error) {
+}
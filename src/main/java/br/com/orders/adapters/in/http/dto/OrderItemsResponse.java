@@ -0,0 +1,16 @@
+package br.com.orders.adapters.in.http.dto;
+
+import br.com.orders.domain.model.OrderItem;
+import lombok.Builder;
+
+import java.util.List;
+
+// cursor is null on the last page
+@Builder
+public record OrderItemsResponse(
+        String orderId,
+        Integer itemCount,
+        List<OrderItem> items,
+        String cursor,
+        boolean hasMore) {
+}
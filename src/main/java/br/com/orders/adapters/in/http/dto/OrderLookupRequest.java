@@ -0,0 +1,10 @@
+package br.com.orders.adapters.in.http.dto;
+
+import java.util.List;
+import java.util.Set;
+
+public record OrderLookupRequest(
+        List<String> ids,
+        List<String> externalIds,
+        Set<String> fields) {
+}
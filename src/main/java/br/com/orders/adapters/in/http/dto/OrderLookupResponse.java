@@ -0,0 +1,23 @@
+package br.com.orders.adapters.in.http.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+// One result per requested key, ids first then externalIds, each in request order
+@Builder
+public record OrderLookupResponse(
+        List<Result> results,
+        int found,
+        int notFound) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(
+            String key,
+            String keyType,
+            boolean found,
+            @Schema(implementation = OrderResponse.class) ProjectedOrder order) {
+    }
+}
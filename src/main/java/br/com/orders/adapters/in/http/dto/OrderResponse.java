@@ -16,6 +16,7 @@ public record OrderResponse (
      String externalId,
      OrderStatus status,
      List<OrderItemResponse> items,
+     Integer itemCount,
      BigDecimal totalAmount,
      LocalDateTime createdAt,
      LocalDateTime updatedAt,
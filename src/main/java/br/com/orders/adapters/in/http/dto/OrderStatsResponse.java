@@ -0,0 +1,14 @@
+package br.com.orders.adapters.in.http.dto;
+
+import br.com.orders.domain.model.OrderStatus;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Builder
+public record OrderStatsResponse(
+        Map<OrderStatus, Long> counts,
+        long total,
+        Instant asOf) {
+}
@@ -0,0 +1,11 @@
+package br.com.orders.adapters.in.http.dto;
+
+import br.com.orders.domain.model.Order;
+
+import java.util.Set;
+
+// Written by OrderJsonSerializer with only the given fields of the OrderResponse contract, all of them when fields is null
+public record ProjectedOrder(
+        Order order,
+        Set<String> fields) {
+}
@@ -0,0 +1,168 @@
+package br.com.orders.adapters.in.http.mapper;
+
+import br.com.orders.adapters.in.http.dto.ProjectedOrder;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+// Writes Order with the exact OrderResponse contract, skipping the intermediate DTO and reflective bean serialization
+public class OrderJsonSerializer extends StdSerializer<Order> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString EXTERNAL_ID = new SerializedString("externalId");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString ITEMS = new SerializedString("items");
+    private static final SerializableString ITEM_COUNT = new SerializedString("itemCount");
+    private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString CORRELATION_ID = new SerializedString("correlationId");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    private static final SerializableString PRODUCT_ID = new SerializedString("productId");
+    private static final SerializableString PRODUCT_NAME = new SerializedString("productName");
+    private static final SerializableString UNIT_PRICE = new SerializedString("unitPrice");
+    private static final SerializableString QUANTITY = new SerializedString("quantity");
+    private static final SerializableString TOTAL_PRICE = new SerializedString("totalPrice");
+
+    public OrderJsonSerializer() {
+        super(Order.class);
+    }
+
+    @Override
+    public void serialize(final Order order, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        write(order, null, gen, provider);
+    }
+
+    // Only the projected fields are written, so fields the query did not load are omitted rather than null
+    private static void write(final Order order, final Set<String> fields, final JsonGenerator gen,
+                              final SerializerProvider provider) throws IOException {
+        gen.writeStartObject(order);
+
+        if (includes(fields, ID)) {
+            gen.writeFieldName(ID);
+            writeString(gen, order.getId());
+        }
+        if (includes(fields, EXTERNAL_ID)) {
+            gen.writeFieldName(EXTERNAL_ID);
+            writeString(gen, order.getExternalId());
+        }
+        if (includes(fields, STATUS)) {
+            gen.writeFieldName(STATUS);
+            writeString(gen, order.getStatus() != null ? order.getStatus().name() : null);
+        }
+        if (includes(fields, ITEMS)) {
+            gen.writeFieldName(ITEMS);
+            writeItems(gen, order.getItems());
+        }
+        if (includes(fields, ITEM_COUNT)) {
+            gen.writeFieldName(ITEM_COUNT);
+            if (order.getItemCount() != null) {
+                gen.writeNumber(order.getItemCount());
+            } else {
+                gen.writeNull();
+            }
+        }
+        if (includes(fields, TOTAL_AMOUNT)) {
+            gen.writeFieldName(TOTAL_AMOUNT);
+            writeNumber(gen, order.getTotalAmount());
+        }
+
+        // Dates go through the configured JavaTimeModule serializer so formatting stays identical
+        if (includes(fields, CREATED_AT)) {
+            provider.defaultSerializeField(CREATED_AT.getValue(), order.getCreatedAt(), gen);
+        }
+        if (includes(fields, UPDATED_AT)) {
+            provider.defaultSerializeField(UPDATED_AT.getValue(), order.getUpdatedAt(), gen);
+        }
+
+        if (includes(fields, CORRELATION_ID)) {
+            gen.writeFieldName(CORRELATION_ID);
+            writeString(gen, order.getCorrelationId());
+        }
+        if (includes(fields, VERSION)) {
+            gen.writeFieldName(VERSION);
+            if (order.getVersion() != null) {
+                gen.writeNumber(order.getVersion());
+            } else {
+                gen.writeNull();
+            }
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static boolean includes(final Set<String> fields, final SerializableString field) {
+        return fields == null || fields.contains(field.getValue());
+    }
+
+    private static void writeItems(final JsonGenerator gen, final List<OrderItem> items) throws IOException {
+        if (items == null) {
+            gen.writeNull();
+            return;
+        }
+
+        gen.writeStartArray(items, items.size());
+        for (OrderItem item : items) {
+            if (item == null) {
+                gen.writeNull();
+                continue;
+            }
+            gen.writeStartObject(item);
+            gen.writeFieldName(PRODUCT_ID);
+            writeString(gen, item.getProductId());
+            gen.writeFieldName(PRODUCT_NAME);
+            writeString(gen, item.getProductName());
+            gen.writeFieldName(UNIT_PRICE);
+            writeNumber(gen, item.getUnitPrice());
+            gen.writeFieldName(QUANTITY);
+            if (item.getQuantity() != null) {
+                gen.writeNumber(item.getQuantity());
+            } else {
+                gen.writeNull();
+            }
+            gen.writeFieldName(TOTAL_PRICE);
+            writeNumber(gen, item.getTotalPrice());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeString(final JsonGenerator gen, final String value) throws IOException {
+        if (value != null) {
+            gen.writeString(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    private static void writeNumber(final JsonGenerator gen, final BigDecimal value) throws IOException {
+        if (value != null) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+
+    public static class Projected extends StdSerializer<ProjectedOrder> {
+
+        public Projected() {
+            super(ProjectedOrder.class);
+        }
+
+        @Override
+        public void serialize(final ProjectedOrder projected, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+            write(projected.order(), projected.fields(), gen, provider);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package br.com.orders.adapters.in.http.mapper;
+
+import br.com.orders.adapters.in.http.dto.OrderChangesResponse;
+import br.com.orders.adapters.in.http.dto.OrderItemsResponse;
+import br.com.orders.adapters.in.http.dto.OrderStatsResponse;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.protobuf.CodedOutputStream.computeEnumSize;
+import static com.google.protobuf.CodedOutputStream.computeInt32Size;
+import static com.google.protobuf.CodedOutputStream.computeInt64Size;
+import static com.google.protobuf.CodedOutputStream.computeSInt64Size;
+import static com.google.protobuf.CodedOutputStream.computeStringSize;
+import static com.google.protobuf.CodedOutputStream.computeTagSize;
+import static com.google.protobuf.CodedOutputStream.computeUInt32SizeNoTag;
+
+// Writes the messages of schemas/orders.proto straight from the domain types, the protobuf counterpart of
+// OrderJsonSerializer: no generated classes, no intermediate DTOs. Nested messages are length-prefixed, so every
+// message has a size pass and a write pass; proto3 defaults (null, 0, empty) are left out of the wire. The size pass
+// of every top-level element runs before the first byte is written, so a value with no protobuf representation fails
+// while the response can still get an error status instead of a truncated 200 body
+public final class OrderProtobufWriter {
+
+    private OrderProtobufWriter() {
+    }
+
+    public static void writeOrder(final Order order, final CodedOutputStream out) throws IOException {
+        orderSize(order);
+        writeOrderFields(order, out);
+    }
+
+    public static void writePage(final Page<?> page, final CodedOutputStream out) throws IOException {
+        writeOrders(1, page.getContent(), out);
+        writeInt32(2, page.getNumber(), out);
+        writeInt32(3, page.getSize(), out);
+        writeInt64(4, page.getTotalElements(), out);
+        writeInt32(5, page.getTotalPages(), out);
+    }
+
+    public static void writeChanges(final OrderChangesResponse changes, final CodedOutputStream out) throws IOException {
+        writeOrders(1, changes.orders(), out);
+        writeString(2, changes.watermark(), out);
+        if (changes.hasMore()) {
+            out.writeBool(3, true);
+        }
+    }
+
+    public static void writeItemPage(final OrderItemsResponse page, final CodedOutputStream out) throws IOException {
+        var items = page.items() != null ? page.items() : List.<OrderItem>of();
+        var sizes = new int[items.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = items.get(i) != null ? itemSize(items.get(i)) : 0;
+        }
+
+        writeString(1, page.orderId(), out);
+        if (page.itemCount() != null) {
+            out.writeInt32(2, page.itemCount());
+        }
+        for (int i = 0; i < sizes.length; i++) {
+            if (items.get(i) != null) {
+                writeLengthDelimited(3, sizes[i], out);
+                writeItemFields(items.get(i), out);
+            }
+        }
+        writeString(4, page.cursor(), out);
+        if (page.hasMore()) {
+            out.writeBool(5, true);
+        }
+    }
+
+    public static void writeStats(final OrderStatsResponse stats, final CodedOutputStream out) throws IOException {
+        if (stats.counts() != null) {
+            for (Map.Entry<OrderStatus, Long> count : stats.counts().entrySet()) {
+                writeLengthDelimited(1, statusCountSize(count), out);
+                writeEnum(1, statusNumber(count.getKey()), out);
+                writeInt64(2, count.getValue() != null ? count.getValue() : 0L, out);
+            }
+        }
+        writeInt64(2, stats.total(), out);
+        writeString(3, stats.asOf() != null ? stats.asOf().toString() : null, out);
+    }
+
+    // Numbers of the OrderStatus enum in orders.proto, 0 is reserved for unspecified. Spelled out so reordering the
+    // Java enum cannot renumber the wire, and a new constant does not compile until it has a number
+    static int statusNumber(final OrderStatus status) {
+        if (status == null) {
+            return 0;
+        }
+        return switch (status) {
+            case PROCESSING -> 1;
+            case AVAILABLE_FOR_B -> 2;
+            case ACKNOWLEDGED -> 3;
+            case FAILED -> 4;
+        };
+    }
+
+    private static void writeOrders(final int field, final List<?> orders, final CodedOutputStream out) throws IOException {
+        if (orders == null) {
+            return;
+        }
+        var sizes = new int[orders.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            if (!(orders.get(i) instanceof Order order)) {
+                throw new IllegalArgumentException("Only orders have a protobuf representation, got " +
+                        (orders.get(i) != null ? orders.get(i).getClass().getName() : "null"));
+            }
+            sizes[i] = orderSize(order);
+        }
+        for (int i = 0; i < sizes.length; i++) {
+            writeLengthDelimited(field, sizes[i], out);
+            writeOrderFields((Order) orders.get(i), out);
+        }
+    }
+
+    private static void writeOrderFields(final Order order, final CodedOutputStream out) throws IOException {
+        writeString(1, order.getId(), out);
+        writeString(2, order.getExternalId(), out);
+        writeEnum(3, statusNumber(order.getStatus()), out);
+        if (order.getItems() != null) {
+            for (OrderItem item : order.getItems()) {
+                if (item != null) {
+                    writeLengthDelimited(4, itemSize(item), out);
+                    writeItemFields(item, out);
+                }
+            }
+        }
+        writeDecimal(5, order.getTotalAmount(), out);
+        writeString(6, format(order.getCreatedAt()), out);
+        writeString(7, format(order.getUpdatedAt()), out);
+        writeString(8, order.getCorrelationId(), out);
+        if (order.getVersion() != null) {
+            out.writeInt64(9, order.getVersion());
+        }
+        if (order.getItemCount() != null) {
+            out.writeInt32(10, order.getItemCount());
+        }
+    }
+
+    private static void writeItemFields(final OrderItem item, final CodedOutputStream out) throws IOException {
+        writeString(1, item.getProductId(), out);
+        writeString(2, item.getProductName(), out);
+        writeDecimal(3, item.getUnitPrice(), out);
+        if (item.getQuantity() != null) {
+            out.writeInt32(4, item.getQuantity());
+        }
+        writeDecimal(5, item.getTotalPrice(), out);
+    }
+
+    private static void writeDecimal(final int field, final BigDecimal value, final CodedOutputStream out) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writeLengthDelimited(field, decimalSize(value), out);
+        var unscaled = value.unscaledValue().longValueExact();
+        if (unscaled != 0) {
+            out.writeSInt64(1, unscaled);
+        }
+        writeInt32(2, value.scale(), out);
+    }
+
+    private static int orderSize(final Order order) {
+        var size = stringSize(1, order.getId())
+                + stringSize(2, order.getExternalId())
+                + enumSize(3, statusNumber(order.getStatus()));
+        if (order.getItems() != null) {
+            for (OrderItem item : order.getItems()) {
+                if (item != null) {
+                    size += lengthDelimitedSize(4, itemSize(item));
+                }
+            }
+        }
+        size += decimalFieldSize(5, order.getTotalAmount())
+                + stringSize(6, format(order.getCreatedAt()))
+                + stringSize(7, format(order.getUpdatedAt()))
+                + stringSize(8, order.getCorrelationId());
+        if (order.getVersion() != null) {
+            size += computeInt64Size(9, order.getVersion());
+        }
+        if (order.getItemCount() != null) {
+            size += computeInt32Size(10, order.getItemCount());
+        }
+        return size;
+    }
+
+    private static int itemSize(final OrderItem item) {
+        var size = stringSize(1, item.getProductId())
+                + stringSize(2, item.getProductName())
+                + decimalFieldSize(3, item.getUnitPrice())
+                + decimalFieldSize(5, item.getTotalPrice());
+        if (item.getQuantity() != null) {
+            size += computeInt32Size(4, item.getQuantity());
+        }
+        return size;
+    }
+
+    private static int decimalFieldSize(final int field, final BigDecimal value) {
+        return value != null ? lengthDelimitedSize(field, decimalSize(value)) : 0;
+    }
+
+    private static int decimalSize(final BigDecimal value) {
+        var unscaled = value.unscaledValue().longValueExact();
+        return (unscaled != 0 ? computeSInt64Size(1, unscaled) : 0) + int32Size(2, value.scale());
+    }
+
+    private static int statusCountSize(final Map.Entry<OrderStatus, Long> count) {
+        return enumSize(1, statusNumber(count.getKey()))
+                + (count.getValue() != null && count.getValue() != 0 ? computeInt64Size(2, count.getValue()) : 0);
+    }
+
+    private static String format(final LocalDateTime value) {
+        return value != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) : null;
+    }
+
+    private static void writeLengthDelimited(final int field, final int size, final CodedOutputStream out) throws IOException {
+        out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        out.writeUInt32NoTag(size);
+    }
+
+    private static int lengthDelimitedSize(final int field, final int size) {
+        return computeTagSize(field) + computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writeString(final int field, final String value, final CodedOutputStream out) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static int stringSize(final int field, final String value) {
+        return value != null && !value.isEmpty() ? computeStringSize(field, value) : 0;
+    }
+
+    private static void writeEnum(final int field, final int value, final CodedOutputStream out) throws IOException {
+        if (value != 0) {
+            out.writeEnum(field, value);
+        }
+    }
+
+    private static int enumSize(final int field, final int value) {
+        return value != 0 ? computeEnumSize(field, value) : 0;
+    }
+
+    private static void writeInt32(final int field, final int value, final CodedOutputStream out) throws IOException {
+        if (value != 0) {
+            out.writeInt32(field, value);
+        }
+    }
+
+    private static int int32Size(final int field, final int value) {
+        return value != 0 ? computeInt32Size(field, value) : 0;
+    }
+
+    private static void writeInt64(final int field, final long value, final CodedOutputStream out) throws IOException {
+        if (value != 0) {
+            out.writeInt64(field, value);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.orders.adapters.in.messaging;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("br.com.orders.AmqpAck")
+@Label("AMQP Ack")
+@Category({"Orders", "Messaging"})
+@Description("One basicAck sent by BatchingAcknowledger, covering a single delivery or a multiple=true window")
+@StackTrace(false)
+class AmqpAckEvent extends Event {
+
+    @Label("Deliveries")
+    int deliveries;
+
+    @Label("Up To Tag")
+    long deliveryTag;
+
+    @Label("Multiple")
+    boolean multiple;
+
+    @Label("Outcome")
+    @Description("ACKED, FAILED or CHANNEL_CLOSED")
+    String outcome;
+}
@@ -0,0 +1,181 @@
+package br.com.orders.adapters.in.messaging;
+
+import com.rabbitmq.client.Channel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Each listener consumer owns its channel and handles deliveries in tag order, so every tag below the
+// highest pending one has already been settled and a single basicAck(multiple=true) covers the whole window
+@Component
+@Slf4j
+public class BatchingAcknowledger {
+
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long flushIntervalNanos;
+    private final Map<Channel, PendingAcks> pending = new ConcurrentHashMap<>();
+    // Not on the shared @Scheduled pool: an archive or reconcile pass there would hold every listener's acks
+    private final ScheduledExecutorService flusher =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ack-flusher").daemon().factory());
+
+    public BatchingAcknowledger(@Value("${app.rabbitmq.ack.batch-size:25}") final int batchSize,
+                                @Value("${app.rabbitmq.ack.max-delay:100ms}") final Duration maxDelay,
+                                @Value("${app.rabbitmq.ack.flush-interval:PT0.05S}") final Duration flushInterval) {
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flushExpired();
+            } catch (Exception e) {
+                // An escaping exception would cancel the schedule
+                log.warn("Failed to flush expired acks: {}", e.getMessage(), e);
+            }
+        }, flushIntervalNanos, flushIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void ack(final Channel channel, final long deliveryTag) {
+        if (batchSize <= 1) {
+            basicAck(channel, deliveryTag);
+            return;
+        }
+
+        var acks = pending.computeIfAbsent(channel, key -> new PendingAcks());
+        synchronized (acks) {
+            acks.add(deliveryTag);
+            if (acks.count >= batchSize) {
+                flush(channel, acks);
+            }
+        }
+    }
+
+    // Pending acks are flushed first so the multiple=true window never spans the rejected tag
+    public void reject(final Channel channel, final long deliveryTag, final boolean requeue) {
+        var acks = pending.get(channel);
+        if (acks != null) {
+            synchronized (acks) {
+                flush(channel, acks);
+            }
+        }
+
+        try {
+            channel.basicNack(deliveryTag, false, requeue);
+        } catch (Exception e) {
+            // The broker redelivers everything unsettled once the channel closes
+            log.warn("Failed to nack delivery {} (requeue={}): {}", deliveryTag, requeue, e.getMessage());
+        }
+    }
+
+    public void flushExpired() {
+        var now = System.nanoTime();
+        pending.forEach((channel, acks) -> {
+            if (!channel.isOpen()) {
+                pending.remove(channel, acks);
+                return;
+            }
+            synchronized (acks) {
+                if (acks.count > 0 && now - acks.firstPendingAt >= maxDelayNanos) {
+                    flush(channel, acks);
+                }
+            }
+        });
+    }
+
+    // Also called when the listeners pause, so the flusher keeps running for when they resume
+    public void flushAll() {
+        pending.forEach((channel, acks) -> {
+            synchronized (acks) {
+                flush(channel, acks);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushAll();
+    }
+
+    private void flush(final Channel channel, final PendingAcks acks) {
+        if (acks.count == 0) {
+            return;
+        }
+        var highestTag = acks.highestTag;
+        var count = acks.count;
+        acks.clear();
+
+        var event = ackEvent(count, highestTag, true);
+        if (!channel.isOpen()) {
+            pending.remove(channel, acks);
+            log.warn("Channel closed with {} unacknowledged deliveries, they will be redelivered", count);
+            commit(event, "CHANNEL_CLOSED");
+            return;
+        }
+        try {
+            channel.basicAck(highestTag, true);
+            log.debug("Acknowledged {} deliveries up to tag {}", count, highestTag);
+            commit(event, "ACKED");
+        } catch (Exception e) {
+            log.warn("Failed to ack {} deliveries up to tag {}: {}", count, highestTag, e.getMessage());
+            commit(event, "FAILED");
+        }
+    }
+
+    private void basicAck(final Channel channel, final long deliveryTag) {
+        var event = ackEvent(1, deliveryTag, false);
+        try {
+            channel.basicAck(deliveryTag, false);
+            commit(event, "ACKED");
+        } catch (Exception e) {
+            log.warn("Failed to ack delivery {}: {}", deliveryTag, e.getMessage());
+            commit(event, "FAILED");
+        }
+    }
+
+    private static AmqpAckEvent ackEvent(final int deliveries, final long deliveryTag, final boolean multiple) {
+        var event = new AmqpAckEvent();
+        event.begin();
+        event.deliveries = deliveries;
+        event.deliveryTag = deliveryTag;
+        event.multiple = multiple;
+        return event;
+    }
+
+    private static void commit(final AmqpAckEvent event, final String outcome) {
+        event.outcome = outcome;
+        event.commit();
+    }
+
+    private static final class PendingAcks {
+        private long highestTag;
+        private int count;
+        private long firstPendingAt;
+
+        void add(final long deliveryTag) {
+            if (count == 0) {
+                firstPendingAt = System.nanoTime();
+            }
+            highestTag = Math.max(highestTag, deliveryTag);
+            count++;
+        }
+
+        void clear() {
+            highestTag = 0;
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.orders.adapters.in.messaging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+// GET /actuator/consumerlag: queue depth and consumers from the broker, this instance's settle rate and what it takes
+// to drain the backlog within target-drain-time. Replicas are estimated as broker consumers / local consumers, so an
+// autoscaler can read any one instance; the same numbers are published as gauges for metric-based scaling
+@Component
+@Endpoint(id = "consumerlag")
+@Slf4j
+@ConditionalOnProperty(prefix = "app.rabbitmq.lag", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConsumerLagMonitor {
+
+    private static final Map<String, Duration> WINDOWS = windows();
+    private static final String SCALING_WINDOW = "5m";
+    // Weight of the newest poll in the backlog growth trend
+    private static final double TREND_SMOOTHING = 0.3;
+
+    private final AmqpAdmin amqpAdmin;
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final ProcessingRateTracker processingRateTracker;
+    private final String incomingQueue;
+    private final String deadLetterQueue;
+    private final double targetDrainSeconds;
+    private final int minReplicas;
+    private final int maxReplicas;
+
+    private volatile LagSnapshot latest;
+    private Double growthTrend;
+
+    public ConsumerLagMonitor(final AmqpAdmin amqpAdmin,
+                              final RabbitListenerEndpointRegistry listenerRegistry,
+                              final ProcessingRateTracker processingRateTracker,
+                              final MeterRegistry meterRegistry,
+                              @Value("${app.rabbitmq.queues.incoming}") final String incomingQueue,
+                              @Value("${app.rabbitmq.queues.dlq}") final String deadLetterQueue,
+                              @Value("${app.rabbitmq.lag.target-drain-time:2m}") final Duration targetDrainTime,
+                              @Value("${app.rabbitmq.lag.min-replicas:1}") final int minReplicas,
+                              @Value("${app.rabbitmq.lag.max-replicas:10}") final int maxReplicas) {
+        if (targetDrainTime.isZero() || targetDrainTime.isNegative()) {
+            throw new IllegalArgumentException("app.rabbitmq.lag.target-drain-time must be positive");
+        }
+        if (minReplicas < 1 || maxReplicas < minReplicas) {
+            throw new IllegalArgumentException("app.rabbitmq.lag needs 1 <= min-replicas <= max-replicas");
+        }
+        this.amqpAdmin = amqpAdmin;
+        this.listenerRegistry = listenerRegistry;
+        this.processingRateTracker = processingRateTracker;
+        this.incomingQueue = incomingQueue;
+        this.deadLetterQueue = deadLetterQueue;
+        this.targetDrainSeconds = targetDrainTime.toMillis() / 1000.0;
+        this.minReplicas = minReplicas;
+        this.maxReplicas = maxReplicas;
+
+        gauge(meterRegistry, "orders.queue.depth", "queue", incomingQueue, "Ready messages in the queue",
+                lag -> lag.incoming().messages());
+        gauge(meterRegistry, "orders.queue.depth", "queue", deadLetterQueue, "Ready messages in the queue",
+                lag -> lag.deadLetter() != null ? lag.deadLetter().messages() : Double.NaN);
+        gauge(meterRegistry, "orders.queue.consumers", "queue", incomingQueue, "Consumers attached to the queue",
+                lag -> lag.incoming().consumers());
+        WINDOWS.forEach((window, duration) ->
+                Gauge.builder("orders.consumer.rate", processingRateTracker, tracker -> tracker.perSecond(duration))
+                        .tag("window", window)
+                        .description("Deliveries this instance settled per second")
+                        .register(meterRegistry));
+        gauge(meterRegistry, "orders.queue.drain.seconds", "queue", incomingQueue,
+                "Time to drain the backlog at the current fleet rate",
+                lag -> lag.drainSecondsAtCapacity() != null ? lag.drainSecondsAtCapacity() : Double.NaN);
+        Gauge.builder("orders.replicas.recommended", this, monitor -> monitor.latest != null ? monitor.latest.recommendedReplicas() : Double.NaN)
+                .description("Replicas needed to keep up with arrivals and drain the backlog within target-drain-time")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rabbitmq.lag.poll-interval:PT5S}",
+            initialDelayString = "${app.rabbitmq.lag.poll-interval:PT5S}")
+    public void poll() {
+        poll(Instant.now());
+    }
+
+    synchronized void poll(final Instant now) {
+        QueueInformation incoming;
+        QueueInformation deadLetter;
+        try {
+            incoming = amqpAdmin.getQueueInfo(incomingQueue);
+            deadLetter = amqpAdmin.getQueueInfo(deadLetterQueue);
+        } catch (AmqpException e) {
+            log.warn("Failed to read queue depth for {}: {}", incomingQueue, e.getMessage());
+            return;
+        }
+        if (incoming == null) {
+            log.warn("Queue {} not found, skipping lag poll", incomingQueue);
+            return;
+        }
+
+        var previous = latest;
+        if (previous != null && now.isAfter(previous.polledAt())) {
+            var elapsedSeconds = Duration.between(previous.polledAt(), now).toMillis() / 1000.0;
+            var growth = (incoming.getMessageCount() - previous.incoming().messages()) / elapsedSeconds;
+            growthTrend = growthTrend == null ? growth : TREND_SMOOTHING * growth + (1 - TREND_SMOOTHING) * growthTrend;
+        }
+        latest = snapshot(now, incoming, deadLetter);
+    }
+
+    @ReadOperation
+    @Nullable
+    public LagSnapshot lag() {
+        return latest;
+    }
+
+    private LagSnapshot snapshot(final Instant now, final QueueInformation incoming, @Nullable final QueueInformation deadLetter) {
+        var rates = new LinkedHashMap<String, Double>();
+        WINDOWS.forEach((window, duration) -> rates.put(window, processingRateTracker.perSecond(duration)));
+
+        var depth = incoming.getMessageCount();
+        var localConsumers = localConsumers();
+        var replicas = Math.max(1, localConsumers > 0 ? ceil(incoming.getConsumerCount() / (double) localConsumers) : 1);
+        var perReplicaRate = rates.get(SCALING_WINDOW);
+        var fleetRate = perReplicaRate * replicas;
+        var growth = growthTrend != null ? growthTrend : 0;
+        // What is settled plus what the backlog grew by is what arrived
+        var arrivalRate = Math.max(0, fleetRate + growth);
+
+        var drainAtCapacity = depth == 0 ? Double.valueOf(0) : fleetRate > 0 ? Double.valueOf(depth / fleetRate) : null;
+        var drainAtTrend = depth == 0 ? Double.valueOf(0) : growth < 0 ? Double.valueOf(depth / -growth) : null;
+
+        return new LagSnapshot(now,
+                stats(incoming),
+                deadLetter != null ? stats(deadLetter) : null,
+                localConsumers,
+                replicas,
+                rates,
+                fleetRate,
+                arrivalRate,
+                growth,
+                drainAtCapacity,
+                drainAtTrend,
+                recommendedReplicas(depth, arrivalRate, perReplicaRate, replicas));
+    }
+
+    // Without a measured rate there is nothing to size against, so the current fleet is kept
+    private int recommendedReplicas(final long depth, final double arrivalRate, final double perReplicaRate, final int replicas) {
+        if (depth == 0 && arrivalRate == 0) {
+            return minReplicas;
+        }
+        var needed = perReplicaRate > 0
+                ? ceil((arrivalRate + depth / targetDrainSeconds) / perReplicaRate)
+                : replicas;
+        return Math.clamp(needed, minReplicas, maxReplicas);
+    }
+
+    private int localConsumers() {
+        var consumers = 0;
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            if (container instanceof SimpleMessageListenerContainer simple
+                    && Arrays.asList(simple.getQueueNames()).contains(incomingQueue)) {
+                consumers += simple.getActiveConsumerCount();
+            }
+        }
+        return consumers;
+    }
+
+    private void gauge(final MeterRegistry meterRegistry, final String name, final String tagKey, final String tagValue,
+                       final String description, final ToDoubleFunction<LagSnapshot> value) {
+        Gauge.builder(name, this, monitor -> monitor.latest != null ? value.applyAsDouble(monitor.latest) : Double.NaN)
+                .tag(tagKey, tagValue)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private static QueueStats stats(final QueueInformation info) {
+        return new QueueStats(info.getName(), info.getMessageCount(), info.getConsumerCount());
+    }
+
+    private static int ceil(final double value) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceil(value));
+    }
+
+    private static Map<String, Duration> windows() {
+        var windows = new LinkedHashMap<String, Duration>();
+        windows.put("1m", Duration.ofMinutes(1));
+        windows.put(SCALING_WINDOW, Duration.ofMinutes(5));
+        windows.put("15m", ProcessingRateTracker.LONGEST_WINDOW);
+        return windows;
+    }
+
+    public record QueueStats(String name, long messages, int consumers) {
+    }
+
+    public record LagSnapshot(Instant polledAt, QueueStats incoming, QueueStats deadLetter, int localConsumers,
+                              int estimatedReplicas, Map<String, Double> ratePerSecond, double fleetRatePerSecond,
+                              double arrivalRatePerSecond, double backlogGrowthPerSecond, Double drainSecondsAtCapacity,
+                              Double drainSecondsAtCurrentTrend, int recommendedReplicas) {
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.orders.adapters.in.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// A broker reject dead-letters through the queue's DLX but cannot add headers, so deliveries are copied to the
+// DLQ with the failure reason attached. Callers fall back to reject(requeue=false) when this returns false
+@Component
+@Slf4j
+public class DeadLetterPublisher {
+
+    public static final String FAILURE_CLASS_HEADER = "x-failure-class";
+    public static final String FAILURE_REASON_HEADER = "x-failure-reason";
+    public static final String EXCEPTION_TYPE_HEADER = "x-exception-type";
+
+    private static final int MAX_REASON_LENGTH = 512;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String dlqName;
+    private final Duration confirmTimeout;
+
+    public DeadLetterPublisher(final RabbitTemplate rabbitTemplate,
+                               @Value("${app.rabbitmq.queues.dlq}") final String dlqName,
+                               @Value("${app.rabbitmq.retry.confirm-timeout:5s}") final Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.dlqName = dlqName;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public boolean publish(final Message message, final ErrorClassifier.ErrorClass errorClass, final Throwable error) {
+        var reason = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        if (reason.length() > MAX_REASON_LENGTH) {
+            reason = reason.substring(0, MAX_REASON_LENGTH);
+        }
+        var deadLetter = MessageBuilder.fromClonedMessage(message)
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader(FAILURE_CLASS_HEADER, errorClass.name())
+                .setHeader(FAILURE_REASON_HEADER, reason)
+                .setHeader(EXCEPTION_TYPE_HEADER, error.getClass().getName())
+                .build();
+
+        try {
+            var correlationData = new CorrelationData();
+            rabbitTemplate.send("", dlqName, deadLetter, correlationData);
+            var confirm = correlationData.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Broker nacked dead letter for message {}: {}", message.getMessageProperties().getMessageId(),
+                        confirm.getReason());
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.warn("Failed to dead-letter message {}: {}", message.getMessageProperties().getMessageId(), e.getMessage());
+            return false;
+        }
+    }
+}
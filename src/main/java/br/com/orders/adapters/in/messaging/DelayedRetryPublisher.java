@@ -0,0 +1,104 @@
+package br.com.orders.adapters.in.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Moves a failed delivery onto the next TTL tier queue declared by RabbitMQConfig. The tier dead-letters it
+// back to the incoming exchange once its TTL expires, so the consumer thread never waits out the delay
+@Component
+@Slf4j
+public class DelayedRetryPublisher {
+
+    public static final String RETRY_ATTEMPT_HEADER = "x-retry-attempt";
+
+    public enum Outcome {
+        SCHEDULED, EXHAUSTED, FAILED
+    }
+
+    private final RabbitTemplate rabbitTemplate;
+    private final List<Duration> delays;
+    private final String incomingQueueName;
+    private final Duration confirmTimeout;
+    private final MeterRegistry meterRegistry;
+    private final Counter exhausted;
+
+    public DelayedRetryPublisher(final RabbitTemplate rabbitTemplate,
+                                 final MeterRegistry meterRegistry,
+                                 @Value("${app.rabbitmq.retry.delays:1s,10s,60s}") final List<Duration> delays,
+                                 @Value("${app.rabbitmq.queues.incoming}") final String incomingQueueName,
+                                 @Value("${app.rabbitmq.retry.confirm-timeout:5s}") final Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.delays = delays;
+        this.incomingQueueName = incomingQueueName;
+        this.confirmTimeout = confirmTimeout;
+        this.exhausted = Counter.builder("orders.retry.exhausted")
+                .description("Deliveries dead-lettered after the last retry tier")
+                .register(meterRegistry);
+    }
+
+    public static String tierQueueName(final String incomingQueueName, final Duration delay) {
+        return incomingQueueName + ".retry." + delay.toMillis() + "ms";
+    }
+
+    public static int attempt(final Message message) {
+        var header = message.getMessageProperties().getHeader(RETRY_ATTEMPT_HEADER);
+        return header instanceof Number number ? number.intValue() : 0;
+    }
+
+    // The original delivery may only be acked after SCHEDULED: the copy is confirmed by the broker by then
+    public Outcome schedule(final Message message) {
+        var attempt = attempt(message);
+        if (attempt >= delays.size()) {
+            exhausted.increment();
+            log.warn("Retries exhausted after {} attempts for message {}", attempt,
+                    message.getMessageProperties().getMessageId());
+            return Outcome.EXHAUSTED;
+        }
+
+        var delay = delays.get(attempt);
+        var queue = tierQueueName(incomingQueueName, delay);
+        var retry = MessageBuilder.fromClonedMessage(message)
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader(RETRY_ATTEMPT_HEADER, attempt + 1)
+                .build();
+
+        try {
+            var correlationData = new CorrelationData();
+            rabbitTemplate.send("", queue, retry, correlationData);
+            var confirm = correlationData.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Broker nacked retry of message {} to {}: {}", message.getMessageProperties().getMessageId(),
+                        queue, confirm.getReason());
+                return Outcome.FAILED;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.FAILED;
+        } catch (Exception e) {
+            log.warn("Failed to schedule retry of message {} to {}: {}", message.getMessageProperties().getMessageId(),
+                    queue, e.getMessage());
+            return Outcome.FAILED;
+        }
+
+        Counter.builder("orders.retry.scheduled")
+                .tag("delay", delay.toString())
+                .description("Failed deliveries moved to a retry tier")
+                .register(meterRegistry)
+                .increment();
+        log.info("Scheduled retry {} of message {} in {}", attempt + 1, message.getMessageProperties().getMessageId(), delay);
+        return Outcome.SCHEDULED;
+    }
+}
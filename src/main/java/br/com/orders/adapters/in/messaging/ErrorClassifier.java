@@ -0,0 +1,93 @@
+package br.com.orders.adapters.in.messaging;
+
+import br.com.orders.adapters.in.messaging.mapper.OrderCreatedStreamReader;
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import br.com.orders.domain.service.CalculateOrderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ErrorClassifier {
+
+    public enum ErrorClass {
+        // Redelivery can never succeed: straight to the DLQ
+        PERMANENT,
+        // Infrastructure hiccup: retried through the delay tiers
+        TRANSIENT,
+        // Not recognised: retried like TRANSIENT, since dead-lettering a good order is worse than a bounded retry
+        UNKNOWN
+    }
+
+    // The payload is malformed: only the validation failures this consumer raises itself, not any bad argument
+    private static final List<Class<? extends Throwable>> PERMANENT = List.of(
+            JsonSchemaValidator.JsonSchemaValidationException.class,
+            JsonProcessingException.class,
+            OrderCreatedStreamReader.MalformedOrderMessageException.class);
+
+    private static final List<Class<? extends Throwable>> TRANSIENT = List.of(
+            TransientDataAccessException.class,
+            RecoverableDataAccessException.class,
+            DataAccessResourceFailureException.class,
+            MongoSocketException.class,
+            MongoTimeoutException.class,
+            AmqpIOException.class);
+
+    private final MeterRegistry meterRegistry;
+
+    // The outermost recognised exception wins and generic wrappers resolve to their cause. OrderProcessingException
+    // is looked through: a Mongo hiccup under it is still worth a redelivery, which overwrites the FAILED marker
+    public ErrorClass classify(final Throwable error) {
+        var errorClass = resolve(error);
+        Counter.builder("orders.listener.errors")
+                .tag("class", errorClass.name().toLowerCase())
+                .tag("exception", rootType(error))
+                .description("Listener failures by classification")
+                .register(meterRegistry)
+                .increment();
+        return errorClass;
+    }
+
+    private static ErrorClass resolve(final Throwable error) {
+        var failedOrder = false;
+        var depth = 0;
+        for (var current = error; current != null && depth < 16; current = current.getCause(), depth++) {
+            if (current instanceof CalculateOrderService.OrderProcessingException) {
+                failedOrder = true;
+                continue;
+            }
+            if (matches(PERMANENT, current)) {
+                return ErrorClass.PERMANENT;
+            }
+            if (matches(TRANSIENT, current)) {
+                return ErrorClass.TRANSIENT;
+            }
+        }
+        // A calculation that failed for a reason a redelivery cannot change
+        return failedOrder ? ErrorClass.PERMANENT : ErrorClass.UNKNOWN;
+    }
+
+    private static boolean matches(final List<Class<? extends Throwable>> types, final Throwable error) {
+        return types.stream().anyMatch(type -> type.isInstance(error));
+    }
+
+    private static String rootType(final Throwable error) {
+        var root = error;
+        var depth = 0;
+        while (root.getCause() != null && root.getCause() != root && depth++ < 16) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName();
+    }
+}
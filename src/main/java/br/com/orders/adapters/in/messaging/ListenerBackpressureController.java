@@ -0,0 +1,184 @@
+package br.com.orders.adapters.in.messaging;
+
+import br.com.orders.adapters.out.mongo.MongoLoadMonitor;
+import br.com.orders.adapters.out.mongo.MongoLoadMonitor.LoadSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Slows consumption down instead of letting deliveries age out: while Mongo is slow, messages wait in
+// the queue (and their x-message-ttl) rather than in retries. Escalation is immediate, recovery goes one
+// level at a time and only after resume-after consecutive windows below half the thresholds
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.backpressure", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ListenerBackpressureController {
+
+    public enum State {
+        NORMAL, THROTTLED, PAUSED
+    }
+
+    private static final double RESUME_RATIO = 0.5;
+
+    private final MongoLoadMonitor mongoLoadMonitor;
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final BatchingAcknowledger batchingAcknowledger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final double throttlePoolWaitMillis;
+    private final double throttleCommandLatencyMillis;
+    private final double pausePoolWaitMillis;
+    private final double pauseCommandLatencyMillis;
+    private final int resumeAfter;
+    private final int throttledConcurrency;
+    private final int concurrency;
+    private final int maxConcurrency;
+
+    private volatile State state = State.NORMAL;
+    private int healthyWindows;
+
+    public ListenerBackpressureController(final MongoLoadMonitor mongoLoadMonitor,
+                                          final RabbitListenerEndpointRegistry listenerRegistry,
+                                          final BatchingAcknowledger batchingAcknowledger,
+                                          final ApplicationEventPublisher eventPublisher,
+                                          final MeterRegistry meterRegistry,
+                                          @Value("${app.backpressure.throttle.pool-wait:50ms}") final Duration throttlePoolWait,
+                                          @Value("${app.backpressure.throttle.command-latency:250ms}") final Duration throttleCommandLatency,
+                                          @Value("${app.backpressure.pause.pool-wait:500ms}") final Duration pausePoolWait,
+                                          @Value("${app.backpressure.pause.command-latency:2s}") final Duration pauseCommandLatency,
+                                          @Value("${app.backpressure.resume-after:5}") final int resumeAfter,
+                                          @Value("${app.backpressure.throttled-concurrency:1}") final int throttledConcurrency,
+                                          @Value("${app.rabbitmq.listener.concurrency:3}") final int concurrency,
+                                          @Value("${app.rabbitmq.listener.max-concurrency:10}") final int maxConcurrency) {
+        this.mongoLoadMonitor = mongoLoadMonitor;
+        this.listenerRegistry = listenerRegistry;
+        this.batchingAcknowledger = batchingAcknowledger;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.throttlePoolWaitMillis = throttlePoolWait.toMillis();
+        this.throttleCommandLatencyMillis = throttleCommandLatency.toMillis();
+        this.pausePoolWaitMillis = pausePoolWait.toMillis();
+        this.pauseCommandLatencyMillis = pauseCommandLatency.toMillis();
+        this.resumeAfter = resumeAfter;
+        this.throttledConcurrency = throttledConcurrency;
+        this.concurrency = concurrency;
+        this.maxConcurrency = maxConcurrency;
+
+        Gauge.builder("orders.backpressure.state", this, controller -> controller.state.ordinal())
+                .description("Listener backpressure state: 0 normal, 1 throttled, 2 paused")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.backpressure.check-interval:PT1S}",
+            initialDelayString = "${app.backpressure.check-interval:PT1S}")
+    public synchronized void evaluate() {
+        var load = mongoLoadMonitor.snapshot();
+        var target = targetState(load);
+
+        if (target.ordinal() > state.ordinal()) {
+            healthyWindows = 0;
+            transition(target, load);
+            return;
+        }
+
+        if (state != State.NORMAL && belowResumeThresholds(load)) {
+            healthyWindows++;
+            if (healthyWindows >= resumeAfter) {
+                healthyWindows = 0;
+                transition(State.values()[state.ordinal() - 1], load);
+            }
+        } else {
+            healthyWindows = 0;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private State targetState(final LoadSnapshot load) {
+        if (load.checkOutFailures() > 0
+                || load.poolWaitMillis() >= pausePoolWaitMillis
+                || load.commandLatencyMillis() >= pauseCommandLatencyMillis) {
+            return State.PAUSED;
+        }
+        if (load.poolWaitMillis() >= throttlePoolWaitMillis || load.commandLatencyMillis() >= throttleCommandLatencyMillis) {
+            return State.THROTTLED;
+        }
+        return State.NORMAL;
+    }
+
+    private boolean belowResumeThresholds(final LoadSnapshot load) {
+        return load.checkOutFailures() == 0
+                && load.poolWaitMillis() < throttlePoolWaitMillis * RESUME_RATIO
+                && load.commandLatencyMillis() < throttleCommandLatencyMillis * RESUME_RATIO;
+    }
+
+    private void transition(final State target, final LoadSnapshot load) {
+        var previous = state;
+        log.warn("Listener backpressure {} -> {} (pool wait {} ms, command latency {} ms, checkout failures {})",
+                previous, target, Math.round(load.poolWaitMillis()), Math.round(load.commandLatencyMillis()), load.checkOutFailures());
+
+        for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+            apply(container, target);
+        }
+        state = target;
+
+        Counter.builder("orders.backpressure.transitions")
+                .tag("from", previous.name())
+                .tag("to", target.name())
+                .description("Listener backpressure state changes")
+                .register(meterRegistry)
+                .increment();
+        eventPublisher.publishEvent(new BackpressureStateChangedEvent(previous, target, load));
+    }
+
+    private void apply(final MessageListenerContainer container, final State target) {
+        switch (target) {
+            case PAUSED -> {
+                // Settle what is already processed; deliveries still in flight are requeued when the channels close
+                batchingAcknowledger.flushAll();
+                container.stop();
+            }
+            case THROTTLED -> {
+                resize(container, throttledConcurrency, throttledConcurrency);
+                ensureRunning(container);
+            }
+            case NORMAL -> {
+                resize(container, concurrency, maxConcurrency);
+                ensureRunning(container);
+            }
+        }
+    }
+
+    // The container rejects min > max at every step, so min drops to 1 before max moves in either direction
+    private static void resize(final MessageListenerContainer container, final int min, final int max) {
+        if (container instanceof SimpleMessageListenerContainer simple) {
+            var upper = Math.max(max, 1);
+            simple.setConcurrentConsumers(1);
+            simple.setMaxConcurrentConsumers(upper);
+            simple.setConcurrentConsumers(Math.min(Math.max(min, 1), upper));
+        }
+    }
+
+    private static void ensureRunning(final MessageListenerContainer container) {
+        if (!container.isRunning()) {
+            container.start();
+        }
+    }
+
+    public record BackpressureStateChangedEvent(State from, State to, LoadSnapshot load) {
+    }
+}
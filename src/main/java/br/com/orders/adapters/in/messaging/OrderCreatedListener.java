@@ -2,9 +2,15 @@ package br.com.orders.adapters.in.messaging;
 
 import br.com.orders.adapters.in.messaging.dto.OrderCreatedMessage;
 import br.com.orders.domain.service.CalculateOrderService;
+import br.com.orders.adapters.in.messaging.mapper.OrderCreatedStreamReader;
 import br.com.orders.adapters.in.messaging.mapper.OrderMessageMapper;
 import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import br.com.orders.config.StartupMetrics;
+import br.com.orders.domain.model.Order;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -12,59 +18,163 @@ import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+import java.util.function.Supplier;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderCreatedListener {
     
+    // One timer and one span per step; the span also carries the order key so a single order can be looked up
+    static final String STEP_OBSERVATION = "orders.message.step";
+    static final String EXTERNAL_ID_KEY = "order.external_id";
+    
     private final CalculateOrderService calculateOrderService;
     private final OrderMessageMapper orderMessageMapper;
     private final JsonSchemaValidator jsonSchemaValidator;
     private final ObjectMapper objectMapper;
+    private final BatchingAcknowledger batchingAcknowledger;
+    private final StartupMetrics startupMetrics;
+    private final DelayedRetryPublisher delayedRetryPublisher;
+    private final ErrorClassifier errorClassifier;
+    private final DeadLetterPublisher deadLetterPublisher;
+    private final OrderCreatedStreamReader orderCreatedStreamReader;
+    private final ObservationRegistry observationRegistry;
+    private final ProcessingRateTracker processingRateTracker;
     
     @RabbitListener(queues = "${app.rabbitmq.queues.incoming}")
-    public void handleOrderCreated(final Message message) {
+    public void handleOrderCreated(final Message message, final Channel channel) {
         var correlationId = message.getMessageProperties().getCorrelationId();
         var orderId = message.getMessageProperties().getMessageId();
+        var deliveryTag = message.getMessageProperties().getDeliveryTag();
         
         // Set MDC for structured logging
         MDC.put("correlationId", correlationId);
         MDC.put("orderId", orderId);
         
+        var event = new OrderProcessedEvent();
+        event.begin();
+        event.payloadBytes = message.getBody().length;
+        
         try {
             log.info("Received order created message with correlationId: {}", correlationId);
 
-            var messageBody = new String(message.getBody());
-            log.debug("Message body: {}", messageBody);
-
-            var trimmedBody = messageBody.trim();
-            if (trimmedBody.startsWith("\"") && trimmedBody.endsWith("\"")) {
-                try {
-                    var decoded = objectMapper.readValue(messageBody, String.class);
-                    if (decoded.trim().startsWith("{") || decoded.trim().startsWith("[")) {
-                        messageBody = decoded;
-                        log.debug("Decoded double-encoded JSON, new body: {}", messageBody);
-                    }
-                } catch (Exception e) {
-                    log.debug("Failed to decode as JSON string, assuming message is already properly formatted: {}", e.getMessage());
-                }
-            }
+            event.streamed = orderCreatedStreamReader.shouldStream(message.getBody());
+            var processedOrder = event.streamed
+                    ? processStreamed(message.getBody(), event)
+                    : process(message.getBody(), event);
 
-            jsonSchemaValidator.validateOrderCreated(messageBody);
-
-            var orderMessage = objectMapper.readValue(messageBody, OrderCreatedMessage.class);
-            var order = orderMessageMapper.toDomain(orderMessage);
-
-            var processedOrder = calculateOrderService.processOrder(order);
+            // Only reached once the Mongo write has returned, so an ack never precedes persistence
+            batchingAcknowledger.ack(channel, deliveryTag);
+            startupMetrics.messageConsumed();
+            event.itemCount = processedOrder.getItemCount() != null ? processedOrder.getItemCount() : 0;
+            event.outcome = "PROCESSED";
             
             log.info("Successfully processed order: {} with total: {}", 
                     processedOrder.getId(), processedOrder.getTotalAmount());
             
         } catch (Exception e) {
-            log.error("Error processing order created message: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to process order message", e);
+            var errorClass = errorClassifier.classify(e);
+            event.outcome = errorClass.name();
+            log.error("Error processing order created message ({} failure): {}",
+                    errorClass.name().toLowerCase(), e.getMessage(), e);
+            if (errorClass == ErrorClassifier.ErrorClass.PERMANENT) {
+                deadLetter(message, channel, deliveryTag, errorClass, e);
+            } else {
+                retry(message, channel, deliveryTag, errorClass, e);
+            }
         } finally {
-            MDC.clear();
+            event.commit();
+            // Counted whatever the outcome: a retry or a dead letter also takes the delivery off the incoming queue
+            processingRateTracker.recordSettled();
+            // Not MDC.clear(): traceId/spanId belong to the delivery's observation scope, which closes after this returns
+            MDC.remove("correlationId");
+            MDC.remove("orderId");
+        }
+    }
+
+    private Order process(final byte[] body, final OrderProcessedEvent event) throws Exception {
+        var messageBody = new String(body);
+        log.debug("Message body: {}", messageBody);
+
+        var trimmedBody = messageBody.trim();
+        if (trimmedBody.startsWith("\"") && trimmedBody.endsWith("\"")) {
+            try {
+                var decoded = objectMapper.readValue(messageBody, String.class);
+                if (decoded.trim().startsWith("{") || decoded.trim().startsWith("[")) {
+                    messageBody = decoded;
+                    log.debug("Decoded double-encoded JSON, new body: {}", messageBody);
+                }
+            } catch (Exception e) {
+                log.debug("Failed to decode as JSON string, assuming message is already properly formatted: {}", e.getMessage());
+            }
+        }
+
+        var validBody = messageBody;
+        event.startStages();
+        step("validate").observeChecked(() -> jsonSchemaValidator.validateOrderCreated(validBody));
+        event.validateDuration = event.lap();
+
+        var order = step("map").observeChecked(() ->
+                orderMessageMapper.toDomain(objectMapper.readValue(validBody, OrderCreatedMessage.class)));
+        event.mapDuration = event.lap();
+
+        return calculate(order.getExternalId(), event, () -> calculateOrderService.processOrder(order));
+    }
+
+    // Above app.orders.items.stream-above the body is never decoded to a String or bound to a DTO: it is validated
+    // and read on the token stream, and items reach Mongo in chunks while they are parsed
+    private Order processStreamed(final byte[] body, final OrderProcessedEvent event) throws Exception {
+        log.debug("Streaming order message of {} bytes", body.length);
+
+        event.startStages();
+        step("validate").observeChecked(() -> jsonSchemaValidator.validateOrderCreated(body));
+        event.validateDuration = event.lap();
+
+        var header = step("map").observeChecked(() -> orderCreatedStreamReader.readHeader(body));
+        event.mapDuration = event.lap();
+
+        return calculate(header.getExternalId(), event,
+                () -> calculateOrderService.processStreamedOrder(header, orderCreatedStreamReader.items(body)));
+    }
+    
+    private Order calculate(final String externalId, final OrderProcessedEvent event, final Supplier<Order> calculation) {
+        event.externalId = externalId;
+        try {
+            return step("calculate")
+                    .highCardinalityKeyValue(EXTERNAL_ID_KEY, Objects.requireNonNullElse(externalId, ""))
+                    .observe(calculation);
+        } finally {
+            event.calculateDuration = event.lap();
+        }
+    }
+    
+    // Child of the delivery's observation, which Spring AMQP opens from the message's traceparent header
+    private Observation step(final String name) {
+        return Observation.createNotStarted(STEP_OBSERVATION, observationRegistry)
+                .contextualName("order " + name)
+                .lowCardinalityKeyValue("step", name);
+    }
+
+    private void retry(final Message message, final Channel channel, final long deliveryTag,
+                       final ErrorClassifier.ErrorClass errorClass, final Exception error) {
+        switch (delayedRetryPublisher.schedule(message)) {
+            // The confirmed copy in the retry tier now owns the message
+            case SCHEDULED -> batchingAcknowledger.ack(channel, deliveryTag);
+            case EXHAUSTED -> deadLetter(message, channel, deliveryTag, errorClass, error);
+            // Broker unreachable for the copy: fall back to an immediate redelivery rather than losing it
+            case FAILED -> batchingAcknowledger.reject(channel, deliveryTag, true);
+        }
+    }
+
+    private void deadLetter(final Message message, final Channel channel, final long deliveryTag,
+                            final ErrorClassifier.ErrorClass errorClass, final Exception error) {
+        if (deadLetterPublisher.publish(message, errorClass, error)) {
+            batchingAcknowledger.ack(channel, deliveryTag);
+        } else {
+            // Without requeue the broker dead-letters the delivery to the DLQ, only without the reason headers
+            batchingAcknowledger.reject(channel, deliveryTag, false);
         }
     }
 }
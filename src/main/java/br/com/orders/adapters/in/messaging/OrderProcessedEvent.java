@@ -0,0 +1,62 @@
+package br.com.orders.adapters.in.messaging;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Flight Recorder event per order message; begin()/commit() cost next to nothing while no recording enables it
+@Name("br.com.orders.OrderProcessed")
+@Label("Order Processed")
+@Category({"Orders", "Messaging"})
+@Description("One order message, from delivery to ack, retry or dead-letter")
+@StackTrace(false)
+class OrderProcessedEvent extends Event {
+
+    @Label("External Id")
+    String externalId;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadBytes;
+
+    @Label("Streamed")
+    boolean streamed;
+
+    @Label("Item Count")
+    int itemCount;
+
+    @Label("Validate")
+    @Timespan
+    long validateDuration;
+
+    @Label("Map")
+    @Timespan
+    long mapDuration;
+
+    @Label("Calculate")
+    @Timespan
+    long calculateDuration;
+
+    @Label("Outcome")
+    @Description("PROCESSED, or the failure class that decided between retry and dead-letter")
+    String outcome;
+
+    // Not recorded: start of the stage lap() closes
+    private transient long stageStart;
+
+    void startStages() {
+        stageStart = System.nanoTime();
+    }
+
+    long lap() {
+        var now = System.nanoTime();
+        var elapsed = now - stageStart;
+        stageStart = now;
+        return elapsed;
+    }
+}
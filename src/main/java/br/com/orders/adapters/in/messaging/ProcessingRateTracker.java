@@ -0,0 +1,65 @@
+package br.com.orders.adapters.in.messaging;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Deliveries this instance has settled, in one-second buckets covering the longest window. Lock-free on the
+// listener threads; a count racing a bucket rollover may be lost, which a rate estimate can afford
+@Component
+public class ProcessingRateTracker {
+
+    static final Duration LONGEST_WINDOW = Duration.ofMinutes(15);
+
+    private static final int SLOTS = (int) LONGEST_WINDOW.toSeconds() + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray seconds = new AtomicLongArray(SLOTS);
+    private final Clock clock;
+    private final long startSecond;
+
+    public ProcessingRateTracker() {
+        this(Clock.systemUTC());
+    }
+
+    ProcessingRateTracker(final Clock clock) {
+        this.clock = clock;
+        this.startSecond = currentSecond();
+        for (int slot = 0; slot < SLOTS; slot++) {
+            seconds.set(slot, -1);
+        }
+    }
+
+    public void recordSettled() {
+        var second = currentSecond();
+        var slot = (int) (second % SLOTS);
+        var stamped = seconds.get(slot);
+        if (stamped != second && seconds.compareAndSet(slot, stamped, second)) {
+            counts.set(slot, 0);
+        }
+        counts.incrementAndGet(slot);
+    }
+
+    // Per second over the completed seconds of the window, or of the uptime while that is shorter
+    public double perSecond(final Duration window) {
+        var now = currentSecond();
+        var span = Math.min(Math.min(window.toSeconds(), LONGEST_WINDOW.toSeconds()), now - startSecond);
+        if (span <= 0) {
+            return 0;
+        }
+        long total = 0;
+        for (long second = now - span; second < now; second++) {
+            var slot = (int) (second % SLOTS);
+            if (seconds.get(slot) == second) {
+                total += counts.get(slot);
+            }
+        }
+        return total / (double) span;
+    }
+
+    private long currentSecond() {
+        return clock.millis() / 1000;
+    }
+}
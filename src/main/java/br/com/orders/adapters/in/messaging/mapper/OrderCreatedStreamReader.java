@@ -0,0 +1,127 @@
+package br.com.orders.adapters.in.messaging.mapper;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderItemSource;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+// Reads an OrderCreated body that has already passed schema validation straight from its bytes: the header in one
+// pass that skips the items, then the items one at a time, so no DTO list or domain list is ever built for them
+@Component
+public class OrderCreatedStreamReader {
+    
+    private final JsonFactory jsonFactory;
+    private final long streamAbove;
+    
+    public OrderCreatedStreamReader(final ObjectMapper objectMapper,
+                                    @Value("${app.orders.items.stream-above:1MB}") final DataSize streamAbove) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.streamAbove = streamAbove.toBytes();
+    }
+    
+    // Double-encoded bodies (a JSON string holding the order) keep going through the regular path
+    public boolean shouldStream(final byte[] body) {
+        if (body.length <= streamAbove) {
+            return false;
+        }
+        for (byte b : body) {
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+    
+    public Order readHeader(final byte[] body) throws IOException {
+        String externalId = null;
+        String correlationId = null;
+        var itemArrays = 0;
+        
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MalformedOrderMessageException("Order message must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "externalId" -> externalId = parser.getValueAsString();
+                    case "correlationId" -> correlationId = parser.getValueAsString();
+                    case "items" -> {
+                        itemArrays++;
+                        parser.skipChildren();
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        
+        // The validator lets a repeated key replace the earlier value, which a single streaming pass cannot undo
+        if (itemArrays > 1) {
+            throw new MalformedOrderMessageException("Order message repeats the items field");
+        }
+        
+        return Order.builder()
+                .externalId(externalId)
+                .correlationId(correlationId)
+                .build();
+    }
+    
+    public OrderItemSource items(final byte[] body) {
+        return consumer -> {
+            try (JsonParser parser = jsonFactory.createParser(body)) {
+                parser.nextToken();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    var field = parser.currentName();
+                    var token = parser.nextToken();
+                    if (!"items".equals(field) || token != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(readItem(parser));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read order items", e);
+            }
+        };
+    }
+    
+    // Same values the OrderMessageMapper path produces, including totalPrice = unitPrice * quantity
+    private static OrderItem readItem(final JsonParser parser) throws IOException {
+        String productId = null;
+        String productName = null;
+        BigDecimal unitPrice = null;
+        Integer quantity = null;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "productId" -> productId = parser.getValueAsString();
+                case "productName" -> productName = parser.getValueAsString();
+                case "unitPrice" -> unitPrice = parser.getDecimalValue();
+                case "quantity" -> quantity = parser.getIntValue();
+                default -> parser.skipChildren();
+            }
+        }
+        return OrderItem.create(productId, productName, unitPrice, quantity);
+    }
+    
+    public static class MalformedOrderMessageException extends RuntimeException {
+        public MalformedOrderMessageException(final String message) {
+            super(message);
+        }
+    }
+}
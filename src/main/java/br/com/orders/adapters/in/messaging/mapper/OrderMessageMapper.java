@@ -22,6 +22,13 @@ public interface OrderMessageMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
+    @Mapping(target = "itemSetId", ignore = true)
+    @Mapping(target = "itemCount", ignore = true)
+    @Mapping(target = "claimToken", ignore = true)
+    @Mapping(target = "claimedBy", ignore = true)
+    @Mapping(target = "claimedUntil", ignore = true)
+    @Mapping(target = "pendingEvent", ignore = true)
+    @Mapping(target = "pendingEventVersion", ignore = true)
     Order toDomain(OrderCreatedMessage message);
     
     List<OrderItem> mapItems(List<OrderCreatedMessage.OrderItemMessage> items);
@@ -1,47 +1,41 @@
 package br.com.orders.adapters.in.messaging.validation;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.fge.jsonschema.core.exceptions.ProcessingException;
-import com.github.fge.jsonschema.core.report.ProcessingReport;
-import com.github.fge.jsonschema.main.JsonSchema;
-import com.github.fge.jsonschema.main.JsonSchemaFactory;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.io.InputStream;
 
 @Component
 @Slf4j
 public class JsonSchemaValidator {
     
-    private final JsonSchema orderCreatedSchema;
-    private final ObjectMapper objectMapper;
+    // Generated at build time from schemas/OrderCreated.schema.json (see src/build/java), validates on the token stream
+    private final OrderCreatedSchemaValidator orderCreatedValidator;
     
-    public JsonSchemaValidator(ObjectMapper objectMapper) throws IOException, ProcessingException {
-        this.objectMapper = objectMapper;
-        this.orderCreatedSchema = loadSchema("schemas/OrderCreated.schema.json");
+    public JsonSchemaValidator(ObjectMapper objectMapper) {
+        this.orderCreatedValidator = new OrderCreatedSchemaValidator(objectMapper.getFactory());
     }
     
     public void validateOrderCreated(String jsonMessage) {
+        log.debug("Validating JSON message: {}", jsonMessage);
+        validate(() -> orderCreatedValidator.validate(jsonMessage));
+    }
+    
+    // Large bodies are validated as received; logging or decoding them would double the memory they take
+    public void validateOrderCreated(byte[] jsonMessage) {
+        log.debug("Validating JSON message of {} bytes", jsonMessage.length);
+        validate(() -> orderCreatedValidator.validate(jsonMessage));
+    }
+    
+    private void validate(ValidationCall call) {
         try {
-            log.debug("Validating JSON message: {}", jsonMessage);
-            
-            // First, parse the JSON string to ensure it's valid JSON
-            JsonNode jsonNode = objectMapper.readTree(jsonMessage);
-            log.debug("Parsed JSON node type: {}, value: {}", jsonNode.getNodeType(), jsonNode);
-            
-            // Check if the parsed node is actually an object
-            if (!jsonNode.isObject()) {
-                log.error("Parsed JSON is not an object, type: {}", jsonNode.getNodeType());
-                throw new JsonSchemaValidationException("JSON message must be an object, but got: " + jsonNode.getNodeType());
+            String violation = call.validate();
+            if (violation != null) {
+                log.error("JSON message violates OrderCreated schema: {}", violation);
+                throw new JsonSchemaValidationException(violation);
             }
             
-            // Manual validation of required fields
-            validateRequiredFields(jsonNode);
-            
             log.debug("JSON Schema validation passed");
             
         } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
@@ -53,69 +47,9 @@ public class JsonSchemaValidator {
         }
     }
     
-    private void validateRequiredFields(JsonNode jsonNode) {
-        // Check required fields
-        if (!jsonNode.has("externalId") || jsonNode.get("externalId").isNull()) {
-            throw new JsonSchemaValidationException("Missing required field: externalId");
-        }
-        
-        if (!jsonNode.has("items") || !jsonNode.get("items").isArray()) {
-            throw new JsonSchemaValidationException("Missing required field: items (must be an array)");
-        }
-        
-        JsonNode items = jsonNode.get("items");
-        if (items.size() == 0) {
-            throw new JsonSchemaValidationException("Items array cannot be empty");
-        }
-        
-        // Validate each item
-        for (int i = 0; i < items.size(); i++) {
-            JsonNode item = items.get(i);
-            if (!item.isObject()) {
-                throw new JsonSchemaValidationException("Item at index " + i + " must be an object");
-            }
-            
-            if (!item.has("productId") || item.get("productId").isNull()) {
-                throw new JsonSchemaValidationException("Missing required field: productId in item " + i);
-            }
-            
-            if (!item.has("productName") || item.get("productName").isNull()) {
-                throw new JsonSchemaValidationException("Missing required field: productName in item " + i);
-            }
-            
-            if (!item.has("unitPrice") || !item.get("unitPrice").isNumber()) {
-                throw new JsonSchemaValidationException("Missing or invalid field: unitPrice in item " + i + " (must be a number)");
-            }
-            
-            if (!item.has("quantity") || !item.get("quantity").isNumber()) {
-                throw new JsonSchemaValidationException("Missing or invalid field: quantity in item " + i + " (must be a number)");
-            }
-            
-            // Validate unitPrice is positive
-            double unitPrice = item.get("unitPrice").asDouble();
-            if (unitPrice < 0) {
-                throw new JsonSchemaValidationException("unitPrice in item " + i + " must be positive");
-            }
-            
-            // Validate quantity is positive integer
-            int quantity = item.get("quantity").asInt();
-            if (quantity <= 0) {
-                throw new JsonSchemaValidationException("quantity in item " + i + " must be a positive integer");
-            }
-        }
-        
-        // Validate correlationId if present
-        if (jsonNode.has("correlationId") && jsonNode.get("correlationId").isNull()) {
-            throw new JsonSchemaValidationException("correlationId cannot be null if present");
-        }
-    }
-    
-    private JsonSchema loadSchema(String schemaPath) throws IOException, ProcessingException {
-        ClassPathResource resource = new ClassPathResource(schemaPath);
-        try (InputStream inputStream = resource.getInputStream()) {
-            JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
-            return factory.getJsonSchema(objectMapper.readTree(inputStream));
-        }
+    @FunctionalInterface
+    private interface ValidationCall {
+        String validate() throws IOException;
     }
     
     public static class JsonSchemaValidationException extends RuntimeException {
@@ -0,0 +1,33 @@
+package br.com.orders.adapters.out.messaging;
+
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEvent;
+import br.com.orders.domain.model.OutboxEventType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderStatusEvent(
+        String eventId,
+        OutboxEventType type,
+        String orderId,
+        String externalId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        String correlationId,
+        Long version,
+        Instant occurredAt) {
+
+    public static OrderStatusEvent from(final OutboxEvent event) {
+        return new OrderStatusEvent(
+                event.getId(),
+                event.getType(),
+                event.getOrderId(),
+                event.getExternalId(),
+                event.getStatus(),
+                event.getTotalAmount(),
+                event.getCorrelationId(),
+                event.getOrderVersion(),
+                event.getCreatedAt());
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.orders.adapters.out.messaging;
+
+import br.com.orders.adapters.out.mongo.OutboxEventRepository;
+import br.com.orders.domain.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final String exchange;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration confirmTimeout;
+    private final Duration claimLease;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Counter publishedAcked;
+    private final Counter publishedNacked;
+    private final Counter publishedTimedOut;
+    private final Timer batchTimer;
+    private final Timer deliveryLag;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    public OutboxRelay(final OutboxEventRepository outboxEventRepository,
+                       final RabbitTemplate rabbitTemplate,
+                       final ObjectMapper objectMapper,
+                       final MeterRegistry meterRegistry,
+                       @Value("${app.rabbitmq.exchanges.events:orders.events.ex}") final String exchange,
+                       @Value("${app.outbox.relay.batch-size:200}") final int batchSize,
+                       @Value("${app.outbox.relay.max-batches-per-run:50}") final int maxBatchesPerRun,
+                       @Value("${app.outbox.relay.confirm-timeout:5s}") final Duration confirmTimeout,
+                       @Value("${app.outbox.relay.claim-lease:30s}") final Duration claimLease) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.exchange = exchange;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.confirmTimeout = confirmTimeout;
+        this.claimLease = claimLease;
+
+        this.publishedAcked = publishedCounter(meterRegistry, "ack");
+        this.publishedNacked = publishedCounter(meterRegistry, "nack");
+        this.publishedTimedOut = publishedCounter(meterRegistry, "timeout");
+        this.batchTimer = Timer.builder("orders.outbox.relay.batch")
+                .description("Time to publish one outbox batch and collect its confirms")
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("orders.outbox.delivery.lag")
+                .description("Time from recording an event to its broker confirm")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events not yet confirmed by the broker")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.oldest.pending.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .baseUnit("seconds")
+                .description("Age of the oldest unsent outbox event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval:PT0.5S}", initialDelayString = "${app.outbox.relay.initial-delay:PT10S}")
+    public void relay() {
+        try {
+            int published = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                var events = outboxEventRepository.claimBatch(instanceId, batchSize, claimLease);
+                if (events.isEmpty()) {
+                    break;
+                }
+                var sample = Timer.start();
+                published += publishBatch(events);
+                sample.stop(batchTimer);
+                if (events.size() < batchSize) {
+                    break;
+                }
+            }
+            if (published > 0) {
+                log.debug("Relayed {} outbox events", published);
+            }
+            refreshLagGauges();
+        } catch (Exception e) {
+            log.error("Outbox relay run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // All messages of the batch are written before any confirm is awaited, so one round trip covers the batch
+    int publishBatch(final List<OutboxEvent> events) {
+        Map<OutboxEvent, CorrelationData> inFlight = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            var correlationData = new CorrelationData(event.getId());
+            try {
+                rabbitTemplate.send(exchange, event.getType().getRoutingKey(), toMessage(event), correlationData);
+                inFlight.put(event, correlationData);
+            } catch (Exception e) {
+                log.warn("Failed to publish outbox event {}: {}", event.getId(), e.getMessage());
+            }
+        }
+
+        var confirmed = new ArrayList<String>();
+        var unconfirmed = new ArrayList<String>();
+        var deadline = System.nanoTime() + confirmTimeout.toNanos();
+        var now = Instant.now();
+
+        for (OutboxEvent event : events) {
+            var correlationData = inFlight.get(event);
+            if (correlationData == null) {
+                unconfirmed.add(event.getId());
+                continue;
+            }
+            try {
+                var remaining = Math.max(0, deadline - System.nanoTime());
+                var confirm = correlationData.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+                if (confirm.isAck()) {
+                    confirmed.add(event.getId());
+                    publishedAcked.increment();
+                    if (event.getCreatedAt() != null) {
+                        deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+                    }
+                } else {
+                    unconfirmed.add(event.getId());
+                    publishedNacked.increment();
+                    log.warn("Broker nacked outbox event {}: {}", event.getId(), confirm.getReason());
+                }
+            } catch (TimeoutException e) {
+                unconfirmed.add(event.getId());
+                publishedTimedOut.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unconfirmed.add(event.getId());
+            } catch (Exception e) {
+                unconfirmed.add(event.getId());
+                log.warn("Failed to confirm outbox event {}: {}", event.getId(), e.getMessage());
+            }
+        }
+
+        outboxEventRepository.markSent(confirmed, now);
+        // Released events are picked up again on the next run; consumers dedupe on messageId
+        outboxEventRepository.release(unconfirmed);
+        return confirmed.size();
+    }
+
+    private Message toMessage(final OutboxEvent event) throws Exception {
+        var body = objectMapper.writeValueAsBytes(OrderStatusEvent.from(event));
+        return MessageBuilder.withBody(body)
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setMessageId(event.getId())
+                .setCorrelationId(event.getCorrelationId())
+                .setType(event.getType().name())
+                .build();
+    }
+
+    private void refreshLagGauges() {
+        pendingEvents.set(outboxEventRepository.countPending());
+        oldestPendingAgeSeconds.set(outboxEventRepository.findOldestPendingCreatedAt()
+                .map(createdAt -> Math.max(0, Duration.between(createdAt, Instant.now()).toSeconds()))
+                .orElse(0L));
+    }
+
+    private static Counter publishedCounter(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder("orders.outbox.published")
+                .tag("result", result)
+                .description("Outbox events published, by broker confirm outcome")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.ArchivedOrder;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@RequiredArgsConstructor
+public class ArchivedOrderCodec {
+
+    private static final TypeReference<List<ArchivedItem>> ITEMS_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+
+    public ArchivedOrder toArchive(final Order order, final boolean compressItems) {
+        var items = order.getItems() != null ? order.getItems() : List.<OrderItem>of();
+        var compress = compressItems && !order.hasChunkedItems();
+
+        return ArchivedOrder.builder()
+                .id(order.getId())
+                .externalId(order.getExternalId())
+                .status(order.getStatus())
+                .items(compress ? null : items)
+                .compressedItems(compress ? compress(items) : null)
+                .itemCount(order.getItemCount() != null ? order.getItemCount() : items.size())
+                .itemSetId(order.getItemSetId())
+                .totalAmount(order.getTotalAmount())
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .archivedAt(LocalDateTime.now())
+                .correlationId(order.getCorrelationId())
+                .version(order.getVersion())
+                .build();
+    }
+
+    public Order toOrder(final ArchivedOrder archivedOrder) {
+        var items = archivedOrder.hasCompressedItems()
+                ? decompress(archivedOrder.getCompressedItems())
+                : archivedOrder.getItems();
+
+        return Order.builder()
+                .id(archivedOrder.getId())
+                .externalId(archivedOrder.getExternalId())
+                .status(archivedOrder.getStatus())
+                .items(items)
+                .itemCount(archivedOrder.getItemCount())
+                .itemSetId(archivedOrder.getItemSetId())
+                .totalAmount(archivedOrder.getTotalAmount())
+                .createdAt(archivedOrder.getCreatedAt())
+                .updatedAt(archivedOrder.getUpdatedAt())
+                .correlationId(archivedOrder.getCorrelationId())
+                .version(archivedOrder.getVersion())
+                .build();
+    }
+
+    private byte[] compress(final List<OrderItem> items) {
+        var rows = items.stream().map(ArchivedItem::from).toList();
+        var buffer = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(gzip, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress archived order items", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private List<OrderItem> decompress(final byte[] compressedItems) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressedItems))) {
+            List<ArchivedItem> rows = objectMapper.readValue(gzip, ITEMS_TYPE);
+            return rows.stream().map(ArchivedItem::toItem).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress archived order items", e);
+        }
+    }
+
+    // OrderItem has no Jackson-friendly constructor, so the compressed form goes through this record
+    record ArchivedItem(
+            String productId,
+            String productName,
+            BigDecimal unitPrice,
+            Integer quantity,
+            BigDecimal totalPrice) {
+
+        static ArchivedItem from(final OrderItem item) {
+            return new ArchivedItem(item.getProductId(), item.getProductName(), item.getUnitPrice(),
+                    item.getQuantity(), item.getTotalPrice());
+        }
+
+        OrderItem toItem() {
+            return OrderItem.builder()
+                    .productId(productId)
+                    .productName(productName)
+                    .unitPrice(unitPrice)
+                    .quantity(quantity)
+                    .totalPrice(totalPrice)
+                    .build();
+        }
+    }
+}
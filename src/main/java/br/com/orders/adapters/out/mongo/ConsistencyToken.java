@@ -0,0 +1,39 @@
+package br.com.orders.adapters.out.mongo;
+
+import org.bson.BsonTimestamp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Server operationTime observed after a write. Reads carrying it run in a causally consistent session, so a
+// secondary only answers once it has applied that write. Bound per request by ConsistencyTokenInterceptor
+public record ConsistencyToken(BsonTimestamp operationTime) {
+
+    private static final ThreadLocal<ConsistencyToken> CURRENT = new ThreadLocal<>();
+
+    public String encode() {
+        var raw = Long.toUnsignedString(operationTime.getValue());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static ConsistencyToken decode(final String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            return new ConsistencyToken(new BsonTimestamp(Long.parseUnsignedLong(raw)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed consistency token", e);
+        }
+    }
+
+    public static void bind(final ConsistencyToken token) {
+        CURRENT.set(token);
+    }
+
+    public static ConsistencyToken current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
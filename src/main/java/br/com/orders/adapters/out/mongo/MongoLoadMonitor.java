@@ -0,0 +1,95 @@
+package br.com.orders.adapters.out.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Registered on the driver by MongoMonitoringConfig. Samples accumulate until the next snapshot, so every
+// snapshot describes only the window since the previous one and a quiet window reads as healthy
+@Component
+public class MongoLoadMonitor implements ConnectionPoolListener, CommandListener {
+
+    private static final Set<String> IGNORED_COMMANDS = Set.of("hello", "isMaster", "ismaster", "ping", "endSessions");
+
+    private final Window poolWait = new Window();
+    private final Window commandLatency = new Window();
+    private final LongAdder checkOutFailures = new LongAdder();
+
+    private volatile LoadSnapshot lastSnapshot = new LoadSnapshot(0, 0, 0, 0, 0);
+
+    public MongoLoadMonitor(final MeterRegistry meterRegistry) {
+        Gauge.builder("orders.mongo.pool.wait", this, monitor -> monitor.lastSnapshot.poolWaitMillis())
+                .description("Average connection checkout wait over the last backpressure window")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("orders.mongo.command.latency", this, monitor -> monitor.lastSnapshot.commandLatencyMillis())
+                .description("Average command latency over the last backpressure window")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionCheckedOut(final ConnectionCheckedOutEvent event) {
+        poolWait.add(event.getElapsedTime(TimeUnit.MICROSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(final ConnectionCheckOutFailedEvent event) {
+        poolWait.add(event.getElapsedTime(TimeUnit.MICROSECONDS));
+        checkOutFailures.increment();
+    }
+
+    @Override
+    public void commandSucceeded(final CommandSucceededEvent event) {
+        if (!IGNORED_COMMANDS.contains(event.getCommandName())) {
+            commandLatency.add(event.getElapsedTime(TimeUnit.MICROSECONDS));
+        }
+    }
+
+    @Override
+    public void commandFailed(final CommandFailedEvent event) {
+        if (!IGNORED_COMMANDS.contains(event.getCommandName())) {
+            commandLatency.add(event.getElapsedTime(TimeUnit.MICROSECONDS));
+        }
+    }
+
+    public LoadSnapshot snapshot() {
+        var pool = poolWait.drain();
+        var commands = commandLatency.drain();
+        var snapshot = new LoadSnapshot(pool[0], pool[1] / 1000.0, commands[0], commands[1] / 1000.0, checkOutFailures.sumThenReset());
+        lastSnapshot = snapshot;
+        return snapshot;
+    }
+
+    public record LoadSnapshot(long checkOuts, double poolWaitMillis,
+                               long commands, double commandLatencyMillis,
+                               long checkOutFailures) {
+    }
+
+    private static final class Window {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+
+        void add(final long micros) {
+            count.increment();
+            totalMicros.add(micros);
+        }
+
+        // [count, average micros]; a sample racing the reset lands in the next window, which is fine for a trend
+        long[] drain() {
+            var samples = count.sumThenReset();
+            var total = totalMicros.sumThenReset();
+            return new long[] {samples, samples == 0 ? 0 : total / samples};
+        }
+    }
+}
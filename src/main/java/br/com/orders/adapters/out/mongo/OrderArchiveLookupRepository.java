@@ -0,0 +1,14 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.ArchivedOrder;
+
+import java.util.Collection;
+import java.util.List;
+
+// Archive side of OrderLookupRepository: same batched $in queries and field projection
+public interface OrderArchiveLookupRepository {
+
+    List<ArchivedOrder> lookupByIds(final Collection<String> ids, final Collection<String> fields);
+
+    List<ArchivedOrder> lookupByExternalIds(final Collection<String> externalIds, final Collection<String> fields);
+}
@@ -0,0 +1,52 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.ArchivedOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrderArchiveLookupRepositoryImpl implements OrderArchiveLookupRepository {
+
+    private final ReadRouting readRouting;
+
+    @Override
+    public List<ArchivedOrder> lookupByIds(final Collection<String> ids, final Collection<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return readRouting.read(ReadRouting.ReadType.LOOKUP, project(Query.query(where("_id").in(ids)), fields),
+                (operations, query) -> operations.find(query, ArchivedOrder.class));
+    }
+
+    @Override
+    public List<ArchivedOrder> lookupByExternalIds(final Collection<String> externalIds, final Collection<String> fields) {
+        if (externalIds.isEmpty()) {
+            return List.of();
+        }
+        var query = project(Query.query(where("externalId").in(externalIds)), fields);
+        // Results are matched back to the request by externalId, so it is always returned
+        if (fields != null && !fields.isEmpty()) {
+            query.fields().include("externalId");
+        }
+        return readRouting.read(ReadRouting.ReadType.LOOKUP, query,
+                (operations, routed) -> operations.find(routed, ArchivedOrder.class));
+    }
+
+    // Archived items are stored either plain or gzipped, so projecting items loads whichever form the order has
+    private static Query project(final Query query, final Collection<String> fields) {
+        if (fields != null) {
+            fields.stream()
+                    .filter(field -> !field.equals("id"))
+                    .forEach(field -> query.fields().include(field));
+            if (fields.contains("items")) {
+                query.fields().include("compressedItems");
+            }
+        }
+        return query;
+    }
+}
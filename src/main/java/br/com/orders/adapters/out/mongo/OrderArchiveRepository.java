@@ -0,0 +1,19 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.ArchivedOrder;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderArchiveRepository extends MongoRepository<ArchivedOrder, String>, OrderArchiveLookupRepository {
+    
+    Optional<ArchivedOrder> findByExternalId(final String externalId);
+    
+    List<ArchivedOrder> findByExternalIdIn(final Collection<String> externalIds);
+    
+    boolean existsByExternalId(final String externalId);
+}
@@ -0,0 +1,25 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// One unordered bulkWrite per chunk of new orders; stored orders are never replaced from here
+public interface OrderBulkWriteRepository {
+
+    BulkWriteOutcome bulkInsert(final List<Order> inserts);
+
+    // Each order is deleted only while it is still at the status and version it was read with
+    BulkDeleteOutcome bulkDeleteUnchanged(final List<Order> reads);
+
+    // written carries the stored versions; existing holds the externalIds another writer inserted first; failed maps
+    // externalId to the reason any other write was rejected
+    record BulkWriteOutcome(List<Order> written, Set<String> existing, Map<String, String> failed) {
+    }
+
+    // kept holds the ids still in the collection because another write changed them after the read
+    record BulkDeleteOutcome(long deleted, Set<String> kept) {
+    }
+}
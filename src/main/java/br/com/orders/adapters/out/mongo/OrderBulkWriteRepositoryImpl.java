@@ -0,0 +1,82 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import com.mongodb.ErrorCategory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrderBulkWriteRepositoryImpl implements OrderBulkWriteRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Versions are set here because bulk writes bypass the @Version handling of save(). A duplicate externalId means
+    // the listener stored the order between the import's read and this write
+    @Override
+    public BulkWriteOutcome bulkInsert(final List<Order> inserts) {
+        if (inserts.isEmpty()) {
+            return new BulkWriteOutcome(List.of(), Set.of(), Map.of());
+        }
+
+        var operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        var written = new ArrayList<Order>(inserts.size());
+        for (Order order : inserts) {
+            var inserted = order.withVersion(0L);
+            operations.insert(inserted);
+            written.add(inserted);
+        }
+
+        var existing = new HashSet<String>();
+        var failed = new LinkedHashMap<String, String>();
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            // Operation indexes follow the order they were added in, which is the order of written
+            e.getErrors().forEach(error -> {
+                var externalId = written.get(error.getIndex()).getExternalId();
+                if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+                    existing.add(externalId);
+                } else {
+                    failed.put(externalId, error.getMessage());
+                }
+            });
+        }
+        return new BulkWriteOutcome(written.stream()
+                .filter(order -> !existing.contains(order.getExternalId()) && !failed.containsKey(order.getExternalId()))
+                .toList(), existing, failed);
+    }
+
+    @Override
+    public BulkDeleteOutcome bulkDeleteUnchanged(final List<Order> reads) {
+        if (reads.isEmpty()) {
+            return new BulkDeleteOutcome(0, Set.of());
+        }
+
+        var operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        reads.forEach(read -> operations.remove(Query.query(
+                where("_id").is(read.getId()).and("version").is(read.getVersion()).and("status").is(read.getStatus()))));
+        var deleted = operations.execute().getDeletedCount();
+        if (deleted == reads.size()) {
+            return new BulkDeleteOutcome(deleted, Set.of());
+        }
+
+        // The delete result carries only a count, so read back which of the ids survived
+        var query = Query.query(where("_id").in(reads.stream().map(Order::getId).toList()));
+        query.fields().include("_id");
+        var kept = mongoTemplate.find(query, Order.class).stream().map(Order::getId).collect(Collectors.toSet());
+        return new BulkDeleteOutcome(deleted, kept);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.ChangeWatermark;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderChangesRepository {
+
+    // Orders modified after the watermark (or from the start when null) up to and including until, in (updatedAt, _id) order
+    List<Order> findChangedSince(final ChangeWatermark after, final LocalDateTime until,
+                                 final Collection<OrderStatus> statuses, final int limit);
+}
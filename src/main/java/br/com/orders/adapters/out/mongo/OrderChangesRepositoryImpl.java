@@ -0,0 +1,48 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.ChangeWatermark;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrderChangesRepositoryImpl implements OrderChangesRepository {
+
+    private final ReadRouting readRouting;
+
+    @Override
+    public List<Order> findChangedSince(final ChangeWatermark after, final LocalDateTime until,
+                                        final Collection<OrderStatus> statuses, final int limit) {
+        var criteria = where("updatedAt").lte(until);
+        if (after != null) {
+            // The range on updatedAt bounds the index scan, the $or only breaks ties on _id at the watermark itself
+            var tieBreaks = new ArrayList<>(List.of(where("updatedAt").gt(after.updatedAt()), where("_id").gt(after.id())));
+            if (!ObjectId.isValid(after.id())) {
+                // $gt on a string never matches ObjectId ids, which sort after every string in (updatedAt, _id) order
+                tieBreaks.add(where("_id").type(JsonSchemaObject.Type.OBJECT_ID));
+            }
+            criteria.gte(after.updatedAt()).orOperator(tieBreaks);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            criteria = criteria.and("status").in(statuses);
+        }
+
+        // Hinted so a status filter cannot pull the planner onto a status index followed by an in-memory sort
+        var query = Query.query(criteria)
+                .with(Sort.by(Sort.Order.asc("updatedAt"), Sort.Order.asc("_id")))
+                .withHint(Order.CHANGES_INDEX)
+                .limit(limit);
+        return readRouting.read(ReadRouting.ReadType.CHANGES, query, (operations, routed) -> operations.find(routed, Order.class));
+    }
+}
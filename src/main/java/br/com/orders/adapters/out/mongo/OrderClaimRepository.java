@@ -0,0 +1,13 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Leases AVAILABLE_FOR_B orders to one worker at a time; an expired lease makes the order claimable again
+public interface OrderClaimRepository {
+
+    List<Order> claimAvailable(final String claimToken, final String worker, final int limit, final LocalDateTime now,
+                               final LocalDateTime claimedUntil);
+}
@@ -0,0 +1,64 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrderClaimRepositoryImpl implements OrderClaimRepository {
+
+    // Rounds lost to other workers are retried for the remainder, bounded so a hot collection cannot spin a request
+    static final int MAX_ROUNDS = 3;
+
+    private final MongoTemplate mongoTemplate;
+
+    // Same claim-token pattern as OutboxEventRepository.claimBatch: pick candidates, claim only those still
+    // unclaimed in one updateMulti, then read back what this token actually won. The update does not bump version,
+    // so the version a worker gets here is the one its ack sends in If-Match
+    @Override
+    public List<Order> claimAvailable(final String claimToken, final String worker, final int limit,
+                                      final LocalDateTime now, final LocalDateTime claimedUntil) {
+        var claimed = 0L;
+        for (int round = 0; round < MAX_ROUNDS && claimed < limit; round++) {
+            var candidates = Query.query(claimable(now))
+                    .with(Sort.by(Sort.Direction.ASC, "updatedAt"))
+                    .limit((int) (limit - claimed));
+            candidates.fields().include("_id");
+            var ids = mongoTemplate.find(candidates, Order.class).stream().map(Order::getId).toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            claimed += mongoTemplate.updateMulti(
+                    Query.query(where("_id").in(ids).andOperator(claimable(now))),
+                    new Update().set("claimToken", claimToken).set("claimedBy", worker).set("claimedUntil", claimedUntil),
+                    Order.class).getModifiedCount();
+        }
+
+        if (claimed == 0) {
+            return List.of();
+        }
+        // At most limit documents, sorted here so the read-back stays on the claimToken index without a SORT stage
+        return mongoTemplate.find(
+                        Query.query(where("claimToken").is(claimToken).and("status").is(OrderStatus.AVAILABLE_FOR_B)),
+                        Order.class).stream()
+                .sorted(Comparator.comparing(Order::getUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    private static Criteria claimable(final LocalDateTime now) {
+        return where("status").is(OrderStatus.AVAILABLE_FOR_B)
+                .orOperator(where("claimedUntil").is(null), where("claimedUntil").lt(now));
+    }
+}
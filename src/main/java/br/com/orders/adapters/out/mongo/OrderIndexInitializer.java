@@ -0,0 +1,91 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Component
+@Slf4j
+public class OrderIndexInitializer {
+
+    public static final String ACTIVE_STATUS_INDEX = "status_updatedAt_active_idx";
+    public static final String ACKNOWLEDGED_INDEX = "acknowledged_updatedAt_idx";
+    public static final String CLAIM_TOKEN_INDEX = "claimToken_idx";
+    public static final String PENDING_EVENT_INDEX = "pendingEvent_idx";
+    static final String LEGACY_STATUS_INDEX = "status_updatedAt_idx";
+
+    private final MongoTemplate mongoTemplate;
+    private final List<OrderStatus> activeStatuses;
+    private final boolean dropLegacy;
+
+    public OrderIndexInitializer(final MongoTemplate mongoTemplate,
+                                 @Value("${app.mongodb.indexes.active-statuses:PROCESSING,AVAILABLE_FOR_B,FAILED}") final List<OrderStatus> activeStatuses,
+                                 @Value("${app.mongodb.indexes.drop-legacy:true}") final boolean dropLegacy) {
+        this.mongoTemplate = mongoTemplate;
+        this.activeStatuses = activeStatuses;
+        this.dropLegacy = dropLegacy;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(0)
+    public void ensureIndexes() {
+        try {
+            var indexOps = mongoTemplate.indexOps(Order.class);
+
+            for (IndexDefinition index : indexDefinitions()) {
+                var name = indexOps.createIndex(index);
+                log.info("Ensured index {} on orders", name);
+            }
+
+            if (dropLegacy && indexOps.getIndexInfo().stream().map(IndexInfo::getName).anyMatch(LEGACY_STATUS_INDEX::equals)) {
+                indexOps.dropIndex(LEGACY_STATUS_INDEX);
+                log.info("Dropped legacy full index {}", LEGACY_STATUS_INDEX);
+            }
+        } catch (Exception e) {
+            // The query plan guard reports the resulting scans, so a failure here is loud without blocking startup
+            log.error("Failed to ensure order indexes: {}", e.getMessage(), e);
+        }
+    }
+
+    List<IndexDefinition> indexDefinitions() {
+        var activeStatusNames = activeStatuses.stream().map(OrderStatus::name).toList();
+
+        return List.of(
+                // Product B and dashboards only page through the small, non-terminal status sets
+                new Index()
+                        .on("status", Sort.Direction.ASC)
+                        .on("updatedAt", Sort.Direction.DESC)
+                        .named(ACTIVE_STATUS_INDEX)
+                        .partial(PartialIndexFilter.of(where("status").in(activeStatusNames))),
+                // ACKNOWLEDGED is the bulk of the collection; only the archiver and occasional listings read it
+                new Index()
+                        .on("updatedAt", Sort.Direction.DESC)
+                        .named(ACKNOWLEDGED_INDEX)
+                        .partial(PartialIndexFilter.of(where("status").is(OrderStatus.ACKNOWLEDGED.name()))),
+                // Only orders ever leased through POST /orders/claim carry a token
+                new Index()
+                        .on("claimToken", Sort.Direction.ASC)
+                        .named(CLAIM_TOKEN_INDEX)
+                        .partial(PartialIndexFilter.of(where("claimToken").exists(true))),
+                // Markers are cleared within a backfill interval, so this stays close to empty
+                new Index()
+                        .on("pendingEvent", Sort.Direction.ASC)
+                        .named(PENDING_EVENT_INDEX)
+                        .partial(PartialIndexFilter.of(where("pendingEvent").exists(true)))
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.OrderItemChunk;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Always read from the primary: an order read from a secondary is only written after its chunks, but the chunk
+// query could land on another member that has not replicated them yet
+@Repository
+public interface OrderItemChunkRepository extends MongoRepository<OrderItemChunk, String> {
+    
+    List<OrderItemChunk> findByItemSetIdAndSeqGreaterThanEqualOrderBySeqAsc(final String itemSetId, final int seq, final Limit limit);
+    
+    long deleteByItemSetId(final String itemSetId);
+}
@@ -0,0 +1,14 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+
+import java.util.Collection;
+import java.util.List;
+
+// Batched lookups with an optional field projection, one $in query per call
+public interface OrderLookupRepository {
+
+    List<Order> lookupByIds(final Collection<String> ids, final Collection<String> fields);
+
+    List<Order> lookupByExternalIds(final Collection<String> externalIds, final Collection<String> fields);
+}
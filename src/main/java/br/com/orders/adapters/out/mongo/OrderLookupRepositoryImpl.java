@@ -0,0 +1,48 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrderLookupRepositoryImpl implements OrderLookupRepository {
+
+    private final ReadRouting readRouting;
+
+    @Override
+    public List<Order> lookupByIds(final Collection<String> ids, final Collection<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return readRouting.read(ReadRouting.ReadType.LOOKUP, project(Query.query(where("_id").in(ids)), fields),
+                (operations, query) -> operations.find(query, Order.class));
+    }
+
+    @Override
+    public List<Order> lookupByExternalIds(final Collection<String> externalIds, final Collection<String> fields) {
+        if (externalIds.isEmpty()) {
+            return List.of();
+        }
+        var query = project(Query.query(where("externalId").in(externalIds)), fields);
+        // Results are matched back to the request by externalId, so it is always returned
+        if (fields != null && !fields.isEmpty()) {
+            query.fields().include("externalId");
+        }
+        return readRouting.read(ReadRouting.ReadType.LOOKUP, query, (operations, routed) -> operations.find(routed, Order.class));
+    }
+
+    // _id is always returned by MongoDB, an empty field list means the whole document
+    private static Query project(final Query query, final Collection<String> fields) {
+        if (fields != null) {
+            fields.stream()
+                    .filter(field -> !field.equals("id"))
+                    .forEach(field -> query.fields().include(field));
+        }
+        return query;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+
+import java.util.Collection;
+import java.util.List;
+
+// Orders saved with an outbox event still owed, see Order.owing
+public interface OrderPendingEventRepository {
+
+    List<Order> findPendingEvents(final int limit);
+
+    // Only the marker that was read is cleared, so one set by a later status change stays for the next run
+    void clearPendingEvents(final Collection<Order> orders);
+}
@@ -0,0 +1,37 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrderPendingEventRepositoryImpl implements OrderPendingEventRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Order> findPendingEvents(final int limit) {
+        return mongoTemplate.find(Query.query(where("pendingEvent").exists(true)).limit(limit), Order.class);
+    }
+
+    // Leaves version alone: the marker is bookkeeping, and bumping it would fail a concurrent ack's If-Match
+    @Override
+    public void clearPendingEvents(final Collection<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        var operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        orders.forEach(order -> operations.updateOne(
+                Query.query(where("_id").is(order.getId()).and("pendingEventVersion").is(order.getPendingEventVersion())),
+                new Update().unset("pendingEvent").unset("pendingEventVersion")));
+        operations.execute();
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+// API-facing reads routed through ReadRouting; the listener and ack paths use the derived methods on the primary
+public interface OrderReadRepository {
+
+    Page<Order> findPageByStatus(final OrderStatus status, final Pageable pageable);
+
+    Optional<Order> findOneById(final String id);
+
+    Optional<Order> findOneByExternalId(final String externalId);
+}
@@ -0,0 +1,46 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrderReadRepositoryImpl implements OrderReadRepository {
+
+    private final ReadRouting readRouting;
+
+    // Same shape as findByStatusOrderByUpdatedAtDesc, which the query plan guard checks
+    @Override
+    public Page<Order> findPageByStatus(final OrderStatus status, final Pageable pageable) {
+        var query = Query.query(where("status").is(status))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt"))
+                .with(pageable);
+        var orders = readRouting.read(ReadRouting.ReadType.LIST, query, (operations, routed) -> operations.find(routed, Order.class));
+        return PageableExecutionUtils.getPage(orders, pageable, () -> readRouting.read(ReadRouting.ReadType.LIST,
+                Query.query(where("status").is(status)), (operations, routed) -> operations.count(routed, Order.class)));
+    }
+
+    @Override
+    public Optional<Order> findOneById(final String id) {
+        return findOne(Query.query(where("_id").is(id)));
+    }
+
+    @Override
+    public Optional<Order> findOneByExternalId(final String externalId) {
+        return findOne(Query.query(where("externalId").is(externalId)));
+    }
+
+    private Optional<Order> findOne(final Query query) {
+        return Optional.ofNullable(readRouting.read(ReadRouting.ReadType.LOOKUP, query,
+                (operations, routed) -> operations.findOne(routed, Order.class)));
+    }
+}
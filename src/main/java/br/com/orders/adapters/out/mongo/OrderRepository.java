@@ -8,25 +8,35 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends MongoRepository<Order, String> {
+public interface OrderRepository extends MongoRepository<Order, String>, OrderLookupRepository, OrderChangesRepository,
+        OrderReadRepository, OrderClaimRepository, OrderBulkWriteRepository, OrderReprocessRepository,
+        OrderPendingEventRepository {
     
     Optional<Order> findByExternalId(final String externalId);
     
+    // Primary reads for writers; API lookups go through lookupByExternalIds and its read routing
+    List<Order> findByExternalIdIn(final Collection<String> externalIds);
+    
     Page<Order> findByStatusOrderByUpdatedAtDesc(final OrderStatus status, final Pageable pageable);
     
     @Query("{'status': ?0}")
     Page<Order> findByStatus(final OrderStatus status, final Pageable pageable);
     
+    List<Order> findByStatusAndUpdatedAtBefore(final OrderStatus status, final LocalDateTime updatedAt, final Pageable pageable);
+    
     default Order upsert(final Order order) {
-        Optional<Order> existingOrder = findByExternalId(order.getExternalId());
-        
+        return upsert(order, findByExternalId(order.getExternalId()));
+    }
+    
+    default Order upsert(final Order order, final Optional<Order> existingOrder) {
         if (existingOrder.isPresent()) {
-            var existing = existingOrder.get();
-            var updatedOrder = order.withId(existing.getId()).withVersion(existing.getVersion());
-            return save(updatedOrder);
+            return save(order.replacing(existingOrder.get()));
         } else {
             return save(order);
         }
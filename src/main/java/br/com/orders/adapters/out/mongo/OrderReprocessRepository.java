@@ -0,0 +1,27 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Walks a reprocessing target (statuses, updated before a cutoff) by _id range, see ReprocessJob.Partition
+public interface OrderReprocessRepository {
+
+    long countReprocessTargets(final Collection<OrderStatus> statuses, final LocalDateTime updatedBefore);
+
+    // Random target _ids in string form, used to cut the target into ranges of similar size
+    List<String> sampleReprocessIds(final Collection<OrderStatus> statuses, final LocalDateTime updatedBefore, final int size);
+
+    // Next targets of [fromId, toId) after afterId (from fromId when null), in _id order
+    List<Order> findReprocessBatch(final Collection<OrderStatus> statuses, final LocalDateTime updatedBefore,
+                                   final String fromId, final String toId, final String afterId, final int limit);
+
+    // Written only while the order is still at the status and version it was read with; empty when another write won
+    Optional<Order> updateIfUnchanged(final Order read, final OrderStatus status, final BigDecimal totalAmount,
+                                      final int itemCount, final LocalDateTime updatedAt);
+}
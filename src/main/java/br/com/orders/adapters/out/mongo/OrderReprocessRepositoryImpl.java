@@ -0,0 +1,80 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@RequiredArgsConstructor
+class OrderReprocessRepositoryImpl implements OrderReprocessRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long countReprocessTargets(final Collection<OrderStatus> statuses, final LocalDateTime updatedBefore) {
+        return mongoTemplate.count(Query.query(target(statuses, updatedBefore)), Order.class);
+    }
+
+    @Override
+    public List<String> sampleReprocessIds(final Collection<OrderStatus> statuses, final LocalDateTime updatedBefore,
+                                           final int size) {
+        var aggregation = Aggregation.newAggregation(
+                Aggregation.match(target(statuses, updatedBefore)),
+                Aggregation.sample(size),
+                Aggregation.project("_id"));
+        return mongoTemplate.aggregate(aggregation, Order.class, Document.class).getMappedResults().stream()
+                .map(document -> document.get("_id"))
+                .map(id -> id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id))
+                .toList();
+    }
+
+    // 24-hex bounds are mapped to ObjectIds by the query mapper, so each range stays within one BSON type
+    @Override
+    public List<Order> findReprocessBatch(final Collection<OrderStatus> statuses, final LocalDateTime updatedBefore,
+                                          final String fromId, final String toId, final String afterId, final int limit) {
+        var range = afterId != null ? where("_id").gt(afterId) : where("_id").gte(fromId);
+        if (toId != null) {
+            range.lt(toId);
+        }
+        return mongoTemplate.find(
+                Query.query(new Criteria().andOperator(range, target(statuses, updatedBefore)))
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(limit),
+                Order.class);
+    }
+
+    // Bumps version like a repository save, so a listener holding the old version fails its save and is redelivered
+    @Override
+    public Optional<Order> updateIfUnchanged(final Order read, final OrderStatus status, final BigDecimal totalAmount,
+                                             final int itemCount, final LocalDateTime updatedAt) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                Query.query(where("_id").is(read.getId()).and("version").is(read.getVersion()).and("status").is(read.getStatus())),
+                new Update().set("status", status)
+                        .set("totalAmount", totalAmount)
+                        .set("itemCount", itemCount)
+                        .set("updatedAt", updatedAt)
+                        .inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Order.class));
+    }
+
+    private static Criteria target(final Collection<OrderStatus> statuses, final LocalDateTime updatedBefore) {
+        return where("status").in(statuses).and("updatedAt").lt(updatedBefore);
+    }
+}
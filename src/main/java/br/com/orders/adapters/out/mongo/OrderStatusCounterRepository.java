@@ -0,0 +1,92 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderStatusCounterRepository {
+
+    static final String COLLECTION = "order_counters";
+    static final String STATUS_COUNTERS_ID = "order_status";
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadRouting readRouting;
+
+    public void transition(final OrderStatus from, final OrderStatus to) {
+        var update = new Update();
+        if (from != null) {
+            update.inc(countField(from), -1);
+        }
+        if (to != null) {
+            update.inc(countField(to), 1);
+        }
+        mongoTemplate.upsert(byId(), update, COLLECTION);
+    }
+
+    public void increment(final OrderStatus status, final long delta) {
+        mongoTemplate.upsert(byId(), new Update().inc(countField(status), delta), COLLECTION);
+    }
+
+    public Optional<Map<OrderStatus, Long>> findCounts() {
+        return toCounts(readRouting.read(ReadRouting.ReadType.STATS, byId(),
+                (operations, query) -> operations.findOne(query, Document.class, COLLECTION)));
+    }
+
+    // Reconciliation diffs against this read, so a lagging secondary would turn replication lag into drift
+    public Optional<Map<OrderStatus, Long>> findCountsOnPrimary() {
+        return toCounts(mongoTemplate.findOne(byId(), Document.class, COLLECTION));
+    }
+
+    private static Optional<Map<OrderStatus, Long>> toCounts(final Document document) {
+        if (document == null) {
+            return Optional.empty();
+        }
+
+        var counts = new EnumMap<OrderStatus, Long>(OrderStatus.class);
+        var stored = document.get("counts", Document.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            var value = stored != null ? stored.get(status.name(), Number.class) : null;
+            counts.put(status, value != null ? value.longValue() : 0L);
+        }
+        return Optional.of(counts);
+    }
+
+    public void applyDrift(final Map<OrderStatus, Long> drift) {
+        var update = new Update().set("reconciledAt", new Date());
+        drift.forEach((status, delta) -> update.inc(countField(status), delta));
+        mongoTemplate.upsert(byId(), update, COLLECTION);
+    }
+
+    // Each count is answered from the partial status indexes, so reconciliation never scans the collection. The
+    // statuses are counted one after another, not as a snapshot: an order changing status in between can be counted
+    // twice or missed, and the counts are only as exact as the next reconciliation
+    public Map<OrderStatus, Long> countByStatus() {
+        var counts = new EnumMap<OrderStatus, Long>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, mongoTemplate.count(Query.query(where("status").is(status)), Order.class));
+        }
+        return counts;
+    }
+
+    private static Query byId() {
+        return Query.query(where("_id").is(STATUS_COUNTERS_ID));
+    }
+
+    private static String countField(final OrderStatus status) {
+        return "counts." + status.name();
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    // $setOnInsert instead of insert: a duplicate key error would abort the surrounding transaction
+    public void record(final OutboxEvent event) {
+        mongoTemplate.upsert(byId(event), insertOnly(event), OutboxEvent.class);
+    }
+
+    // Same upserts as record, sent as one unordered bulkWrite
+    public void recordAll(final Collection<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        var operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxEvent.class);
+        events.forEach(event -> operations.upsert(byId(event), insertOnly(event)));
+        operations.execute();
+    }
+
+    // Claims are leased so several relay instances can drain the outbox without publishing the same batch
+    public List<OutboxEvent> claimBatch(final String owner, final int limit, final Duration lease) {
+        var now = Instant.now();
+        var candidates = mongoTemplate.find(
+                Query.query(pendingAndUnclaimed(now)).with(Sort.by("createdAt")).limit(limit), OutboxEvent.class);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        var ids = candidates.stream().map(OutboxEvent::getId).toList();
+        mongoTemplate.updateMulti(
+                Query.query(where("_id").in(ids).andOperator(pendingAndUnclaimed(now))),
+                new Update().set("claimedBy", owner).set("claimedUntil", now.plus(lease)).inc("attempts", 1),
+                OutboxEvent.class);
+
+        return mongoTemplate.find(
+                Query.query(where("_id").in(ids).and("claimedBy").is(owner).and("sentAt").is(null))
+                        .with(Sort.by("createdAt")),
+                OutboxEvent.class);
+    }
+
+    public void markSent(final Collection<String> ids, final Instant sentAt) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                Query.query(where("_id").in(ids)),
+                new Update().set("sentAt", sentAt).unset("claimedBy").unset("claimedUntil"),
+                OutboxEvent.class);
+    }
+
+    public void release(final Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                Query.query(where("_id").in(ids)),
+                new Update().unset("claimedBy").unset("claimedUntil"),
+                OutboxEvent.class);
+    }
+
+    public long countPending() {
+        return mongoTemplate.count(Query.query(where("sentAt").is(null)), OutboxEvent.class);
+    }
+
+    public Optional<Instant> findOldestPendingCreatedAt() {
+        var query = Query.query(where("sentAt").is(null)).with(Sort.by("createdAt")).limit(1);
+        query.fields().include("createdAt");
+        return Optional.ofNullable(mongoTemplate.findOne(query, OutboxEvent.class)).map(OutboxEvent::getCreatedAt);
+    }
+
+    private static Query byId(final OutboxEvent event) {
+        return Query.query(where("_id").is(event.getId()));
+    }
+
+    private static Update insertOnly(final OutboxEvent event) {
+        return new Update()
+                .setOnInsert("type", event.getType())
+                .setOnInsert("orderId", event.getOrderId())
+                .setOnInsert("externalId", event.getExternalId())
+                .setOnInsert("status", event.getStatus())
+                .setOnInsert("totalAmount", event.getTotalAmount())
+                .setOnInsert("correlationId", event.getCorrelationId())
+                .setOnInsert("orderVersion", event.getOrderVersion())
+                .setOnInsert("createdAt", event.getCreatedAt())
+                .setOnInsert("attempts", 0);
+    }
+
+    private static Criteria pendingAndUnclaimed(final Instant now) {
+        return where("sentAt").is(null)
+                .orOperator(where("claimedUntil").is(null), where("claimedUntil").lt(now));
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class QueryPlanHealthIndicator implements HealthIndicator {
+
+    private static final Set<String> FORBIDDEN_STAGES = Set.of("COLLSCAN", "SORT");
+    private static final String PROBE_VALUE = "__query_plan_probe__";
+
+    private final MongoTemplate mongoTemplate;
+    private final List<OrderStatus> activeStatuses;
+    private final boolean enabled;
+    private final boolean failReadiness;
+
+    private volatile List<QueryPlanViolation> violations;
+
+    public QueryPlanHealthIndicator(final MongoTemplate mongoTemplate,
+                                    @Value("${app.mongodb.indexes.active-statuses:PROCESSING,AVAILABLE_FOR_B,FAILED}") final List<OrderStatus> activeStatuses,
+                                    @Value("${app.mongodb.query-plan-guard.enabled:true}") final boolean enabled,
+                                    @Value("${app.mongodb.query-plan-guard.fail-readiness:true}") final boolean failReadiness) {
+        this.mongoTemplate = mongoTemplate;
+        this.activeStatuses = activeStatuses;
+        this.enabled = enabled;
+        this.failReadiness = failReadiness;
+    }
+
+    // Runs after OrderIndexInitializer so the guard sees the indexes the application itself ensures
+    @EventListener(ApplicationReadyEvent.class)
+    @org.springframework.core.annotation.Order(10)
+    public void verifyQueryPlans() {
+        if (!enabled) {
+            return;
+        }
+
+        var found = new ArrayList<QueryPlanViolation>();
+        for (QueryShape shape : queryShapes()) {
+            try {
+                found.addAll(explain(shape));
+            } catch (Exception e) {
+                log.error("Failed to explain query shape {}: {}", shape.name(), e.getMessage());
+                found.add(new QueryPlanViolation(shape.name(), "EXPLAIN_FAILED"));
+            }
+        }
+
+        if (found.isEmpty()) {
+            log.info("Query plan guard: all {} order query shapes are index-backed", queryShapes().size());
+        } else {
+            found.forEach(violation -> log.warn("Query plan guard: {} uses {}", violation.queryShape(), violation.stage()));
+        }
+        this.violations = List.copyOf(found);
+    }
+
+    @Override
+    public Health health() {
+        if (!enabled) {
+            return Health.up().withDetail("guard", "disabled").build();
+        }
+
+        var current = violations;
+        if (current == null) {
+            return Health.unknown().withDetail("guard", "not evaluated yet").build();
+        }
+
+        var builder = current.isEmpty() || !failReadiness ? Health.up() : Health.down();
+        return builder
+                .withDetail("queryShapes", queryShapes().size())
+                .withDetail("violations", current)
+                .build();
+    }
+
+    // Mirrors every query OrderRepository and the archiver issue against the orders collection
+    List<QueryShape> queryShapes() {
+        var shapes = new ArrayList<QueryShape>();
+        shapes.add(new QueryShape("findByExternalId", new Document("externalId", PROBE_VALUE), null));
+        shapes.add(new QueryShape("lookupByIds", new Document("_id", new Document("$in", List.of(PROBE_VALUE, PROBE_VALUE + "2"))), null));
+        shapes.add(new QueryShape("lookupByExternalIds",
+                new Document("externalId", new Document("$in", List.of(PROBE_VALUE, PROBE_VALUE + "2"))), null));
+
+        for (OrderStatus status : activeStatuses) {
+            shapes.add(new QueryShape("findByStatusOrderByUpdatedAtDesc(" + status + ")",
+                    new Document("status", status.name()), new Document("updatedAt", -1)));
+        }
+
+        shapes.add(new QueryShape("findByStatusOrderByUpdatedAtDesc(ACKNOWLEDGED)",
+                new Document("status", OrderStatus.ACKNOWLEDGED.name()), new Document("updatedAt", -1)));
+        shapes.add(new QueryShape("findByStatusAndUpdatedAtBefore(ACKNOWLEDGED)",
+                new Document("status", OrderStatus.ACKNOWLEDGED.name()).append("updatedAt", new Document("$lt", new Date())),
+                new Document("updatedAt", 1)));
+        var now = new Date();
+        shapes.add(new QueryShape("claimAvailable",
+                new Document("status", OrderStatus.AVAILABLE_FOR_B.name())
+                        .append("$or", List.of(new Document("claimedUntil", null), new Document("claimedUntil", new Document("$lt", now)))),
+                new Document("updatedAt", 1)));
+        shapes.add(new QueryShape("findByClaimToken",
+                new Document("claimToken", PROBE_VALUE).append("status", OrderStatus.AVAILABLE_FOR_B.name()), null));
+        shapes.add(new QueryShape("findPendingEvents", new Document("pendingEvent", new Document("$exists", true)), null));
+        shapes.add(new QueryShape("findChangedSince",
+                new Document("updatedAt", new Document("$lte", now).append("$gte", now))
+                        .append("$or", List.of(new Document("updatedAt", new Document("$gt", now)),
+                                new Document("_id", new Document("$gt", PROBE_VALUE)))),
+                new Document("updatedAt", 1).append("_id", 1)));
+        return shapes;
+    }
+
+    private List<QueryPlanViolation> explain(final QueryShape shape) {
+        var collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class));
+        var find = collection.find(shape.filter()).limit(20);
+        if (shape.sort() != null) {
+            find = find.sort(shape.sort());
+        }
+
+        Document explain = find.explain();
+        Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+
+        var found = new ArrayList<QueryPlanViolation>();
+        collectViolations(shape.name(), winningPlan, found);
+        return found;
+    }
+
+    // Classic and slot-based explain output nest stages differently, so walk the whole plan tree
+    private void collectViolations(final String shapeName, final Object node, final List<QueryPlanViolation> found) {
+        if (node instanceof Map<?, ?> document) {
+            var stage = document.get("stage");
+            if (stage instanceof String stageName && FORBIDDEN_STAGES.contains(stageName)) {
+                found.add(new QueryPlanViolation(shapeName, stageName));
+            }
+            document.values().forEach(value -> collectViolations(shapeName, value, found));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectViolations(shapeName, value, found));
+        }
+    }
+
+    record QueryShape(String name, Document filter, Document sort) {
+    }
+
+    public record QueryPlanViolation(String queryShape, String stage) {
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.orders.adapters.out.mongo;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadPreference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Read preference per query type. Upserts, acks and every derived repository method keep the template default
+// (primary); only the read paths that Product B polls are routed here
+@Component
+@Slf4j
+public class ReadRouting {
+
+    // The driver rejects a smaller maxStalenessSeconds at server selection time, so fail at startup instead
+    static final Duration MIN_MAX_STALENESS = Duration.ofSeconds(90);
+
+    public enum ReadType {
+        LIST, LOOKUP, CHANGES, STATS
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<ReadType, ReadPreference> preferences = new EnumMap<>(ReadType.class);
+
+    public ReadRouting(final MongoTemplate mongoTemplate,
+                       @Value("${app.mongodb.read-routing.list:primary}") final String list,
+                       @Value("${app.mongodb.read-routing.lookup:primary}") final String lookup,
+                       @Value("${app.mongodb.read-routing.changes:primary}") final String changes,
+                       @Value("${app.mongodb.read-routing.stats:primary}") final String stats,
+                       @Value("${app.mongodb.read-routing.max-staleness:90s}") final Duration maxStaleness) {
+        if (maxStaleness.compareTo(MIN_MAX_STALENESS) < 0) {
+            throw new IllegalArgumentException("app.mongodb.read-routing.max-staleness must be at least " + MIN_MAX_STALENESS);
+        }
+        this.mongoTemplate = mongoTemplate;
+        preferences.put(ReadType.LIST, preference(list, maxStaleness));
+        preferences.put(ReadType.LOOKUP, preference(lookup, maxStaleness));
+        preferences.put(ReadType.CHANGES, preference(changes, maxStaleness));
+        preferences.put(ReadType.STATS, preference(stats, maxStaleness));
+        log.info("Mongo read routing: {}", preferences);
+    }
+
+    public ReadPreference preferenceFor(final ReadType type) {
+        return preferences.get(type);
+    }
+
+    public <T> T read(final ReadType type, final Query query, final BiFunction<MongoOperations, Query, T> reads) {
+        var routed = query.withReadPreference(preferenceFor(type));
+        var token = ConsistencyToken.current();
+        if (token == null) {
+            return reads.apply(mongoTemplate, routed);
+        }
+        try (var session = mongoTemplate.getMongoDatabaseFactory()
+                .getSession(ClientSessionOptions.builder().causallyConsistent(true).build())) {
+            // The driver sends it as afterClusterTime, so the selected member waits until it has caught up
+            session.advanceOperationTime(token.operationTime());
+            return reads.apply(mongoTemplate.withSession(session), routed);
+        }
+    }
+
+    // An _id read on the primary right after the write returns an operationTime at or after that write.
+    // Standalone servers report none, and with every type on the primary there is nothing to wait for
+    public Optional<ConsistencyToken> issueToken(final Class<?> entityClass, final Object id) {
+        if (preferences.values().stream().allMatch(ReadPreference.primary()::equals)) {
+            return Optional.empty();
+        }
+        try (var session = mongoTemplate.getMongoDatabaseFactory()
+                .getSession(ClientSessionOptions.builder().causallyConsistent(true).build())) {
+            mongoTemplate.withSession(session).exists(Query.query(where("_id").is(id)), entityClass);
+            return Optional.ofNullable(session.getOperationTime()).map(ConsistencyToken::new);
+        } catch (Exception e) {
+            // The write already succeeded; without a token the client just reads with the configured staleness
+            log.warn("Failed to issue consistency token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static ReadPreference preference(final String mode, final Duration maxStaleness) {
+        var readPreference = ReadPreference.valueOf(mode);
+        if (readPreference.equals(ReadPreference.primary())) {
+            return readPreference;
+        }
+        return ReadPreference.valueOf(mode, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+    }
+}
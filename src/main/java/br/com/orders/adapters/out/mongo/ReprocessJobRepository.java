@@ -0,0 +1,116 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.ReprocessJob;
+import br.com.orders.domain.model.ReprocessJob.Outcome;
+import br.com.orders.domain.model.ReprocessJob.State;
+import br.com.orders.domain.model.ReprocessMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Every write but cancel is conditional on the owner, so an instance that lost its lease stops at its next checkpoint
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class ReprocessJobRepository {
+
+    static final String RUNNING_MODE_INDEX = "running_mode_uidx";
+
+    private final MongoTemplate mongoTemplate;
+
+    // At most one RUNNING job per mode across the fleet: a concurrent start fails its insert with a duplicate key
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        try {
+            mongoTemplate.indexOps(ReprocessJob.class).createIndex(new Index()
+                    .on("mode", Sort.Direction.ASC)
+                    .unique()
+                    .named(RUNNING_MODE_INDEX)
+                    .partial(PartialIndexFilter.of(where("state").is(State.RUNNING.name()))));
+        } catch (Exception e) {
+            log.error("Failed to ensure index {} on reprocess_jobs: {}", RUNNING_MODE_INDEX, e.getMessage(), e);
+        }
+    }
+
+    public ReprocessJob insert(final ReprocessJob job) {
+        return mongoTemplate.insert(job);
+    }
+
+    public Optional<ReprocessJob> findById(final String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, ReprocessJob.class));
+    }
+
+    public List<ReprocessJob> findRecent(final int limit) {
+        return mongoTemplate.find(new Query().with(Sort.by(Sort.Direction.DESC, "createdAt")).limit(limit), ReprocessJob.class);
+    }
+
+    public boolean existsRunning(final ReprocessMode mode) {
+        return mongoTemplate.exists(Query.query(where("mode").is(mode).and("state").is(State.RUNNING)), ReprocessJob.class);
+    }
+
+    // Oldest RUNNING job whose owner stopped renewing its lease (crashed, shut down or released it)
+    public Optional<ReprocessJob> claimAbandoned(final String owner, final LocalDateTime now, final LocalDateTime leaseUntil) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                Query.query(where("state").is(State.RUNNING)
+                                .orOperator(where("leaseUntil").is(null), where("leaseUntil").lt(now)))
+                        .with(Sort.by(Sort.Direction.ASC, "createdAt")),
+                new Update().set("owner", owner).set("leaseUntil", leaseUntil),
+                FindAndModifyOptions.options().returnNew(true),
+                ReprocessJob.class));
+    }
+
+    // One processed batch of a partition plus a lease renewal; false once the job was cancelled or taken over
+    public boolean checkpoint(final String id, final String owner, final int partition, final String lastId,
+                              final Map<Outcome, Long> counts, final boolean done, final LocalDateTime leaseUntil) {
+        var prefix = "partitions." + partition + ".";
+        var update = new Update().set(prefix + "lastId", lastId).set("leaseUntil", leaseUntil);
+        counts.forEach((outcome, count) -> update.inc(prefix + "counts." + outcome.name(), count));
+        if (done) {
+            update.set(prefix + "done", true);
+        }
+        return mongoTemplate.updateFirst(owned(id, owner), update, ReprocessJob.class).getMatchedCount() > 0;
+    }
+
+    public boolean renew(final String id, final String owner, final LocalDateTime leaseUntil) {
+        return mongoTemplate.updateFirst(owned(id, owner), new Update().set("leaseUntil", leaseUntil), ReprocessJob.class)
+                .getMatchedCount() > 0;
+    }
+
+    // Lets the next resume pass pick the job up without waiting for the lease to run out
+    public void release(final String id, final String owner, final String error) {
+        mongoTemplate.updateFirst(owned(id, owner), new Update().unset("leaseUntil").set("error", error), ReprocessJob.class);
+    }
+
+    public void complete(final String id, final String owner, final LocalDateTime finishedAt) {
+        mongoTemplate.updateFirst(owned(id, owner),
+                new Update().set("state", State.COMPLETED).set("finishedAt", finishedAt).unset("leaseUntil").unset("error"),
+                ReprocessJob.class);
+    }
+
+    public boolean cancel(final String id, final LocalDateTime finishedAt) {
+        return mongoTemplate.updateFirst(
+                Query.query(where("_id").is(id).and("state").is(State.RUNNING)),
+                new Update().set("state", State.CANCELLED).set("finishedAt", finishedAt).unset("leaseUntil"),
+                ReprocessJob.class).getModifiedCount() > 0;
+    }
+
+    private static Query owned(final String id, final String owner) {
+        return Query.query(where("_id").is(id).and("owner").is(owner).and("state").is(State.RUNNING));
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.orders.adapters.out.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// GET /actuator/spans lists recent traces (optionally those of one externalId), GET /actuator/spans/{traceId} gives
+// the per-step breakdown of one of them: validate, map, calculate and every Mongo command, offset from the trace start
+@Endpoint(id = "spans")
+public class RecentSpansEndpoint {
+
+    public static final AttributeKey<String> EXTERNAL_ID = AttributeKey.stringKey("order.external_id");
+
+    private static final int MAX_TRACES = 50;
+
+    private final RecentSpansExporter exporter;
+
+    public RecentSpansEndpoint(final RecentSpansExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public List<TraceSummary> traces(@Nullable final String externalId) {
+        return exporter.recentTraces(MAX_TRACES, span -> externalId == null || externalId.equals(span.getAttributes().get(EXTERNAL_ID)))
+                .stream()
+                .map(RecentSpansEndpoint::summarize)
+                .toList();
+    }
+
+    @ReadOperation
+    @Nullable
+    public List<SpanView> trace(@Selector final String traceId) {
+        var spans = exporter.trace(traceId);
+        if (spans.isEmpty()) {
+            return null;
+        }
+        var traceStart = spans.get(0).getStartEpochNanos();
+        return spans.stream()
+                .map(span -> new SpanView(
+                        span.getSpanId(),
+                        SpanId.isValid(span.getParentSpanId()) ? span.getParentSpanId() : null,
+                        span.getName(),
+                        millis(span.getStartEpochNanos() - traceStart),
+                        millis(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                        span.getStatus().getStatusCode().name(),
+                        attributes(span)))
+                .toList();
+    }
+
+    private static TraceSummary summarize(final List<SpanData> spans) {
+        var ids = spans.stream().map(SpanData::getSpanId).collect(Collectors.toSet());
+        var root = spans.stream()
+                .filter(span -> isRoot(span, ids))
+                .min(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .orElse(spans.get(0));
+        var start = spans.stream().mapToLong(SpanData::getStartEpochNanos).min().orElse(0);
+        var end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(0);
+        var externalId = spans.stream()
+                .map(span -> span.getAttributes().get(EXTERNAL_ID))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+        return new TraceSummary(root.getTraceId(), root.getName(), externalId,
+                Instant.ofEpochSecond(0, start), millis(end - start), spans.size());
+    }
+
+    private static boolean isRoot(final SpanData span, final Set<String> ids) {
+        return !SpanId.isValid(span.getParentSpanId()) || !ids.contains(span.getParentSpanId());
+    }
+
+    private static Map<String, String> attributes(final SpanData span) {
+        var attributes = new LinkedHashMap<String, String>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return attributes;
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public record TraceSummary(String traceId, String rootSpan, String externalId, Instant startedAt,
+                               double durationMs, int spans) {
+    }
+
+    public record SpanView(String spanId, String parentSpanId, String name, double offsetMs, double durationMs,
+                           String status, Map<String, String> attributes) {
+    }
+}
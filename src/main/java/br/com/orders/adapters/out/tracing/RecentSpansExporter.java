@@ -0,0 +1,75 @@
+package br.com.orders.adapters.out.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+// Local stand-in for a tracing backend: keeps the last <capacity> finished spans in memory for the spans actuator
+// endpoint. Runs next to the OTLP exporter when one is configured, as Boot hands every SpanExporter bean the spans
+public class RecentSpansExporter implements SpanExporter {
+
+    private final int capacity;
+    private final ConcurrentLinkedDeque<SpanData> spans = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public RecentSpansExporter(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("app.tracing.recent-spans.capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public CompletableResultCode export(final Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            spans.addLast(span);
+            if (size.incrementAndGet() > capacity && spans.pollFirst() != null) {
+                size.decrementAndGet();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        spans.clear();
+        size.set(0);
+        return CompletableResultCode.ofSuccess();
+    }
+
+    // Spans of one trace ordered by start time; empty once the trace has been evicted
+    public List<SpanData> trace(final String traceId) {
+        return spans.stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .toList();
+    }
+
+    // Most recently finished traces first, each holding the spans still buffered for it
+    public List<List<SpanData>> recentTraces(final int limit, final Predicate<SpanData> anySpanMatches) {
+        var traces = new LinkedHashMap<String, List<SpanData>>();
+        for (Iterator<SpanData> it = spans.descendingIterator(); it.hasNext(); ) {
+            var span = it.next();
+            traces.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>()).add(span);
+        }
+        return traces.values().stream()
+                .filter(trace -> trace.stream().anyMatch(anySpanMatches))
+                .limit(limit)
+                .toList();
+    }
+}
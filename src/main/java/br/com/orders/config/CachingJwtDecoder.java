@@ -0,0 +1,115 @@
+package br.com.orders.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1_000;
+
+    private final JwtDecoder delegate;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Jwt> cache = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepAt = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer verification;
+
+    public CachingJwtDecoder(final JwtDecoder delegate, final int maxEntries, final MeterRegistry meterRegistry) {
+        this(delegate, maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(final JwtDecoder delegate, final int maxEntries, final MeterRegistry meterRegistry, final Clock clock) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.hits = Counter.builder("orders.security.jwt.cache")
+                .tag("result", "hit")
+                .description("Decoded JWTs served from the local cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("orders.security.jwt.cache")
+                .tag("result", "miss")
+                .description("JWTs that required signature verification")
+                .register(meterRegistry);
+        this.verification = Timer.builder("orders.security.jwt.verification")
+                .description("Time spent verifying and parsing JWTs on cache misses")
+                .register(meterRegistry);
+        Gauge.builder("orders.security.jwt.cache.size", cache, Map::size)
+                .description("Decoded JWTs currently cached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(final String token) throws JwtException {
+        var key = hash(token);
+
+        var cached = cache.get(key);
+        if (cached != null) {
+            if (isLive(cached)) {
+                hits.increment();
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+
+        misses.increment();
+        var jwt = verification.record(() -> delegate.decode(token));
+
+        // Tokens without exp are never cached, the cache must not outlive the token it vouches for
+        if (jwt != null && jwt.getExpiresAt() != null) {
+            store(key, jwt);
+        }
+        return jwt;
+    }
+
+    private void store(final String key, final Jwt jwt) {
+        if (cache.size() >= maxEntries && !sweepExpired()) {
+            log.debug("JWT cache is full ({} entries), skipping cache for this token", maxEntries);
+            return;
+        }
+        cache.put(key, jwt);
+    }
+
+    // A full cache is swept by one thread at most once per interval, so the O(n) pass is amortised over the misses
+    // of that interval instead of being repeated by every miss while the cache is full of live tokens
+    private boolean sweepExpired() {
+        var now = clock.millis();
+        var due = nextSweepAt.get();
+        if (now < due || !nextSweepAt.compareAndSet(due, now + SWEEP_INTERVAL_MILLIS)) {
+            return false;
+        }
+        cache.values().removeIf(entry -> !isLive(entry));
+        return cache.size() < maxEntries;
+    }
+
+    private boolean isLive(final Jwt jwt) {
+        return jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(clock.instant());
+    }
+
+    private static String hash(final String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.orders.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One bounded JFR recording at a time: POST /actuator/flightrecording starts it, DELETE stops it and
+// GET /actuator/flightrecording/{id} downloads a .jfr snapshot (running or stopped). The "default" settings cost
+// about 1% and include the br.com.orders.* events, so the recording can stay on in production
+@Component
+@Endpoint(id = "flightrecording")
+@Slf4j
+public class FlightRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "order-service";
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration duration;
+    private final boolean alwaysOn;
+
+    private final Set<Path> dumps = ConcurrentHashMap.newKeySet();
+
+    private Recording recording;
+
+    public FlightRecordingEndpoint(@Value("${app.jfr.settings:default}") final String settings,
+                                   @Value("${app.jfr.max-age:30m}") final Duration maxAge,
+                                   @Value("${app.jfr.max-size:250MB}") final DataSize maxSize,
+                                   @Value("${app.jfr.duration:0s}") final Duration duration,
+                                   @Value("${app.jfr.always-on:false}") final boolean alwaysOn) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.duration = duration;
+        this.alwaysOn = alwaysOn;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startAlwaysOn() {
+        if (alwaysOn) {
+            start();
+        }
+    }
+
+    // Idempotent: a running recording is left as it is
+    @WriteOperation
+    public synchronized RecordingStatus start() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status(recording);
+        }
+        close();
+
+        var started = new Recording(configuration());
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        if (!duration.isZero()) {
+            started.setDuration(duration);
+        }
+        started.start();
+        recording = started;
+
+        log.info("Started flight recording {} with '{}' settings, keeping {} / {}", started.getId(), settings, maxAge, maxSize);
+        return status(started);
+    }
+
+    @DeleteOperation
+    @Nullable
+    public synchronized RecordingStatus stop() {
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording {}", recording.getId());
+        }
+        return status(recording);
+    }
+
+    @ReadOperation
+    @Nullable
+    public synchronized RecordingStatus status() {
+        return recording != null ? status(recording) : null;
+    }
+
+    // Every download gets its own file, deleted once its response stream is closed, so concurrent downloads never
+    // lose the file they are streaming
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector final long id) {
+        if (recording == null || recording.getId() != id) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            var file = Files.createTempFile(RECORDING_NAME + "-" + id + "-", ".jfr");
+            dumps.add(file);
+            recording.dump(file);
+            return new WebEndpointResponse<>(new DumpResource(file), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump flight recording " + id, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        dumps.forEach(this::deleteDump);
+    }
+
+    private Configuration configuration() {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown JFR settings: " + settings, e);
+        }
+    }
+
+    private void deleteDump(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete flight recording dump {}: {}", file, e.getMessage());
+        }
+        dumps.remove(file);
+    }
+
+    private RecordingStatus status(final Recording current) {
+        return new RecordingStatus(current.getId(), current.getState().name(), settings, current.getStartTime(),
+                current.getMaxAge(), current.getMaxSize(), current.getSize(), current.getDuration());
+    }
+
+    private final class DumpResource extends FileSystemResource {
+
+        private final Path file;
+
+        DumpResource(final Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        deleteDump(file);
+                    }
+                }
+            };
+        }
+    }
+
+    public record RecordingStatus(long id, String state, String settings, Instant startTime, Duration maxAge,
+                                  long maxSizeBytes, long sizeBytes, Duration duration) {
+    }
+}
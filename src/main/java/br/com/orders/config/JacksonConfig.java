@@ -1,7 +1,13 @@
 package br.com.orders.config;
 
+import br.com.orders.adapters.in.http.dto.ProjectedOrder;
+import br.com.orders.adapters.in.http.mapper.OrderJsonSerializer;
+import br.com.orders.domain.model.Order;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -12,8 +18,21 @@ public class JacksonConfig {
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
+    
+    // Same modules as the JSON mapper, so Accept: application/cbor returns the identical contract in binary form
+    public static ObjectMapper cborMapper() {
+        return configure(new CBORMapper());
+    }
+    
+    private static ObjectMapper configure(final ObjectMapper mapper) {
         mapper.registerModule(new JavaTimeModule());
+        // Replaces reflective getters/constructors with generated lambdas for the remaining bean-based types
+        mapper.registerModule(new BlackbirdModule());
+        mapper.registerModule(new SimpleModule("OrderResponseModule")
+                .addSerializer(Order.class, new OrderJsonSerializer())
+                .addSerializer(ProjectedOrder.class, new OrderJsonSerializer.Projected()));
         mapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return mapper;
     }
@@ -0,0 +1,213 @@
+package br.com.orders.config;
+
+import br.com.orders.adapters.in.http.mapper.OrderProtobufWriter;
+import br.com.orders.adapters.in.messaging.dto.OrderCreatedMessage;
+import br.com.orders.adapters.in.messaging.mapper.OrderCreatedStreamReader;
+import br.com.orders.adapters.in.messaging.mapper.OrderMessageMapper;
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.service.MoneyCalculator;
+import br.com.orders.domain.service.OrderIdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Pushes synthetic orders through parse, validate, map, calculate and serialize before the listener containers and
+// the web server start, so neither the first messages nor the first requests run interpreted and readiness is only
+// reported afterwards. Persistence is stubbed by stopping at MoneyCalculator, which is what CalculateOrderService
+// applies before the upsert. Stops at app.warmup.iterations or once a round adds less JIT compile time than
+// compile-quiet-threshold, whichever comes first, and never runs past max-duration
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true")
+public class JitWarmUp implements SmartLifecycle {
+
+    // Ahead of the Rabbit listener containers and the web server, which both start in the last phases
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    static final int ROUND = 250;
+
+    private static final String QUIET_LOGGER = "br.com.orders";
+    // Mixed sizes keep the loops and call sites from being profiled for a single shape
+    private static final int[] ITEM_COUNTS = {1, 2, 5, 12, 40};
+    private static final int PAYLOADS = 20;
+    // Every few iterations take the large-message path as well
+    private static final int STREAMED_EVERY = 4;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper = JacksonConfig.cborMapper();
+    private final JsonSchemaValidator jsonSchemaValidator;
+    private final OrderMessageMapper orderMessageMapper;
+    private final OrderCreatedStreamReader orderCreatedStreamReader;
+    private final MoneyCalculator moneyCalculator;
+    private final OrderIdGenerator orderIdGenerator;
+    private final StartupMetrics startupMetrics;
+    private final LoggingSystem loggingSystem;
+
+    private final int iterations;
+    private final int minIterations;
+    private final long compileQuietThresholdMillis;
+    private final Duration maxDuration;
+
+    private volatile boolean running;
+    private long bytesWritten;
+
+    public JitWarmUp(final ObjectMapper objectMapper,
+                     final JsonSchemaValidator jsonSchemaValidator,
+                     final OrderMessageMapper orderMessageMapper,
+                     final OrderCreatedStreamReader orderCreatedStreamReader,
+                     final MoneyCalculator moneyCalculator,
+                     final OrderIdGenerator orderIdGenerator,
+                     final StartupMetrics startupMetrics,
+                     final LoggingSystem loggingSystem,
+                     @Value("${app.warmup.iterations:20000}") final int iterations,
+                     @Value("${app.warmup.min-iterations:2000}") final int minIterations,
+                     @Value("${app.warmup.compile-quiet-threshold:5ms}") final Duration compileQuietThreshold,
+                     @Value("${app.warmup.max-duration:30s}") final Duration maxDuration) {
+        this.objectMapper = objectMapper;
+        this.jsonSchemaValidator = jsonSchemaValidator;
+        this.orderMessageMapper = orderMessageMapper;
+        this.orderCreatedStreamReader = orderCreatedStreamReader;
+        this.moneyCalculator = moneyCalculator;
+        this.orderIdGenerator = orderIdGenerator;
+        this.startupMetrics = startupMetrics;
+        this.loggingSystem = loggingSystem;
+        this.iterations = iterations;
+        this.minIterations = Math.min(minIterations, iterations);
+        this.compileQuietThresholdMillis = compileQuietThreshold.toMillis();
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void start() {
+        var started = System.nanoTime();
+        var compiler = ManagementFactory.getCompilationMXBean();
+        var compileMillisBefore = compileMillis(compiler);
+        var previousLevel = loggingSystem.getLoggerConfiguration(QUIET_LOGGER);
+        // The synthetic orders would otherwise flood the log with the pipeline's per-message debug lines
+        loggingSystem.setLogLevel(QUIET_LOGGER, LogLevel.INFO);
+        var completed = 0;
+        var stopReason = "iteration limit";
+        try {
+            var payloads = payloads();
+            var deadline = started + maxDuration.toNanos();
+            var lastCompileMillis = compileMillisBefore;
+            while (completed < iterations) {
+                if (System.nanoTime() - deadline >= 0) {
+                    stopReason = "max duration";
+                    break;
+                }
+                for (int i = 0; i < ROUND && completed < iterations; i++, completed++) {
+                    runOnce(payloads.get(completed % payloads.size()), completed);
+                }
+                var compileMillis = compileMillis(compiler);
+                if (completed >= minIterations && compileMillis >= 0
+                        && compileMillis - lastCompileMillis < compileQuietThresholdMillis) {
+                    stopReason = "compilation settled";
+                    break;
+                }
+                lastCompileMillis = compileMillis;
+            }
+        } catch (Exception e) {
+            // A cold start is slower, not broken
+            stopReason = "failure: " + e.getMessage();
+            log.warn("JIT warm-up failed after {} iterations, starting without it: {}", completed, e.getMessage(), e);
+        } finally {
+            loggingSystem.setLogLevel(QUIET_LOGGER, previousLevel != null ? previousLevel.getConfiguredLevel() : null);
+        }
+
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+        var compileMillisAfter = compileMillis(compiler);
+        startupMetrics.warmUpCompleted(elapsed, completed);
+        log.info("JIT warm-up: {} iterations in {} ms ({}), {} ms of JIT compilation, {} bytes serialized",
+                completed, elapsed.toMillis(), stopReason,
+                compileMillisAfter >= 0 ? compileMillisAfter - compileMillisBefore : "unknown", bytesWritten);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // Same steps as OrderCreatedListener and the read endpoints, minus the Mongo writes
+    private void runOnce(final byte[] body, final int iteration) throws IOException {
+        var order = iteration % STREAMED_EVERY == 0 ? streamed(body) : regular(body);
+        // What the upsert would have filled in, so the date and version writers are exercised too
+        var now = LocalDateTime.now();
+        var stored = order.withId(orderIdGenerator.nextId())
+                .withStatus(OrderStatus.AVAILABLE_FOR_B)
+                .withCreatedAt(now)
+                .withUpdatedAt(now)
+                .withVersion(0L);
+
+        bytesWritten += objectMapper.writeValueAsBytes(stored).length;
+        bytesWritten += cborMapper.writeValueAsBytes(stored).length;
+        var protobuf = CodedOutputStream.newInstance(OutputStream.nullOutputStream());
+        OrderProtobufWriter.writeOrder(stored, protobuf);
+        protobuf.flush();
+        bytesWritten += protobuf.getTotalBytesWritten();
+    }
+
+    private Order regular(final byte[] body) throws IOException {
+        var messageBody = new String(body);
+        jsonSchemaValidator.validateOrderCreated(messageBody);
+        var message = objectMapper.readValue(messageBody, OrderCreatedMessage.class);
+        return moneyCalculator.calculateAndUpdateOrder(orderMessageMapper.toDomain(message));
+    }
+
+    private Order streamed(final byte[] body) throws IOException {
+        jsonSchemaValidator.validateOrderCreated(body);
+        var header = orderCreatedStreamReader.readHeader(body);
+        var items = new ArrayList<OrderItem>();
+        orderCreatedStreamReader.items(body).forEachItem(items::add);
+        return header.withItems(items)
+                .withItemCount(items.size())
+                .withTotalAmount(moneyCalculator.calculateOrderTotal(items));
+    }
+
+    private List<byte[]> payloads() throws IOException {
+        var payloads = new ArrayList<byte[]>(PAYLOADS);
+        for (int p = 0; p < PAYLOADS; p++) {
+            var items = new ArrayList<OrderCreatedMessage.OrderItemMessage>();
+            for (int i = 0; i < ITEM_COUNTS[p % ITEM_COUNTS.length]; i++) {
+                items.add(new OrderCreatedMessage.OrderItemMessage("WARMUP-PROD-" + i, "Warm-up product " + i,
+                        BigDecimal.valueOf(100 + p * 37L + i * 11L, 2), 1 + (p + i) % 7));
+            }
+            payloads.add(objectMapper.writeValueAsBytes(
+                    new OrderCreatedMessage("WARMUP-" + p, items, "warmup-correlation-" + p)));
+        }
+        return payloads;
+    }
+
+    private static long compileMillis(final CompilationMXBean compiler) {
+        return compiler != null && compiler.isCompilationTimeMonitoringSupported() ? compiler.getTotalCompilationTime() : -1;
+    }
+}
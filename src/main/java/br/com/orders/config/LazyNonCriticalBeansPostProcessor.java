@@ -0,0 +1,62 @@
+package br.com.orders.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Marks documentation beans lazy so they are built on the first /api-docs request instead of during boot.
+// Unlike spring.main.lazy-initialization this leaves listeners, repositories and security eager.
+@Component
+@Slf4j
+public class LazyNonCriticalBeansPostProcessor implements BeanFactoryPostProcessor, EnvironmentAware {
+
+    private static final List<String> LAZY_PACKAGES = List.of("org.springdoc.", "io.swagger.");
+    private static final List<String> LAZY_BEANS = List.of("customOpenAPI");
+
+    private boolean enabled = true;
+
+    @Override
+    public void setEnvironment(final Environment environment) {
+        this.enabled = environment.getProperty("app.startup.lazy-non-critical-beans", Boolean.class, true);
+    }
+
+    @Override
+    public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (!enabled) {
+            return;
+        }
+
+        int count = 0;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            var definition = beanFactory.getBeanDefinition(beanName);
+            if (!definition.isLazyInit() && isNonCritical(beanName, definition, beanFactory)) {
+                definition.setLazyInit(true);
+                count++;
+            }
+        }
+        log.debug("Marked {} non-critical beans as lazy", count);
+    }
+
+    private boolean isNonCritical(final String beanName,
+                                  final BeanDefinition definition,
+                                  final ConfigurableListableBeanFactory beanFactory) {
+        if (LAZY_BEANS.contains(beanName)) {
+            return true;
+        }
+
+        var className = definition.getBeanClassName();
+        // @Bean methods have no class name of their own, the declaring configuration decides
+        if (className == null && definition.getFactoryBeanName() != null
+                && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+            className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        }
+        return className != null && LAZY_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+}
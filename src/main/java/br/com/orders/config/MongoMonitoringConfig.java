@@ -0,0 +1,18 @@
+package br.com.orders.config;
+
+import br.com.orders.adapters.out.mongo.MongoLoadMonitor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoMonitoringConfig {
+
+    // Added next to Boot's Micrometer listeners, feeds ListenerBackpressureController
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoLoadMonitorCustomizer(final MongoLoadMonitor mongoLoadMonitor) {
+        return settings -> settings
+                .addCommandListener(mongoLoadMonitor)
+                .applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(mongoLoadMonitor));
+    }
+}
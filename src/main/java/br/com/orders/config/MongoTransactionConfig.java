@@ -0,0 +1,20 @@
+package br.com.orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+// Multi-document transactions need a replica set (docker-compose.dev.yml), so they are opt-in.
+// Without them the outbox event is written right after the order. A crash in between is covered by redelivery on the
+// listener path, and by the pendingEvent marker the order is saved with on the ack path (see OutboxService).
+@Configuration
+@ConditionalOnProperty(prefix = "app.mongodb.transactions", name = "enabled", havingValue = "true")
+public class MongoTransactionConfig {
+
+    @Bean
+    public MongoTransactionManager transactionManager(final MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.orders.config;
 
+import br.com.orders.adapters.in.messaging.DelayedRetryPublisher;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -9,6 +10,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
     
@@ -21,11 +25,32 @@ public class RabbitMQConfig {
     @Value("${app.rabbitmq.exchanges.incoming}")
     private String incomingExchangeName;
     
+    @Value("${app.rabbitmq.exchanges.events:orders.events.ex}")
+    private String eventsExchangeName;
+    
+    @Value("${app.rabbitmq.listener.concurrency:3}")
+    private int concurrency;
+    
+    @Value("${app.rabbitmq.listener.max-concurrency:10}")
+    private int maxConcurrency;
+    
+    @Value("${app.rabbitmq.listener.prefetch:50}")
+    private int prefetch;
+    
+    @Value("${app.rabbitmq.retry.delays:1s,10s,60s}")
+    private List<Duration> retryDelays;
+    
     @Bean
     public TopicExchange incomingExchange() {
         return new TopicExchange(incomingExchangeName, true, false);
     }
     
+    // Order status events published by OutboxRelay, routed by order.available / order.acknowledged
+    @Bean
+    public TopicExchange eventsExchange() {
+        return new TopicExchange(eventsExchangeName, true, false);
+    }
+    
     @Bean
     public Queue incomingQueue() {
         return QueueBuilder.durable(incomingQueueName)
@@ -48,6 +73,20 @@ public class RabbitMQConfig {
                 .with("order.created");
     }
     
+    // One queue per retry delay with no consumers: messages sit out their TTL and are dead-lettered back to the
+    // incoming exchange, so DelayedRetryPublisher never blocks a listener thread while waiting
+    @Bean
+    public Declarables retryTierQueues() {
+        var queues = retryDelays.stream()
+                .map(delay -> (Declarable) QueueBuilder.durable(DelayedRetryPublisher.tierQueueName(incomingQueueName, delay))
+                        .withArgument("x-message-ttl", delay.toMillis())
+                        .withArgument("x-dead-letter-exchange", incomingExchangeName)
+                        .withArgument("x-dead-letter-routing-key", "order.created")
+                        .build())
+                .toList();
+        return new Declarables(queues);
+    }
+    
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -57,6 +96,8 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Writes the current trace context (traceparent) into the headers of everything this service publishes
+        template.setObservationEnabled(true);
         return template;
     }
     
@@ -65,9 +106,14 @@ public class RabbitMQConfig {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter());
-        factory.setConcurrentConsumers(3);
-        factory.setMaxConcurrentConsumers(10);
-        factory.setPrefetchCount(1);
+        // Acks are sent by OrderCreatedListener through BatchingAcknowledger once the order is persisted
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        // Must exceed app.rabbitmq.ack.batch-size, otherwise the consumer stalls until the ack window times out
+        factory.setPrefetchCount(prefetch);
+        // Each delivery continues the trace in its traceparent header, or starts one when the producer sent none
+        factory.setObservationEnabled(true);
         return factory;
     }
 }
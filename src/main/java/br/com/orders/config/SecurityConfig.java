@@ -1,8 +1,23 @@
 package br.com.orders.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -15,38 +30,118 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 @Profile("!test")
+@Slf4j
 public class SecurityConfig {
+
+    static final String ADMIN_AUTHORITY = "SCOPE_orders:admin";
+    static final String[] ADMIN_ENDPOINTS = {"flightrecording", "spans", "reprocessing"};
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
+    private String jwkSetUri;
+
+    @Value("${app.security.jwt.cache.max-entries:10000}")
+    private int tokenCacheMaxEntries;
+
+    @Value("${app.security.jwt.jwk.cache-ttl:15m}")
+    private Duration jwkCacheTtl;
+
+    @Value("${app.security.jwt.jwk.refresh-ahead:2m}")
+    private Duration jwkRefreshAhead;
+
+    @Value("${app.security.jwt.jwk.refresh-timeout:5s}")
+    private Duration jwkRefreshTimeout;
+    
+    // Probes, metrics and scrapers stay open; operational endpoints that expose internals or change state need an
+    // admin token. Ordered ahead of the API chain, which does not match actuator paths
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(final HttpSecurity http, final JwtDecoder jwtDecoder) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers(EndpointRequest.to(ADMIN_ENDPOINTS)).hasAuthority(ADMIN_AUTHORITY)
+                .anyRequest().permitAll()
+            )
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)));
+        
+        return http.build();
+    }
     
     @Bean
-    public SecurityFilterChain filterChain(final HttpSecurity http) throws Exception {
+    @Order(2)
+    public SecurityFilterChain filterChain(final HttpSecurity http, final JwtDecoder jwtDecoder) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .securityMatcher("/api/v1/**")
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/actuator/**", "/swagger-ui/**", "/api-docs/**", "/v3/api-docs/**").permitAll()
+                .requestMatchers("/swagger-ui/**", "/api-docs/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/test/**").permitAll()
                 .requestMatchers("/api/v1/orders/**").authenticated()
                 .anyRequest().authenticated()
             )
-            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder())));
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)));
         
         return http.build();
     }
     
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withJwkSetUri("http://localhost:8080/auth/realms/orders/protocol/openid-connect/certs")
+    public JWKSource<SecurityContext> jwkSource() throws MalformedURLException {
+        return refreshingJwkSource(URI.create(jwkSetUri).toURL(), jwkCacheTtl, jwkRefreshAhead, jwkRefreshTimeout);
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(final JWKSource<SecurityContext> jwkSource, final MeterRegistry meterRegistry) {
+        return new CachingJwtDecoder(nimbusJwtDecoder(jwkSource), tokenCacheMaxEntries, meterRegistry);
+    }
+
+    // Load the key set before the first request arrives, the refresh-ahead cache keeps it warm from then on
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> jwkSetPrefetcher(final JWKSource<SecurityContext> jwkSource) {
+        return event -> CompletableFuture.runAsync(() -> {
+            try {
+                var keys = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+                log.info("Prefetched {} signing keys from {}", keys.size(), jwkSetUri);
+            } catch (Exception e) {
+                log.warn("Failed to prefetch JWK set from {}: {}", jwkSetUri, e.getMessage());
+            }
+        });
+    }
+
+    // Keys are refreshed on a background thread before they expire, so rotation never blocks a request
+    static JWKSource<SecurityContext> refreshingJwkSource(final URL jwkSetUrl,
+                                                         final Duration cacheTtl,
+                                                         final Duration refreshAhead,
+                                                         final Duration refreshTimeout) {
+        return JWKSourceBuilder.<SecurityContext>create(jwkSetUrl)
+                .cache(cacheTtl.toMillis(), refreshTimeout.toMillis())
+                .refreshAheadCache(refreshAhead.toMillis(), true)
+                .retrying(true)
                 .build();
     }
 
+    static NimbusJwtDecoder nimbusJwtDecoder(final JWKSource<SecurityContext> jwkSource) {
+        var jwtProcessor = new DefaultJWTProcessor<SecurityContext>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // Claims are validated by Spring's default validators, same as NimbusJwtDecoder.withJwkSetUri
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> { });
+        return new NimbusJwtDecoder(jwtProcessor);
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
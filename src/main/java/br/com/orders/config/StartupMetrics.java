@@ -0,0 +1,64 @@
+package br.com.orders.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Measured from JVM start rather than context start, so class loading and CDS effects are included.
+// Boot already exports application.ready.time; time-to-first-message is what autoscaling actually waits for.
+@Component
+@Slf4j
+public class StartupMetrics {
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong timeToReadyMillis = new AtomicLong(-1);
+    private final AtomicLong timeToFirstMessageMillis = new AtomicLong(-1);
+    private final AtomicLong warmUpMillis = new AtomicLong(-1);
+    private final AtomicLong warmUpIterations = new AtomicLong(-1);
+
+    public StartupMetrics(final MeterRegistry meterRegistry) {
+        TimeGauge.builder("orders.startup.time.to.ready", timeToReadyMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the application reported ready")
+                .register(meterRegistry);
+        TimeGauge.builder("orders.startup.time.to.first.message", timeToFirstMessageMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the first order message was consumed and persisted")
+                .register(meterRegistry);
+        TimeGauge.builder("orders.startup.warmup.time", warmUpMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time spent running synthetic orders through the pipeline before accepting traffic")
+                .register(meterRegistry);
+        Gauge.builder("orders.startup.warmup.iterations", warmUpIterations, AtomicLong::get)
+                .description("Synthetic orders run by the JIT warm-up")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        var elapsed = System.currentTimeMillis() - jvmStartMillis;
+        timeToReadyMillis.set(elapsed);
+        log.info("Startup: ready {} ms after JVM start", elapsed);
+    }
+
+    public void warmUpCompleted(final Duration elapsed, final int iterations) {
+        warmUpMillis.set(elapsed.toMillis());
+        warmUpIterations.set(iterations);
+    }
+
+    public void messageConsumed() {
+        if (timeToFirstMessageMillis.get() >= 0) {
+            return;
+        }
+        var elapsed = System.currentTimeMillis() - jvmStartMillis;
+        if (timeToFirstMessageMillis.compareAndSet(-1, elapsed)) {
+            log.info("Startup: first message consumed {} ms after JVM start", elapsed);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.orders.config;
+
+import br.com.orders.adapters.out.tracing.RecentSpansEndpoint;
+import br.com.orders.adapters.out.tracing.RecentSpansExporter;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+// Boot traces HTTP requests and, with observation enabled in RabbitMQConfig, AMQP deliveries and publishes;
+// this adds a span per Mongo command and the in-memory span store
+@Configuration
+public class TracingConfig {
+
+    // The context provider hands each command the observation current on the calling thread, so Mongo spans nest
+    // under the listener's calculate step or the HTTP request that issued them
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(final ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing.recent-spans", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RecentSpansExporter recentSpansExporter(@Value("${app.tracing.recent-spans.capacity:2000}") final int capacity) {
+        return new RecentSpansExporter(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.tracing.recent-spans", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RecentSpansEndpoint recentSpansEndpoint(final RecentSpansExporter recentSpansExporter) {
+        return new RecentSpansEndpoint(recentSpansExporter);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.orders.config;
+
+import br.com.orders.adapters.in.http.ConsistencyTokenInterceptor;
+import br.com.orders.adapters.in.http.FlightRecorderInterceptor;
+import br.com.orders.adapters.in.http.OrderProtobufHttpMessageConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ConsistencyTokenInterceptor consistencyTokenInterceptor;
+    private final FlightRecorderInterceptor flightRecorderInterceptor;
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        // First, so requests rejected by a later interceptor are recorded too
+        registry.addInterceptor(flightRecorderInterceptor).addPathPatterns("/orders/**", "/orders");
+        registry.addInterceptor(consistencyTokenInterceptor).addPathPatterns("/orders/**", "/orders");
+    }
+
+    // Appended after the JSON converter, so JSON stays the default for clients sending no Accept header or */*
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2CborHttpMessageConverter(JacksonConfig.cborMapper()));
+        converters.add(new OrderProtobufHttpMessageConverter());
+    }
+}
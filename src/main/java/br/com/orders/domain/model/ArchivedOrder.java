@@ -0,0 +1,45 @@
+package br.com.orders.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@Document(collection = "orders_archive")
+@CompoundIndexes({
+    @CompoundIndex(name = "archive_externalId_idx", def = "{'externalId': 1}", unique = true)
+})
+public class ArchivedOrder {
+    
+    @Id
+    private String id;
+    
+    private String externalId;
+    private OrderStatus status;
+    
+    // Either items or compressedItems is populated, depending on app.archive.compress-items; chunked orders keep
+    // their items in order_item_chunks and only carry itemSetId
+    private List<OrderItem> items;
+    private byte[] compressedItems;
+    private Integer itemCount;
+    private String itemSetId;
+    
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+    private String correlationId;
+    private Long version;
+    
+    public boolean hasCompressedItems() {
+        return compressedItems != null;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.orders.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in the (updatedAt, id) order of the changes feed, opaque to clients as a URL-safe token
+public record ChangeWatermark(LocalDateTime updatedAt, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static ChangeWatermark of(final Order order) {
+        return new ChangeWatermark(order.getUpdatedAt(), order.getId());
+    }
+
+    public String encode() {
+        var raw = updatedAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeWatermark decode(final String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed watermark");
+            }
+            return new ChangeWatermark(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed watermark", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.orders.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position in an order's items: chunk sequence and offset within it (seq 0 for items stored inline), opaque to clients
+public record ItemCursor(int seq, int offset) {
+
+    public static final ItemCursor START = new ItemCursor(0, 0);
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        var raw = seq + String.valueOf(SEPARATOR) + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemCursor decode(final String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed item cursor");
+            }
+            var cursor = new ItemCursor(Integer.parseInt(raw.substring(0, separator)), Integer.parseInt(raw.substring(separator + 1)));
+            if (cursor.seq() < 0 || cursor.offset() < 0) {
+                throw new IllegalArgumentException("Malformed item cursor");
+            }
+            return cursor;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed item cursor", e);
+        }
+    }
+}
@@ -12,38 +12,55 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 @Data
 @Builder
 @With
 @Document(collection = "orders")
+// Status indexes are partial and managed by OrderIndexInitializer, annotations cannot express partialFilterExpression
 @CompoundIndexes({
-    @CompoundIndex(name = "status_updatedAt_idx", def = "{'status': 1, 'updatedAt': -1}"),
-    @CompoundIndex(name = "externalId_idx", def = "{'externalId': 1}", unique = true)
+    @CompoundIndex(name = "externalId_idx", def = "{'externalId': 1}", unique = true),
+    // Backs the changes feed, which walks every status in (updatedAt, _id) order
+    @CompoundIndex(name = Order.CHANGES_INDEX, def = "{'updatedAt': 1, '_id': 1}")
 })
 public class Order {
     
+    public static final String CHANGES_INDEX = "updatedAt_id_idx";
+    
     @Id
     private String id;
     
     private String externalId;
     private OrderStatus status;
     private List<OrderItem> items;
+    // Orders over app.orders.items.inline-max keep items empty here and store them in order_item_chunks under itemSetId
+    private Integer itemCount;
+    private String itemSetId;
     private BigDecimal totalAmount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String correlationId;
     
+    // Lease held by a Product B worker through POST /orders/claim; never serialized to the API
+    private String claimToken;
+    private String claimedBy;
+    private LocalDateTime claimedUntil;
+    
+    // Outbox event owed for the last status change, stored in the same document write as the change itself so a
+    // failure before the event is recorded cannot lose it; OutboxService.backfillPendingEvents records and clears it
+    private OutboxEventType pendingEvent;
+    private Long pendingEventVersion;
+    
     @Version
     private Long version;
     
+    // No id: CalculateOrderService and the importer assign it through OrderIdGenerator, which follows app.orders.id-strategy
     public static Order create(final String externalId, final List<OrderItem> items, final String correlationId) {
         return Order.builder()
-                .id(UUID.randomUUID().toString())
                 .externalId(externalId)
                 .status(OrderStatus.PROCESSING)
                 .items(items)
+                .itemCount(items != null ? items.size() : null)
                 .totalAmount(BigDecimal.ZERO)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -52,8 +69,33 @@ public class Order {
                 .build();
     }
 
+    // A redelivery or re-import replaces the stored document but must not cancel a Product B worker's lease or
+    // drop an event still owed for an earlier status change
+    public Order replacing(final Order existing) {
+        return this.withId(existing.getId())
+                .withVersion(existing.getVersion())
+                .withClaimToken(existing.getClaimToken())
+                .withClaimedBy(existing.getClaimedBy())
+                .withClaimedUntil(existing.getClaimedUntil())
+                .withPendingEvent(existing.getPendingEvent())
+                .withPendingEventVersion(existing.getPendingEventVersion());
+    }
+    
+    // The save bumps version, so the event is owed for the version this write produces
+    public Order owing(final OutboxEventType eventType) {
+        return this.withPendingEvent(eventType)
+                .withPendingEventVersion(version != null ? version + 1 : 0L);
+    }
+
+    public boolean hasChunkedItems() {
+        return itemSetId != null;
+    }
+
     public Order acknowledge() {
         return this.withStatus(OrderStatus.ACKNOWLEDGED)
-                .withUpdatedAt(LocalDateTime.now());
+                .withUpdatedAt(LocalDateTime.now())
+                .withClaimToken(null)
+                .withClaimedBy(null)
+                .withClaimedUntil(null);
     }
 }
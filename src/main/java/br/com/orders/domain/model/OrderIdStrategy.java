@@ -0,0 +1,41 @@
+package br.com.orders.domain.model;
+
+import org.bson.types.ObjectId;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Ids stay strings in the domain and the API. How they land in _id depends on the strategy: Spring Data stores a
+// 24-hex String id as a BSON ObjectId and converts it back on read, every other value is stored as-is
+public enum OrderIdStrategy {
+
+    // 12-byte, time-ordered: inserts append to the right edge of the _id index
+    OBJECT_ID {
+        @Override
+        public String nextId() {
+            return new ObjectId().toHexString();
+        }
+    },
+
+    // Time-ordered like OBJECT_ID but kept as a 36-character string, for consumers that expect UUID-shaped ids
+    UUID_V7 {
+        @Override
+        public String nextId() {
+            var random = ThreadLocalRandom.current();
+            // 48-bit Unix millis, version 7, 12 random bits | RFC 4122 variant, 62 random bits
+            var msb = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+            var lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(msb, lsb).toString();
+        }
+    },
+
+    // Previous behaviour: random keys spread inserts across the whole index
+    UUID {
+        @Override
+        public String nextId() {
+            return java.util.UUID.randomUUID().toString();
+        }
+    };
+
+    public abstract String nextId();
+}
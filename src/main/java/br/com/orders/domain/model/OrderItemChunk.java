@@ -0,0 +1,43 @@
+package br.com.orders.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@Document(collection = "order_item_chunks")
+@CompoundIndexes({
+    @CompoundIndex(name = "itemSetId_seq_idx", def = "{'itemSetId': 1, 'seq': 1}", unique = true)
+})
+public class OrderItemChunk {
+
+    // itemSetId:seq
+    @Id
+    private String id;
+
+    // Fresh per ingestion, so a redelivered order writes a new set and the old one is only dropped once the order points away from it
+    private String itemSetId;
+    private int seq;
+    private List<OrderItem> items;
+    private BigDecimal subtotal;
+    private LocalDateTime createdAt;
+
+    public static OrderItemChunk of(final String itemSetId, final int seq, final List<OrderItem> items, final BigDecimal subtotal) {
+        return OrderItemChunk.builder()
+                .id(itemSetId + ":" + seq)
+                .itemSetId(itemSetId)
+                .seq(seq)
+                .items(items)
+                .subtotal(subtotal)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
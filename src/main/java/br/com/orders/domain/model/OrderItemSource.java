@@ -0,0 +1,19 @@
+package br.com.orders.domain.model;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Items handed over one at a time, so an order never has to be held as a single list
+@FunctionalInterface
+public interface OrderItemSource {
+
+    void forEachItem(Consumer<OrderItem> consumer);
+
+    static OrderItemSource of(final List<OrderItem> items) {
+        return consumer -> {
+            if (items != null) {
+                items.forEach(consumer);
+            }
+        };
+    }
+}
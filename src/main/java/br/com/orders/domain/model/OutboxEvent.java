@@ -0,0 +1,57 @@
+package br.com.orders.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+@Document(collection = "order_outbox")
+@CompoundIndexes({
+    @CompoundIndex(name = "outbox_pending_idx", def = "{'sentAt': 1, 'createdAt': 1}")
+})
+public class OutboxEvent {
+
+    // orderId:type:version, so recording the same state change twice never produces two events
+    @Id
+    private String id;
+
+    private OutboxEventType type;
+    private String orderId;
+    private String externalId;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private String correlationId;
+    private Long orderVersion;
+    private Instant createdAt;
+
+    // Sent events are removed by TTL, pending ones (sentAt unset) are never expired
+    @Indexed(name = "outbox_sentAt_ttl", expireAfter = "7d")
+    private Instant sentAt;
+
+    private String claimedBy;
+    private Instant claimedUntil;
+    private Integer attempts;
+
+    public static OutboxEvent of(final OutboxEventType type, final Order order) {
+        return OutboxEvent.builder()
+                .id(order.getId() + ":" + type.name() + ":" + order.getVersion())
+                .type(type)
+                .orderId(order.getId())
+                .externalId(order.getExternalId())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .correlationId(order.getCorrelationId())
+                .orderVersion(order.getVersion())
+                .createdAt(Instant.now())
+                .attempts(0)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.orders.domain.model;
+
+public enum OutboxEventType {
+    ORDER_AVAILABLE("order.available"),
+    ORDER_ACKNOWLEDGED("order.acknowledged");
+
+    private final String routingKey;
+
+    OutboxEventType(final String routingKey) {
+        this.routingKey = routingKey;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.orders.domain.model;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.With;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@With
+@Document(collection = "reprocess_jobs")
+public class ReprocessJob {
+
+    @Id
+    private String id;
+
+    private ReprocessMode mode;
+    private State state;
+
+    // Target set: orders in one of statuses last updated before updatedBefore, fixed when the job is created
+    private List<OrderStatus> statuses;
+    private LocalDateTime updatedBefore;
+    private long estimatedTotal;
+
+    // Orders per second across all workers
+    private int rate;
+
+    private List<Partition> partitions;
+
+    // Renewed with every checkpoint; once it lapses another instance resumes the job from the checkpoints
+    private String owner;
+    private LocalDateTime leaseUntil;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public enum State {
+        RUNNING, COMPLETED, CANCELLED
+    }
+
+    public enum Outcome {
+        UPDATED, UNCHANGED, SKIPPED, CONFLICT, FAILED
+    }
+
+    public Map<Outcome, Long> totals() {
+        var totals = new EnumMap<Outcome, Long>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            totals.put(outcome, 0L);
+        }
+        if (partitions != null) {
+            partitions.forEach(partition -> partition.counts().forEach((outcome, count) -> totals.merge(outcome, count, Long::sum)));
+        }
+        return totals;
+    }
+
+    // [fromId, toId) in _id order, toId null when open-ended. Bounds are the string form of one BSON type (24-hex
+    // strings map back to ObjectIds), since Mongo range operators only match values of the bound's type
+    @Data
+    @Builder
+    public static class Partition {
+
+        private int index;
+        private String fromId;
+        private String toId;
+
+        // Last _id written off; the partition resumes after it
+        private String lastId;
+        private boolean done;
+        private Map<Outcome, Long> counts;
+
+        public Map<Outcome, Long> counts() {
+            return counts != null ? counts : Map.of();
+        }
+    }
+}
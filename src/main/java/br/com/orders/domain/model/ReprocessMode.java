@@ -0,0 +1,26 @@
+package br.com.orders.domain.model;
+
+import java.util.List;
+
+public enum ReprocessMode {
+
+    // Orders CalculateOrderService marked FAILED: totalled again and made AVAILABLE_FOR_B
+    FAILED(List.of(OrderStatus.FAILED)),
+
+    // totalAmount recomputed after a MoneyCalculator fix; the status is kept and only changed totals are written
+    RECALCULATE(List.of(OrderStatus.AVAILABLE_FOR_B, OrderStatus.ACKNOWLEDGED));
+
+    private final List<OrderStatus> defaultStatuses;
+
+    ReprocessMode(final List<OrderStatus> defaultStatuses) {
+        this.defaultStatuses = defaultStatuses;
+    }
+
+    public List<OrderStatus> getDefaultStatuses() {
+        return defaultStatuses;
+    }
+
+    public boolean makesAvailable() {
+        return this != RECALCULATE;
+    }
+}
@@ -2,6 +2,7 @@ package br.com.orders.domain.service;
 
 import br.com.orders.domain.model.Order;
 import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEventType;
 import br.com.orders.adapters.out.mongo.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +17,8 @@ import java.util.Optional;
 public class AckOrderService {
     
     private final OrderRepository orderRepository;
+    private final OrderStatsService orderStatsService;
+    private final OutboxService outboxService;
     
     @Transactional
     public Order acknowledgeOrder(final String orderId, final Long expectedVersion) {
@@ -44,9 +47,12 @@ public class AckOrderService {
             throw new OptimisticLockingException("Version mismatch. Expected: " + expectedVersion + ", Actual: " + order.getVersion());
         }
         
-        // Acknowledge the order
-        Order acknowledgedOrder = order.acknowledge();
+        // Acknowledge the order. Without transactions the save and the event are two writes and a retried ack is
+        // rejected as already ACKNOWLEDGED, so the order itself carries the owed event until it is recorded
+        Order acknowledgedOrder = order.acknowledge().owing(OutboxEventType.ORDER_ACKNOWLEDGED);
         Order savedOrder = orderRepository.save(acknowledgedOrder);
+        outboxService.record(OutboxEventType.ORDER_ACKNOWLEDGED, savedOrder);
+        orderStatsService.recordTransition(OrderStatus.AVAILABLE_FOR_B, OrderStatus.ACKNOWLEDGED);
         
         log.info("Successfully acknowledged order: {}", orderId);
         return savedOrder;
@@ -0,0 +1,122 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.ArchivedOrderCodec;
+import br.com.orders.adapters.out.mongo.OrderArchiveRepository;
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+public class ArchiveOrdersService {
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final ArchivedOrderCodec archivedOrderCodec;
+    private final OrderStatsService orderStatsService;
+    private final Duration minAge;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration batchPause;
+    private final boolean compressItems;
+
+    public ArchiveOrdersService(final OrderRepository orderRepository,
+                                final OrderArchiveRepository orderArchiveRepository,
+                                final ArchivedOrderCodec archivedOrderCodec,
+                                final OrderStatsService orderStatsService,
+                                @Value("${app.archive.min-age:30d}") final Duration minAge,
+                                @Value("${app.archive.batch-size:500}") final int batchSize,
+                                @Value("${app.archive.max-batches-per-run:200}") final int maxBatchesPerRun,
+                                @Value("${app.archive.batch-pause:200ms}") final Duration batchPause,
+                                @Value("${app.archive.compress-items:true}") final boolean compressItems) {
+        this.orderRepository = orderRepository;
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.archivedOrderCodec = archivedOrderCodec;
+        this.orderStatsService = orderStatsService;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.batchPause = batchPause;
+        this.compressItems = compressItems;
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT15M}", initialDelayString = "${app.archive.initial-delay:PT1M}")
+    public void archiveAcknowledgedOrders() {
+        var cutoff = LocalDateTime.now().minus(minAge);
+        log.info("Archiving ACKNOWLEDGED orders last updated before {}", cutoff);
+
+        long archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            var result = archiveBatch(cutoff);
+            archived += result.moved();
+
+            if (result.read() < batchSize) {
+                break;
+            }
+
+            // Throttle between batches so archival never competes with ingestion for the primary
+            if (!pause()) {
+                break;
+            }
+        }
+
+        log.info("Archived {} orders", archived);
+    }
+
+    ArchiveBatch archiveBatch(final LocalDateTime cutoff) {
+        List<Order> orders = orderRepository.findByStatusAndUpdatedAtBefore(
+                OrderStatus.ACKNOWLEDGED, cutoff, PageRequest.of(0, batchSize, Sort.by(Sort.Direction.ASC, "updatedAt")));
+
+        if (orders.isEmpty()) {
+            return new ArchiveBatch(0, 0);
+        }
+
+        // Write to the archive first: saves are idempotent by id, so a crash before the delete
+        // only leaves a duplicate that the next run overwrites and then removes from the working set
+        orderArchiveRepository.saveAll(orders.stream()
+                .map(order -> archivedOrderCodec.toArchive(order, compressItems))
+                .toList());
+
+        // A reprocess or a replayed message may have changed an order since the read; deleting it would drop that
+        // write, so it stays in the working set and its now stale archive copy is removed. Orders still ACKNOWLEDGED
+        // and old enough are picked up again with their current content
+        var outcome = orderRepository.bulkDeleteUnchanged(orders);
+        if (!outcome.kept().isEmpty()) {
+            log.info("Kept {} orders that changed while being archived", outcome.kept().size());
+            orderArchiveRepository.deleteAllById(outcome.kept());
+        }
+        orderStatsService.recordRemoval(OrderStatus.ACKNOWLEDGED, outcome.deleted());
+
+        log.debug("Moved {} of {} orders to the archive", outcome.deleted(), orders.size());
+        return new ArchiveBatch(orders.size(), outcome.deleted());
+    }
+
+    record ArchiveBatch(int read, long moved) {
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Archival interrupted, stopping current run");
+            return false;
+        }
+    }
+}
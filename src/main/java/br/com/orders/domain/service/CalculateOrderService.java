@@ -1,13 +1,20 @@
 package br.com.orders.domain.service;
 
 import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItemSource;
 import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEventType;
+import br.com.orders.adapters.out.mongo.ArchivedOrderCodec;
+import br.com.orders.adapters.out.mongo.OrderArchiveRepository;
 import br.com.orders.adapters.out.mongo.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.function.UnaryOperator;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -15,35 +22,120 @@ public class CalculateOrderService {
     
     private final OrderRepository orderRepository;
     private final MoneyCalculator moneyCalculator;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final ArchivedOrderCodec archivedOrderCodec;
+    private final OrderStatsService orderStatsService;
+    private final OutboxService outboxService;
+    private final OrderIdGenerator orderIdGenerator;
+    private final OrderItemsService orderItemsService;
+    
+    // The FAILED marker is written on purpose before OrderProcessingException is thrown and must be committed
+    @Transactional(noRollbackFor = OrderProcessingException.class)
+    public Order processOrder(final Order incomingOrder) {
+        if (orderItemsService.exceedsInline(incomingOrder.getItems())) {
+            return process(incomingOrder.withItems(null), storingItems(OrderItemSource.of(incomingOrder.getItems())));
+        }
+        return process(incomingOrder, moneyCalculator::calculateAndUpdateOrder);
+    }
     
-    @Transactional
-    public Order processOrder(final Order order) {
+    // Large orders: items are totalled and stored while the source is consumed instead of being collected on the order
+    @Transactional(noRollbackFor = OrderProcessingException.class)
+    public Order processStreamedOrder(final Order header, final OrderItemSource items) {
+        return process(header, storingItems(items));
+    }
+    
+    private Order process(final Order incomingOrder, final UnaryOperator<Order> calculation) {
+        // Assigned here rather than by the driver so the id is chosen by the configured strategy and known up front
+        var order = incomingOrder.getId() != null ? incomingOrder : incomingOrder.withId(orderIdGenerator.nextId());
         log.info("Processing order: {} with externalId: {}", order.getId(), order.getExternalId());
         
+        // Resolved once so the upsert and the status counters agree on the previous state
+        var existingOrder = orderRepository.findByExternalId(order.getExternalId());
+        
+        // Redelivered messages for archived orders must not resurrect them in the working collection. Only orders
+        // missing from it can have been archived, so the common path costs a single lookup
+        if (existingOrder.isEmpty()) {
+            var archivedOrder = orderArchiveRepository.findByExternalId(order.getExternalId());
+            if (archivedOrder.isPresent()) {
+                log.info("Order with externalId: {} was already processed and archived, skipping", order.getExternalId());
+                return archivedOrderCodec.toOrder(archivedOrder.get());
+            }
+        }
+        var previousStatus = existingOrder.map(Order::getStatus).orElse(null);
+        var previousItemSetId = existingOrder.map(Order::getItemSetId).orElse(null);
+        
+        Order calculatedOrder = null;
+        Order savedOrder;
         try {
             // Calculate total using domain service
-            var calculatedOrder = moneyCalculator.calculateAndUpdateOrder(order);
+            calculatedOrder = calculation.apply(order);
             
             // Update status to available for Product B
             var processedOrder = calculatedOrder.withStatus(OrderStatus.AVAILABLE_FOR_B);
             
             // Save with upsert to handle idempotency
-            var savedOrder = orderRepository.upsert(processedOrder);
-            
-            log.info("Successfully processed order: {} with total: {}", 
-                    savedOrder.getId(), savedOrder.getTotalAmount());
-            
-            return savedOrder;
+            savedOrder = orderRepository.upsert(processedOrder, existingOrder);
             
         } catch (Exception e) {
             log.error("Error processing order: {} - {}", order.getId(), e.getMessage(), e);
             
-            // Mark order as failed
-            var failedOrder = order.withStatus(OrderStatus.FAILED);
+            // Nothing references chunks written for this attempt
+            if (calculatedOrder != null && calculatedOrder.hasChunkedItems()) {
+                discardItemSet(calculatedOrder.getItemSetId());
+            }
+            
+            // Mark order as failed. The previous item set is only discarded after a successful upsert, so a streamed
+            // marker keeps pointing at it and the stored order never references deleted chunks
+            var failedOrder = existingOrder
+                    .map(existing -> failedMarker(order, existing))
+                    .orElse(order)
+                    .withStatus(OrderStatus.FAILED);
             orderRepository.save(failedOrder);
+            orderStatsService.recordTransition(previousStatus, OrderStatus.FAILED);
             
             throw new OrderProcessingException("Failed to process order: " + order.getId(), e);
         }
+        
+        // A redelivery wrote a fresh item set, the one stored by the previous delivery is now unreachable
+        if (previousItemSetId != null && !previousItemSetId.equals(savedOrder.getItemSetId())) {
+            discardItemSet(previousItemSetId);
+        }
+        
+        // Outside the try: a failed event write is retryable and must not mark the order FAILED
+        outboxService.record(OutboxEventType.ORDER_AVAILABLE, savedOrder);
+        orderStatsService.recordTransition(previousStatus, OrderStatus.AVAILABLE_FOR_B);
+        
+        log.info("Successfully processed order: {} with total: {}", 
+                savedOrder.getId(), savedOrder.getTotalAmount());
+        
+        return savedOrder;
+    }
+    
+    private static Order failedMarker(final Order order, final Order existing) {
+        var marker = order.replacing(existing);
+        return marker.getItems() == null
+                ? marker.withItemSetId(existing.getItemSetId()).withItemCount(existing.getItemCount())
+                : marker;
+    }
+    
+    private UnaryOperator<Order> storingItems(final OrderItemSource items) {
+        return order -> {
+            var stored = orderItemsService.store(items);
+            return order.withItems(stored.inlineItems())
+                    .withItemSetId(stored.itemSetId())
+                    .withItemCount(stored.itemCount())
+                    .withTotalAmount(stored.total())
+                    .withUpdatedAt(LocalDateTime.now());
+        };
+    }
+    
+    // Orphaned chunks only cost space, so a failed cleanup must not fail the order
+    private void discardItemSet(final String itemSetId) {
+        try {
+            orderItemsService.deleteItemSet(itemSetId);
+        } catch (Exception e) {
+            log.warn("Failed to delete item set {}: {}", itemSetId, e.getMessage());
+        }
     }
     
     public static class OrderProcessingException extends RuntimeException {
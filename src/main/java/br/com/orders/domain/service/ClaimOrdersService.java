@@ -0,0 +1,64 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class ClaimOrdersService {
+    
+    private final OrderRepository orderRepository;
+    private final int maxLimit;
+    private final Duration minLease;
+    private final Duration maxLease;
+    
+    public ClaimOrdersService(final OrderRepository orderRepository,
+                              @Value("${app.orders.claim.max-limit:100}") final int maxLimit,
+                              @Value("${app.orders.claim.min-lease:5s}") final Duration minLease,
+                              @Value("${app.orders.claim.max-lease:10m}") final Duration maxLease) {
+        this.orderRepository = orderRepository;
+        this.maxLimit = maxLimit;
+        this.minLease = minLease;
+        this.maxLease = maxLease;
+    }
+    
+    // Workers get disjoint batches: an order stays with one claim until it is acked or its lease runs out,
+    // after which the next claim picks it up again, so a crashed worker never strands orders
+    public OrderClaim claimOrders(final String worker, final int limit, final Duration lease) {
+        if (worker == null || worker.isBlank()) {
+            throw new InvalidClaimException("A worker id is required");
+        }
+        if (limit <= 0 || limit > maxLimit) {
+            throw new InvalidClaimException("limit must be between 1 and " + maxLimit);
+        }
+        if (lease.compareTo(minLease) < 0 || lease.compareTo(maxLease) > 0) {
+            throw new InvalidClaimException("lease must be between " + minLease + " and " + maxLease);
+        }
+        
+        var claimToken = UUID.randomUUID().toString();
+        var now = LocalDateTime.now();
+        var claimedUntil = now.plus(lease);
+        
+        List<Order> orders = orderRepository.claimAvailable(claimToken, worker, limit, now, claimedUntil);
+        
+        log.debug("Worker {} claimed {} of {} requested orders until {}", worker, orders.size(), limit, claimedUntil);
+        return new OrderClaim(claimToken, worker, claimedUntil, orders);
+    }
+    
+    public record OrderClaim(String claimToken, String worker, LocalDateTime claimedUntil, List<Order> orders) {
+    }
+    
+    public static class InvalidClaimException extends RuntimeException {
+        public InvalidClaimException(final String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderArchiveRepository;
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.ArchivedOrder;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Backfill counterpart of CalculateOrderService.processOrder for a chunk at a time: the same archive check,
+// calculation, outbox event and status counters, but with two $in reads and one bulk insert per chunk instead of
+// several round trips per order. Orders already stored are reported EXISTS and left alone, so a backfill never
+// moves an ACKNOWLEDGED order back to AVAILABLE_FOR_B. Chunks are not transactional; a chunk that fails part way is
+// repaired by importing its lines again
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportOrdersService {
+
+    public enum ImportStatus {
+        IMPORTED, EXISTS, ARCHIVED, INVALID, FAILED
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final MoneyCalculator moneyCalculator;
+    private final OrderIdGenerator orderIdGenerator;
+    private final OrderItemsService orderItemsService;
+    private final CalculateOrderService calculateOrderService;
+    private final OutboxService outboxService;
+    private final OrderStatsService orderStatsService;
+
+    // One outcome per order, in the same order. externalIds must be unique within a chunk
+    public List<ImportOutcome> importChunk(final List<Order> orders) {
+        var externalIds = orders.stream().map(Order::getExternalId).toList();
+        var archived = orderArchiveRepository.findByExternalIdIn(externalIds).stream()
+                .map(ArchivedOrder::getExternalId)
+                .collect(Collectors.toSet());
+        var existing = orderRepository.findByExternalIdIn(externalIds).stream()
+                .collect(Collectors.toMap(Order::getExternalId, Function.identity()));
+
+        var outcomes = new HashMap<String, ImportOutcome>();
+        var inserts = new ArrayList<Order>();
+        for (Order order : orders) {
+            var stored = existing.get(order.getExternalId());
+            if (archived.contains(order.getExternalId())) {
+                outcomes.put(order.getExternalId(), new ImportOutcome(ImportStatus.ARCHIVED, null, null));
+            } else if (stored != null) {
+                outcomes.put(order.getExternalId(), new ImportOutcome(ImportStatus.EXISTS, stored, null));
+            } else if (orderItemsService.exceedsInline(order.getItems())) {
+                // Rare in backfills: chunked item storage stays on the per-order path
+                outcomes.put(order.getExternalId(), importSingle(order));
+            } else {
+                inserts.add(moneyCalculator.calculateAndUpdateOrder(order)
+                        .withStatus(OrderStatus.AVAILABLE_FOR_B)
+                        .withId(orderIdGenerator.nextId()));
+            }
+        }
+
+        var result = orderRepository.bulkInsert(inserts);
+        result.existing().forEach(externalId ->
+                outcomes.put(externalId, new ImportOutcome(ImportStatus.EXISTS, null, null)));
+        result.failed().forEach((externalId, error) ->
+                outcomes.put(externalId, new ImportOutcome(ImportStatus.FAILED, null, error)));
+        recordWritten(result.written(), outcomes);
+
+        log.debug("Imported chunk of {} orders: {} written, {} existing, {} failed, {} archived", orders.size(),
+                result.written().size(), existing.size() + result.existing().size(), result.failed().size(), archived.size());
+        return orders.stream().map(order -> outcomes.get(order.getExternalId())).toList();
+    }
+
+    private void recordWritten(final List<Order> written, final Map<String, ImportOutcome> outcomes) {
+        if (written.isEmpty()) {
+            return;
+        }
+        // The orders are stored whatever happens to their events, so the counters follow them first
+        orderStatsService.recordTransitions(Collections.nCopies(written.size(), null), OrderStatus.AVAILABLE_FOR_B);
+        try {
+            outboxService.recordAll(OutboxEventType.ORDER_AVAILABLE, written);
+        } catch (Exception e) {
+            // Product B would never hear of these orders and importing again reports them EXISTS, so their
+            // messages have to go through the queue, which records the event on redelivery
+            log.error("Failed to record outbox events for {} imported orders: {}", written.size(), e.getMessage(), e);
+            written.forEach(order -> outcomes.put(order.getExternalId(), new ImportOutcome(ImportStatus.FAILED, order,
+                    "Order stored but its event was not recorded: " + e.getMessage())));
+            return;
+        }
+        written.forEach(order -> outcomes.put(order.getExternalId(), new ImportOutcome(ImportStatus.IMPORTED, order, null)));
+    }
+
+    private ImportOutcome importSingle(final Order order) {
+        try {
+            return new ImportOutcome(ImportStatus.IMPORTED, calculateOrderService.processOrder(order), null);
+        } catch (Exception e) {
+            return new ImportOutcome(ImportStatus.FAILED, null, e.getMessage());
+        }
+    }
+
+    public record ImportOutcome(ImportStatus status, Order order, String error) {
+    }
+}
@@ -1,27 +1,61 @@
 package br.com.orders.domain.service;
 
+import br.com.orders.domain.model.ChangeWatermark;
 import br.com.orders.domain.model.Order;
 import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.adapters.out.mongo.ArchivedOrderCodec;
+import br.com.orders.adapters.out.mongo.OrderArchiveRepository;
 import br.com.orders.adapters.out.mongo.OrderRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ListOrdersService {
     
+    // Fields of the order contract that a lookup may project on
+    public static final Set<String> LOOKUP_FIELDS = Set.of(
+            "id", "externalId", "status", "items", "itemCount", "totalAmount", "createdAt", "updatedAt", "correlationId", "version");
+    
     private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final ArchivedOrderCodec archivedOrderCodec;
+    private final int lookupMaxKeys;
+    private final int changesMaxLimit;
+    private final Duration changesSettleDelay;
+    
+    public ListOrdersService(final OrderRepository orderRepository,
+                             final OrderArchiveRepository orderArchiveRepository,
+                             final ArchivedOrderCodec archivedOrderCodec,
+                             @Value("${app.orders.lookup.max-keys:500}") final int lookupMaxKeys,
+                             @Value("${app.orders.changes.max-limit:1000}") final int changesMaxLimit,
+                             @Value("${app.orders.changes.settle-delay:2s}") final Duration changesSettleDelay) {
+        this.orderRepository = orderRepository;
+        this.orderArchiveRepository = orderArchiveRepository;
+        this.archivedOrderCodec = archivedOrderCodec;
+        this.lookupMaxKeys = lookupMaxKeys;
+        this.changesMaxLimit = changesMaxLimit;
+        this.changesSettleDelay = changesSettleDelay;
+    }
     
     public Page<Order> listOrdersByStatus(final OrderStatus status, final Pageable pageable) {
         log.debug("Listing orders with status: {} and page: {}", status, pageable);
         
-        Page<Order> orders = orderRepository.findByStatusOrderByUpdatedAtDesc(status, pageable);
+        Page<Order> orders = orderRepository.findPageByStatus(status, pageable);
         
         log.debug("Found {} orders with status: {}", orders.getTotalElements(), status);
         return orders;
@@ -30,7 +64,8 @@ public class ListOrdersService {
     public Optional<Order> findOrderById(final String orderId) {
         log.debug("Finding order by id: {}", orderId);
         
-        Optional<Order> order = orderRepository.findById(orderId);
+        Optional<Order> order = orderRepository.findOneById(orderId)
+                .or(() -> orderArchiveRepository.findById(orderId).map(archivedOrderCodec::toOrder));
         
         if (order.isPresent()) {
             log.debug("Found order: {} with status: {}", orderId, order.get().getStatus());
@@ -44,7 +79,8 @@ public class ListOrdersService {
     public Optional<Order> findOrderByExternalId(final String externalId) {
         log.debug("Finding order by external id: {}", externalId);
         
-        Optional<Order> order = orderRepository.findByExternalId(externalId);
+        Optional<Order> order = orderRepository.findOneByExternalId(externalId)
+                .or(() -> orderArchiveRepository.findByExternalId(externalId).map(archivedOrderCodec::toOrder));
         
         if (order.isPresent()) {
             log.debug("Found order: {} with external id: {}", order.get().getId(), externalId);
@@ -54,4 +90,107 @@ public class ListOrdersService {
         
         return order;
     }
+    
+    // One $in query per key type against orders, and one more against the archive only for the keys still missing,
+    // both with the same projection
+    public OrderLookup lookupOrders(final List<String> ids, final List<String> externalIds, final Set<String> fields) {
+        var uniqueIds = ids != null ? new LinkedHashSet<>(ids) : new LinkedHashSet<String>();
+        var uniqueExternalIds = externalIds != null ? new LinkedHashSet<>(externalIds) : new LinkedHashSet<String>();
+        validateLookup(uniqueIds, uniqueExternalIds, fields);
+        
+        log.debug("Looking up {} ids and {} external ids with fields: {}", uniqueIds.size(), uniqueExternalIds.size(), fields);
+        
+        var byId = index(orderRepository.lookupByIds(uniqueIds, fields), Order::getId);
+        var missingIds = missing(uniqueIds, byId);
+        if (!missingIds.isEmpty()) {
+            orderArchiveRepository.lookupByIds(missingIds, fields).forEach(archived ->
+                    byId.put(archived.getId(), archivedOrderCodec.toOrder(archived)));
+        }
+        
+        var byExternalId = index(orderRepository.lookupByExternalIds(uniqueExternalIds, fields), Order::getExternalId);
+        var missingExternalIds = missing(uniqueExternalIds, byExternalId);
+        if (!missingExternalIds.isEmpty()) {
+            orderArchiveRepository.lookupByExternalIds(missingExternalIds, fields).forEach(archived ->
+                    byExternalId.put(archived.getExternalId(), archivedOrderCodec.toOrder(archived)));
+        }
+        
+        log.debug("Lookup found {} of {} ids and {} of {} external ids",
+                byId.size(), uniqueIds.size(), byExternalId.size(), uniqueExternalIds.size());
+        return new OrderLookup(byId, byExternalId);
+    }
+    
+    // Changes newer than the settle delay are held back: updatedAt is stamped before the write commits, so a
+    // slower concurrent write could otherwise land behind a watermark the client has already moved past
+    public OrderChanges listChangesSince(final String watermark, final Set<OrderStatus> statuses, final int limit) {
+        if (limit <= 0) {
+            throw new InvalidWatermarkException("limit must be positive");
+        }
+        
+        ChangeWatermark after = null;
+        if (watermark != null && !watermark.isBlank()) {
+            try {
+                after = ChangeWatermark.decode(watermark);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidWatermarkException("Invalid watermark: " + watermark);
+            }
+        }
+        
+        var pageSize = Math.min(limit, changesMaxLimit);
+        var until = LocalDateTime.now().minus(changesSettleDelay);
+        
+        // One extra row tells whether the client should continue immediately
+        var orders = orderRepository.findChangedSince(after, until, statuses, pageSize + 1);
+        var hasMore = orders.size() > pageSize;
+        if (hasMore) {
+            orders = orders.subList(0, pageSize);
+        }
+        
+        var next = orders.isEmpty() ? (after != null ? watermark : null) : ChangeWatermark.of(orders.get(orders.size() - 1)).encode();
+        log.debug("Changes since {}: {} orders, hasMore={}", after, orders.size(), hasMore);
+        return new OrderChanges(orders, next, hasMore);
+    }
+    
+    private void validateLookup(final Set<String> ids, final Set<String> externalIds, final Set<String> fields) {
+        var keys = ids.size() + externalIds.size();
+        if (keys == 0) {
+            throw new InvalidLookupException("At least one id or externalId is required");
+        }
+        if (keys > lookupMaxKeys) {
+            throw new InvalidLookupException("Lookup accepts at most " + lookupMaxKeys + " keys, got " + keys);
+        }
+        if (ids.contains(null) || externalIds.contains(null)) {
+            throw new InvalidLookupException("Lookup keys cannot be null");
+        }
+        if (fields != null && !LOOKUP_FIELDS.containsAll(fields)) {
+            throw new InvalidLookupException("Unknown fields requested, allowed: " + LOOKUP_FIELDS);
+        }
+    }
+    
+    private static Map<String, Order> index(final List<Order> orders, final Function<Order, String> key) {
+        var indexed = new HashMap<String, Order>(orders.size() * 2);
+        orders.forEach(order -> indexed.put(key.apply(order), order));
+        return indexed;
+    }
+    
+    private static List<String> missing(final Collection<String> keys, final Map<String, Order> found) {
+        return keys.stream().filter(key -> !found.containsKey(key)).toList();
+    }
+    
+    public record OrderLookup(Map<String, Order> byId, Map<String, Order> byExternalId) {
+    }
+    
+    public record OrderChanges(List<Order> orders, String watermark, boolean hasMore) {
+    }
+    
+    public static class InvalidWatermarkException extends RuntimeException {
+        public InvalidWatermarkException(final String message) {
+            super(message);
+        }
+    }
+    
+    public static class InvalidLookupException extends RuntimeException {
+        public InvalidLookupException(final String message) {
+            super(message);
+        }
+    }
 }
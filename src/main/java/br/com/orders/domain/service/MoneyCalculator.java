@@ -23,12 +23,17 @@ public class MoneyCalculator {
         return total;
     }
     
+    public BigDecimal addItem(final BigDecimal runningTotal, final OrderItem item) {
+        return runningTotal.add(item.getTotalPrice());
+    }
+    
     public Order calculateAndUpdateOrder(final Order order) {
         log.debug("Calculating total for order: {}", order.getId());
         
         var total = calculateOrderTotal(order.getItems());
         
         var updatedOrder = order.withTotalAmount(total)
+                .withItemCount(order.getItems().size())
                 .withUpdatedAt(java.time.LocalDateTime.now());
         
         log.debug("Updated order {} with total: {}", order.getId(), total);
@@ -0,0 +1,23 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.domain.model.OrderIdStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Existing ids of any shape keep resolving: the strategy only decides the _id of orders created from now on
+@Component
+@Slf4j
+public class OrderIdGenerator {
+
+    private final OrderIdStrategy strategy;
+
+    public OrderIdGenerator(@Value("${app.orders.id-strategy:OBJECT_ID}") final OrderIdStrategy strategy) {
+        this.strategy = strategy;
+        log.info("Generating order ids with strategy {}", strategy);
+    }
+
+    public String nextId() {
+        return strategy.nextId();
+    }
+}
@@ -0,0 +1,221 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderItemChunkRepository;
+import br.com.orders.domain.model.ItemCursor;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderIdStrategy;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderItemChunk;
+import br.com.orders.domain.model.OrderItemSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Slf4j
+public class OrderItemsService {
+    
+    private static final int RETOTAL_PAGE = 20;
+    
+    private final OrderItemChunkRepository orderItemChunkRepository;
+    private final MoneyCalculator moneyCalculator;
+    private final int inlineMax;
+    private final int chunkSize;
+    private final int maxLimit;
+    
+    public OrderItemsService(final OrderItemChunkRepository orderItemChunkRepository,
+                             final MoneyCalculator moneyCalculator,
+                             @Value("${app.orders.items.inline-max:1000}") final int inlineMax,
+                             @Value("${app.orders.items.chunk-size:500}") final int chunkSize,
+                             @Value("${app.orders.items.max-limit:1000}") final int maxLimit) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("app.orders.items.chunk-size must be positive");
+        }
+        this.orderItemChunkRepository = orderItemChunkRepository;
+        this.moneyCalculator = moneyCalculator;
+        this.inlineMax = inlineMax;
+        this.chunkSize = chunkSize;
+        this.maxLimit = maxLimit;
+    }
+    
+    public boolean exceedsInline(final List<OrderItem> items) {
+        return items != null && items.size() > inlineMax;
+    }
+    
+    // Totals while consuming the source and holds at most max(inline-max, chunk-size) items: once the order outgrows
+    // inline-max, everything buffered so far goes out as chunks of a new item set and later items follow chunk by chunk
+    public StoredItems store(final OrderItemSource source) {
+        var writer = new ChunkWriter();
+        try {
+            source.forEachItem(writer::add);
+            return writer.finish();
+        } catch (RuntimeException e) {
+            writer.discard();
+            throw e;
+        }
+    }
+    
+    public void deleteItemSet(final String itemSetId) {
+        var deleted = orderItemChunkRepository.deleteByItemSetId(itemSetId);
+        log.debug("Deleted {} chunks of item set {}", deleted, itemSetId);
+    }
+    
+    // Totals a chunked order again with the current MoneyCalculator, a page of chunks at a time; empty when the set is gone
+    public Optional<ItemTotals> retotal(final String itemSetId) {
+        var total = BigDecimal.ZERO;
+        var count = 0;
+        var seq = 0;
+        var found = false;
+        while (true) {
+            var chunks = orderItemChunkRepository.findByItemSetIdAndSeqGreaterThanEqualOrderBySeqAsc(
+                    itemSetId, seq, Limit.of(RETOTAL_PAGE));
+            for (OrderItemChunk chunk : chunks) {
+                var items = chunk.getItems() != null ? chunk.getItems() : List.<OrderItem>of();
+                total = total.add(moneyCalculator.calculateOrderTotal(items));
+                count += items.size();
+                seq = chunk.getSeq() + 1;
+                found = true;
+            }
+            if (chunks.size() < RETOTAL_PAGE) {
+                return found ? Optional.of(new ItemTotals(count, total)) : Optional.empty();
+            }
+        }
+    }
+    
+    public ItemPage pageItems(final Order order, final String cursor, final int limit) {
+        if (limit <= 0) {
+            throw new InvalidItemCursorException("limit must be positive");
+        }
+        
+        var position = ItemCursor.START;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                position = ItemCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidItemCursorException("Invalid item cursor: " + cursor);
+            }
+        }
+        
+        var pageSize = Math.min(limit, maxLimit);
+        return order.hasChunkedItems()
+                ? pageChunks(order.getItemSetId(), position, pageSize)
+                : pageInline(order.getItems(), position, pageSize);
+    }
+    
+    private ItemPage pageInline(final List<OrderItem> items, final ItemCursor position, final int pageSize) {
+        if (position.seq() != 0) {
+            throw new InvalidItemCursorException("Cursor does not belong to this order");
+        }
+        var all = items != null ? items : List.<OrderItem>of();
+        var from = Math.min(position.offset(), all.size());
+        var to = Math.min(from + pageSize, all.size());
+        var hasMore = to < all.size();
+        return new ItemPage(all.subList(from, to), hasMore ? new ItemCursor(0, to).encode() : null, hasMore);
+    }
+    
+    // Fetches the chunks the page needs at the configured chunk size plus one, so the cursor can tell whether more follow
+    private ItemPage pageChunks(final String itemSetId, final ItemCursor position, final int pageSize) {
+        var fetch = (position.offset() % chunkSize + pageSize + chunkSize - 1) / chunkSize + 1;
+        var chunks = orderItemChunkRepository.findByItemSetIdAndSeqGreaterThanEqualOrderBySeqAsc(
+                itemSetId, position.seq(), Limit.of(fetch));
+        
+        var items = new ArrayList<OrderItem>(pageSize);
+        ItemCursor next = null;
+        for (int i = 0; i < chunks.size() && items.size() < pageSize; i++) {
+            var chunk = chunks.get(i);
+            var chunkItems = chunk.getItems() != null ? chunk.getItems() : List.<OrderItem>of();
+            var from = chunk.getSeq() == position.seq() ? Math.min(position.offset(), chunkItems.size()) : 0;
+            var to = Math.min(from + pageSize - items.size(), chunkItems.size());
+            items.addAll(chunkItems.subList(from, to));
+            
+            if (to < chunkItems.size()) {
+                next = new ItemCursor(chunk.getSeq(), to);
+            } else if (i + 1 < chunks.size()) {
+                next = new ItemCursor(chunks.get(i + 1).getSeq(), 0);
+            } else if (chunks.size() == fetch) {
+                // Smaller chunks from an earlier chunk-size: more may exist beyond what was fetched
+                next = new ItemCursor(chunk.getSeq() + 1, 0);
+            } else {
+                next = null;
+            }
+        }
+        
+        return new ItemPage(items, next != null ? next.encode() : null, next != null);
+    }
+    
+    public record StoredItems(List<OrderItem> inlineItems, String itemSetId, int itemCount, BigDecimal total) {
+    }
+    
+    public record ItemTotals(int itemCount, BigDecimal total) {
+    }
+    
+    public record ItemPage(List<OrderItem> items, String cursor, boolean hasMore) {
+    }
+    
+    public static class InvalidItemCursorException extends RuntimeException {
+        public InvalidItemCursorException(final String message) {
+            super(message);
+        }
+    }
+    
+    private final class ChunkWriter {
+        
+        private List<OrderItem> buffer = new ArrayList<>();
+        private BigDecimal total = BigDecimal.ZERO;
+        private int count;
+        private String itemSetId;
+        private int seq;
+        
+        void add(final OrderItem item) {
+            buffer.add(item);
+            count++;
+            total = moneyCalculator.addItem(total, item);
+            
+            if (itemSetId == null && buffer.size() > inlineMax) {
+                itemSetId = OrderIdStrategy.OBJECT_ID.nextId();
+                log.debug("Order outgrew {} inline items, writing chunks to item set {}", inlineMax, itemSetId);
+            }
+            if (itemSetId != null && buffer.size() >= chunkSize) {
+                flush(false);
+            }
+        }
+        
+        StoredItems finish() {
+            if (itemSetId == null) {
+                return new StoredItems(buffer, null, count, total);
+            }
+            flush(true);
+            log.debug("Stored {} items in {} chunks of item set {}", count, seq, itemSetId);
+            return new StoredItems(List.of(), itemSetId, count, total);
+        }
+        
+        // Only a set nobody points to yet is dropped; the caller owns it once finish() has returned
+        void discard() {
+            if (itemSetId == null) {
+                return;
+            }
+            try {
+                deleteItemSet(itemSetId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete partial item set {}: {}", itemSetId, e.getMessage());
+            }
+        }
+        
+        private void flush(final boolean all) {
+            var from = 0;
+            while (buffer.size() - from >= chunkSize || (all && from < buffer.size())) {
+                var to = Math.min(from + chunkSize, buffer.size());
+                var items = new ArrayList<>(buffer.subList(from, to));
+                orderItemChunkRepository.insert(OrderItemChunk.of(itemSetId, seq++, items, moneyCalculator.calculateOrderTotal(items)));
+                from = to;
+            }
+            buffer = new ArrayList<>(buffer.subList(from, buffer.size()));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderStatusCounterRepository;
+import br.com.orders.domain.model.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@Slf4j
+public class OrderStatsService {
+
+    private final OrderStatusCounterRepository counterRepository;
+    private final Duration cacheTtl;
+
+    private volatile OrderStats cachedStats;
+
+    public OrderStatsService(final OrderStatusCounterRepository counterRepository,
+                             @Value("${app.stats.cache-ttl:5s}") final Duration cacheTtl) {
+        this.counterRepository = counterRepository;
+        this.cacheTtl = cacheTtl;
+    }
+
+    public void recordTransition(final OrderStatus from, final OrderStatus to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        try {
+            counterRepository.transition(from, to);
+        } catch (Exception e) {
+            // Counters are advisory, reconciliation corrects any drift this leaves behind
+            log.warn("Failed to update status counters {} -> {}: {}", from, to, e.getMessage());
+        }
+    }
+
+    // Batched form of recordTransition: one increment per status touched instead of one upsert per order.
+    // A null entry in from is an order that did not exist before
+    public void recordTransitions(final Collection<OrderStatus> from, final OrderStatus to) {
+        var leaving = new EnumMap<OrderStatus, Long>(OrderStatus.class);
+        var arriving = 0L;
+        for (OrderStatus previous : from) {
+            if (Objects.equals(previous, to)) {
+                continue;
+            }
+            if (previous != null) {
+                leaving.merge(previous, 1L, Long::sum);
+            }
+            arriving++;
+        }
+        try {
+            for (var entry : leaving.entrySet()) {
+                counterRepository.increment(entry.getKey(), -entry.getValue());
+            }
+            if (arriving > 0) {
+                counterRepository.increment(to, arriving);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to update status counters for {} transitions to {}: {}", arriving, to, e.getMessage());
+        }
+    }
+
+    public void recordRemoval(final OrderStatus status, final long count) {
+        if (count == 0) {
+            return;
+        }
+        try {
+            counterRepository.increment(status, -count);
+        } catch (Exception e) {
+            log.warn("Failed to decrement {} counter by {}: {}", status, count, e.getMessage());
+        }
+    }
+
+    public OrderStats getStats() {
+        var current = cachedStats;
+        var now = Instant.now();
+        if (current != null && current.asOf().plus(cacheTtl).isAfter(now)) {
+            return current;
+        }
+
+        var counts = counterRepository.findCounts().orElseGet(this::reconcile);
+        var stats = new OrderStats(counts, now);
+        cachedStats = stats;
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT10M}", initialDelayString = "${app.stats.reconcile-initial-delay:PT30S}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Failed to reconcile status counters: {}", e.getMessage(), e);
+        }
+    }
+
+    // The drift is applied with $inc rather than by overwriting the counters, which would erase the increments of
+    // every order written while the statuses were being counted. An order written between the read of the stored
+    // counters and its own increment can still be counted twice; the next run takes it back
+    Map<OrderStatus, Long> reconcile() {
+        var stored = counterRepository.findCountsOnPrimary().orElse(Map.of());
+        var actual = counterRepository.countByStatus();
+
+        var drift = new EnumMap<OrderStatus, Long>(OrderStatus.class);
+        actual.forEach((status, count) -> {
+            var previous = stored.getOrDefault(status, 0L);
+            if (previous.longValue() != count.longValue()) {
+                log.info("Status counter drift for {}: stored {}, actual {}", status, previous, count);
+                drift.put(status, count - previous);
+            }
+        });
+
+        counterRepository.applyDrift(drift);
+        cachedStats = new OrderStats(actual, Instant.now());
+        return actual;
+    }
+
+    public record OrderStats(Map<OrderStatus, Long> counts, Instant asOf) {
+
+        public OrderStats {
+            var copy = new EnumMap<OrderStatus, Long>(OrderStatus.class);
+            copy.putAll(counts);
+            counts = Collections.unmodifiableMap(copy);
+        }
+
+        public long total() {
+            return counts.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
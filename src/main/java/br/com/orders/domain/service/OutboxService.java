@@ -0,0 +1,79 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.adapters.out.mongo.OutboxEventRepository;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OutboxEvent;
+import br.com.orders.domain.model.OutboxEventType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+
+@Service
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderRepository orderRepository;
+    private final int backfillBatchSize;
+    private final int backfillMaxBatchesPerRun;
+
+    public OutboxService(final OutboxEventRepository outboxEventRepository,
+                         final OrderRepository orderRepository,
+                         @Value("${app.outbox.backfill.batch-size:500}") final int backfillBatchSize,
+                         @Value("${app.outbox.backfill.max-batches-per-run:100}") final int backfillMaxBatchesPerRun) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderRepository = orderRepository;
+        this.backfillBatchSize = backfillBatchSize;
+        this.backfillMaxBatchesPerRun = backfillMaxBatchesPerRun;
+    }
+
+    // Failures propagate. Inside a transaction the order write is rolled back with it; without one the caller relies
+    // on redelivery, or saves the order with Order.owing so backfillPendingEvents records the event later
+    public void record(final OutboxEventType type, final Order order) {
+        var event = OutboxEvent.of(type, order);
+        outboxEventRepository.record(event);
+        log.debug("Recorded outbox event {} for order {}", event.getId(), order.getId());
+    }
+
+    public void recordAll(final OutboxEventType type, final Collection<Order> orders) {
+        outboxEventRepository.recordAll(orders.stream().map(order -> OutboxEvent.of(type, order)).toList());
+        log.debug("Recorded {} outbox events of type {}", orders.size(), type);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.backfill.interval:PT1M}", initialDelayString = "${app.outbox.backfill.initial-delay:PT30S}")
+    public void scheduledBackfill() {
+        try {
+            backfillPendingEvents();
+        } catch (Exception e) {
+            log.error("Failed to backfill owed outbox events: {}", e.getMessage(), e);
+        }
+    }
+
+    // Event ids are orderId:type:version and recording is insert-only, so an event the caller already recorded is
+    // left as it is; only those lost between the order write and its event are actually added
+    int backfillPendingEvents() {
+        int cleared = 0;
+        for (int batch = 0; batch < backfillMaxBatchesPerRun; batch++) {
+            var orders = orderRepository.findPendingEvents(backfillBatchSize);
+            if (orders.isEmpty()) {
+                break;
+            }
+            outboxEventRepository.recordAll(orders.stream()
+                    .map(order -> OutboxEvent.of(order.getPendingEvent(), order.withVersion(order.getPendingEventVersion())))
+                    .toList());
+            orderRepository.clearPendingEvents(orders);
+            cleared += orders.size();
+            if (orders.size() < backfillBatchSize) {
+                break;
+            }
+        }
+        if (cleared > 0) {
+            log.debug("Backfilled and cleared {} owed outbox events", cleared);
+        }
+        return cleared;
+    }
+}
@@ -0,0 +1,450 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.in.messaging.ListenerBackpressureController.BackpressureStateChangedEvent;
+import br.com.orders.adapters.in.messaging.ListenerBackpressureController;
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.adapters.out.mongo.ReprocessJobRepository;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderIdStrategy;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.ReprocessJob;
+import br.com.orders.domain.model.ReprocessJob.Outcome;
+import br.com.orders.domain.model.ReprocessJob.Partition;
+import br.com.orders.domain.model.ReprocessMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Reprocesses a target set of orders in _id ranges on a pool of workers. Each processed batch is checkpointed on the
+// job document together with a lease renewal, so after a crash or shutdown any instance resumes where it stopped.
+// Stays out of live ingestion's way: a global rate limit, a pause while listener backpressure is engaged, and writes
+// conditional on the version read (see ReprocessOrderService)
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "app.reprocess", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReprocessJobService {
+
+    // Two types of _id coexist (see OrderIdStrategy); every job covers both, each from its lowest value
+    static final String MIN_OBJECT_ID = "000000000000000000000000";
+    static final String MIN_STRING_ID = "";
+
+    private static final String CANCELLED = "cancelled";
+    private static final String LOST_LEASE = "lost lease";
+    private static final int SAMPLES_PER_PARTITION = 20;
+    private static final int MAX_RECENT_JOBS = 20;
+
+    private final ReprocessJobRepository jobRepository;
+    private final OrderRepository orderRepository;
+    private final ReprocessOrderService reprocessOrderService;
+    private final int workers;
+    private final int partitionsPerWorker;
+    private final int batchSize;
+    private final int defaultRate;
+    private final Duration lease;
+    private final Duration backoff;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<ReprocessMode, Map<Outcome, Counter>> outcomeCounters = new EnumMap<>(ReprocessMode.class);
+    private final ExecutorService coordinator;
+    private final ExecutorService workerPool;
+
+    private volatile boolean ingestionUnderPressure;
+    private volatile Run current;
+
+    public ReprocessJobService(final ReprocessJobRepository jobRepository,
+                               final OrderRepository orderRepository,
+                               final ReprocessOrderService reprocessOrderService,
+                               final MeterRegistry meterRegistry,
+                               @Value("${app.reprocess.workers:4}") final int workers,
+                               @Value("${app.reprocess.partitions-per-worker:4}") final int partitionsPerWorker,
+                               @Value("${app.reprocess.batch-size:200}") final int batchSize,
+                               @Value("${app.reprocess.rate:200}") final int defaultRate,
+                               @Value("${app.reprocess.lease:2m}") final Duration lease,
+                               @Value("${app.reprocess.backoff:5s}") final Duration backoff) {
+        if (workers <= 0 || partitionsPerWorker <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("app.reprocess.workers, partitions-per-worker and batch-size must be positive");
+        }
+        this.jobRepository = jobRepository;
+        this.orderRepository = orderRepository;
+        this.reprocessOrderService = reprocessOrderService;
+        this.workers = workers;
+        this.partitionsPerWorker = partitionsPerWorker;
+        this.batchSize = batchSize;
+        this.defaultRate = defaultRate;
+        this.lease = lease;
+        this.backoff = backoff;
+        this.coordinator = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("reprocess-job").factory());
+        this.workerPool = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("reprocess-worker-", 0).factory());
+
+        for (ReprocessMode mode : ReprocessMode.values()) {
+            var counters = new EnumMap<Outcome, Counter>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                counters.put(outcome, Counter.builder("orders.reprocess.orders")
+                        .tag("mode", mode.name())
+                        .tag("outcome", outcome.name())
+                        .description("Orders handled by reprocessing jobs")
+                        .register(meterRegistry));
+            }
+            outcomeCounters.put(mode, counters);
+        }
+        Gauge.builder("orders.reprocess.rate", this, service -> service.current != null ? service.current.ratePerSecond() : 0)
+                .description("Orders per second reprocessed by the job running on this instance")
+                .register(meterRegistry);
+    }
+
+    // Statuses only narrow RECALCULATE; FAILED always targets FAILED. Synchronized with resumeAbandoned so this
+    // instance never queues a second job behind the one it runs; the unique RUNNING-per-mode index covers the fleet
+    public synchronized ReprocessJob start(final ReprocessMode mode, final List<OrderStatus> statuses, final Integer rate) {
+        if (mode == null) {
+            throw new InvalidReprocessJobException("mode is required");
+        }
+        if (rate != null && rate <= 0) {
+            throw new InvalidReprocessJobException("rate must be positive");
+        }
+        if (statuses != null && !statuses.isEmpty() && mode != ReprocessMode.RECALCULATE) {
+            throw new InvalidReprocessJobException("statuses can only be chosen for RECALCULATE");
+        }
+        if (current != null) {
+            throw new ReprocessJobConflictException("Job " + current.job.getId() + " is already running on this instance");
+        }
+        if (jobRepository.existsRunning(mode)) {
+            throw new ReprocessJobConflictException("A " + mode + " job is already running");
+        }
+
+        var now = LocalDateTime.now();
+        var targetStatuses = statuses != null && !statuses.isEmpty() ? List.copyOf(statuses) : mode.getDefaultStatuses();
+        // Orders written after the job starts went through the current code already
+        var updatedBefore = now;
+        var partitionCount = workers * partitionsPerWorker;
+        var sample = orderRepository.sampleReprocessIds(targetStatuses, updatedBefore, partitionCount * SAMPLES_PER_PARTITION);
+
+        var job = insert(ReprocessJob.builder()
+                .id(OrderIdStrategy.OBJECT_ID.nextId())
+                .mode(mode)
+                .state(ReprocessJob.State.RUNNING)
+                .statuses(targetStatuses)
+                .updatedBefore(updatedBefore)
+                .estimatedTotal(orderRepository.countReprocessTargets(targetStatuses, updatedBefore))
+                .rate(rate != null ? rate : defaultRate)
+                .partitions(partition(sample, partitionCount))
+                .owner(instanceId)
+                .leaseUntil(now.plus(lease))
+                .createdAt(now)
+                .build());
+
+        log.info("Started {} reprocessing job {} over ~{} orders in {} ranges at {} orders/s",
+                mode, job.getId(), job.getEstimatedTotal(), job.getPartitions().size(), job.getRate());
+        submit(job);
+        return job;
+    }
+
+    public Optional<JobProgress> progress(final String id) {
+        return jobRepository.findById(id).map(this::progress);
+    }
+
+    public List<JobProgress> recent() {
+        return jobRepository.findRecent(MAX_RECENT_JOBS).stream().map(this::progress).toList();
+    }
+
+    // Workers notice at their next checkpoint, whichever instance runs the job
+    public Optional<JobProgress> cancel(final String id) {
+        if (jobRepository.cancel(id, LocalDateTime.now())) {
+            log.info("Cancelled reprocessing job {}", id);
+            var run = current;
+            if (run != null && run.job.getId().equals(id)) {
+                run.stop(CANCELLED);
+            }
+        }
+        return progress(id);
+    }
+
+    // Picks up jobs whose instance died or shut down; one job at a time per instance
+    @Scheduled(fixedDelayString = "${app.reprocess.resume-interval:PT1M}", initialDelayString = "${app.reprocess.resume-interval:PT1M}")
+    public synchronized void resumeAbandoned() {
+        if (current != null) {
+            return;
+        }
+        try {
+            var now = LocalDateTime.now();
+            jobRepository.claimAbandoned(instanceId, now, now.plus(lease)).ifPresent(job -> {
+                log.info("Resuming {} reprocessing job {}", job.getMode(), job.getId());
+                submit(job);
+            });
+        } catch (Exception e) {
+            log.error("Failed to resume reprocessing jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public void onBackpressure(final BackpressureStateChangedEvent event) {
+        ingestionUnderPressure = event.to() != ListenerBackpressureController.State.NORMAL;
+    }
+
+    // The lease is released rather than left to expire, so another instance resumes on its next pass
+    @PreDestroy
+    public void shutdown() {
+        var run = current;
+        if (run != null) {
+            run.stop("shutdown");
+        }
+        coordinator.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    private synchronized void submit(final ReprocessJob job) {
+        var run = new Run(job);
+        current = run;
+        coordinator.execute(() -> {
+            try {
+                run(run);
+            } finally {
+                current = null;
+            }
+        });
+    }
+
+    void run(final Run run) {
+        var job = run.job;
+        var pending = new ConcurrentLinkedQueue<>(job.getPartitions().stream().filter(partition -> !partition.isDone()).toList());
+        var tasks = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < Math.min(workers, pending.size()); i++) {
+            tasks.add(() -> {
+                Partition partition;
+                while (!run.isStopped() && (partition = pending.poll()) != null) {
+                    processPartition(run, partition);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> task : workerPool.invokeAll(tasks)) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.stop("interrupted");
+        } catch (ExecutionException e) {
+            log.error("Reprocessing job {} stopped: {}", job.getId(), e.getCause().getMessage(), e.getCause());
+            run.stop(e.getCause().toString());
+        }
+
+        if (!run.isStopped()) {
+            jobRepository.complete(job.getId(), instanceId, LocalDateTime.now());
+            log.info("Completed {} reprocessing job {}: {} orders in {} ms",
+                    job.getMode(), job.getId(), run.processed.sum(), run.elapsed().toMillis());
+        } else if (!CANCELLED.equals(run.stopReason) && !LOST_LEASE.equals(run.stopReason)) {
+            jobRepository.release(job.getId(), instanceId, run.stopReason);
+        }
+    }
+
+    private void processPartition(final Run run, final Partition partition) throws InterruptedException {
+        var job = run.job;
+        var afterId = partition.getLastId();
+        while (awaitIngestionHeadroom(run)) {
+            List<Order> batch = orderRepository.findReprocessBatch(job.getStatuses(), job.getUpdatedBefore(),
+                    partition.getFromId(), partition.getToId(), afterId, batchSize);
+
+            var counts = new EnumMap<Outcome, Long>(Outcome.class);
+            for (Order order : batch) {
+                run.acquire();
+                var outcome = reprocess(order, job.getMode());
+                counts.merge(outcome, 1L, Long::sum);
+                run.processed.increment();
+                outcomeCounter(job.getMode(), outcome).increment();
+            }
+
+            var done = batch.size() < batchSize;
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            if (!jobRepository.checkpoint(job.getId(), instanceId, partition.getIndex(), afterId, counts, done,
+                    LocalDateTime.now().plus(lease))) {
+                run.stop(LOST_LEASE);
+                return;
+            }
+            if (done) {
+                return;
+            }
+        }
+    }
+
+    // Per-order errors are counted and left behind; only reading the batch or checkpointing stops the job
+    private Outcome reprocess(final Order order, final ReprocessMode mode) {
+        try {
+            return reprocessOrderService.reprocess(order, mode);
+        } catch (Exception e) {
+            log.warn("Failed to reprocess order {}: {}", order.getId(), e.getMessage());
+            return Outcome.FAILED;
+        }
+    }
+
+    // Waits while listener backpressure is engaged, renewing the lease so a long pause does not hand the job over
+    private boolean awaitIngestionHeadroom(final Run run) throws InterruptedException {
+        while (ingestionUnderPressure && !run.isStopped()) {
+            if (!jobRepository.renew(run.job.getId(), instanceId, LocalDateTime.now().plus(lease))) {
+                run.stop(LOST_LEASE);
+                break;
+            }
+            Thread.sleep(backoff);
+        }
+        return !run.isStopped();
+    }
+
+    private Counter outcomeCounter(final ReprocessMode mode, final Outcome outcome) {
+        return outcomeCounters.get(mode).get(outcome);
+    }
+
+    private ReprocessJob insert(final ReprocessJob job) {
+        try {
+            return jobRepository.insert(job);
+        } catch (DuplicateKeyException e) {
+            throw new ReprocessJobConflictException("A " + job.getMode() + " job is already running");
+        }
+    }
+
+    private JobProgress progress(final ReprocessJob job) {
+        var counts = job.totals();
+        var processed = counts.values().stream().mapToLong(Long::longValue).sum();
+        var partitions = job.getPartitions() != null ? job.getPartitions() : List.<Partition>of();
+        var done = (int) partitions.stream().filter(Partition::isDone).count();
+
+        var run = current;
+        Double rate = null;
+        Long etaSeconds = null;
+        if (run != null && run.job.getId().equals(job.getId())) {
+            rate = run.ratePerSecond();
+            if (rate > 0) {
+                etaSeconds = (long) Math.ceil(Math.max(job.getEstimatedTotal() - processed, 0) / rate);
+            }
+        }
+        var percent = partitions.isEmpty() || done == partitions.size() ? 100.0
+                : job.getEstimatedTotal() == 0 ? 0.0
+                : Math.min(99.9, processed * 100.0 / job.getEstimatedTotal());
+
+        return new JobProgress(job.getId(), job.getMode(), job.getState(), job.getStatuses(), job.getUpdatedBefore(),
+                job.getRate(), job.getEstimatedTotal(), processed, counts, partitions.size(), done, percent, rate, etaSeconds,
+                ingestionUnderPressure && rate != null, job.getOwner(), job.getLeaseUntil(), job.getCreatedAt(),
+                job.getFinishedAt(), job.getError());
+    }
+
+    // Cuts each _id type's sample into ranges in proportion to its share; every type gets at least one range starting
+    // from its lowest value, so ids the sample missed are still covered
+    static List<Partition> partition(final Collection<String> sample, final int count) {
+        var objectIds = sample.stream().filter(ObjectId::isValid).sorted().toList();
+        var strings = sample.stream().filter(id -> !ObjectId.isValid(id)).sorted().toList();
+        var objectIdRanges = objectIds.isEmpty() ? 1 : Math.max(1, Math.round((float) count * objectIds.size() / sample.size()));
+        var stringRanges = strings.isEmpty() ? 1 : Math.max(1, count - objectIdRanges);
+
+        var partitions = new ArrayList<Partition>();
+        addRanges(partitions, strings, MIN_STRING_ID, stringRanges);
+        addRanges(partitions, objectIds, MIN_OBJECT_ID, objectIdRanges);
+        return partitions;
+    }
+
+    private static void addRanges(final List<Partition> partitions, final List<String> sorted, final String min, final int ranges) {
+        var from = min;
+        for (int i = 1; i < ranges; i++) {
+            var bound = sorted.get(i * sorted.size() / ranges);
+            if (bound.compareTo(from) > 0) {
+                partitions.add(range(partitions.size(), from, bound));
+                from = bound;
+            }
+        }
+        partitions.add(range(partitions.size(), from, null));
+    }
+
+    private static Partition range(final int index, final String fromId, final String toId) {
+        return Partition.builder().index(index).fromId(fromId).toId(toId).counts(new EnumMap<>(Outcome.class)).build();
+    }
+
+    // State of the job this instance is running; rate is measured from when this instance took it over
+    static final class Run {
+
+        private final ReprocessJob job;
+        private final long intervalNanos;
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong nextPermitNanos = new AtomicLong(System.nanoTime());
+        private final LongAdder processed = new LongAdder();
+        private volatile String stopReason;
+
+        Run(final ReprocessJob job) {
+            this.job = job;
+            this.intervalNanos = Duration.ofSeconds(1).toNanos() / Math.max(job.getRate(), 1);
+        }
+
+        // Permits are handed out intervalNanos apart across all workers, so the job never exceeds its rate
+        void acquire() throws InterruptedException {
+            var now = System.nanoTime();
+            var permit = nextPermitNanos.getAndUpdate(next -> Math.max(next, now) + intervalNanos);
+            if (permit > now) {
+                Thread.sleep(Duration.ofNanos(permit - now));
+            }
+        }
+
+        void stop(final String reason) {
+            if (stopReason == null) {
+                stopReason = reason;
+            }
+        }
+
+        boolean isStopped() {
+            return stopReason != null;
+        }
+
+        Duration elapsed() {
+            return Duration.ofNanos(System.nanoTime() - startedNanos);
+        }
+
+        double ratePerSecond() {
+            var seconds = elapsed().toNanos() / 1e9;
+            return seconds > 0 ? processed.sum() / seconds : 0;
+        }
+    }
+
+    public record JobProgress(String id, ReprocessMode mode, ReprocessJob.State state, List<OrderStatus> statuses,
+                              LocalDateTime updatedBefore, int rateLimit, long estimatedTotal, long processed,
+                              Map<Outcome, Long> outcomes, int partitions, int partitionsDone, double percent,
+                              Double ratePerSecond, Long etaSeconds, boolean pausedForIngestion, String owner,
+                              LocalDateTime leaseUntil, LocalDateTime createdAt, LocalDateTime finishedAt, String error) {
+    }
+
+    public static class InvalidReprocessJobException extends RuntimeException {
+        public InvalidReprocessJobException(final String message) {
+            super(message);
+        }
+    }
+
+    public static class ReprocessJobConflictException extends RuntimeException {
+        public ReprocessJobConflictException(final String message) {
+            super(message);
+        }
+    }
+}
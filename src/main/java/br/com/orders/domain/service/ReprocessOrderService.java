@@ -0,0 +1,69 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEventType;
+import br.com.orders.domain.model.ReprocessJob.Outcome;
+import br.com.orders.domain.model.ReprocessMode;
+import br.com.orders.domain.service.OrderItemsService.ItemTotals;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReprocessOrderService {
+
+    private final OrderRepository orderRepository;
+    private final MoneyCalculator moneyCalculator;
+    private final OrderItemsService orderItemsService;
+    private final OutboxService outboxService;
+    private final OrderStatsService orderStatsService;
+
+    // One order of a reprocessing job. The write is conditional on what was read, so live ingestion always wins a race
+    @Transactional
+    public Outcome reprocess(final Order order, final ReprocessMode mode) {
+        var totals = retotal(order);
+        if (totals.isEmpty()) {
+            // Large orders that failed lost their item chunks with the FAILED marker; only a redelivery can restore them
+            log.debug("Order {} has no items left to total, skipping", order.getId());
+            return Outcome.SKIPPED;
+        }
+
+        var total = totals.get().total();
+        var status = mode.makesAvailable() ? OrderStatus.AVAILABLE_FOR_B : order.getStatus();
+        if (status == order.getStatus() && order.getTotalAmount() != null && order.getTotalAmount().compareTo(total) == 0) {
+            return Outcome.UNCHANGED;
+        }
+
+        var updated = orderRepository.updateIfUnchanged(order, status, total, totals.get().itemCount(), LocalDateTime.now());
+        if (updated.isEmpty()) {
+            log.debug("Order {} changed since it was read at version {}, leaving it to the newer write", order.getId(), order.getVersion());
+            return Outcome.CONFLICT;
+        }
+
+        if (status != order.getStatus()) {
+            outboxService.record(OutboxEventType.ORDER_AVAILABLE, updated.get());
+            orderStatsService.recordTransition(order.getStatus(), status);
+        }
+        log.debug("Reprocessed order {} ({}): total {} -> {}", order.getId(), mode, order.getTotalAmount(), total);
+        return Outcome.UPDATED;
+    }
+
+    private Optional<ItemTotals> retotal(final Order order) {
+        if (order.hasChunkedItems()) {
+            return orderItemsService.retotal(order.getItemSetId());
+        }
+        if (order.getItems() == null || order.getItems().isEmpty()) {
+            return Optional.empty();
+        }
+        var calculated = moneyCalculator.calculateAndUpdateOrder(order);
+        return Optional.of(new ItemTotals(calculated.getItemCount(), calculated.getTotalAmount()));
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.orders.adapters.in.http;
+
+import br.com.orders.adapters.in.messaging.mapper.OrderMessageMapper;
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import br.com.orders.config.JacksonConfig;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.service.ImportOrdersService;
+import br.com.orders.domain.service.ImportOrdersService.ImportOutcome;
+import br.com.orders.domain.service.ImportOrdersService.ImportStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NdjsonOrderImporterTest {
+
+    @Mock
+    private ImportOrdersService importOrdersService;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final List<List<String>> chunks = new ArrayList<>();
+    private NdjsonOrderImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        // chunks of at most 2 orders, lines of at most 512 bytes
+        importer = new NdjsonOrderImporter(new JsonSchemaValidator(objectMapper), objectMapper, OrderMessageMapper.INSTANCE,
+                importOrdersService, new SimpleMeterRegistry(), 2, DataSize.ofMegabytes(8), DataSize.ofBytes(512));
+    }
+
+    @Test
+    void shouldImportInBoundedChunksAndReportEveryLine() throws Exception {
+        // Given
+        givenStoreAcceptsEverything();
+        var body = order("EXT-001") + "\n" + order("EXT-002") + "\r\n\n" + "{\"externalId\":\"EXT-BAD\"}\n" + order("EXT-003");
+
+        // When
+        var results = run(body);
+
+        // Then
+        assertThat(chunks).containsExactly(List.of("EXT-001", "EXT-002"), List.of("EXT-003"));
+        assertThat(results).extracting(node -> node.path("line").asLong()).containsExactly(1L, 2L, 4L, 5L, 0L);
+        assertThat(results.get(2).path("status").asText()).isEqualTo("INVALID");
+        assertThat(results.get(3).path("id").asText()).isEqualTo("ID-EXT-003");
+        var summary = results.get(4);
+        assertThat(summary.path("summary").asBoolean()).isTrue();
+        assertThat(summary.path("lines").asLong()).isEqualTo(5);
+        assertThat(summary.path("imported").asLong()).isEqualTo(3);
+        assertThat(summary.path("invalid").asLong()).isEqualTo(1);
+        assertThat(summary.path("aborted").asBoolean()).isFalse();
+    }
+
+    @Test
+    void shouldWriteARepeatedOrderInALaterChunk() throws Exception {
+        // Given
+        givenStoreAcceptsEverything();
+
+        // When
+        run(order("EXT-001") + "\n" + order("EXT-001") + "\n");
+
+        // Then
+        assertThat(chunks).containsExactly(List.of("EXT-001"), List.of("EXT-001"));
+    }
+
+    @Test
+    void shouldRejectOverlongLinesAndCarryOnWithTheNextOne() throws Exception {
+        // Given
+        givenStoreAcceptsEverything();
+        var overlong = "{\"externalId\":\"" + "x".repeat(1000) + "\"}";
+
+        // When
+        var results = run(overlong + "\n" + order("EXT-001") + "\n");
+
+        // Then
+        assertThat(results.get(0).path("status").asText()).isEqualTo("INVALID");
+        assertThat(results.get(0).path("error").asText()).contains("max-line-length");
+        assertThat(results.get(1).path("line").asLong()).isEqualTo(2);
+        assertThat(results.get(1).path("status").asText()).isEqualTo("IMPORTED");
+    }
+
+    @Test
+    void shouldStopReadingOnceTheStoreIsUnavailable() throws Exception {
+        // Given
+        when(importOrdersService.importChunk(anyList())).thenThrow(new DataAccessResourceFailureException("Mongo down"));
+
+        // When
+        var results = run(order("EXT-001") + "\n" + order("EXT-002") + "\n" + order("EXT-003") + "\n");
+
+        // Then
+        verify(importOrdersService, times(1)).importChunk(anyList());
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).path("status").asText()).isEqualTo("FAILED");
+        var summary = results.get(2);
+        assertThat(summary.path("aborted").asBoolean()).isTrue();
+        assertThat(summary.path("lines").asLong()).isEqualTo(2);
+        assertThat(summary.path("error").asText()).isEqualTo("Mongo down");
+    }
+
+    private void givenStoreAcceptsEverything() {
+        when(importOrdersService.importChunk(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            chunks.add(orders.stream().map(Order::getExternalId).toList());
+            return orders.stream()
+                    .map(order -> new ImportOutcome(ImportStatus.IMPORTED, order.withId("ID-" + order.getExternalId()).withVersion(0L), null))
+                    .toList();
+        });
+    }
+
+    private List<JsonNode> run(final String body) throws Exception {
+        var out = new ByteArrayOutputStream();
+        importer.importOrders(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        var results = new ArrayList<JsonNode>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+
+    private static String order(final String externalId) {
+        return "{\"externalId\":\"" + externalId + "\",\"correlationId\":\"CORR-1\","
+                + "\"items\":[{\"productId\":\"PROD-001\",\"productName\":\"Product 1\",\"unitPrice\":10.50,\"quantity\":2}]}";
+    }
+}
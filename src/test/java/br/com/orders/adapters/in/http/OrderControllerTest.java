@@ -1,12 +1,18 @@
 package br.com.orders.adapters.in.http;
 
-import br.com.orders.adapters.in.http.dto.OrderResponse;
+import br.com.orders.adapters.in.http.dto.OrderImportSummary;
+import br.com.orders.adapters.out.mongo.ConsistencyToken;
+import br.com.orders.adapters.out.mongo.ReadRouting;
+import br.com.orders.config.JacksonConfig;
 import br.com.orders.domain.service.AckOrderService;
+import br.com.orders.domain.service.ClaimOrdersService;
 import br.com.orders.domain.service.ListOrdersService;
+import br.com.orders.domain.service.OrderItemsService;
 import br.com.orders.domain.model.Order;
 import br.com.orders.domain.model.OrderItem;
 import br.com.orders.domain.model.OrderStatus;
-import br.com.orders.adapters.in.http.mapper.OrderResponseMapper;
+import com.google.protobuf.UnknownFieldSet;
+import org.bson.BsonTimestamp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,15 +24,25 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -48,10 +64,18 @@ class OrderControllerTest {
     private AckOrderService ackOrderService;
     
     @MockitoBean
-    private OrderResponseMapper orderResponseMapper;
+    private ReadRouting readRouting;
+    
+    @MockitoBean
+    private ClaimOrdersService claimOrdersService;
+    
+    @MockitoBean
+    private OrderItemsService orderItemsService;
+    
+    @MockitoBean
+    private NdjsonOrderImporter ndjsonOrderImporter;
     
     private Order testOrder;
-    private OrderResponse testOrderResponse;
     
     @BeforeEach
     void setUp() {
@@ -66,15 +90,6 @@ class OrderControllerTest {
                 .withCreatedAt(LocalDateTime.now())
                 .withUpdatedAt(LocalDateTime.now())
                 .withVersion(1L);
-        
-        testOrderResponse = OrderResponse.builder()
-                .id("ORDER-001")
-                .externalId("EXT-001")
-                .status(OrderStatus.AVAILABLE_FOR_B)
-                .totalAmount(new BigDecimal("21.00"))
-                .correlationId("CORR-001")
-                .version(1L)
-                .build();
     }
     
     @Test
@@ -85,7 +100,6 @@ class OrderControllerTest {
         
         when(listOrdersService.listOrdersByStatus(eq(OrderStatus.AVAILABLE_FOR_B), any()))
                 .thenReturn(orderPage);
-        when(orderResponseMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
         
         // When & Then
         mockMvc.perform(get("/orders")
@@ -103,7 +117,6 @@ class OrderControllerTest {
     void shouldGetOrderByIdSuccessfully() throws Exception {
         // Given
         when(listOrdersService.findOrderById("ORDER-001")).thenReturn(Optional.of(testOrder));
-        when(orderResponseMapper.toResponse(testOrder)).thenReturn(testOrderResponse);
         
         // When & Then
         mockMvc.perform(get("/orders/ORDER-001")
@@ -125,17 +138,101 @@ class OrderControllerTest {
                 .andExpect(status().isNotFound());
     }
     
+    @Test
+    @WithMockUser(authorities = "SCOPE_orders:read")
+    void shouldServeOrderAsCborWhenAccepted() throws Exception {
+        // Given
+        when(listOrdersService.findOrderById("ORDER-001")).thenReturn(Optional.of(testOrder));
+        
+        // When
+        var body = mockMvc.perform(get("/orders/ORDER-001")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        // Then
+        var order = JacksonConfig.cborMapper().readTree(body);
+        assertThat(order.get("id").asText()).isEqualTo("ORDER-001");
+        assertThat(order.get("status").asText()).isEqualTo("AVAILABLE_FOR_B");
+    }
+    
+    @Test
+    @WithMockUser(authorities = "SCOPE_orders:read")
+    void shouldServeOrderPageAsProtobufWhenAccepted() throws Exception {
+        // Given
+        Page<Order> orderPage = new PageImpl<>(List.of(testOrder), PageRequest.of(0, 20), 1);
+        when(listOrdersService.listOrdersByStatus(eq(OrderStatus.AVAILABLE_FOR_B), any())).thenReturn(orderPage);
+        
+        // When
+        var body = mockMvc.perform(get("/orders")
+                        .accept(OrderProtobufHttpMessageConverter.PROTOBUF)
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(OrderProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+        
+        // Then
+        var page = UnknownFieldSet.parseFrom(body);
+        var order = UnknownFieldSet.parseFrom(page.getField(1).getLengthDelimitedList().get(0));
+        assertThat(order.getField(1).getLengthDelimitedList().get(0).toStringUtf8()).isEqualTo("ORDER-001");
+        assertThat(page.getField(4).getVarintList()).containsExactly(1L);
+    }
+    
+    @Test
+    @WithMockUser(authorities = "SCOPE_orders:read")
+    void shouldPageOrderItemsByCursor() throws Exception {
+        // Given
+        when(listOrdersService.findOrderById("ORDER-001")).thenReturn(Optional.of(testOrder));
+        when(orderItemsService.pageItems(testOrder, "CURSOR-1", 1))
+                .thenReturn(new OrderItemsService.ItemPage(testOrder.getItems(), "CURSOR-2", true));
+        
+        // When & Then
+        mockMvc.perform(get("/orders/ORDER-001/items")
+                        .param("cursor", "CURSOR-1")
+                        .param("limit", "1")
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value("ORDER-001"))
+                .andExpect(jsonPath("$.itemCount").value(1))
+                .andExpect(jsonPath("$.items[0].productId").value("PROD-001"))
+                .andExpect(jsonPath("$.cursor").value("CURSOR-2"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+    
+    @Test
+    @WithMockUser(authorities = "SCOPE_orders:read")
+    void shouldRejectInvalidItemCursor() throws Exception {
+        // Given
+        when(listOrdersService.findOrderById("ORDER-001")).thenReturn(Optional.of(testOrder));
+        when(orderItemsService.pageItems(testOrder, "bogus", 500))
+                .thenThrow(new OrderItemsService.InvalidItemCursorException("Invalid item cursor: bogus"));
+        
+        // When & Then
+        mockMvc.perform(get("/orders/ORDER-001/items")
+                        .param("cursor", "bogus")
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @WithMockUser(authorities = "SCOPE_orders:read")
+    void shouldPublishProtobufSchema() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/orders/schema.proto")
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("message OrderPage")));
+    }
+    
     @Test
     @WithMockUser(authorities = "SCOPE_orders:ack")
     void shouldAcknowledgeOrderSuccessfully() throws Exception {
         // Given
         Order acknowledgedOrder = testOrder.withStatus(OrderStatus.ACKNOWLEDGED);
-        OrderResponse acknowledgedResponse = testOrderResponse.toBuilder()
-                .status(OrderStatus.ACKNOWLEDGED)
-                .build();
         
         when(ackOrderService.acknowledgeOrder("ORDER-001", 1L)).thenReturn(acknowledgedOrder);
-        when(orderResponseMapper.toResponse(acknowledgedOrder)).thenReturn(acknowledgedResponse);
         
         // When & Then
         mockMvc.perform(post("/orders/ORDER-001/ack")
@@ -146,6 +243,92 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.status").value("ACKNOWLEDGED"));
     }
     
+    @Test
+    @WithMockUser(authorities = "SCOPE_orders:ack")
+    void shouldReturnConsistencyTokenWithAcknowledgedOrder() throws Exception {
+        // Given
+        var token = new ConsistencyToken(new BsonTimestamp(1_700_000_000, 3));
+        when(ackOrderService.acknowledgeOrder("ORDER-001", 1L)).thenReturn(testOrder.withStatus(OrderStatus.ACKNOWLEDGED));
+        when(readRouting.issueToken(Order.class, "ORDER-001")).thenReturn(Optional.of(token));
+        
+        // When & Then
+        mockMvc.perform(post("/orders/ORDER-001/ack")
+                        .header("If-Match", "1")
+                        .with(jwt().authorities(() -> "SCOPE_orders:ack")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Consistency-Token", token.encode()));
+    }
+    
+    @Test
+    @WithMockUser(authorities = "SCOPE_orders:read")
+    void shouldRejectMalformedConsistencyToken() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/orders/ORDER-001")
+                        .header("X-Consistency-Token", "not-a-token")
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void shouldClaimOrdersForTheTokenSubjectByDefault() throws Exception {
+        // Given
+        var claimedUntil = LocalDateTime.of(2024, 1, 15, 10, 0, 30);
+        when(claimOrdersService.claimOrders("worker-sub", 10, Duration.ofSeconds(45)))
+                .thenReturn(new ClaimOrdersService.OrderClaim("claim-1", "worker-sub", claimedUntil, List.of(testOrder)));
+        
+        // When & Then
+        mockMvc.perform(post("/orders/claim")
+                        .param("limit", "10")
+                        .param("lease", "45s")
+                        .with(jwt().jwt(token -> token.subject("worker-sub")).authorities(() -> "SCOPE_orders:ack")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.claimToken").value("claim-1"))
+                .andExpect(jsonPath("$.worker").value("worker-sub"))
+                .andExpect(jsonPath("$.orders[0].id").value("ORDER-001"))
+                .andExpect(jsonPath("$.orders[0].claimToken").doesNotExist());
+    }
+    
+    @Test
+    void shouldStreamImportResultsAsNdjson() throws Exception {
+        // Given
+        var body = "{\"externalId\":\"EXT-001\"}\n";
+        when(ndjsonOrderImporter.importOrders(any(), any())).thenAnswer(invocation -> {
+            var in = invocation.getArgument(0, InputStream.class);
+            var out = invocation.getArgument(1, OutputStream.class);
+            assertThat(new String(in.readAllBytes())).isEqualTo(body);
+            out.write("{\"summary\":true}\n".getBytes());
+            return new OrderImportSummary(true, 1, 0, 0, 0, 1, 0, 5, false, null);
+        });
+        
+        // When & Then
+        mockMvc.perform(post("/orders/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body)
+                        .with(jwt().authorities(() -> "SCOPE_orders:import")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"summary\":true}\n"));
+    }
+    
+    @Test
+    void shouldRejectImportBodiesThatAreNotNdjson() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/orders/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .with(jwt().authorities(() -> "SCOPE_orders:import")))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+    
+    @Test
+    void shouldRejectClaimWithUnparseableLease() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/orders/claim")
+                        .param("lease", "soon")
+                        .with(jwt().authorities(() -> "SCOPE_orders:ack")))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     @WithMockUser(authorities = "SCOPE_orders:ack")
     void shouldReturnConflictOnVersionMismatch() throws Exception {
@@ -160,6 +343,83 @@ class OrderControllerTest {
                 .andExpect(status().isConflict());
     }
     
+    @Test
+    void shouldListChangesWithContinuationWatermark() throws Exception {
+        // Given
+        when(listOrdersService.listChangesSince("abc", Set.of(OrderStatus.ACKNOWLEDGED), 100))
+                .thenReturn(new ListOrdersService.OrderChanges(List.of(testOrder), "next", true));
+        
+        // When & Then
+        mockMvc.perform(get("/orders/changes")
+                        .param("since", "abc")
+                        .param("status", "ACKNOWLEDGED")
+                        .param("limit", "100")
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders[0].id").value("ORDER-001"))
+                .andExpect(jsonPath("$.watermark").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+    
+    @Test
+    void shouldRejectInvalidWatermark() throws Exception {
+        // Given
+        when(listOrdersService.listChangesSince("garbage", null, 500))
+                .thenThrow(new ListOrdersService.InvalidWatermarkException("Invalid watermark: garbage"));
+        
+        // When & Then
+        mockMvc.perform(get("/orders/changes")
+                        .param("since", "garbage")
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void shouldLookupOrdersInRequestOrderWithNotFoundMarkers() throws Exception {
+        // Given
+        Order secondOrder = testOrder.withId("ORDER-002").withExternalId("EXT-002");
+        when(listOrdersService.lookupOrders(List.of("ORDER-002", "MISSING", "ORDER-001"), List.of("EXT-002"), Set.of("status", "version")))
+                .thenReturn(new ListOrdersService.OrderLookup(
+                        Map.of("ORDER-001", testOrder, "ORDER-002", secondOrder),
+                        Map.of("EXT-002", secondOrder)));
+        
+        // When & Then
+        mockMvc.perform(post("/orders/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ids":["ORDER-002","MISSING","ORDER-001"],"externalIds":["EXT-002"],"fields":["status","version"]}
+                                """)
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found").value(3))
+                .andExpect(jsonPath("$.notFound").value(1))
+                .andExpect(jsonPath("$.results[0].key").value("ORDER-002"))
+                .andExpect(jsonPath("$.results[0].keyType").value("id"))
+                .andExpect(jsonPath("$.results[0].order.status").value("AVAILABLE_FOR_B"))
+                .andExpect(jsonPath("$.results[0].order.version").value(1))
+                .andExpect(jsonPath("$.results[0].order.items").doesNotExist())
+                .andExpect(jsonPath("$.results[1].key").value("MISSING"))
+                .andExpect(jsonPath("$.results[1].found").value(false))
+                .andExpect(jsonPath("$.results[1].order").doesNotExist())
+                .andExpect(jsonPath("$.results[2].key").value("ORDER-001"))
+                .andExpect(jsonPath("$.results[3].keyType").value("externalId"))
+                .andExpect(jsonPath("$.results[3].found").value(true));
+    }
+    
+    @Test
+    void shouldRejectInvalidLookup() throws Exception {
+        // Given
+        when(listOrdersService.lookupOrders(anyList(), isNull(), isNull()))
+                .thenThrow(new ListOrdersService.InvalidLookupException("Lookup accepts at most 500 keys, got 501"));
+        
+        // When & Then
+        mockMvc.perform(post("/orders/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"ORDER-001\"]}")
+                        .with(jwt().authorities(() -> "SCOPE_orders:read")))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     void shouldReturnUnauthorizedWithoutToken() throws Exception {
         // When & Then - Security should block before reaching controller
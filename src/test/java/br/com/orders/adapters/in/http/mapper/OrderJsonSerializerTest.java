@@ -0,0 +1,108 @@
+package br.com.orders.adapters.in.http.mapper;
+
+import br.com.orders.adapters.in.http.dto.ProjectedOrder;
+import br.com.orders.config.JacksonConfig;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderJsonSerializerTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    // The JSON contract before the direct serializer: MapStruct DTO written reflectively
+    private final ObjectMapper dtoMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void shouldWriteSameJsonAsResponseDto() throws Exception {
+        // Given
+        var order = Order.create("EXT-001", List.of(
+                        OrderItem.create("PROD-001", "Product \"1\"", new BigDecimal("10.50"), 2),
+                        OrderItem.create("PROD-002", "Produto ção", new BigDecimal("0.10"), 3)), "CORR-001")
+                .withId("ORDER-001")
+                .withStatus(OrderStatus.AVAILABLE_FOR_B)
+                .withTotalAmount(new BigDecimal("21.30"))
+                .withCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000))
+                .withUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 31, 5))
+                .withVersion(3L);
+
+        // When
+        var direct = objectMapper.writeValueAsString(order);
+        var viaDto = dtoMapper.writeValueAsString(OrderResponseMapper.INSTANCE.toResponse(order));
+
+        // Then
+        assertThat(direct).isEqualTo(viaDto);
+    }
+
+    @Test
+    void shouldWriteNullsLikeResponseDto() throws Exception {
+        // Given
+        var order = Order.builder()
+                .externalId("EXT-002")
+                .items(Arrays.asList(OrderItem.builder().productId("PROD-001").build(), null))
+                .build();
+
+        // When
+        var direct = objectMapper.writeValueAsString(order);
+        var viaDto = dtoMapper.writeValueAsString(OrderResponseMapper.INSTANCE.toResponse(order));
+
+        // Then
+        assertThat(direct).isEqualTo(viaDto);
+    }
+
+    @Test
+    void shouldWriteSameContractAsCbor() throws Exception {
+        // Given
+        var order = Order.create("EXT-003", List.of(
+                        OrderItem.create("PROD-001", "Product 1", new BigDecimal("10.50"), 2)), "CORR-003")
+                .withId("ORDER-003")
+                .withStatus(OrderStatus.ACKNOWLEDGED)
+                .withTotalAmount(new BigDecimal("21.00"))
+                .withCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .withUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 31))
+                .withVersion(2L);
+        var cborMapper = JacksonConfig.cborMapper();
+
+        // When
+        var cbor = cborMapper.writeValueAsBytes(order);
+
+        // Then
+        // CBOR carries decimals as exact decimal fractions, so compare against JSON read without the double detour
+        var json = objectMapper.copy().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .readTree(objectMapper.writeValueAsString(order));
+        assertThat(cborMapper.readTree(cbor)).isEqualTo(json);
+        assertThat(cbor.length).isLessThan(objectMapper.writeValueAsBytes(order).length);
+    }
+
+    @Test
+    void shouldWriteOnlyProjectedFields() throws Exception {
+        // Given
+        var order = Order.builder()
+                .status(OrderStatus.AVAILABLE_FOR_B)
+                .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .build();
+
+        // When
+        var projected = objectMapper.writeValueAsString(new ProjectedOrder(order, Set.of("status", "createdAt")));
+        var whole = objectMapper.writeValueAsString(new ProjectedOrder(order, null));
+
+        // Then
+        assertThat(projected).isEqualTo("{\"status\":\"AVAILABLE_FOR_B\",\"createdAt\":\"2024-01-15T10:30:00\"}");
+        assertThat(whole).isEqualTo(objectMapper.writeValueAsString(order));
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.orders.adapters.in.http.mapper;
+
+import br.com.orders.adapters.in.http.dto.OrderChangesResponse;
+import br.com.orders.adapters.in.http.dto.OrderItemsResponse;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Decodes with UnknownFieldSet, i.e. by field number only, so the assertions pin the wire layout of orders.proto
+class OrderProtobufWriterTest {
+
+    private final Order order = Order.create("EXT-001", List.of(
+                    OrderItem.create("PROD-001", "Produto ção", new BigDecimal("10.50"), 2)), "CORR-001")
+            .withId("ORDER-001")
+            .withStatus(OrderStatus.AVAILABLE_FOR_B)
+            .withTotalAmount(new BigDecimal("21.00"))
+            .withCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000))
+            .withUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 31, 5))
+            .withVersion(0L);
+
+    @Test
+    void shouldWriteOrderFieldsByNumber() throws Exception {
+        // When
+        var fields = UnknownFieldSet.parseFrom(write(out -> OrderProtobufWriter.writeOrder(order, out)));
+
+        // Then
+        assertThat(string(fields, 1)).isEqualTo("ORDER-001");
+        assertThat(string(fields, 2)).isEqualTo("EXT-001");
+        assertThat(fields.getField(3).getVarintList()).containsExactly(2L);
+        assertThat(decimal(fields.getField(5).getLengthDelimitedList().get(0))).isEqualTo(new BigDecimal("21.00"));
+        assertThat(string(fields, 6)).isEqualTo("2024-01-15T10:30:00.123");
+        assertThat(string(fields, 7)).isEqualTo("2024-01-15T10:31:05");
+        assertThat(string(fields, 8)).isEqualTo("CORR-001");
+        // optional: written even when it is the default
+        assertThat(fields.getField(9).getVarintList()).containsExactly(0L);
+        assertThat(fields.getField(10).getVarintList()).containsExactly(1L);
+
+        var item = UnknownFieldSet.parseFrom(fields.getField(4).getLengthDelimitedList().get(0));
+        assertThat(string(item, 1)).isEqualTo("PROD-001");
+        assertThat(string(item, 2)).isEqualTo("Produto ção");
+        assertThat(decimal(item.getField(3).getLengthDelimitedList().get(0))).isEqualTo(new BigDecimal("10.50"));
+        assertThat(item.getField(4).getVarintList()).containsExactly(2L);
+        assertThat(decimal(item.getField(5).getLengthDelimitedList().get(0))).isEqualTo(new BigDecimal("21.00"));
+    }
+
+    @Test
+    void shouldOmitNullFieldsAndNullItems() throws Exception {
+        // Given
+        var sparse = Order.builder()
+                .externalId("EXT-002")
+                .items(Arrays.asList(OrderItem.builder().productId("PROD-001").build(), null))
+                .build();
+
+        // When
+        var fields = UnknownFieldSet.parseFrom(write(out -> OrderProtobufWriter.writeOrder(sparse, out)));
+
+        // Then
+        assertThat(fields.asMap().keySet()).containsExactly(2, 4);
+        assertThat(fields.getField(4).getLengthDelimitedList()).hasSize(1);
+    }
+
+    @Test
+    void shouldWritePageWithLengthPrefixedOrders() throws Exception {
+        // Given
+        var page = new PageImpl<>(List.of(order, order.withId("ORDER-002")), PageRequest.of(1, 2), 5);
+
+        // When
+        var fields = UnknownFieldSet.parseFrom(write(out -> OrderProtobufWriter.writePage(page, out)));
+
+        // Then
+        var content = fields.getField(1).getLengthDelimitedList();
+        assertThat(content).hasSize(2);
+        assertThat(string(UnknownFieldSet.parseFrom(content.get(1)), 1)).isEqualTo("ORDER-002");
+        assertThat(fields.getField(2).getVarintList()).containsExactly(1L);
+        assertThat(fields.getField(3).getVarintList()).containsExactly(2L);
+        assertThat(fields.getField(4).getVarintList()).containsExactly(5L);
+        assertThat(fields.getField(5).getVarintList()).containsExactly(3L);
+    }
+
+    @Test
+    void shouldWriteChanges() throws Exception {
+        // Given
+        var changes = new OrderChangesResponse(List.of(order), "WM-1", true);
+
+        // When
+        var fields = UnknownFieldSet.parseFrom(write(out -> OrderProtobufWriter.writeChanges(changes, out)));
+
+        // Then
+        assertThat(fields.getField(1).getLengthDelimitedList()).hasSize(1);
+        assertThat(string(fields, 2)).isEqualTo("WM-1");
+        assertThat(fields.getField(3).getVarintList()).containsExactly(1L);
+    }
+
+    @Test
+    void shouldWriteItemPage() throws Exception {
+        // Given
+        var page = new OrderItemsResponse("ORDER-001", 1200, order.getItems(), "CURSOR-2", true);
+
+        // When
+        var fields = UnknownFieldSet.parseFrom(write(out -> OrderProtobufWriter.writeItemPage(page, out)));
+
+        // Then
+        assertThat(string(fields, 1)).isEqualTo("ORDER-001");
+        assertThat(fields.getField(2).getVarintList()).containsExactly(1200L);
+        var item = UnknownFieldSet.parseFrom(fields.getField(3).getLengthDelimitedList().get(0));
+        assertThat(string(item, 1)).isEqualTo("PROD-001");
+        assertThat(string(fields, 4)).isEqualTo("CURSOR-2");
+        assertThat(fields.getField(5).getVarintList()).containsExactly(1L);
+    }
+
+    @Test
+    void shouldRejectPagesOfOtherTypes() {
+        // Given
+        var page = new PageImpl<>(List.of("not an order"));
+
+        // When & Then
+        assertThatThrownBy(() -> write(out -> OrderProtobufWriter.writePage(page, out)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldFailBeforeWritingAnythingWhenALaterOrderCannotBeEncoded() {
+        // Given: the second total does not fit the sint64 unscaled value
+        var unencodable = order.withId("ORDER-002").withTotalAmount(new BigDecimal("1e30").setScale(2));
+        var page = new PageImpl<>(List.of(order, unencodable));
+        var bytes = new ByteArrayOutputStream();
+        var out = CodedOutputStream.newInstance(bytes, 16);
+
+        // When & Then
+        assertThatThrownBy(() -> OrderProtobufWriter.writePage(page, out)).isInstanceOf(ArithmeticException.class);
+        assertThat(bytes.size()).isZero();
+    }
+
+    @Test
+    void shouldNumberStatusesAsInTheSchema() {
+        // When & Then
+        assertThat(Arrays.stream(OrderStatus.values()).map(OrderProtobufWriter::statusNumber))
+                .containsExactly(1, 2, 3, 4);
+        assertThat(OrderProtobufWriter.statusNumber(null)).isZero();
+    }
+
+    private static byte[] write(final Writer writer) throws Exception {
+        var bytes = new ByteArrayOutputStream();
+        var out = CodedOutputStream.newInstance(bytes);
+        writer.write(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static String string(final UnknownFieldSet fields, final int number) {
+        return fields.getField(number).getLengthDelimitedList().get(0).toStringUtf8();
+    }
+
+    private static BigDecimal decimal(final ByteString bytes) throws Exception {
+        var fields = UnknownFieldSet.parseFrom(bytes);
+        var unscaled = fields.getField(1).getVarintList().stream().findFirst().orElse(0L);
+        var scale = fields.getField(2).getVarintList().stream().findFirst().orElse(0L);
+        return BigDecimal.valueOf(CodedInputStream.decodeZigZag64(unscaled), scale.intValue());
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(CodedOutputStream out) throws Exception;
+    }
+}
@@ -6,12 +6,12 @@ import br.com.orders.domain.model.Order;
 import br.com.orders.domain.model.OrderItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
-import org.springframework.stereotype.Component;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
-@Component
+// Reference implementation of the OrderResponse contract: responses are written by OrderJsonSerializer, which is
+// checked against this mapper and benchmarked against it
+@Mapper
 public interface OrderResponseMapper {
     
     OrderResponseMapper INSTANCE = Mappers.getMapper(OrderResponseMapper.class);
@@ -0,0 +1,84 @@
+package br.com.orders.adapters.in.messaging;
+
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingAcknowledgerTest {
+
+    @Mock
+    private Channel channel;
+
+    private BatchingAcknowledger batchingAcknowledger;
+
+    @BeforeEach
+    void setUp() {
+        batchingAcknowledger = new BatchingAcknowledger(3, Duration.ofHours(1), Duration.ofMillis(50));
+        lenient().when(channel.isOpen()).thenReturn(true);
+    }
+
+    @Test
+    void shouldAckWholeWindowWithSingleMultipleAck() throws Exception {
+        // When
+        batchingAcknowledger.ack(channel, 1L);
+        batchingAcknowledger.ack(channel, 2L);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        batchingAcknowledger.ack(channel, 3L);
+
+        // Then
+        verify(channel).basicAck(3L, true);
+        verifyNoMoreInteractions(ignoreStubs(channel));
+    }
+
+    @Test
+    void shouldFlushPendingAcksBeforeRejecting() throws Exception {
+        // Given
+        batchingAcknowledger.ack(channel, 1L);
+        batchingAcknowledger.ack(channel, 2L);
+
+        // When
+        batchingAcknowledger.reject(channel, 3L, false);
+
+        // Then
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).basicAck(2L, true);
+        inOrder.verify(channel).basicNack(3L, false, false);
+    }
+
+    @Test
+    void shouldFlushWindowOnceMaxDelayElapses() throws Exception {
+        // Given
+        batchingAcknowledger = new BatchingAcknowledger(3, Duration.ZERO, Duration.ofMillis(50));
+        batchingAcknowledger.ack(channel, 1L);
+
+        // When
+        batchingAcknowledger.flushExpired();
+
+        // Then
+        verify(channel).basicAck(1L, true);
+    }
+
+    @Test
+    void shouldDropPendingAcksForClosedChannel() throws Exception {
+        // Given
+        batchingAcknowledger.ack(channel, 1L);
+        when(channel.isOpen()).thenReturn(false);
+
+        // When
+        batchingAcknowledger.flushAll();
+
+        // Then
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+}
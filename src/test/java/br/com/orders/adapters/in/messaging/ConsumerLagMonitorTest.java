@@ -0,0 +1,122 @@
+package br.com.orders.adapters.in.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsumerLagMonitorTest {
+
+    private static final String INCOMING = "orders.incoming.q";
+    private static final String DLQ = "orders.incoming.dlq";
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    @Mock
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private SimpleMessageListenerContainer container;
+
+    @Mock
+    private ProcessingRateTracker processingRateTracker;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConsumerLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // min 1, max 8 replicas, backlog drained within 2 minutes
+        monitor = new ConsumerLagMonitor(amqpAdmin, listenerRegistry, processingRateTracker, meterRegistry,
+                INCOMING, DLQ, Duration.ofMinutes(2), 1, 8);
+    }
+
+    @Test
+    void shouldSizeTheFleetForArrivalsPlusTheBacklog() {
+        // Given: 6 broker consumers over 3 local ones is two replicas settling 10/s each
+        givenLocalConsumers(3);
+        when(processingRateTracker.perSecond(any())).thenReturn(10.0);
+        when(amqpAdmin.getQueueInfo(INCOMING)).thenReturn(new QueueInformation(INCOMING, 1200, 6));
+        when(amqpAdmin.getQueueInfo(DLQ)).thenReturn(new QueueInformation(DLQ, 4, 0));
+
+        // When
+        monitor.poll(T0);
+
+        // Then
+        var lag = monitor.lag();
+        assertThat(lag.incoming().messages()).isEqualTo(1200);
+        assertThat(lag.deadLetter().messages()).isEqualTo(4);
+        assertThat(lag.estimatedReplicas()).isEqualTo(2);
+        assertThat(lag.ratePerSecond()).containsOnlyKeys("1m", "5m", "15m");
+        assertThat(lag.fleetRatePerSecond()).isEqualTo(20.0);
+        assertThat(lag.drainSecondsAtCapacity()).isEqualTo(60.0);
+        assertThat(lag.drainSecondsAtCurrentTrend()).isNull();
+        // (20/s arriving + 1200 over 120s) / 10/s per replica
+        assertThat(lag.recommendedReplicas()).isEqualTo(3);
+        assertThat(meterRegistry.get("orders.queue.depth").tag("queue", INCOMING).gauge().value()).isEqualTo(1200);
+        assertThat(meterRegistry.get("orders.replicas.recommended").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldScaleInOnceTheBacklogIsShrinking() {
+        // Given
+        givenLocalConsumers(3);
+        when(processingRateTracker.perSecond(any())).thenReturn(10.0);
+        when(amqpAdmin.getQueueInfo(DLQ)).thenReturn(new QueueInformation(DLQ, 0, 0));
+        when(amqpAdmin.getQueueInfo(INCOMING))
+                .thenReturn(new QueueInformation(INCOMING, 1200, 6))
+                .thenReturn(new QueueInformation(INCOMING, 1000, 6));
+
+        // When
+        monitor.poll(T0);
+        monitor.poll(T0.plusSeconds(10));
+
+        // Then: shrinking by the whole fleet rate means nothing new is arriving
+        var lag = monitor.lag();
+        assertThat(lag.backlogGrowthPerSecond()).isEqualTo(-20.0);
+        assertThat(lag.arrivalRatePerSecond()).isZero();
+        assertThat(lag.drainSecondsAtCurrentTrend()).isEqualTo(50.0);
+        assertThat(lag.recommendedReplicas()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepTheLastSnapshotWhenTheBrokerIsUnreachable() {
+        // Given
+        when(amqpAdmin.getQueueInfo(INCOMING))
+                .thenThrow(new AmqpConnectException(new ConnectException("refused")));
+
+        // When
+        monitor.poll(T0);
+
+        // Then
+        assertThat(monitor.lag()).isNull();
+        assertThat(meterRegistry.get("orders.replicas.recommended").gauge().value()).isNaN();
+        verifyNoInteractions(processingRateTracker);
+    }
+
+    private void givenLocalConsumers(final int consumers) {
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(container.getQueueNames()).thenReturn(new String[]{INCOMING});
+        when(container.getActiveConsumerCount()).thenReturn(consumers);
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.orders.adapters.in.messaging;
+
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private DeadLetterPublisher deadLetterPublisher;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterPublisher = new DeadLetterPublisher(rabbitTemplate, "orders.incoming.dlq", Duration.ofMillis(200));
+    }
+
+    @Test
+    void shouldCopyTheDeliveryToTheDlqWithTheFailureReason() {
+        // Given
+        confirm(true);
+        var error = new JsonSchemaValidator.JsonSchemaValidationException("items: is missing");
+
+        // When
+        var published = deadLetterPublisher.publish(message(), ErrorClassifier.ErrorClass.PERMANENT, error);
+
+        // Then
+        assertThat(published).isTrue();
+        var captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(""), eq("orders.incoming.dlq"), captor.capture(), any(CorrelationData.class));
+        var headers = captor.getValue().getMessageProperties().getHeaders();
+        assertThat(headers)
+                .containsEntry(DeadLetterPublisher.FAILURE_CLASS_HEADER, "PERMANENT")
+                .containsEntry(DeadLetterPublisher.FAILURE_REASON_HEADER, "items: is missing")
+                .containsEntry(DeadLetterPublisher.EXCEPTION_TYPE_HEADER, JsonSchemaValidator.JsonSchemaValidationException.class.getName());
+        assertThat(captor.getValue().getMessageProperties().getMessageId()).isEqualTo("MSG-001");
+    }
+
+    @Test
+    void shouldReportFailureWhenTheBrokerNacks() {
+        // Given
+        confirm(false);
+
+        // When
+        var published = deadLetterPublisher.publish(message(), ErrorClassifier.ErrorClass.UNKNOWN, new IllegalStateException());
+
+        // Then
+        assertThat(published).isFalse();
+    }
+
+    private void confirm(final boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).send(eq(""), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private Message message() {
+        var properties = new MessageProperties();
+        properties.setMessageId("MSG-001");
+        return new Message("{\"externalId\":\"EXT-001\"}".getBytes(), properties);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.orders.adapters.in.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DelayedRetryPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DelayedRetryPublisher delayedRetryPublisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        delayedRetryPublisher = new DelayedRetryPublisher(rabbitTemplate, meterRegistry,
+                List.of(Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(60)),
+                "orders.incoming.q", Duration.ofMillis(200));
+    }
+
+    @Test
+    void shouldPublishToTheTierMatchingTheAttemptAndIncrementTheHeader() {
+        // Given
+        confirm(true);
+        var message = message(1);
+
+        // When
+        var outcome = delayedRetryPublisher.schedule(message);
+
+        // Then
+        assertThat(outcome).isEqualTo(DelayedRetryPublisher.Outcome.SCHEDULED);
+        var captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(""), eq("orders.incoming.q.retry.10000ms"), captor.capture(), any(CorrelationData.class));
+        var retry = captor.getValue();
+        assertThat(DelayedRetryPublisher.attempt(retry)).isEqualTo(2);
+        assertThat(retry.getMessageProperties().getDeliveryMode()).isEqualTo(MessageDeliveryMode.PERSISTENT);
+        assertThat(retry.getMessageProperties().getMessageId()).isEqualTo("MSG-001");
+        assertThat(retry.getBody()).isEqualTo(message.getBody());
+        assertThat(DelayedRetryPublisher.attempt(message)).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.retry.scheduled").tag("delay", "PT10S").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTreatAMissingHeaderAsTheFirstAttempt() {
+        // Given
+        confirm(true);
+        var properties = new MessageProperties();
+        properties.setMessageId("MSG-001");
+
+        // When
+        var outcome = delayedRetryPublisher.schedule(new Message("{}".getBytes(), properties));
+
+        // Then
+        assertThat(outcome).isEqualTo(DelayedRetryPublisher.Outcome.SCHEDULED);
+        verify(rabbitTemplate).send(eq(""), eq("orders.incoming.q.retry.1000ms"), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void shouldReportExhaustedAfterTheLastTier() {
+        // When
+        var outcome = delayedRetryPublisher.schedule(message(3));
+
+        // Then
+        assertThat(outcome).isEqualTo(DelayedRetryPublisher.Outcome.EXHAUSTED);
+        verifyNoInteractions(rabbitTemplate);
+        assertThat(meterRegistry.get("orders.retry.exhausted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReportFailedWhenTheBrokerNacks() {
+        // Given
+        confirm(false);
+
+        // When
+        var outcome = delayedRetryPublisher.schedule(message(0));
+
+        // Then
+        assertThat(outcome).isEqualTo(DelayedRetryPublisher.Outcome.FAILED);
+    }
+
+    @Test
+    void shouldReportFailedWhenTheConfirmTimesOut() {
+        // When
+        var outcome = delayedRetryPublisher.schedule(message(0));
+
+        // Then
+        assertThat(outcome).isEqualTo(DelayedRetryPublisher.Outcome.FAILED);
+        verify(rabbitTemplate).send(eq(""), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private void confirm(final boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).send(eq(""), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private Message message(final int attempt) {
+        var properties = new MessageProperties();
+        properties.setMessageId("MSG-001");
+        properties.setHeader(DelayedRetryPublisher.RETRY_ATTEMPT_HEADER, attempt);
+        return new Message("{\"externalId\":\"EXT-001\"}".getBytes(), properties);
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.orders.adapters.in.messaging;
+
+import br.com.orders.adapters.in.messaging.mapper.OrderCreatedStreamReader;
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import br.com.orders.domain.service.CalculateOrderService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.mongodb.MongoSocketReadTimeoutException;
+import com.mongodb.ServerAddress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorClassifierTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ErrorClassifier errorClassifier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        errorClassifier = new ErrorClassifier(meterRegistry);
+    }
+
+    @Test
+    void shouldClassifyMalformedPayloadsAsPermanent() {
+        // Given
+        var schemaViolation = new JsonSchemaValidator.JsonSchemaValidationException("items: is missing");
+        var parseError = new JsonParseException(null, "Unexpected character");
+
+        // When / Then
+        assertThat(errorClassifier.classify(schemaViolation)).isEqualTo(ErrorClassifier.ErrorClass.PERMANENT);
+        assertThat(errorClassifier.classify(parseError)).isEqualTo(ErrorClassifier.ErrorClass.PERMANENT);
+    }
+
+    @Test
+    void shouldResolveGenericWrappersToTheirCause() {
+        // Given
+        var wrapped = new RuntimeException("Listener failed",
+                new JsonSchemaValidator.JsonSchemaValidationException("Invalid JSON format", new IOException()));
+
+        // When
+        var errorClass = errorClassifier.classify(wrapped);
+
+        // Then
+        assertThat(errorClass).isEqualTo(ErrorClassifier.ErrorClass.PERMANENT);
+    }
+
+    @Test
+    void shouldClassifyInfrastructureFailuresAsTransient() {
+        // Given
+        var socketTimeout = new MongoSocketReadTimeoutException("Timed out", new ServerAddress(), new IOException());
+        var translated = new DataAccessResourceFailureException("Timed out", socketTimeout);
+
+        // When / Then
+        assertThat(errorClassifier.classify(translated)).isEqualTo(ErrorClassifier.ErrorClass.TRANSIENT);
+        assertThat(errorClassifier.classify(new QueryTimeoutException("slow"))).isEqualTo(ErrorClassifier.ErrorClass.TRANSIENT);
+    }
+
+    @Test
+    void shouldClassifyFailedOrdersByTheirCause() {
+        // Given
+        var mongoDown = new CalculateOrderService.OrderProcessingException("Failed to process order",
+                new DataAccessResourceFailureException("Timed out"));
+        var badTotal = new CalculateOrderService.OrderProcessingException("Failed to process order",
+                new ArithmeticException("Overflow"));
+
+        // When / Then
+        assertThat(errorClassifier.classify(mongoDown)).isEqualTo(ErrorClassifier.ErrorClass.TRANSIENT);
+        assertThat(errorClassifier.classify(badTotal)).isEqualTo(ErrorClassifier.ErrorClass.PERMANENT);
+    }
+
+    @Test
+    void shouldNotTreatArbitraryBadArgumentsAsPermanent() {
+        // Given
+        var malformed = new OrderCreatedStreamReader.MalformedOrderMessageException("Order message must be a JSON object");
+
+        // When / Then
+        assertThat(errorClassifier.classify(malformed)).isEqualTo(ErrorClassifier.ErrorClass.PERMANENT);
+        assertThat(errorClassifier.classify(new IllegalArgumentException("Bad pool size")))
+                .isEqualTo(ErrorClassifier.ErrorClass.UNKNOWN);
+    }
+
+    @Test
+    void shouldCountEachClassificationByRootException() {
+        // When
+        var errorClass = errorClassifier.classify(new IllegalStateException("boom"));
+
+        // Then
+        assertThat(errorClass).isEqualTo(ErrorClassifier.ErrorClass.UNKNOWN);
+        assertThat(meterRegistry.get("orders.listener.errors")
+                .tag("class", "unknown")
+                .tag("exception", "IllegalStateException")
+                .counter().count()).isEqualTo(1);
+    }
+}
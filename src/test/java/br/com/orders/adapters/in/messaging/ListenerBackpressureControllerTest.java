@@ -0,0 +1,142 @@
+package br.com.orders.adapters.in.messaging;
+
+import br.com.orders.adapters.in.messaging.ListenerBackpressureController.BackpressureStateChangedEvent;
+import br.com.orders.adapters.in.messaging.ListenerBackpressureController.State;
+import br.com.orders.adapters.out.mongo.MongoLoadMonitor;
+import br.com.orders.adapters.out.mongo.MongoLoadMonitor.LoadSnapshot;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListenerBackpressureControllerTest {
+
+    private static final LoadSnapshot HEALTHY = new LoadSnapshot(100, 1, 100, 5, 0);
+    private static final LoadSnapshot SLOW_COMMANDS = new LoadSnapshot(100, 10, 100, 400, 0);
+    private static final LoadSnapshot POOL_EXHAUSTED = new LoadSnapshot(100, 900, 100, 400, 3);
+    private static final LoadSnapshot RECOVERING = new LoadSnapshot(100, 10, 100, 200, 0);
+
+    @Mock
+    private MongoLoadMonitor mongoLoadMonitor;
+
+    @Mock
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private BatchingAcknowledger batchingAcknowledger;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SimpleMessageListenerContainer container;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ListenerBackpressureController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        controller = new ListenerBackpressureController(mongoLoadMonitor, listenerRegistry, batchingAcknowledger,
+                eventPublisher, meterRegistry, Duration.ofMillis(50), Duration.ofMillis(250), Duration.ofMillis(500),
+                Duration.ofSeconds(2), 2, 1, 3, 10);
+    }
+
+    @Test
+    void shouldShrinkConcurrencyWhenCommandLatencyCrossesThrottleThreshold() {
+        // Given
+        when(mongoLoadMonitor.snapshot()).thenReturn(SLOW_COMMANDS);
+        when(container.isRunning()).thenReturn(true);
+
+        // When
+        controller.evaluate();
+
+        // Then
+        assertThat(controller.getState()).isEqualTo(State.THROTTLED);
+        verify(container).setMaxConcurrentConsumers(1);
+        verify(container, never()).stop();
+        verify(eventPublisher).publishEvent(new BackpressureStateChangedEvent(State.NORMAL, State.THROTTLED, SLOW_COMMANDS));
+        assertThat(meterRegistry.get("orders.backpressure.state").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFlushAcksAndStopContainersWhenPoolCheckoutsFail() {
+        // Given
+        when(mongoLoadMonitor.snapshot()).thenReturn(POOL_EXHAUSTED);
+
+        // When
+        controller.evaluate();
+
+        // Then
+        assertThat(controller.getState()).isEqualTo(State.PAUSED);
+        InOrder inOrder = inOrder(batchingAcknowledger, container);
+        inOrder.verify(batchingAcknowledger).flushAll();
+        inOrder.verify(container).stop();
+        assertThat(meterRegistry.get("orders.backpressure.transitions")
+                .tag("from", "NORMAL").tag("to", "PAUSED").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepFlushingExpiredAcksAfterAPause() throws Exception {
+        // Given - a real acknowledger, so a pause that stopped its flusher would leave the ack pending
+        var channel = mock(Channel.class);
+        when(channel.isOpen()).thenReturn(true);
+        var acknowledger = new BatchingAcknowledger(25, Duration.ZERO, Duration.ofMillis(10));
+        acknowledger.start();
+        controller = new ListenerBackpressureController(mongoLoadMonitor, listenerRegistry, acknowledger,
+                eventPublisher, meterRegistry, Duration.ofMillis(50), Duration.ofMillis(250), Duration.ofMillis(500),
+                Duration.ofSeconds(2), 2, 1, 3, 10);
+        when(mongoLoadMonitor.snapshot()).thenReturn(POOL_EXHAUSTED);
+        controller.evaluate();
+        assertThat(controller.getState()).isEqualTo(State.PAUSED);
+
+        try {
+            // When
+            acknowledger.ack(channel, 1L);
+
+            // Then
+            verify(channel, timeout(1000)).basicAck(1L, true);
+        } finally {
+            acknowledger.shutdown();
+        }
+    }
+
+    @Test
+    void shouldResumeOneLevelAtATimeOnlyAfterConsecutiveHealthyWindows() {
+        // Given
+        when(mongoLoadMonitor.snapshot()).thenReturn(POOL_EXHAUSTED, HEALTHY, RECOVERING, HEALTHY, HEALTHY, HEALTHY, HEALTHY);
+        when(container.isRunning()).thenReturn(false, true);
+        controller.evaluate();
+
+        // When / Then - a window still above half the thresholds resets the count
+        controller.evaluate();
+        controller.evaluate();
+        controller.evaluate();
+        assertThat(controller.getState()).isEqualTo(State.PAUSED);
+
+        controller.evaluate();
+        assertThat(controller.getState()).isEqualTo(State.THROTTLED);
+        verify(container).start();
+
+        controller.evaluate();
+        controller.evaluate();
+        assertThat(controller.getState()).isEqualTo(State.NORMAL);
+        verify(container).setMaxConcurrentConsumers(10);
+        verify(container).setConcurrentConsumers(3);
+    }
+}
@@ -4,20 +4,34 @@ import br.com.orders.adapters.in.messaging.dto.OrderCreatedMessage;
 import br.com.orders.domain.service.CalculateOrderService;
 import br.com.orders.domain.model.Order;
 import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderItemSource;
 import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.adapters.in.messaging.mapper.OrderCreatedStreamReader;
 import br.com.orders.adapters.in.messaging.mapper.OrderMessageMapper;
 import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import br.com.orders.config.StartupMetrics;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +53,33 @@ class OrderCreatedListenerTest {
     @Mock
     private ObjectMapper objectMapper;
     
+    @Mock
+    private BatchingAcknowledger batchingAcknowledger;
+    
+    @Mock
+    private Channel channel;
+    
+    @Mock
+    private StartupMetrics startupMetrics;
+    
+    @Mock
+    private DelayedRetryPublisher delayedRetryPublisher;
+    
+    @Mock
+    private DeadLetterPublisher deadLetterPublisher;
+    
+    @Mock
+    private OrderCreatedStreamReader orderCreatedStreamReader;
+
+    @Mock
+    private ProcessingRateTracker processingRateTracker;
+    
+    @Spy
+    private ErrorClassifier errorClassifier = new ErrorClassifier(new SimpleMeterRegistry());
+    
+    @Spy
+    private ObservationRegistry observationRegistry = ObservationRegistry.create();
+    
     @InjectMocks
     private OrderCreatedListener orderCreatedListener;
     
@@ -68,8 +109,9 @@ class OrderCreatedListenerTest {
                 .withTotalAmount(new BigDecimal("21.00"))
                 .withStatus(OrderStatus.AVAILABLE_FOR_B);
         
-        when(objectMapper.readValue(anyString(), eq(OrderCreatedMessage.class))).thenReturn(testMessage);
-        when(orderMessageMapper.toDomain(testMessage)).thenReturn(testOrder);
+        // Lenient: the streamed path never binds a DTO
+        lenient().when(objectMapper.readValue(anyString(), eq(OrderCreatedMessage.class))).thenReturn(testMessage);
+        lenient().when(orderMessageMapper.toDomain(testMessage)).thenReturn(testOrder);
     }
     
     @Test
@@ -81,13 +123,86 @@ class OrderCreatedListenerTest {
         when(calculateOrderService.processOrder(testOrder)).thenReturn(testOrder);
         
         // When
-        orderCreatedListener.handleOrderCreated(message);
+        orderCreatedListener.handleOrderCreated(message, channel);
         
         // Then
         verify(jsonSchemaValidator).validateOrderCreated(messageBody);
         verify(objectMapper).readValue(messageBody, OrderCreatedMessage.class);
         verify(orderMessageMapper).toDomain(testMessage);
         verify(calculateOrderService).processOrder(testOrder);
+        verify(batchingAcknowledger).ack(channel, 7L);
+        verify(startupMetrics).messageConsumed();
+        verify(processingRateTracker).recordSettled();
+        verify(batchingAcknowledger, never()).reject(any(), anyLong(), anyBoolean());
+    }
+    
+    @Test
+    void shouldObserveEachStepAndKeepTraceIdsInMdc() throws Exception {
+        // Given
+        String messageBody = "{\"externalId\":\"EXT-001\",\"items\":[]}";
+        Message message = createMessage(messageBody, "CORR-001", "MSG-001");
+        var stopped = new ArrayList<Observation.Context>();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+            @Override
+            public boolean supportsContext(final Observation.Context context) {
+                return true;
+            }
+            
+            @Override
+            public void onStop(final Observation.Context context) {
+                stopped.add(context);
+            }
+        });
+        when(calculateOrderService.processOrder(testOrder)).thenReturn(testOrder);
+        MDC.put("traceId", "TRACE-1");
+        
+        try {
+            // When
+            orderCreatedListener.handleOrderCreated(message, channel);
+            
+            // Then
+            assertThat(stopped).extracting(Observation.Context::getContextualName)
+                    .containsExactly("order validate", "order map", "order calculate");
+            assertThat(stopped.get(2).getHighCardinalityKeyValue("order.external_id").getValue()).isEqualTo("EXT-001");
+            assertThat(MDC.get("traceId")).isEqualTo("TRACE-1");
+            assertThat(MDC.get("correlationId")).isNull();
+        } finally {
+            MDC.clear();
+        }
+    }
+    
+    @Test
+    void shouldRecordFlightRecorderEventPerMessage() throws Exception {
+        // Given
+        String messageBody = "{\"externalId\":\"EXT-001\",\"items\":[]}";
+        Message message = createMessage(messageBody, "CORR-001", "MSG-001");
+        when(calculateOrderService.processOrder(testOrder)).thenReturn(testOrder);
+        var file = Files.createTempFile("order-processed", ".jfr");
+        
+        try (var recording = new Recording()) {
+            recording.enable("br.com.orders.OrderProcessed");
+            recording.start();
+            
+            // When
+            orderCreatedListener.handleOrderCreated(message, channel);
+            
+            recording.stop();
+            recording.dump(file);
+            
+            // Then
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("br.com.orders.OrderProcessed"))
+                    .toList();
+            assertThat(events).singleElement().satisfies(event -> {
+                assertThat(event.getString("externalId")).isEqualTo("EXT-001");
+                assertThat(event.getString("outcome")).isEqualTo("PROCESSED");
+                assertThat(event.getLong("payloadBytes")).isEqualTo(messageBody.length());
+                assertThat(event.getInt("itemCount")).isEqualTo(1);
+                assertThat(event.getBoolean("streamed")).isFalse();
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
     }
     
     @Test
@@ -98,22 +213,131 @@ class OrderCreatedListenerTest {
         
         when(calculateOrderService.processOrder(any(Order.class)))
                 .thenThrow(new RuntimeException("Processing failed"));
+        when(delayedRetryPublisher.schedule(message)).thenReturn(DelayedRetryPublisher.Outcome.SCHEDULED);
         
-        // When & Then
-        try {
-            orderCreatedListener.handleOrderCreated(message);
-        } catch (RuntimeException e) {
-            assertThat(e.getMessage()).contains("Failed to process order message");
-        }
+        // When
+        orderCreatedListener.handleOrderCreated(message, channel);
         
+        // Then
         verify(jsonSchemaValidator).validateOrderCreated(messageBody);
         verify(calculateOrderService).processOrder(testOrder);
+        verify(delayedRetryPublisher).schedule(message);
+        // The retry tier holds a confirmed copy, so the original delivery is settled
+        verify(batchingAcknowledger).ack(channel, 7L);
+        verify(batchingAcknowledger, never()).reject(any(), anyLong(), anyBoolean());
+        verify(startupMetrics, never()).messageConsumed();
+        verify(processingRateTracker).recordSettled();
+    }
+    
+    @Test
+    void shouldDeadLetterWhenRetriesAreExhausted() throws Exception {
+        // Given
+        String messageBody = "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"PROD-001\",\"productName\":\"Product 1\",\"unitPrice\":10.50,\"quantity\":2}]}";
+        Message message = createMessage(messageBody, "CORR-001", "MSG-001");
+        
+        when(calculateOrderService.processOrder(any(Order.class)))
+                .thenThrow(new RuntimeException("Processing failed"));
+        when(delayedRetryPublisher.schedule(message)).thenReturn(DelayedRetryPublisher.Outcome.EXHAUSTED);
+        when(deadLetterPublisher.publish(eq(message), eq(ErrorClassifier.ErrorClass.UNKNOWN), any(RuntimeException.class)))
+                .thenReturn(true);
+        
+        // When
+        orderCreatedListener.handleOrderCreated(message, channel);
+        
+        // Then
+        verify(batchingAcknowledger).ack(channel, 7L);
+        verify(batchingAcknowledger, never()).reject(any(), anyLong(), anyBoolean());
+    }
+    
+    @Test
+    void shouldRequeueWhenRetryCannotBeScheduled() throws Exception {
+        // Given
+        String messageBody = "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"PROD-001\",\"productName\":\"Product 1\",\"unitPrice\":10.50,\"quantity\":2}]}";
+        Message message = createMessage(messageBody, "CORR-001", "MSG-001");
+        
+        when(calculateOrderService.processOrder(any(Order.class)))
+                .thenThrow(new RuntimeException("Processing failed"));
+        when(delayedRetryPublisher.schedule(message)).thenReturn(DelayedRetryPublisher.Outcome.FAILED);
+        
+        // When
+        orderCreatedListener.handleOrderCreated(message, channel);
+        
+        // Then
+        verify(batchingAcknowledger).reject(channel, 7L, true);
+        verify(batchingAcknowledger, never()).ack(any(), anyLong());
+    }
+    
+    @Test
+    void shouldRejectWithoutRequeueWhenOrderProcessingFailsPermanently() throws Exception {
+        // Given
+        String messageBody = "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"PROD-001\",\"productName\":\"Product 1\",\"unitPrice\":10.50,\"quantity\":2}]}";
+        Message message = createMessage(messageBody, "CORR-001", "MSG-001");
+        
+        when(calculateOrderService.processOrder(any(Order.class)))
+                .thenThrow(new CalculateOrderService.OrderProcessingException("Failed to process order", new IllegalStateException()));
+        
+        // When
+        orderCreatedListener.handleOrderCreated(message, channel);
+        
+        // Then
+        verify(deadLetterPublisher).publish(eq(message), eq(ErrorClassifier.ErrorClass.PERMANENT),
+                any(CalculateOrderService.OrderProcessingException.class));
+        verify(batchingAcknowledger).reject(channel, 7L, false);
+        verify(batchingAcknowledger, never()).ack(any(), anyLong());
+        verifyNoInteractions(delayedRetryPublisher);
+    }
+    
+    @Test
+    void shouldDeadLetterUnmappablePayloadsWithoutRetrying() throws Exception {
+        // Given
+        String messageBody = "{\"externalId\":\"EXT-001\",\"items\":[],\"items\":[]}";
+        Message message = createMessage(messageBody, "CORR-001", "MSG-001");
+        
+        when(orderCreatedStreamReader.shouldStream(message.getBody())).thenReturn(true);
+        when(orderCreatedStreamReader.readHeader(message.getBody()))
+                .thenThrow(new OrderCreatedStreamReader.MalformedOrderMessageException("Order message repeats the items field"));
+        when(deadLetterPublisher.publish(eq(message), eq(ErrorClassifier.ErrorClass.PERMANENT),
+                any(OrderCreatedStreamReader.MalformedOrderMessageException.class))).thenReturn(true);
+        
+        // When
+        orderCreatedListener.handleOrderCreated(message, channel);
+        
+        // Then
+        verify(batchingAcknowledger).ack(channel, 7L);
+        verify(batchingAcknowledger, never()).reject(any(), anyLong(), anyBoolean());
+        verify(calculateOrderService, never()).processStreamedOrder(any(), any());
+        verifyNoInteractions(delayedRetryPublisher);
+    }
+    
+    @Test
+    void shouldStreamLargeMessagesWithoutDecodingOrBindingThem() throws Exception {
+        // Given
+        String messageBody = "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"PROD-001\",\"productName\":\"Product 1\",\"unitPrice\":10.50,\"quantity\":2}]}";
+        Message message = createMessage(messageBody, "CORR-001", "MSG-001");
+        Order header = Order.builder().externalId("EXT-001").correlationId("CORR-001").build();
+        OrderItemSource items = consumer -> { };
+        
+        when(orderCreatedStreamReader.shouldStream(message.getBody())).thenReturn(true);
+        when(orderCreatedStreamReader.readHeader(message.getBody())).thenReturn(header);
+        when(orderCreatedStreamReader.items(message.getBody())).thenReturn(items);
+        when(calculateOrderService.processStreamedOrder(header, items)).thenReturn(testOrder);
+        
+        // When
+        orderCreatedListener.handleOrderCreated(message, channel);
+        
+        // Then
+        verify(jsonSchemaValidator).validateOrderCreated(message.getBody());
+        verify(jsonSchemaValidator, never()).validateOrderCreated(anyString());
+        verifyNoInteractions(objectMapper, orderMessageMapper);
+        verify(calculateOrderService, never()).processOrder(any());
+        verify(batchingAcknowledger).ack(channel, 7L);
     }
     
     private Message createMessage(String body, String correlationId, String messageId) {
         MessageProperties properties = new MessageProperties();
         properties.setCorrelationId(correlationId);
         properties.setMessageId(messageId);
+        properties.setDeliveryTag(7L);
         return new Message(body.getBytes(), properties);
     }
 }
@@ -0,0 +1,89 @@
+package br.com.orders.adapters.in.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessingRateTrackerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.ofEpochSecond(1_000_000));
+    private final ProcessingRateTracker tracker = new ProcessingRateTracker(clock);
+
+    @Test
+    void shouldAverageCompletedSecondsWithinUptime() {
+        // Given
+        for (int second = 0; second < 10; second++) {
+            for (int i = 0; i < 5; i++) {
+                tracker.recordSettled();
+            }
+            clock.advance(Duration.ofSeconds(1));
+        }
+        // the current, incomplete second is left out
+        tracker.recordSettled();
+
+        // When & Then
+        assertThat(tracker.perSecond(Duration.ofMinutes(1))).isEqualTo(5.0);
+        assertThat(tracker.perSecond(Duration.ofSeconds(2))).isEqualTo(5.0);
+    }
+
+    @Test
+    void shouldForgetSecondsOutsideTheWindowAndReuseTheirSlots() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            tracker.recordSettled();
+        }
+        clock.advance(ProcessingRateTracker.LONGEST_WINDOW.plusSeconds(1));
+        for (int i = 0; i < 6; i++) {
+            tracker.recordSettled();
+        }
+        clock.advance(Duration.ofSeconds(1));
+
+        // When & Then
+        assertThat(tracker.perSecond(Duration.ofMinutes(1))).isEqualTo(0.1);
+        assertThat(tracker.perSecond(Duration.ofHours(1)))
+                .isEqualTo(6.0 / ProcessingRateTracker.LONGEST_WINDOW.toSeconds());
+    }
+
+    @Test
+    void shouldReportZeroBeforeTheFirstSecondCompletes() {
+        // Given
+        tracker.recordSettled();
+
+        // When & Then
+        assertThat(tracker.perSecond(Duration.ofMinutes(5))).isZero();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.orders.adapters.in.messaging.mapper;
+
+import br.com.orders.config.JacksonConfig;
+import br.com.orders.domain.model.OrderItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCreatedStreamReaderTest {
+
+    private static final String BODY = """
+            {"externalId":"EXT-001","metadata":{"items":[{"skip":true}]},
+             "items":[{"productId":"PROD-001","productName":"Product 1","unitPrice":10.50,"quantity":2,"extra":[1]},
+                      {"productId":"PROD-002","productName":"Product 2","unitPrice":25.00,"quantity":1}],
+             "correlationId":"CORR-001"}
+            """;
+
+    private final OrderCreatedStreamReader reader =
+            new OrderCreatedStreamReader(new JacksonConfig().objectMapper(), DataSize.ofBytes(64));
+
+    @Test
+    void shouldStreamOnlyLargeObjectBodies() {
+        // When & Then
+        assertThat(reader.shouldStream(bytes(BODY))).isTrue();
+        assertThat(reader.shouldStream(bytes("{\"externalId\":\"EXT-001\"}"))).isFalse();
+        assertThat(reader.shouldStream(bytes("  \"" + "x".repeat(100) + "\""))).isFalse();
+    }
+
+    @Test
+    void shouldReadHeaderWithoutItems() throws Exception {
+        // When
+        var header = reader.readHeader(bytes(BODY));
+
+        // Then
+        assertThat(header.getExternalId()).isEqualTo("EXT-001");
+        assertThat(header.getCorrelationId()).isEqualTo("CORR-001");
+        assertThat(header.getItems()).isNull();
+    }
+
+    @Test
+    void shouldStreamTopLevelItemsOnly() {
+        // Given
+        var items = new ArrayList<OrderItem>();
+
+        // When
+        reader.items(bytes(BODY)).forEachItem(items::add);
+
+        // Then
+        assertThat(items).containsExactly(
+                OrderItem.create("PROD-001", "Product 1", new BigDecimal("10.50"), 2),
+                OrderItem.create("PROD-002", "Product 2", new BigDecimal("25.00"), 1));
+    }
+
+    @Test
+    void shouldRejectRepeatedItems() {
+        // Given
+        var body = bytes("{\"externalId\":\"EXT-001\",\"items\":[],\"items\":[]}");
+
+        // When & Then
+        assertThatThrownBy(() -> reader.readHeader(body)).isInstanceOf(OrderCreatedStreamReader.MalformedOrderMessageException.class);
+    }
+
+    private static byte[] bytes(final String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
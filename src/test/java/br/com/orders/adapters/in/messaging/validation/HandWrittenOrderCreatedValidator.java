@@ -0,0 +1,85 @@
+package br.com.orders.adapters.in.messaging.validation;
+
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator.JsonSchemaValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// The tree-walking checks JsonSchemaValidator ran before the generated validator, kept as the parity reference
+public class HandWrittenOrderCreatedValidator {
+
+    private final ObjectMapper objectMapper;
+
+    public HandWrittenOrderCreatedValidator(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void validateOrderCreated(final String jsonMessage) {
+        try {
+            JsonNode jsonNode = objectMapper.readTree(jsonMessage);
+
+            if (!jsonNode.isObject()) {
+                throw new JsonSchemaValidationException("JSON message must be an object, but got: " + jsonNode.getNodeType());
+            }
+
+            validateRequiredFields(jsonNode);
+
+        } catch (JsonProcessingException e) {
+            throw new JsonSchemaValidationException("Invalid JSON format", e);
+        } catch (Exception e) {
+            throw new JsonSchemaValidationException("Failed to validate message", e);
+        }
+    }
+
+    private void validateRequiredFields(final JsonNode jsonNode) {
+        if (!jsonNode.has("externalId") || jsonNode.get("externalId").isNull()) {
+            throw new JsonSchemaValidationException("Missing required field: externalId");
+        }
+
+        if (!jsonNode.has("items") || !jsonNode.get("items").isArray()) {
+            throw new JsonSchemaValidationException("Missing required field: items (must be an array)");
+        }
+
+        JsonNode items = jsonNode.get("items");
+        if (items.size() == 0) {
+            throw new JsonSchemaValidationException("Items array cannot be empty");
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            JsonNode item = items.get(i);
+            if (!item.isObject()) {
+                throw new JsonSchemaValidationException("Item at index " + i + " must be an object");
+            }
+
+            if (!item.has("productId") || item.get("productId").isNull()) {
+                throw new JsonSchemaValidationException("Missing required field: productId in item " + i);
+            }
+
+            if (!item.has("productName") || item.get("productName").isNull()) {
+                throw new JsonSchemaValidationException("Missing required field: productName in item " + i);
+            }
+
+            if (!item.has("unitPrice") || !item.get("unitPrice").isNumber()) {
+                throw new JsonSchemaValidationException("Missing or invalid field: unitPrice in item " + i + " (must be a number)");
+            }
+
+            if (!item.has("quantity") || !item.get("quantity").isNumber()) {
+                throw new JsonSchemaValidationException("Missing or invalid field: quantity in item " + i + " (must be a number)");
+            }
+
+            double unitPrice = item.get("unitPrice").asDouble();
+            if (unitPrice < 0) {
+                throw new JsonSchemaValidationException("unitPrice in item " + i + " must be positive");
+            }
+
+            int quantity = item.get("quantity").asInt();
+            if (quantity <= 0) {
+                throw new JsonSchemaValidationException("quantity in item " + i + " must be a positive integer");
+            }
+        }
+
+        if (jsonNode.has("correlationId") && jsonNode.get("correlationId").isNull()) {
+            throw new JsonSchemaValidationException("correlationId cannot be null if present");
+        }
+    }
+}
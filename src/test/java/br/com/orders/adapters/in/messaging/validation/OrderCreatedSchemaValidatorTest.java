@@ -0,0 +1,128 @@
+package br.com.orders.adapters.in.messaging.validation;
+
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator.JsonSchemaValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class OrderCreatedSchemaValidatorTest {
+
+    private static final String ITEM = "{\"productId\":\"PROD-001\",\"productName\":\"Product 1\",\"unitPrice\":10.50,\"quantity\":2}";
+    private static final String VALID = "{\"externalId\":\"EXT-001\",\"items\":[" + ITEM + "],\"correlationId\":\"CORR-001\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonSchemaValidator generated = new JsonSchemaValidator(objectMapper);
+    private final HandWrittenOrderCreatedValidator handWritten = new HandWrittenOrderCreatedValidator(objectMapper);
+
+    static Stream<String> payloads() {
+        return Stream.of(
+                VALID,
+                "{\"externalId\":\"EXT-001\",\"items\":[" + ITEM + "," + ITEM + "]}",
+                "{\"items\":[" + ITEM + "],\"externalId\":\"EXT-001\",\"unknown\":{\"nested\":[1,2,{\"a\":null}]}}",
+                "{\"externalId\":\"EXT-001\",\"items\":[" + ITEM + "]} trailing",
+                // Not an object
+                "", "   ", "null", "[]", "[" + VALID + "]", "\"text\"", "42", "true",
+                // Malformed
+                "{", "{\"externalId\":", "{\"externalId\":\"EXT-001\",\"items\":[" + ITEM + ",]}", "{\"externalId\" \"EXT-001\"}",
+                "{\"externalId\":null,\"items\":[1,}",
+                // Root fields
+                "{}",
+                "{\"externalId\":null,\"items\":[" + ITEM + "]}",
+                "{\"externalId\":123,\"items\":[" + ITEM + "]}",
+                "{\"externalId\":\"EXT-001\"}",
+                "{\"externalId\":\"EXT-001\",\"items\":null}",
+                "{\"externalId\":\"EXT-001\",\"items\":{\"0\":" + ITEM + "}}",
+                "{\"externalId\":\"EXT-001\",\"items\":[]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[" + ITEM + "],\"correlationId\":null}",
+                "{\"externalId\":\"EXT-001\",\"correlationId\":null,\"items\":[]}",
+                // Repeated keys, the last value wins
+                "{\"externalId\":null,\"externalId\":\"EXT-001\",\"items\":[" + ITEM + "]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[1],\"items\":[" + ITEM + "]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[" + ITEM + "],\"items\":[]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":-1,\"unitPrice\":1,\"quantity\":1}]}",
+                // Items
+                "{\"externalId\":\"EXT-001\",\"items\":[null]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[" + ITEM + ",\"PROD-002\"]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productName\":\"N\",\"unitPrice\":1,\"quantity\":1}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":null,\"productName\":\"N\",\"unitPrice\":1,\"quantity\":1}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"unitPrice\":1,\"quantity\":1}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":\"1\",\"quantity\":1}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1,\"quantity\":[1]}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":-0.01,\"quantity\":\"x\"}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":-0.01,\"quantity\":0}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1,\"quantity\":0}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1,\"quantity\":0.5}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1,\"quantity\":1.9}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1,\"quantity\":2147483648}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1,\"quantity\":99999999999999999999}]}",
+                "{\"externalId\":\"EXT-001\",\"items\":[{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1e400,\"quantity\":1e20}]}",
+                // The first failing item is reported even when a later one is worse
+                "{\"externalId\":\"EXT-001\",\"items\":[" + ITEM + ",{\"productId\":\"P\",\"productName\":\"N\",\"unitPrice\":1,\"quantity\":-3},7]}",
+                // Item violations win over correlationId, and syntax errors win over everything
+                "{\"externalId\":\"EXT-001\",\"items\":[7],\"correlationId\":null}",
+                "{\"externalId\":\"EXT-001\",\"items\":[7],\"correlationId\":}");
+    }
+
+    @ParameterizedTest
+    @MethodSource("payloads")
+    void shouldReportSameResultAsHandWrittenChecks(final String payload) {
+        // Given
+        var expected = catchThrowableOfType(JsonSchemaValidationException.class, () -> handWritten.validateOrderCreated(payload));
+
+        // When
+        var actual = catchThrowableOfType(JsonSchemaValidationException.class, () -> generated.validateOrderCreated(payload));
+
+        // Then
+        if (expected == null) {
+            assertThat(actual).isNull();
+            return;
+        }
+        assertThat(actual).isNotNull().hasMessage(expected.getMessage());
+        assertThat(actual.getCause()).isInstanceOf(expected.getCause().getClass());
+        if (expected.getCause() instanceof JsonSchemaValidationException) {
+            assertThat(actual.getCause()).hasMessage(expected.getCause().getMessage());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("payloads")
+    void shouldReportSameResultForEncodedBody(final String payload) {
+        // Given
+        var fromString = catchThrowableOfType(JsonSchemaValidationException.class, () -> generated.validateOrderCreated(payload));
+
+        // When
+        var fromBytes = catchThrowableOfType(JsonSchemaValidationException.class,
+                () -> generated.validateOrderCreated(payload.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        if (fromString == null) {
+            assertThat(fromBytes).isNull();
+            return;
+        }
+        assertThat(fromBytes).isNotNull().hasMessage(fromString.getMessage());
+    }
+
+    @Test
+    void shouldAcceptWhatTheSchemaAccepts() throws Exception {
+        // Given
+        JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+        try (InputStream schema = getClass().getResourceAsStream("/schemas/OrderCreated.schema.json")) {
+            var library = factory.getJsonSchema(objectMapper.readTree(schema));
+
+            // When / Then
+            assertThat(library.validate(objectMapper.readTree(VALID)).isSuccess()).isTrue();
+            assertThatCode(() -> generated.validateOrderCreated(VALID)).doesNotThrowAnyException();
+        }
+    }
+}
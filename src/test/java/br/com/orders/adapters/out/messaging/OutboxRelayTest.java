@@ -0,0 +1,121 @@
+package br.com.orders.adapters.out.messaging;
+
+import br.com.orders.adapters.out.mongo.OutboxEventRepository;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEvent;
+import br.com.orders.domain.model.OutboxEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, rabbitTemplate,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry,
+                "orders.events.ex", 10, 5, Duration.ofMillis(200), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldMarkOnlyConfirmedEventsAsSent() {
+        // Given
+        var acked = event("ORDER-1", OutboxEventType.ORDER_AVAILABLE);
+        var nacked = event("ORDER-2", OutboxEventType.ORDER_ACKNOWLEDGED);
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            var ack = correlationData.getId().equals(acked.getId());
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).send(eq("orders.events.ex"), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // When
+        var sent = outboxRelay.publishBatch(List.of(acked, nacked));
+
+        // Then
+        assertThat(sent).isEqualTo(1);
+        verify(rabbitTemplate).send(eq("orders.events.ex"), eq("order.available"), any(Message.class), any(CorrelationData.class));
+        verify(rabbitTemplate).send(eq("orders.events.ex"), eq("order.acknowledged"), any(Message.class), any(CorrelationData.class));
+        verify(outboxEventRepository).markSent(eq(List.of(acked.getId())), any(Instant.class));
+        verify(outboxEventRepository).release(List.of(nacked.getId()));
+        assertThat(meterRegistry.get("orders.outbox.published").tag("result", "nack").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleaseEventsWhoseConfirmTimesOut() {
+        // Given
+        var event = event("ORDER-1", OutboxEventType.ORDER_AVAILABLE);
+
+        // When
+        var sent = outboxRelay.publishBatch(List.of(event));
+
+        // Then
+        assertThat(sent).isZero();
+        verify(outboxEventRepository).markSent(eq(List.of()), any(Instant.class));
+        verify(outboxEventRepository).release(List.of(event.getId()));
+        assertThat(meterRegistry.get("orders.outbox.published").tag("result", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUseMessageIdForConsumerDeduplication() {
+        // Given
+        var event = event("ORDER-1", OutboxEventType.ORDER_AVAILABLE);
+        doAnswer(invocation -> {
+            Message message = invocation.getArgument(2);
+            assertThat(message.getMessageProperties().getMessageId()).isEqualTo(event.getId());
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // When
+        var sent = outboxRelay.publishBatch(List.of(event));
+
+        // Then
+        assertThat(sent).isEqualTo(1);
+    }
+
+    private OutboxEvent event(final String orderId, final OutboxEventType type) {
+        return OutboxEvent.builder()
+                .id(orderId + ":" + type.name() + ":1")
+                .type(type)
+                .orderId(orderId)
+                .externalId("EXT-" + orderId)
+                .status(OrderStatus.AVAILABLE_FOR_B)
+                .totalAmount(new BigDecimal("21.00"))
+                .correlationId("CORR-001")
+                .orderVersion(1L)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.config.JacksonConfig;
+import br.com.orders.domain.model.ArchivedOrder;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchivedOrderCodecTest {
+
+    private ArchivedOrderCodec archivedOrderCodec;
+
+    private Order testOrder;
+
+    @BeforeEach
+    void setUp() {
+        archivedOrderCodec = new ArchivedOrderCodec(new JacksonConfig().objectMapper());
+
+        List<OrderItem> items = List.of(
+                OrderItem.create("PROD-001", "Product 1", new BigDecimal("10.50"), 2),
+                OrderItem.create("PROD-002", "Product 2", new BigDecimal("25.00"), 1)
+        );
+
+        testOrder = Order.create("EXT-001", items, "CORR-001")
+                .withId("ORDER-001")
+                .withTotalAmount(new BigDecimal("46.00"))
+                .withStatus(OrderStatus.ACKNOWLEDGED)
+                .withVersion(3L);
+    }
+
+    @Test
+    void shouldRoundTripCompressedItems() {
+        // When
+        ArchivedOrder archivedOrder = archivedOrderCodec.toArchive(testOrder, true);
+        Order restoredOrder = archivedOrderCodec.toOrder(archivedOrder);
+
+        // Then
+        assertThat(archivedOrder.getItems()).isNull();
+        assertThat(archivedOrder.getCompressedItems()).isNotEmpty();
+        assertThat(archivedOrder.getItemCount()).isEqualTo(2);
+        assertThat(archivedOrder.getArchivedAt()).isNotNull();
+        assertThat(restoredOrder).isEqualTo(testOrder);
+    }
+
+    @Test
+    void shouldKeepItemsUncompressedWhenDisabled() {
+        // When
+        ArchivedOrder archivedOrder = archivedOrderCodec.toArchive(testOrder, false);
+        Order restoredOrder = archivedOrderCodec.toOrder(archivedOrder);
+
+        // Then
+        assertThat(archivedOrder.getCompressedItems()).isNull();
+        assertThat(archivedOrder.getItems()).hasSize(2);
+        assertThat(restoredOrder).isEqualTo(testOrder);
+    }
+}
@@ -1,14 +1,23 @@
 package br.com.orders.adapters.out.mongo;
 
+import br.com.orders.domain.model.ArchivedOrder;
+import br.com.orders.domain.model.ChangeWatermark;
 import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderIdStrategy;
 import br.com.orders.domain.model.OrderItem;
 import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEventType;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
@@ -16,12 +25,18 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
-@DataMongoTest
+@DataMongoTest(properties = {
+        "app.mongodb.read-routing.list=secondaryPreferred",
+        "app.mongodb.read-routing.lookup=secondaryPreferred"
+})
+@Import(ReadRouting.class)
 @Testcontainers
 class OrderRepositoryTest {
     
@@ -37,6 +52,15 @@ class OrderRepositoryTest {
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private OrderArchiveRepository orderArchiveRepository;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private ReadRouting readRouting;
+    
     private Order testOrder;
     
     @BeforeEach
@@ -96,6 +120,42 @@ class OrderRepositoryTest {
         assertThat(orders.getContent()).hasSize(2);
     }
     
+    @Test
+    void shouldPageByStatusThroughReadRouting() {
+        // Given
+        orderRepository.save(testOrder.withId("ORDER-001").withVersion(null));
+        orderRepository.save(testOrder.withId("ORDER-002").withExternalId("EXT-002").withVersion(null));
+        orderRepository.save(testOrder.withId("ORDER-003").withExternalId("EXT-003").withStatus(OrderStatus.FAILED).withVersion(null));
+        
+        // When
+        Page<Order> orders = orderRepository.findPageByStatus(OrderStatus.AVAILABLE_FOR_B, PageRequest.of(0, 1));
+        
+        // Then
+        assertThat(orders.getTotalElements()).isEqualTo(2);
+        assertThat(orders.getContent()).hasSize(1);
+    }
+    
+    @Test
+    void shouldReadOwnWriteWithConsistencyToken() {
+        // Given
+        Order savedOrder = orderRepository.save(testOrder);
+        Optional<ConsistencyToken> token = readRouting.issueToken(Order.class, savedOrder.getId());
+        
+        // When
+        Optional<Order> foundOrder;
+        ConsistencyToken.bind(token.orElseThrow());
+        try {
+            foundOrder = orderRepository.findOneById(savedOrder.getId());
+        } finally {
+            ConsistencyToken.clear();
+        }
+        
+        // Then
+        assertThat(foundOrder).isPresent();
+        assertThat(foundOrder.get().getExternalId()).isEqualTo("EXT-001");
+        assertThat(orderRepository.findOneByExternalId("EXT-001")).isPresent();
+    }
+    
     @Test
     void shouldUpsertOrder() {
         // Given
@@ -112,4 +172,266 @@ class OrderRepositoryTest {
         // Verify only one order exists
         assertThat(orderRepository.count()).isEqualTo(1);
     }
+    
+    @Test
+    void shouldKeepTheClaimWhenUpserting() {
+        // Given
+        var claimedUntil = LocalDateTime.now().plusMinutes(1).withNano(0);
+        orderRepository.save(testOrder.withClaimToken("TOKEN-1").withClaimedBy("worker-1").withClaimedUntil(claimedUntil));
+        
+        // When - A redelivery carries no claim
+        Order upsertedOrder = orderRepository.upsert(testOrder.withTotalAmount(new BigDecimal("25.00")).withVersion(null));
+        
+        // Then
+        var stored = orderRepository.findById(upsertedOrder.getId()).orElseThrow();
+        assertThat(stored.getTotalAmount()).isEqualByComparingTo("25.00");
+        assertThat(stored.getClaimToken()).isEqualTo("TOKEN-1");
+        assertThat(stored.getClaimedBy()).isEqualTo("worker-1");
+        assertThat(stored.getClaimedUntil()).isEqualTo(claimedUntil);
+    }
+    
+    @Test
+    void shouldLookupOrdersByIdsAndExternalIdsWithProjection() {
+        // Given
+        orderRepository.save(testOrder.withId("ORDER-001").withVersion(null));
+        orderRepository.save(testOrder.withId("ORDER-002").withExternalId("EXT-002").withVersion(null));
+        
+        // When
+        List<Order> byIds = orderRepository.lookupByIds(List.of("ORDER-001", "ORDER-002", "MISSING"), List.of("status"));
+        List<Order> byExternalIds = orderRepository.lookupByExternalIds(List.of("EXT-002"), List.of("totalAmount"));
+        
+        // Then
+        assertThat(byIds).extracting(Order::getId).containsExactlyInAnyOrder("ORDER-001", "ORDER-002");
+        assertThat(byIds).allSatisfy(order -> {
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.AVAILABLE_FOR_B);
+            assertThat(order.getItems()).isNull();
+            assertThat(order.getExternalId()).isNull();
+        });
+        assertThat(byExternalIds).singleElement().satisfies(order -> {
+            assertThat(order.getExternalId()).isEqualTo("EXT-002");
+            assertThat(order.getTotalAmount()).isEqualByComparingTo("21.00");
+            assertThat(order.getItems()).isNull();
+        });
+    }
+    
+    @Test
+    void shouldDeleteOnlyOrdersUnchangedSinceTheyWereRead() {
+        // Given
+        Order unchanged = orderRepository.save(testOrder.withId("ORDER-001").withStatus(OrderStatus.ACKNOWLEDGED));
+        Order recalculated = orderRepository.save(testOrder.withId("ORDER-002").withExternalId("EXT-002")
+                .withStatus(OrderStatus.ACKNOWLEDGED));
+        Order replayed = orderRepository.save(testOrder.withId("ORDER-003").withExternalId("EXT-003")
+                .withStatus(OrderStatus.ACKNOWLEDGED));
+        orderRepository.save(recalculated.withTotalAmount(new BigDecimal("42.00")));
+        orderRepository.save(replayed.withStatus(OrderStatus.AVAILABLE_FOR_B));
+        
+        // When
+        var outcome = orderRepository.bulkDeleteUnchanged(List.of(unchanged, recalculated, replayed));
+        
+        // Then
+        assertThat(outcome.deleted()).isEqualTo(1);
+        assertThat(outcome.kept()).containsExactlyInAnyOrder("ORDER-002", "ORDER-003");
+        assertThat(orderRepository.findById("ORDER-001")).isEmpty();
+        assertThat(orderRepository.findById("ORDER-002"))
+                .hasValueSatisfying(order -> assertThat(order.getTotalAmount()).isEqualByComparingTo("42.00"));
+    }
+    
+    @Test
+    void shouldClearOnlyThePendingEventMarkerThatWasRead() {
+        // Given
+        Order acknowledged = orderRepository.save(testOrder.withId("ORDER-001").withStatus(OrderStatus.ACKNOWLEDGED)
+                .owing(OutboxEventType.ORDER_ACKNOWLEDGED));
+        Order reacknowledged = orderRepository.save(testOrder.withId("ORDER-002").withExternalId("EXT-002")
+                .withStatus(OrderStatus.ACKNOWLEDGED).owing(OutboxEventType.ORDER_ACKNOWLEDGED));
+        orderRepository.save(testOrder.withId("ORDER-003").withExternalId("EXT-003"));
+        
+        // When - ORDER-002 was read at an older marker than the one now stored
+        List<Order> pending = orderRepository.findPendingEvents(10);
+        orderRepository.clearPendingEvents(List.of(acknowledged,
+                reacknowledged.withPendingEventVersion(reacknowledged.getPendingEventVersion() - 1)));
+        
+        // Then
+        assertThat(pending).extracting(Order::getId).containsExactlyInAnyOrder("ORDER-001", "ORDER-002");
+        assertThat(acknowledged.getPendingEventVersion()).isEqualTo(acknowledged.getVersion());
+        assertThat(orderRepository.findPendingEvents(10)).singleElement().satisfies(order -> {
+            assertThat(order.getId()).isEqualTo("ORDER-002");
+            assertThat(order.getVersion()).isEqualTo(reacknowledged.getVersion());
+        });
+    }
+    
+    @Test
+    void shouldLookupArchivedOrdersWithProjection() {
+        // Given
+        orderArchiveRepository.deleteAll();
+        orderArchiveRepository.save(ArchivedOrder.builder().id("ORDER-OLD").externalId("EXT-OLD")
+                .status(OrderStatus.ACKNOWLEDGED).compressedItems(new byte[] {1, 2, 3})
+                .totalAmount(new BigDecimal("21.00")).build());
+        
+        // When
+        List<ArchivedOrder> byIds = orderArchiveRepository.lookupByIds(List.of("ORDER-OLD", "MISSING"), List.of("items"));
+        List<ArchivedOrder> byExternalIds = orderArchiveRepository.lookupByExternalIds(List.of("EXT-OLD"), List.of("status"));
+        
+        // Then
+        assertThat(byIds).singleElement().satisfies(archived -> {
+            assertThat(archived.getCompressedItems()).containsExactly(1, 2, 3);
+            assertThat(archived.getTotalAmount()).isNull();
+            assertThat(archived.getStatus()).isNull();
+        });
+        assertThat(byExternalIds).singleElement().satisfies(archived -> {
+            assertThat(archived.getExternalId()).isEqualTo("EXT-OLD");
+            assertThat(archived.getStatus()).isEqualTo(OrderStatus.ACKNOWLEDGED);
+            assertThat(archived.getCompressedItems()).isNull();
+        });
+    }
+    
+    @Test
+    void shouldFindChangesSinceWatermarkInUpdatedAtThenIdOrder() {
+        // Given - other tests drop the collection, and the query is hinted to this index
+        mongoTemplate.indexOps(Order.class).createIndex(new Index()
+                .on("updatedAt", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named(Order.CHANGES_INDEX));
+        var t1 = LocalDateTime.of(2024, 1, 15, 10, 0);
+        var t2 = t1.plusMinutes(1);
+        orderRepository.save(testOrder.withId("ORDER-B").withExternalId("EXT-B").withUpdatedAt(t1).withVersion(null));
+        orderRepository.save(testOrder.withId("ORDER-A").withExternalId("EXT-A").withUpdatedAt(t1).withVersion(null));
+        orderRepository.save(testOrder.withId("ORDER-C").withExternalId("EXT-C").withUpdatedAt(t2)
+                .withStatus(OrderStatus.ACKNOWLEDGED).withVersion(null));
+        orderRepository.save(testOrder.withId("ORDER-D").withExternalId("EXT-D").withUpdatedAt(t2.plusHours(1)).withVersion(null));
+        
+        // When
+        List<Order> fromStart = orderRepository.findChangedSince(null, t2, null, 10);
+        List<Order> afterTie = orderRepository.findChangedSince(new ChangeWatermark(t1, "ORDER-A"), t2, null, 10);
+        List<Order> acknowledged = orderRepository.findChangedSince(null, t2, List.of(OrderStatus.ACKNOWLEDGED), 10);
+        
+        // Then
+        assertThat(fromStart).extracting(Order::getId).containsExactly("ORDER-A", "ORDER-B", "ORDER-C");
+        assertThat(afterTie).extracting(Order::getId).containsExactly("ORDER-B", "ORDER-C");
+        assertThat(acknowledged).extracting(Order::getId).containsExactly("ORDER-C");
+    }
+    
+    @Test
+    void shouldStoreObjectIdStrategyIdsAsObjectIdAndKeepStringIdsReadable() {
+        // Given
+        String objectIdHex = OrderIdStrategy.OBJECT_ID.nextId();
+        String legacyId = OrderIdStrategy.UUID.nextId();
+        orderRepository.save(testOrder.withId(objectIdHex).withVersion(null));
+        orderRepository.save(testOrder.withId(legacyId).withExternalId("EXT-LEGACY").withVersion(null));
+        
+        // When
+        Object storedId = mongoTemplate.getCollection("orders").find(new org.bson.Document("externalId", "EXT-001")).first().get("_id");
+        List<Order> byIds = orderRepository.lookupByIds(List.of(objectIdHex, legacyId), null);
+        
+        // Then
+        assertThat(storedId).isInstanceOf(ObjectId.class);
+        assertThat(orderRepository.findOneById(objectIdHex)).get().extracting(Order::getId).isEqualTo(objectIdHex);
+        assertThat(orderRepository.findOneById(legacyId)).get().extracting(Order::getExternalId).isEqualTo("EXT-LEGACY");
+        assertThat(byIds).extracting(Order::getId).containsExactlyInAnyOrder(objectIdHex, legacyId);
+    }
+    
+    @Test
+    void shouldNotSkipObjectIdOrdersTiedWithALegacyStringWatermark() {
+        // Given
+        mongoTemplate.indexOps(Order.class).createIndex(new Index()
+                .on("updatedAt", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named(Order.CHANGES_INDEX));
+        var t1 = LocalDateTime.of(2024, 1, 15, 10, 0);
+        String objectIdHex = OrderIdStrategy.OBJECT_ID.nextId();
+        orderRepository.save(testOrder.withId("legacy-id").withExternalId("EXT-A").withUpdatedAt(t1).withVersion(null));
+        orderRepository.save(testOrder.withId(objectIdHex).withExternalId("EXT-B").withUpdatedAt(t1).withVersion(null));
+        
+        // When
+        List<Order> fromStart = orderRepository.findChangedSince(null, t1, null, 10);
+        List<Order> afterLegacy = orderRepository.findChangedSince(new ChangeWatermark(t1, "legacy-id"), t1, null, 10);
+        List<Order> afterObjectId = orderRepository.findChangedSince(new ChangeWatermark(t1, objectIdHex), t1, null, 10);
+        
+        // Then
+        assertThat(fromStart).extracting(Order::getId).containsExactly("legacy-id", objectIdHex);
+        assertThat(afterLegacy).extracting(Order::getId).containsExactly(objectIdHex);
+        assertThat(afterObjectId).isEmpty();
+    }
+    
+    @Test
+    void shouldClaimDisjointBatchesAndReclaimExpiredLeases() {
+        // Given
+        var now = LocalDateTime.now();
+        for (int i = 1; i <= 5; i++) {
+            orderRepository.save(testOrder.withId("ORDER-00" + i).withExternalId("EXT-00" + i)
+                    .withUpdatedAt(now.minusMinutes(10 - i)).withVersion(null));
+        }
+        orderRepository.save(testOrder.withId("ORDER-ACK").withExternalId("EXT-ACK")
+                .withStatus(OrderStatus.ACKNOWLEDGED).withVersion(null));
+        
+        // When
+        List<Order> first = orderRepository.claimAvailable("claim-1", "worker-1", 3, now, now.plusSeconds(30));
+        List<Order> second = orderRepository.claimAvailable("claim-2", "worker-2", 3, now, now.plusSeconds(30));
+        List<Order> afterExpiry = orderRepository.claimAvailable("claim-3", "worker-3", 10, now.plusSeconds(31), now.plusSeconds(61));
+        
+        // Then
+        assertThat(first).extracting(Order::getId).containsExactly("ORDER-001", "ORDER-002", "ORDER-003");
+        assertThat(first).allSatisfy(order -> assertThat(order.getClaimedBy()).isEqualTo("worker-1"));
+        assertThat(second).extracting(Order::getId).containsExactly("ORDER-004", "ORDER-005");
+        assertThat(afterExpiry).extracting(Order::getId)
+                .containsExactly("ORDER-001", "ORDER-002", "ORDER-003", "ORDER-004", "ORDER-005");
+        // Claiming does not bump the version the worker will ack with
+        assertThat(orderRepository.findById("ORDER-001")).get().extracting(Order::getVersion).isEqualTo(0L);
+    }
+    
+    @Test
+    void shouldBulkInsertNewOrdersAndReportThoseStoredMeanwhile() {
+        // Given: EXT-001 was stored after the import read its chunk
+        orderRepository.save(testOrder.withId("ORDER-001").withExternalId("EXT-001").withStatus(OrderStatus.ACKNOWLEDGED)
+                .withVersion(null));
+        var duplicate = testOrder.withId("ORDER-DUP").withExternalId("EXT-001").withVersion(null);
+        var insert = testOrder.withId("ORDER-NEW").withExternalId("EXT-NEW").withVersion(null);
+        
+        // When
+        var outcome = orderRepository.bulkInsert(List.of(duplicate, insert));
+        
+        // Then
+        assertThat(outcome.written()).extracting(Order::getExternalId, Order::getVersion)
+                .containsExactly(tuple("EXT-NEW", 0L));
+        assertThat(outcome.existing()).containsExactly("EXT-001");
+        assertThat(outcome.failed()).isEmpty();
+        assertThat(orderRepository.findById("ORDER-001")).get().extracting(Order::getStatus).isEqualTo(OrderStatus.ACKNOWLEDGED);
+        assertThat(orderRepository.findById("ORDER-DUP")).isEmpty();
+    }
+    
+    @Test
+    void shouldWalkReprocessRangesWithinOneIdTypeAndUpdateOnlyAtTheVersionRead() {
+        // Given: FAILED orders under both id types, one too recent for the job and one AVAILABLE_FOR_B
+        var cutoff = LocalDateTime.now();
+        var first = new ObjectId().toHexString();
+        var second = new ObjectId().toHexString();
+        var failed = testOrder.withStatus(OrderStatus.FAILED).withUpdatedAt(cutoff.minusMinutes(1)).withVersion(null);
+        orderRepository.save(failed.withId(first).withExternalId("EXT-001"));
+        orderRepository.save(failed.withId(second).withExternalId("EXT-002"));
+        orderRepository.save(failed.withId("legacy-id").withExternalId("EXT-003"));
+        orderRepository.save(failed.withId(new ObjectId().toHexString()).withExternalId("EXT-004").withUpdatedAt(cutoff.plusMinutes(1)));
+        orderRepository.save(testOrder.withId(new ObjectId().toHexString()).withExternalId("EXT-005").withVersion(null));
+        var statuses = List.of(OrderStatus.FAILED);
+        
+        // When
+        List<Order> objectIds = orderRepository.findReprocessBatch(statuses, cutoff, "000000000000000000000000", null, null, 10);
+        List<Order> afterFirst = orderRepository.findReprocessBatch(statuses, cutoff, "000000000000000000000000", null, first, 10);
+        List<Order> strings = orderRepository.findReprocessBatch(statuses, cutoff, "", null, null, 10);
+        var updated = orderRepository.updateIfUnchanged(objectIds.get(0), OrderStatus.AVAILABLE_FOR_B,
+                new BigDecimal("30.00"), 1, cutoff);
+        var stale = orderRepository.updateIfUnchanged(objectIds.get(0), OrderStatus.AVAILABLE_FOR_B,
+                new BigDecimal("40.00"), 1, cutoff);
+        
+        // Then
+        assertThat(objectIds).extracting(Order::getId).containsExactly(first, second);
+        assertThat(afterFirst).extracting(Order::getId).containsExactly(second);
+        assertThat(strings).extracting(Order::getId).containsExactly("legacy-id");
+        assertThat(orderRepository.countReprocessTargets(statuses, cutoff)).isEqualTo(3);
+        assertThat(orderRepository.sampleReprocessIds(statuses, cutoff, 10)).containsExactlyInAnyOrder(first, second, "legacy-id");
+        assertThat(updated).get().satisfies(order -> {
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.AVAILABLE_FOR_B);
+            assertThat(order.getTotalAmount()).isEqualByComparingTo("30.00");
+            assertThat(order.getVersion()).isEqualTo(1L);
+        });
+        assertThat(stale).isEmpty();
+    }
 }
@@ -0,0 +1,87 @@
+package br.com.orders.adapters.out.mongo;
+
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(ReadRouting.class)
+@Testcontainers
+class QueryPlanHealthIndicatorTest {
+
+    @Container
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:7.0")
+            .withReuse(true);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private OrderIndexInitializer indexInitializer;
+    private QueryPlanHealthIndicator queryPlanHealthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Order.class);
+        mongoTemplate.createCollection(Order.class);
+
+        List<OrderStatus> activeStatuses = List.of(OrderStatus.PROCESSING, OrderStatus.AVAILABLE_FOR_B, OrderStatus.FAILED);
+        indexInitializer = new OrderIndexInitializer(mongoTemplate, activeStatuses, true);
+        queryPlanHealthIndicator = new QueryPlanHealthIndicator(mongoTemplate, activeStatuses, true, true);
+    }
+
+    @Test
+    void shouldReportUpWhenEveryQueryShapeIsIndexBacked() {
+        // Given
+        mongoTemplate.indexOps(Order.class).createIndex(
+                new Index()
+                        .on("externalId", Sort.Direction.ASC)
+                        .named("externalId_idx")
+                        .unique());
+        mongoTemplate.indexOps(Order.class).createIndex(
+                new Index()
+                        .on("updatedAt", Sort.Direction.ASC)
+                        .on("_id", Sort.Direction.ASC)
+                        .named(Order.CHANGES_INDEX));
+        indexInitializer.ensureIndexes();
+
+        // When
+        queryPlanHealthIndicator.verifyQueryPlans();
+
+        // Then
+        assertThat(queryPlanHealthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void shouldReportDownWhenAnIndexIsMissing() {
+        // Given - no indexes besides _id
+
+        // When
+        queryPlanHealthIndicator.verifyQueryPlans();
+
+        // Then
+        assertThat(queryPlanHealthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(queryPlanHealthIndicator.health().getDetails().get("violations").toString()).contains("COLLSCAN");
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.orders.adapters.out.mongo;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ReadRoutingTest {
+
+    @Test
+    void shouldApplyMaxStalenessToSecondaryReads() {
+        // When
+        var readRouting = new ReadRouting(mock(MongoTemplate.class), "secondaryPreferred", "nearest", "primary",
+                "secondary", Duration.ofSeconds(120));
+
+        // Then
+        var list = readRouting.preferenceFor(ReadRouting.ReadType.LIST);
+        assertThat(list.getName()).isEqualTo("secondaryPreferred");
+        assertThat(((TaggableReadPreference) list).getMaxStaleness(TimeUnit.SECONDS)).isEqualTo(120);
+        assertThat(readRouting.preferenceFor(ReadRouting.ReadType.LOOKUP).getName()).isEqualTo("nearest");
+        assertThat(readRouting.preferenceFor(ReadRouting.ReadType.CHANGES)).isEqualTo(ReadPreference.primary());
+        assertThat(readRouting.preferenceFor(ReadRouting.ReadType.STATS).getName()).isEqualTo("secondary");
+    }
+
+    @Test
+    void shouldRejectMaxStalenessBelowTheDriverMinimum() {
+        // When & Then
+        assertThatThrownBy(() -> new ReadRouting(mock(MongoTemplate.class), "secondaryPreferred", "primary", "primary",
+                "primary", Duration.ofSeconds(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldNotIssueTokensWhenEveryReadGoesToThePrimary() {
+        // Given
+        var mongoTemplate = mock(MongoTemplate.class);
+        var readRouting = new ReadRouting(mongoTemplate, "primary", "primary", "primary", "primary", Duration.ofSeconds(90));
+
+        // When
+        var token = readRouting.issueToken(Object.class, "ORDER-001");
+
+        // Then
+        assertThat(token).isEmpty();
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void shouldRoundTripConsistencyToken() {
+        // Given
+        var token = new ConsistencyToken(new BsonTimestamp(1_700_000_000, 42));
+
+        // When
+        var decoded = ConsistencyToken.decode(token.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(token);
+        assertThatThrownBy(() -> ConsistencyToken.decode("not-a-token")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
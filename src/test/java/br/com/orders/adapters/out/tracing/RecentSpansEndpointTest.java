@@ -0,0 +1,94 @@
+package br.com.orders.adapters.out.tracing;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentSpansEndpointTest {
+
+    private RecentSpansExporter exporter;
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private RecentSpansEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new RecentSpansExporter(6);
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        tracer = tracerProvider.get("test");
+        endpoint = new RecentSpansEndpoint(exporter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void shouldBreakDownOneTraceByStep() {
+        // Given
+        var traceId = order("EXT-001");
+
+        // When
+        var spans = endpoint.trace(traceId);
+
+        // Then
+        assertThat(spans).extracting(RecentSpansEndpoint.SpanView::name)
+                .containsExactly("orders.incoming.q receive", "order calculate", "update orders");
+        assertThat(spans.get(0).parentSpanId()).isNull();
+        assertThat(spans.get(2).parentSpanId()).isEqualTo(spans.get(1).spanId());
+        assertThat(spans.get(1).attributes()).containsEntry("order.external_id", "EXT-001");
+    }
+
+    @Test
+    void shouldListRecentTracesFilteredByExternalId() {
+        // Given
+        order("EXT-001");
+        var second = order("EXT-002");
+
+        // When
+        var all = endpoint.traces(null);
+        var filtered = endpoint.traces("EXT-002");
+
+        // Then
+        assertThat(all).hasSize(2);
+        assertThat(filtered).singleElement().satisfies(trace -> {
+            assertThat(trace.traceId()).isEqualTo(second);
+            assertThat(trace.rootSpan()).isEqualTo("orders.incoming.q receive");
+            assertThat(trace.spans()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void shouldEvictOldestSpansBeyondCapacity() {
+        // Given
+        var first = order("EXT-001");
+        order("EXT-002");
+        order("EXT-003");
+
+        // When & Then
+        assertThat(endpoint.trace(first)).isNull();
+        assertThat(endpoint.traces(null)).hasSize(2);
+        assertThat(endpoint.traces("EXT-001")).isEmpty();
+    }
+
+    private String order(final String externalId) {
+        var delivery = tracer.spanBuilder("orders.incoming.q receive").startSpan();
+        try (var ignored = delivery.makeCurrent()) {
+            var calculate = tracer.spanBuilder("order calculate").setAttribute("order.external_id", externalId).startSpan();
+            try (var ignoredToo = calculate.makeCurrent()) {
+                tracer.spanBuilder("update orders").startSpan().end();
+            } finally {
+                calculate.end();
+            }
+        } finally {
+            delivery.end();
+        }
+        return delivery.getSpanContext().getTraceId();
+    }
+}
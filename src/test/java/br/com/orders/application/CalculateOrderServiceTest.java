@@ -1,11 +1,19 @@
 package br.com.orders.application;
 
+import br.com.orders.adapters.out.mongo.ArchivedOrderCodec;
+import br.com.orders.adapters.out.mongo.OrderArchiveRepository;
 import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.ArchivedOrder;
 import br.com.orders.domain.model.Order;
 import br.com.orders.domain.model.OrderItem;
 import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEventType;
 import br.com.orders.domain.service.CalculateOrderService;
 import br.com.orders.domain.service.MoneyCalculator;
+import br.com.orders.domain.service.OrderIdGenerator;
+import br.com.orders.domain.service.OrderItemsService;
+import br.com.orders.domain.service.OrderStatsService;
+import br.com.orders.domain.service.OutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,10 +23,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +41,24 @@ class CalculateOrderServiceTest {
     @Mock
     private MoneyCalculator moneyCalculator;
     
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+    
+    @Mock
+    private ArchivedOrderCodec archivedOrderCodec;
+    
+    @Mock
+    private OrderStatsService orderStatsService;
+    
+    @Mock
+    private OutboxService outboxService;
+    
+    @Mock
+    private OrderIdGenerator orderIdGenerator;
+    
+    @Mock
+    private OrderItemsService orderItemsService;
+    
     @InjectMocks
     private CalculateOrderService calculateOrderService;
     
@@ -51,7 +80,7 @@ class CalculateOrderServiceTest {
         Order savedOrder = calculatedOrder.withId("ORDER-001").withStatus(OrderStatus.AVAILABLE_FOR_B);
         
         when(moneyCalculator.calculateAndUpdateOrder(testOrder)).thenReturn(calculatedOrder);
-        when(orderRepository.upsert(any(Order.class))).thenReturn(savedOrder);
+        when(orderRepository.upsert(any(Order.class), any())).thenReturn(savedOrder);
         
         // When
         Order result = calculateOrderService.processOrder(testOrder);
@@ -61,6 +90,26 @@ class CalculateOrderServiceTest {
         assertThat(result.getId()).isEqualTo("ORDER-001");
         assertThat(result.getTotalAmount()).isEqualTo(new BigDecimal("21.00"));
         assertThat(result.getStatus()).isEqualTo(OrderStatus.AVAILABLE_FOR_B);
+        verify(orderStatsService).recordTransition(null, OrderStatus.AVAILABLE_FOR_B);
+        verify(outboxService).record(OutboxEventType.ORDER_AVAILABLE, savedOrder);
+    }
+    
+    @Test
+    void shouldAssignGeneratedIdToNewOrdersWithoutOne() {
+        // Given
+        Order incoming = testOrder.withId(null).withVersion(null);
+        Order identified = incoming.withId("65f1c0de0000000000000001");
+        
+        when(orderIdGenerator.nextId()).thenReturn("65f1c0de0000000000000001");
+        when(moneyCalculator.calculateAndUpdateOrder(identified)).thenReturn(identified);
+        when(orderRepository.upsert(any(Order.class), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        Order result = calculateOrderService.processOrder(incoming);
+        
+        // Then
+        assertThat(result.getId()).isEqualTo("65f1c0de0000000000000001");
+        verify(orderRepository).upsert(identified.withStatus(OrderStatus.AVAILABLE_FOR_B), Optional.empty());
     }
     
     @Test
@@ -74,5 +123,64 @@ class CalculateOrderServiceTest {
         assertThatThrownBy(() -> calculateOrderService.processOrder(testOrder))
                 .isInstanceOf(CalculateOrderService.OrderProcessingException.class)
                 .hasMessageContaining("Failed to process order");
+        verify(orderStatsService).recordTransition(null, OrderStatus.FAILED);
+        verify(outboxService, never()).record(any(), any());
+    }
+    
+    @Test
+    void shouldKeepThePreviousItemSetWhenARedeliveryFails() {
+        // Given: a streamed redelivery of an order whose items are stored in chunks
+        Order header = Order.builder().externalId("EXT-001").correlationId("CORR-001").build();
+        Order existing = header.withId("ORDER-001").withVersion(3L).withStatus(OrderStatus.FAILED)
+                .withItemSetId("SET-1").withItemCount(5000);
+        
+        when(orderRepository.findByExternalId("EXT-001")).thenReturn(Optional.of(existing));
+        when(orderItemsService.store(any())).thenThrow(new RuntimeException("Timed out"));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When & Then
+        assertThatThrownBy(() -> calculateOrderService.processStreamedOrder(header, consumer -> { }))
+                .isInstanceOf(CalculateOrderService.OrderProcessingException.class);
+        verify(orderItemsService, never()).deleteItemSet(any());
+        verify(orderRepository).save(existing);
+    }
+    
+    @Test
+    void shouldNotLookUpTheArchiveForOrdersInTheWorkingCollection() {
+        // Given
+        Order existing = testOrder.withId("ORDER-001").withStatus(OrderStatus.AVAILABLE_FOR_B);
+        
+        when(orderRepository.findByExternalId("EXT-001")).thenReturn(Optional.of(existing));
+        when(moneyCalculator.calculateAndUpdateOrder(testOrder)).thenReturn(testOrder);
+        when(orderRepository.upsert(any(Order.class), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        calculateOrderService.processOrder(testOrder);
+        
+        // Then
+        verify(orderArchiveRepository, never()).findByExternalId(any());
+        verify(orderStatsService).recordTransition(OrderStatus.AVAILABLE_FOR_B, OrderStatus.AVAILABLE_FOR_B);
+    }
+    
+    @Test
+    void shouldSkipOrderAlreadyArchived() {
+        // Given
+        ArchivedOrder archivedOrder = ArchivedOrder.builder()
+                .id("ORDER-001")
+                .externalId("EXT-001")
+                .status(OrderStatus.ACKNOWLEDGED)
+                .build();
+        Order restoredOrder = testOrder.withId("ORDER-001").withStatus(OrderStatus.ACKNOWLEDGED);
+        
+        when(orderArchiveRepository.findByExternalId("EXT-001")).thenReturn(Optional.of(archivedOrder));
+        when(archivedOrderCodec.toOrder(archivedOrder)).thenReturn(restoredOrder);
+        
+        // When
+        Order result = calculateOrderService.processOrder(testOrder);
+        
+        // Then
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.ACKNOWLEDGED);
+        verify(orderRepository, never()).upsert(any(Order.class), any());
+        verify(orderRepository, never()).save(any(Order.class));
     }
 }
@@ -0,0 +1,78 @@
+package br.com.orders.benchmark;
+
+import br.com.orders.adapters.in.messaging.validation.HandWrittenOrderCreatedValidator;
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn -Pbenchmark test -Dbenchmark.include=OrderCreatedValidation
+// Compares the build-time generated validator with the tree-walking checks it replaced and with the generic library
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreatedValidationBenchmark {
+
+    @Param({"5", "100"})
+    private int itemsPerOrder;
+
+    private String message;
+    private ObjectMapper objectMapper;
+    private JsonSchemaValidator generated;
+    private HandWrittenOrderCreatedValidator handWritten;
+    private JsonSchema librarySchema;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        generated = new JsonSchemaValidator(objectMapper);
+        handWritten = new HandWrittenOrderCreatedValidator(objectMapper);
+        try (InputStream schema = getClass().getResourceAsStream("/schemas/OrderCreated.schema.json")) {
+            librarySchema = JsonSchemaFactory.byDefault().getJsonSchema(objectMapper.readTree(schema));
+        }
+
+        var json = new StringBuilder("{\"externalId\":\"EXT-001\",\"correlationId\":\"CORR-001\",\"items\":[");
+        for (int i = 0; i < itemsPerOrder; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"productId\":\"PROD-").append(i)
+                    .append("\",\"productName\":\"Product ").append(i)
+                    .append("\",\"unitPrice\":10.50,\"quantity\":").append(i + 1).append('}');
+        }
+        message = json.append("]}").toString();
+    }
+
+    @Benchmark
+    public void generatedStreaming() {
+        generated.validateOrderCreated(message);
+    }
+
+    @Benchmark
+    public void handWrittenTree() {
+        handWritten.validateOrderCreated(message);
+    }
+
+    @Benchmark
+    public ProcessingReport librarySchema() throws Exception {
+        return librarySchema.validate(objectMapper.readTree(message));
+    }
+}
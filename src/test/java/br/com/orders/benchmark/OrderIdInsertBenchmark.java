@@ -0,0 +1,120 @@
+package br.com.orders.benchmark;
+
+import br.com.orders.domain.model.OrderIdStrategy;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn -Pbenchmark test -Dbenchmark.include=OrderIdInsert -Dbenchmark.documents=20000000 [-Dbenchmark.mongo.uri=mongodb://...]
+// Loads the orders collection once per id strategy and prints the _id index size. Locality effects only show once
+// the _id index outgrows the WiredTiger cache, so give it tens of millions of documents against a realistic server;
+// without benchmark.mongo.uri a throwaway mongo:7.0 container is started
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class OrderIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"OBJECT_ID", "UUID_V7", "UUID"})
+    private OrderIdStrategy strategy;
+
+    private long documents;
+    private MongoDBContainer container;
+    private MongoClient client;
+    private MongoCollection<Document> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        documents = Long.getLong("benchmark.documents", 1_000_000L);
+        var uri = System.getProperty("benchmark.mongo.uri");
+        if (uri == null) {
+            container = new MongoDBContainer("mongo:7.0");
+            container.start();
+            uri = container.getReplicaSetUrl();
+        }
+        client = MongoClients.create(uri);
+        orders = client.getDatabase("order_id_benchmark").getCollection("orders_" + strategy.name().toLowerCase());
+        orders.drop();
+        // Same secondary index as Order, so every insert pays the usual index maintenance alongside _id
+        orders.createIndex(Indexes.ascending("externalId"), new IndexOptions().name("externalId_idx").unique(true));
+    }
+
+    @Benchmark
+    public long insert() {
+        var batch = new ArrayList<Document>(BATCH_SIZE);
+        var options = new InsertManyOptions().ordered(false);
+        for (long i = 0; i < documents; i++) {
+            batch.add(order(i));
+            if (batch.size() == BATCH_SIZE) {
+                orders.insertMany(batch, options);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            orders.insertMany(batch, options);
+        }
+        return documents;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // Checkpoint first so collStats reports on-disk index sizes rather than the last checkpoint's
+        client.getDatabase("admin").runCommand(new Document("fsync", 1));
+        var stats = client.getDatabase("order_id_benchmark").runCommand(new Document("collStats", orders.getNamespace().getCollectionName()));
+        var indexSizes = stats.get("indexSizes", Document.class);
+        System.out.printf("%n[%s] documents=%d _id index=%d bytes externalId index=%d bytes (%.1f bytes/doc for _id)%n",
+                strategy, documents, indexSizes.get("_id_", Number.class).longValue(),
+                indexSizes.get("externalId_idx", Number.class).longValue(),
+                indexSizes.get("_id_", Number.class).doubleValue() / documents);
+
+        orders.drop();
+        client.close();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    // Stored the way Spring Data would: a 24-hex id becomes an ObjectId, anything else stays a string
+    private Document order(final long sequence) {
+        var id = strategy.nextId();
+        var now = new Date();
+        return new Document("_id", ObjectId.isValid(id) ? new ObjectId(id) : id)
+                .append("externalId", "EXT-" + sequence)
+                .append("status", "AVAILABLE_FOR_B")
+                .append("items", List.of(new Document("productId", "PROD-1").append("productName", "Product 1")
+                        .append("unitPrice", "10.50").append("quantity", 2).append("totalPrice", "21.00")))
+                .append("totalAmount", "21.00")
+                .append("createdAt", now)
+                .append("updatedAt", now)
+                .append("correlationId", "CORR-" + sequence)
+                .append("version", 0L);
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.orders.benchmark;
+
+import br.com.orders.adapters.in.http.mapper.OrderProtobufWriter;
+import br.com.orders.config.JacksonConfig;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.CodedOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Run with: mvn -Pbenchmark test -Dbenchmark.include=OrderResponseEncoding
+// Time per GET /orders page for each Accept type, with and without the gzip step server.compression adds;
+// setup prints the body size of each combination, the score is the server CPU it costs
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderResponseEncodingBenchmark {
+
+    public enum Encoding { JSON, CBOR, PROTOBUF }
+
+    @Param({"20"})
+    private int pageSize;
+
+    @Param({"5", "100"})
+    private int itemsPerOrder;
+
+    @Param({"JSON", "CBOR", "PROTOBUF"})
+    private Encoding encoding;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private Page<Order> page;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = new JacksonConfig().objectMapper();
+        cborMapper = JacksonConfig.cborMapper();
+
+        var orders = new ArrayList<Order>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            var items = new ArrayList<OrderItem>(itemsPerOrder);
+            for (int j = 0; j < itemsPerOrder; j++) {
+                items.add(OrderItem.create("PROD-" + j, "Product " + j, new BigDecimal("10.50"), j + 1));
+            }
+            orders.add(Order.create("EXT-" + i, items, "CORR-" + i)
+                    .withId("ORDER-" + i)
+                    .withStatus(OrderStatus.AVAILABLE_FOR_B)
+                    .withTotalAmount(new BigDecimal("1234.56"))
+                    .withCreatedAt(LocalDateTime.now())
+                    .withUpdatedAt(LocalDateTime.now())
+                    .withVersion(1L));
+        }
+        page = new PageImpl<>(orders, PageRequest.of(0, pageSize), 10_000);
+
+        var body = new ByteArrayOutputStream();
+        encode(body);
+        System.out.printf("%n[%s gzip=%s items=%d] body=%d bytes%n", encoding, gzip, itemsPerOrder, body.size());
+    }
+
+    // Jackson closes its target, so each response gets its own sink, as each HTTP response has its own stream
+    @Benchmark
+    public void encode() throws IOException {
+        encode(OutputStream.nullOutputStream());
+    }
+
+    private void encode(final OutputStream target) throws IOException {
+        var out = gzip ? new GZIPOutputStream(target, 8192) : target;
+        switch (encoding) {
+            case JSON -> jsonMapper.writeValue(out, page);
+            case CBOR -> cborMapper.writeValue(out, page);
+            case PROTOBUF -> {
+                var coded = CodedOutputStream.newInstance(out, 8192);
+                OrderProtobufWriter.writePage(page, coded);
+                coded.flush();
+            }
+        }
+        // Finishes the gzip trailer; closing twice after Jackson is a no-op
+        out.close();
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.orders.benchmark;
+
+import br.com.orders.adapters.in.http.dto.OrderResponse;
+import br.com.orders.adapters.in.http.mapper.OrderResponseMapper;
+import br.com.orders.config.JacksonConfig;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Run with: mvn -Pbenchmark test -Dbenchmark.include=OrderResponseSerialization
+// -prof gc reports gc.alloc.rate.norm, the bytes allocated per serialized page
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderResponseSerializationBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    @Param({"5", "100"})
+    private int itemsPerOrder;
+
+    private List<Order> page;
+    private ObjectMapper dtoMapper;
+    private ObjectMapper directMapper;
+    private OrderResponseMapper orderResponseMapper;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        dtoMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        directMapper = new JacksonConfig().objectMapper();
+        orderResponseMapper = OrderResponseMapper.INSTANCE;
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            var items = new ArrayList<OrderItem>(itemsPerOrder);
+            for (int j = 0; j < itemsPerOrder; j++) {
+                items.add(OrderItem.create("PROD-" + j, "Product " + j, new BigDecimal("10.50"), j + 1));
+            }
+            page.add(Order.create("EXT-" + i, items, "CORR-" + i)
+                    .withId("ORDER-" + i)
+                    .withStatus(OrderStatus.AVAILABLE_FOR_B)
+                    .withTotalAmount(new BigDecimal("1234.56"))
+                    .withCreatedAt(LocalDateTime.now())
+                    .withUpdatedAt(LocalDateTime.now())
+                    .withVersion(1L));
+        }
+    }
+
+    @Benchmark
+    public void mapStructDtoReflective() throws IOException {
+        List<OrderResponse> response = page.stream().map(orderResponseMapper::toResponse).toList();
+        dtoMapper.writeValue(sink, response);
+    }
+
+    @Benchmark
+    public void directSerializerBlackbird() throws IOException {
+        directMapper.writeValue(sink, page);
+    }
+}
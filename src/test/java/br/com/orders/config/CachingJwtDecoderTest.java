@@ -0,0 +1,194 @@
+package br.com.orders.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.Closeable;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+
+    private HttpServer jwkServer;
+    private final AtomicInteger jwkRequests = new AtomicInteger();
+    private RSAKey signingKey;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<JWKSource<SecurityContext>> jwkSources = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        var jwkSet = new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+
+        jwkServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        jwkServer.createContext("/certs", exchange -> {
+            jwkRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, jwkSet.length);
+            exchange.getResponseBody().write(jwkSet);
+            exchange.close();
+        });
+        jwkServer.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        // Stops the refresh-ahead threads of each source
+        for (JWKSource<SecurityContext> jwkSource : jwkSources) {
+            if (jwkSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        jwkServer.stop(0);
+    }
+
+    @Test
+    void shouldVerifyOnceAndServeRepeatedTokenFromCache() throws Exception {
+        // Given
+        var decoder = new CachingJwtDecoder(nimbusDecoder(), 100, meterRegistry);
+        var token = sign(Instant.now().plus(Duration.ofMinutes(5)));
+
+        // When
+        var first = decoder.decode(token);
+        var second = decoder.decode(token);
+        var third = decoder.decode(token);
+
+        // Then
+        assertThat(first.getSubject()).isEqualTo("product-b");
+        assertThat(second).isSameAs(first);
+        assertThat(third).isSameAs(first);
+        assertThat(cacheCount("hit")).isEqualTo(2);
+        assertThat(cacheCount("miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.security.jwt.verification").timer().count()).isEqualTo(1);
+        assertThat(jwkRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReverifyOnceCachedTokenExpires() throws Exception {
+        // Given
+        var expiresAt = Instant.now().plus(Duration.ofMinutes(1));
+        var clock = new MutableClock(Instant.now());
+        var decoder = new CachingJwtDecoder(nimbusDecoder(), 100, meterRegistry, clock);
+        var token = sign(expiresAt);
+        decoder.decode(token);
+
+        // When
+        clock.instant = expiresAt.plusSeconds(1);
+        decoder.decode(token);
+
+        // Then
+        assertThat(cacheCount("hit")).isZero();
+        assertThat(cacheCount("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() throws Exception {
+        // Given
+        var decoder = new CachingJwtDecoder(nimbusDecoder(), 100, meterRegistry);
+        var token = sign(Instant.now().plus(Duration.ofMinutes(5)));
+        var tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        // When / Then
+        assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(BadJwtException.class);
+        assertThat(cacheCount("miss")).isEqualTo(2);
+        assertThat(meterRegistry.get("orders.security.jwt.cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldMakeRoomByEvictingExpiredTokensWhenFull() throws Exception {
+        // Given: a one-entry cache holding a token that has since expired
+        var clock = new MutableClock(Instant.now());
+        var decoder = new CachingJwtDecoder(nimbusDecoder(), 1, meterRegistry, clock);
+        var expiring = sign(Instant.now().plus(Duration.ofMinutes(1)));
+        var fresh = sign(Instant.now().plus(Duration.ofMinutes(10)));
+        decoder.decode(expiring);
+
+        // When
+        clock.instant = clock.instant.plus(Duration.ofMinutes(2));
+        decoder.decode(fresh);
+        decoder.decode(fresh);
+
+        // Then
+        assertThat(cacheCount("hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.security.jwt.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    private NimbusJwtDecoder nimbusDecoder() throws Exception {
+        var jwkSetUrl = URI.create("http://localhost:" + jwkServer.getAddress().getPort() + "/certs").toURL();
+        var jwkSource = SecurityConfig.refreshingJwkSource(
+                jwkSetUrl, Duration.ofMinutes(15), Duration.ofMinutes(2), Duration.ofSeconds(5));
+        jwkSources.add(jwkSource);
+        return SecurityConfig.nimbusJwtDecoder(jwkSource);
+    }
+
+    private String sign(final Instant expiresAt) throws Exception {
+        var claims = new JWTClaimsSet.Builder()
+                .subject("product-b")
+                .claim("scope", "orders:read orders:ack")
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        var jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+
+    private double cacheCount(final String result) {
+        return meterRegistry.get("orders.security.jwt.cache").tag("result", result).counter().count();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(final Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.orders.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecordingEndpointTest {
+
+    private final FlightRecordingEndpoint endpoint =
+            new FlightRecordingEndpoint("default", Duration.ofMinutes(5), DataSize.ofMegabytes(16), Duration.ZERO, false);
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    void shouldStartOneBoundedRecordingAndDumpIt() throws Exception {
+        // When
+        var started = endpoint.start();
+        var again = endpoint.start();
+        var dump = endpoint.dump(started.id());
+
+        // Then
+        assertThat(started.state()).isEqualTo("RUNNING");
+        assertThat(started.maxAge()).isEqualTo(Duration.ofMinutes(5));
+        assertThat(started.maxSizeBytes()).isEqualTo(DataSize.ofMegabytes(16).toBytes());
+        assertThat(again.id()).isEqualTo(started.id());
+        assertThat(dump.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(dump.getBody().contentLength()).isPositive();
+    }
+
+    @Test
+    void shouldStopAndStillDump() {
+        // Given
+        var started = endpoint.start();
+
+        // When
+        var stopped = endpoint.stop();
+
+        // Then
+        assertThat(stopped.state()).isEqualTo("STOPPED");
+        assertThat(endpoint.dump(started.id()).getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(endpoint.dump(started.id() + 1).getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @Test
+    void shouldKeepEachDumpUntilItsDownloadIsClosed() throws Exception {
+        // Given
+        var started = endpoint.start();
+        var first = endpoint.dump(started.id()).getBody();
+        var second = endpoint.dump(started.id()).getBody();
+
+        // When
+        try (var in = first.getInputStream()) {
+            assertThat(in.readAllBytes()).isNotEmpty();
+        }
+
+        // Then: the later dump did not remove the earlier one, and a closed download cleans up after itself
+        assertThat(first.exists()).isFalse();
+        assertThat(second.exists()).isTrue();
+    }
+
+    @Test
+    void shouldReportNothingBeforeStart() {
+        // When & Then
+        assertThat(endpoint.status()).isNull();
+        assertThat(endpoint.stop()).isNull();
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.orders.config;
+
+import br.com.orders.adapters.in.messaging.mapper.OrderCreatedStreamReader;
+import br.com.orders.adapters.in.messaging.mapper.OrderMessageMapper;
+import br.com.orders.adapters.in.messaging.validation.JsonSchemaValidator;
+import br.com.orders.domain.model.OrderIdStrategy;
+import br.com.orders.domain.service.MoneyCalculator;
+import br.com.orders.domain.service.OrderIdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JitWarmUpTest {
+
+    @Mock
+    private LoggingSystem loggingSystem;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRunTheWholePipelineUpToTheIterationLimit() {
+        // Given: a zero threshold never counts compilation as settled
+        var warmUp = warmUp(new JsonSchemaValidator(objectMapper), 40, 40, Duration.ZERO);
+
+        // When
+        warmUp.start();
+
+        // Then
+        assertThat(warmUp.isRunning()).isTrue();
+        assertThat(meterRegistry.get("orders.startup.warmup.iterations").gauge().value()).isEqualTo(40);
+        assertThat(meterRegistry.get("orders.startup.warmup.time").timeGauge().value()).isNotNegative();
+        InOrder inOrder = inOrder(loggingSystem);
+        inOrder.verify(loggingSystem).setLogLevel("br.com.orders", LogLevel.INFO);
+        inOrder.verify(loggingSystem).setLogLevel("br.com.orders", null);
+    }
+
+    @Test
+    void shouldStopOnceARoundAddsLessCompileTimeThanTheThreshold() {
+        // Given
+        var warmUp = warmUp(new JsonSchemaValidator(objectMapper), 100_000, 1, Duration.ofHours(1));
+
+        // When
+        warmUp.start();
+
+        // Then
+        assertThat(meterRegistry.get("orders.startup.warmup.iterations").gauge().value()).isEqualTo(JitWarmUp.ROUND);
+    }
+
+    @Test
+    void shouldStartColdWhenThePipelineFails() {
+        // Given
+        var jsonSchemaValidator = mock(JsonSchemaValidator.class);
+        doThrow(new JsonSchemaValidator.JsonSchemaValidationException("invalid"))
+                .when(jsonSchemaValidator).validateOrderCreated(any(byte[].class));
+        var warmUp = warmUp(jsonSchemaValidator, 40, 40, Duration.ZERO);
+
+        // When
+        warmUp.start();
+
+        // Then
+        assertThat(warmUp.isRunning()).isTrue();
+        assertThat(meterRegistry.get("orders.startup.warmup.iterations").gauge().value()).isZero();
+        verify(loggingSystem).setLogLevel("br.com.orders", null);
+    }
+
+    private JitWarmUp warmUp(final JsonSchemaValidator jsonSchemaValidator, final int iterations, final int minIterations,
+                             final Duration compileQuietThreshold) {
+        return new JitWarmUp(objectMapper, jsonSchemaValidator, OrderMessageMapper.INSTANCE,
+                new OrderCreatedStreamReader(objectMapper, DataSize.ofMegabytes(1)), new MoneyCalculator(),
+                new OrderIdGenerator(OrderIdStrategy.OBJECT_ID), new StartupMetrics(meterRegistry), loggingSystem,
+                iterations, minIterations, compileQuietThreshold, Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClaimOrdersServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private ClaimOrdersService claimOrdersService;
+
+    @BeforeEach
+    void setUp() {
+        claimOrdersService = new ClaimOrdersService(orderRepository, 100, Duration.ofSeconds(5), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldClaimWithAFreshTokenAndLeaseFromNow() {
+        // Given
+        var order = Order.create("EXT-001", List.of(OrderItem.create("PROD-001", "Product 1", new BigDecimal("10.50"), 2)), "CORR-001")
+                .withStatus(OrderStatus.AVAILABLE_FOR_B);
+        when(orderRepository.claimAvailable(anyString(), eq("worker-1"), eq(10), any(), any())).thenReturn(List.of(order));
+
+        // When
+        var claim = claimOrdersService.claimOrders("worker-1", 10, Duration.ofSeconds(30));
+
+        // Then
+        var now = ArgumentCaptor.forClass(LocalDateTime.class);
+        var until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(orderRepository).claimAvailable(eq(claim.claimToken()), eq("worker-1"), eq(10), now.capture(), until.capture());
+        assertThat(Duration.between(now.getValue(), until.getValue())).isEqualTo(Duration.ofSeconds(30));
+        assertThat(claim.claimedUntil()).isEqualTo(until.getValue());
+        assertThat(claim.orders()).containsExactly(order);
+        assertThat(claim.claimToken()).isNotBlank();
+    }
+
+    @Test
+    void shouldRejectLimitsAndLeasesOutsideTheConfiguredBounds() {
+        // When & Then
+        assertThatThrownBy(() -> claimOrdersService.claimOrders("worker-1", 0, Duration.ofSeconds(30)))
+                .isInstanceOf(ClaimOrdersService.InvalidClaimException.class);
+        assertThatThrownBy(() -> claimOrdersService.claimOrders("worker-1", 101, Duration.ofSeconds(30)))
+                .isInstanceOf(ClaimOrdersService.InvalidClaimException.class);
+        assertThatThrownBy(() -> claimOrdersService.claimOrders("worker-1", 10, Duration.ofSeconds(1)))
+                .isInstanceOf(ClaimOrdersService.InvalidClaimException.class);
+        assertThatThrownBy(() -> claimOrdersService.claimOrders("worker-1", 10, Duration.ofHours(1)))
+                .isInstanceOf(ClaimOrdersService.InvalidClaimException.class);
+        assertThatThrownBy(() -> claimOrdersService.claimOrders(" ", 10, Duration.ofSeconds(30)))
+                .isInstanceOf(ClaimOrdersService.InvalidClaimException.class);
+        verify(orderRepository, never()).claimAvailable(anyString(), anyString(), anyInt(), any(), any());
+    }
+}
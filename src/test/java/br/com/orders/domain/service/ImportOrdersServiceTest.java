@@ -0,0 +1,170 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderArchiveRepository;
+import br.com.orders.adapters.out.mongo.OrderBulkWriteRepository.BulkWriteOutcome;
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.ArchivedOrder;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderIdStrategy;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEventType;
+import br.com.orders.domain.service.ImportOrdersService.ImportStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportOrdersServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Mock
+    private OrderItemsService orderItemsService;
+
+    @Mock
+    private CalculateOrderService calculateOrderService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private OrderStatsService orderStatsService;
+
+    @Captor
+    private ArgumentCaptor<List<Order>> insertsCaptor;
+
+    private ImportOrdersService importOrdersService;
+
+    @BeforeEach
+    void setUp() {
+        importOrdersService = new ImportOrdersService(orderRepository, orderArchiveRepository, new MoneyCalculator(),
+                new OrderIdGenerator(OrderIdStrategy.OBJECT_ID), orderItemsService, calculateOrderService,
+                outboxService, orderStatsService);
+    }
+
+    @Test
+    void shouldInsertOnlyNewOrdersAndReportStoredAndArchivedOnes() {
+        // Given
+        var fresh = incoming("EXT-NEW");
+        var known = incoming("EXT-KNOWN");
+        var archived = incoming("EXT-ARCHIVED");
+        var existing = incoming("EXT-KNOWN").withId("ORDER-1").withVersion(3L).withStatus(OrderStatus.ACKNOWLEDGED);
+        when(orderArchiveRepository.findByExternalIdIn(List.of("EXT-NEW", "EXT-KNOWN", "EXT-ARCHIVED")))
+                .thenReturn(List.of(ArchivedOrder.builder().externalId("EXT-ARCHIVED").build()));
+        when(orderRepository.findByExternalIdIn(List.of("EXT-NEW", "EXT-KNOWN", "EXT-ARCHIVED"))).thenReturn(List.of(existing));
+        when(orderRepository.bulkInsert(anyList())).thenAnswer(invocation -> {
+            List<Order> inserts = invocation.getArgument(0);
+            return new BulkWriteOutcome(inserts.stream().map(order -> order.withVersion(0L)).toList(), Set.of(), Map.of());
+        });
+
+        // When
+        var outcomes = importOrdersService.importChunk(List.of(fresh, known, archived));
+
+        // Then
+        verify(orderRepository).bulkInsert(insertsCaptor.capture());
+        assertThat(insertsCaptor.getValue()).hasSize(1);
+        Order inserted = insertsCaptor.getValue().get(0);
+        assertThat(inserted.getExternalId()).isEqualTo("EXT-NEW");
+        assertThat(inserted.getId()).isNotBlank();
+        assertThat(inserted.getTotalAmount()).isEqualByComparingTo("21.00");
+        assertThat(inserted.getStatus()).isEqualTo(OrderStatus.AVAILABLE_FOR_B);
+
+        assertThat(outcomes).extracting(ImportOrdersService.ImportOutcome::status)
+                .containsExactly(ImportStatus.IMPORTED, ImportStatus.EXISTS, ImportStatus.ARCHIVED);
+        assertThat(outcomes.get(1).order()).isEqualTo(existing);
+        verify(outboxService).recordAll(eq(OutboxEventType.ORDER_AVAILABLE), argThat(orders -> orders.size() == 1));
+        var previous = new ArrayList<OrderStatus>();
+        previous.add(null);
+        verify(orderStatsService).recordTransitions(previous, OrderStatus.AVAILABLE_FOR_B);
+        verifyNoInteractions(calculateOrderService);
+    }
+
+    @Test
+    void shouldReportRejectedWritesWithoutRecordingEventsForThem() {
+        // Given: EXT-002 was stored by the listener after the chunk was read
+        var first = incoming("EXT-001");
+        var second = incoming("EXT-002");
+        var third = incoming("EXT-003");
+        when(orderRepository.bulkInsert(anyList())).thenAnswer(invocation -> {
+            List<Order> inserts = invocation.getArgument(0);
+            return new BulkWriteOutcome(List.of(inserts.get(0).withVersion(0L)), Set.of("EXT-002"),
+                    Map.of("EXT-003", "Document too large"));
+        });
+
+        // When
+        var outcomes = importOrdersService.importChunk(List.of(first, second, third));
+
+        // Then
+        assertThat(outcomes).extracting(ImportOrdersService.ImportOutcome::status)
+                .containsExactly(ImportStatus.IMPORTED, ImportStatus.EXISTS, ImportStatus.FAILED);
+        assertThat(outcomes.get(2).error()).contains("too large");
+        verify(outboxService).recordAll(eq(OutboxEventType.ORDER_AVAILABLE), argThat(orders -> orders.size() == 1));
+    }
+
+    @Test
+    void shouldFailStoredOrdersWhoseEventsCouldNotBeRecordedButStillCountThem() {
+        // Given
+        when(orderRepository.bulkInsert(anyList())).thenAnswer(invocation -> {
+            List<Order> inserts = invocation.getArgument(0);
+            return new BulkWriteOutcome(List.of(inserts.get(0).withVersion(0L)), Set.of(), Map.of());
+        });
+        doThrow(new IllegalStateException("outbox unavailable")).when(outboxService).recordAll(any(), anyList());
+
+        // When
+        var outcomes = importOrdersService.importChunk(List.of(incoming("EXT-001")));
+
+        // Then
+        assertThat(outcomes.get(0).status()).isEqualTo(ImportStatus.FAILED);
+        assertThat(outcomes.get(0).error()).contains("event was not recorded");
+        var previous = new ArrayList<OrderStatus>();
+        previous.add(null);
+        verify(orderStatsService).recordTransitions(previous, OrderStatus.AVAILABLE_FOR_B);
+    }
+
+    @Test
+    void shouldSendOrdersAboveTheInlineLimitThroughThePerOrderPath() {
+        // Given
+        var large = incoming("EXT-LARGE");
+        var stored = large.withId("ORDER-9").withVersion(0L);
+        when(orderItemsService.exceedsInline(large.getItems())).thenReturn(true);
+        when(calculateOrderService.processOrder(large)).thenReturn(stored);
+        when(orderRepository.bulkInsert(List.of())).thenReturn(new BulkWriteOutcome(List.of(), Set.of(), Map.of()));
+
+        // When
+        var outcomes = importOrdersService.importChunk(List.of(large));
+
+        // Then
+        assertThat(outcomes.get(0).status()).isEqualTo(ImportStatus.IMPORTED);
+        assertThat(outcomes.get(0).order()).isEqualTo(stored);
+        verifyNoInteractions(outboxService);
+    }
+
+    private static Order incoming(final String externalId) {
+        return Order.builder()
+                .externalId(externalId)
+                .items(List.of(OrderItem.create("PROD-001", "Product 1", new BigDecimal("10.50"), 2)))
+                .correlationId("CORR-" + externalId)
+                .build();
+    }
+}
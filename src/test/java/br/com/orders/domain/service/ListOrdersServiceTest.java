@@ -0,0 +1,129 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.ArchivedOrderCodec;
+import br.com.orders.adapters.out.mongo.OrderArchiveRepository;
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.ArchivedOrder;
+import br.com.orders.domain.model.ChangeWatermark;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListOrdersServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Mock
+    private ArchivedOrderCodec archivedOrderCodec;
+
+    private ListOrdersService listOrdersService;
+
+    @BeforeEach
+    void setUp() {
+        listOrdersService = new ListOrdersService(orderRepository, orderArchiveRepository, archivedOrderCodec, 3, 2, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldLookupWithOneQueryPerKeyTypeAndFallBackToArchiveForMissingKeys() {
+        // Given
+        var live = order("ORDER-001", "EXT-001");
+        var archivedOrder = order("ORDER-OLD", "EXT-OLD");
+        var archived = ArchivedOrder.builder().id("ORDER-OLD").externalId("EXT-OLD").build();
+        when(orderRepository.lookupByIds(Set.of("ORDER-001", "ORDER-OLD"), Set.of("status"))).thenReturn(List.of(live));
+        when(orderArchiveRepository.lookupByIds(List.of("ORDER-OLD"), Set.of("status"))).thenReturn(List.of(archived));
+        when(archivedOrderCodec.toOrder(archived)).thenReturn(archivedOrder);
+        when(orderRepository.lookupByExternalIds(Set.of("EXT-001"), Set.of("status"))).thenReturn(List.of(live));
+
+        // When
+        var lookup = listOrdersService.lookupOrders(
+                List.of("ORDER-001", "ORDER-OLD", "ORDER-001"), List.of("EXT-001"), Set.of("status"));
+
+        // Then
+        assertThat(lookup.byId()).containsOnlyKeys("ORDER-001", "ORDER-OLD");
+        assertThat(lookup.byId().get("ORDER-OLD")).isSameAs(archivedOrder);
+        assertThat(lookup.byExternalId()).containsOnlyKeys("EXT-001");
+        verify(orderArchiveRepository, never()).lookupByExternalIds(any(), any());
+    }
+
+    @Test
+    void shouldRejectLookupOverMaxKeysOrWithUnknownFields() {
+        // When / Then
+        assertThatThrownBy(() -> listOrdersService.lookupOrders(List.of("A", "B"), List.of("C", "D"), null))
+                .isInstanceOf(ListOrdersService.InvalidLookupException.class)
+                .hasMessageContaining("at most 3 keys");
+        assertThatThrownBy(() -> listOrdersService.lookupOrders(Collections.emptyList(), null, null))
+                .isInstanceOf(ListOrdersService.InvalidLookupException.class);
+        assertThatThrownBy(() -> listOrdersService.lookupOrders(List.of("A"), null, Set.of("items.productId")))
+                .isInstanceOf(ListOrdersService.InvalidLookupException.class);
+        verifyNoInteractions(orderRepository, orderArchiveRepository);
+    }
+
+    @Test
+    void shouldReturnOnePageOfChangesWithWatermarkOfLastOrder() {
+        // Given
+        var since = new ChangeWatermark(LocalDateTime.of(2024, 1, 15, 10, 0), "ORDER-000");
+        var first = order("ORDER-001", "EXT-001").withUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 0));
+        var second = order("ORDER-002", "EXT-002").withUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 1));
+        var third = order("ORDER-003", "EXT-003").withUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 2));
+        when(orderRepository.findChangedSince(eq(since), any(), eq(Set.of(OrderStatus.ACKNOWLEDGED)), eq(3)))
+                .thenReturn(List.of(first, second, third));
+
+        // When
+        var changes = listOrdersService.listChangesSince(since.encode(), Set.of(OrderStatus.ACKNOWLEDGED), 50);
+
+        // Then
+        assertThat(changes.orders()).containsExactly(first, second);
+        assertThat(changes.hasMore()).isTrue();
+        assertThat(ChangeWatermark.decode(changes.watermark())).isEqualTo(ChangeWatermark.of(second));
+    }
+
+    @Test
+    void shouldKeepWatermarkWhenNothingChanged() {
+        // Given
+        var since = new ChangeWatermark(LocalDateTime.of(2024, 1, 15, 10, 0), "ORDER|with|separators").encode();
+        when(orderRepository.findChangedSince(any(), any(), any(), eq(2))).thenReturn(List.of());
+
+        // When
+        var changes = listOrdersService.listChangesSince(since, null, 1);
+
+        // Then
+        assertThat(changes.orders()).isEmpty();
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(changes.watermark()).isEqualTo(since);
+        assertThat(ChangeWatermark.decode(since).id()).isEqualTo("ORDER|with|separators");
+    }
+
+    @Test
+    void shouldRejectMalformedWatermark() {
+        // When / Then
+        assertThatThrownBy(() -> listOrdersService.listChangesSince("not-a-watermark", null, 10))
+                .isInstanceOf(ListOrdersService.InvalidWatermarkException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static Order order(final String id, final String externalId) {
+        return Order.create(externalId, List.of(OrderItem.create("PROD-001", "Product 1", new BigDecimal("10.50"), 2)), "CORR")
+                .withId(id);
+    }
+}
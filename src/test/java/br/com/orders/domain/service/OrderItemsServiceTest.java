@@ -0,0 +1,171 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderItemChunkRepository;
+import br.com.orders.domain.model.ItemCursor;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderItemChunk;
+import br.com.orders.domain.model.OrderItemSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderItemsServiceTest {
+
+    @Mock
+    private OrderItemChunkRepository orderItemChunkRepository;
+
+    private OrderItemsService orderItemsService;
+
+    private List<OrderItem> items;
+
+    @BeforeEach
+    void setUp() {
+        // inline-max 3, chunk-size 2, max-limit 10
+        orderItemsService = new OrderItemsService(orderItemChunkRepository, new MoneyCalculator(), 3, 2, 10);
+        items = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            items.add(OrderItem.create("PROD-00" + i, "Product " + i, new BigDecimal("10.00"), i));
+        }
+    }
+
+    @Test
+    void shouldKeepItemsInlineUpToTheThreshold() {
+        // When
+        var stored = orderItemsService.store(OrderItemSource.of(items.subList(0, 3)));
+
+        // Then
+        assertThat(stored.itemSetId()).isNull();
+        assertThat(stored.inlineItems()).containsExactlyElementsOf(items.subList(0, 3));
+        assertThat(stored.itemCount()).isEqualTo(3);
+        assertThat(stored.total()).isEqualByComparingTo("60.00");
+        verifyNoInteractions(orderItemChunkRepository);
+    }
+
+    @Test
+    void shouldWriteChunksOnceTheOrderOutgrowsTheThreshold() {
+        // When
+        var stored = orderItemsService.store(OrderItemSource.of(items));
+
+        // Then
+        var chunks = ArgumentCaptor.forClass(OrderItemChunk.class);
+        verify(orderItemChunkRepository, times(3)).insert(chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(OrderItemChunk::getSeq).containsExactly(0, 1, 2);
+        assertThat(chunks.getAllValues()).extracting(chunk -> chunk.getItems().size()).containsExactly(2, 2, 1);
+        assertThat(chunks.getAllValues()).extracting(OrderItemChunk::getItemSetId).containsOnly(stored.itemSetId());
+        assertThat(chunks.getAllValues().get(2).getSubtotal()).isEqualByComparingTo("50.00");
+
+        assertThat(stored.itemSetId()).isNotBlank();
+        assertThat(stored.inlineItems()).isEmpty();
+        assertThat(stored.itemCount()).isEqualTo(5);
+        assertThat(stored.total()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void shouldDiscardPartialItemSetWhenTheSourceFails() {
+        // Given
+        OrderItemSource failing = consumer -> {
+            items.forEach(consumer);
+            throw new IllegalStateException("truncated body");
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> orderItemsService.store(failing)).isInstanceOf(IllegalStateException.class);
+        var chunk = ArgumentCaptor.forClass(OrderItemChunk.class);
+        verify(orderItemChunkRepository, atLeastOnce()).insert(chunk.capture());
+        verify(orderItemChunkRepository).deleteByItemSetId(chunk.getValue().getItemSetId());
+    }
+
+    @Test
+    void shouldRetotalChunkedItemsAndReportMissingSets() {
+        // Given
+        var chunk0 = OrderItemChunk.of("SET-1", 0, items.subList(0, 2), BigDecimal.ZERO);
+        var chunk1 = OrderItemChunk.of("SET-1", 1, items.subList(2, 5), BigDecimal.ZERO);
+        when(orderItemChunkRepository.findByItemSetIdAndSeqGreaterThanEqualOrderBySeqAsc(eq("SET-1"), eq(0), any()))
+                .thenReturn(List.of(chunk0, chunk1));
+        when(orderItemChunkRepository.findByItemSetIdAndSeqGreaterThanEqualOrderBySeqAsc(eq("GONE"), eq(0), any()))
+                .thenReturn(List.of());
+        
+        // When
+        var totals = orderItemsService.retotal("SET-1");
+        var missing = orderItemsService.retotal("GONE");
+        
+        // Then: totalled from the items, not from the stored subtotals
+        assertThat(totals).get().satisfies(stored -> {
+            assertThat(stored.itemCount()).isEqualTo(5);
+            assertThat(stored.total()).isEqualByComparingTo("150.00");
+        });
+        assertThat(missing).isEmpty();
+    }
+    
+    @Test
+    void shouldPageChunkedItemsAcrossChunkBoundaries() {
+        // Given
+        var order = Order.builder().id("ORDER-001").itemSetId("SET-1").itemCount(5).build();
+        var chunk0 = OrderItemChunk.of("SET-1", 0, items.subList(0, 2), null);
+        var chunk1 = OrderItemChunk.of("SET-1", 1, items.subList(2, 4), null);
+        var chunk2 = OrderItemChunk.of("SET-1", 2, items.subList(4, 5), null);
+        when(orderItemChunkRepository.findByItemSetIdAndSeqGreaterThanEqualOrderBySeqAsc("SET-1", 0, Limit.of(3)))
+                .thenReturn(List.of(chunk0, chunk1, chunk2));
+        when(orderItemChunkRepository.findByItemSetIdAndSeqGreaterThanEqualOrderBySeqAsc("SET-1", 1, Limit.of(3)))
+                .thenReturn(List.of(chunk1, chunk2));
+
+        // When
+        var first = orderItemsService.pageItems(order, null, 3);
+        var second = orderItemsService.pageItems(order, first.cursor(), 3);
+
+        // Then
+        assertThat(first.items()).containsExactlyElementsOf(items.subList(0, 3));
+        assertThat(first.hasMore()).isTrue();
+        assertThat(ItemCursor.decode(first.cursor())).isEqualTo(new ItemCursor(1, 1));
+        assertThat(second.items()).containsExactlyElementsOf(items.subList(3, 5));
+        assertThat(second.hasMore()).isFalse();
+        assertThat(second.cursor()).isNull();
+    }
+
+    @Test
+    void shouldPageInlineItemsAndClampTheLimit() {
+        // Given
+        var order = Order.builder().id("ORDER-001").items(items).build();
+
+        // When
+        var first = orderItemsService.pageItems(order, null, 2);
+        var rest = orderItemsService.pageItems(order, first.cursor(), 500);
+
+        // Then
+        assertThat(first.items()).containsExactlyElementsOf(items.subList(0, 2));
+        assertThat(first.hasMore()).isTrue();
+        assertThat(rest.items()).containsExactlyElementsOf(items.subList(2, 5));
+        assertThat(rest.hasMore()).isFalse();
+        verifyNoInteractions(orderItemChunkRepository);
+    }
+
+    @Test
+    void shouldRejectMalformedCursorAndNonPositiveLimit() {
+        // Given
+        var order = Order.builder().id("ORDER-001").items(items).build();
+
+        // When & Then
+        assertThatThrownBy(() -> orderItemsService.pageItems(order, "not-a-cursor", 10))
+                .isInstanceOf(OrderItemsService.InvalidItemCursorException.class);
+        assertThatThrownBy(() -> orderItemsService.pageItems(order, new ItemCursor(2, 0).encode(), 10))
+                .isInstanceOf(OrderItemsService.InvalidItemCursorException.class);
+        assertThatThrownBy(() -> orderItemsService.pageItems(order, null, 0))
+                .isInstanceOf(OrderItemsService.InvalidItemCursorException.class);
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderStatusCounterRepository;
+import br.com.orders.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatsServiceTest {
+
+    @Mock
+    private OrderStatusCounterRepository counterRepository;
+
+    private OrderStatsService orderStatsService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatsService = new OrderStatsService(counterRepository, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldServeCachedCountsWithinTtl() {
+        // Given
+        when(counterRepository.findCounts()).thenReturn(Optional.of(counts(5L, 2L)));
+
+        // When
+        var first = orderStatsService.getStats();
+        var second = orderStatsService.getStats();
+
+        // Then
+        assertThat(first.counts().get(OrderStatus.AVAILABLE_FOR_B)).isEqualTo(5L);
+        assertThat(first.total()).isEqualTo(7L);
+        assertThat(second).isSameAs(first);
+        verify(counterRepository, times(1)).findCounts();
+    }
+
+    @Test
+    void shouldReconcileWhenCountersDocumentIsMissing() {
+        // Given
+        when(counterRepository.findCounts()).thenReturn(Optional.empty());
+        when(counterRepository.countByStatus()).thenReturn(counts(3L, 1L));
+
+        // When
+        var stats = orderStatsService.getStats();
+
+        // Then
+        assertThat(stats.counts().get(OrderStatus.AVAILABLE_FOR_B)).isEqualTo(3L);
+        verify(counterRepository).applyDrift(Map.of(OrderStatus.AVAILABLE_FOR_B, 3L, OrderStatus.ACKNOWLEDGED, 1L));
+    }
+
+    @Test
+    void shouldCorrectOnlyTheDriftSoConcurrentIncrementsSurvive() {
+        // Given
+        when(counterRepository.findCountsOnPrimary()).thenReturn(Optional.of(counts(5L, 1L)));
+        when(counterRepository.countByStatus()).thenReturn(counts(3L, 1L));
+
+        // When
+        orderStatsService.scheduledReconcile();
+
+        // Then
+        verify(counterRepository).applyDrift(Map.of(OrderStatus.AVAILABLE_FOR_B, -2L));
+    }
+
+    @Test
+    void shouldIgnoreNoOpTransitions() {
+        // When
+        orderStatsService.recordTransition(OrderStatus.AVAILABLE_FOR_B, OrderStatus.AVAILABLE_FOR_B);
+
+        // Then
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    void shouldApplyBatchedTransitionsAsOneIncrementPerStatus() {
+        // Given: two new orders, two previously FAILED and one already AVAILABLE_FOR_B
+        var from = new ArrayList<OrderStatus>();
+        from.add(null);
+        from.add(null);
+        from.add(OrderStatus.FAILED);
+        from.add(OrderStatus.FAILED);
+        from.add(OrderStatus.AVAILABLE_FOR_B);
+
+        // When
+        orderStatsService.recordTransitions(from, OrderStatus.AVAILABLE_FOR_B);
+
+        // Then
+        verify(counterRepository).increment(OrderStatus.FAILED, -2L);
+        verify(counterRepository).increment(OrderStatus.AVAILABLE_FOR_B, 4L);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    void shouldNotPropagateCounterFailures() {
+        // Given
+        doThrow(new RuntimeException("Mongo unavailable"))
+                .when(counterRepository).transition(OrderStatus.AVAILABLE_FOR_B, OrderStatus.ACKNOWLEDGED);
+
+        // When
+        orderStatsService.recordTransition(OrderStatus.AVAILABLE_FOR_B, OrderStatus.ACKNOWLEDGED);
+
+        // Then
+        verify(counterRepository).transition(OrderStatus.AVAILABLE_FOR_B, OrderStatus.ACKNOWLEDGED);
+    }
+
+    private Map<OrderStatus, Long> counts(final long available, final long acknowledged) {
+        var counts = new EnumMap<OrderStatus, Long>(OrderStatus.class);
+        counts.put(OrderStatus.PROCESSING, 0L);
+        counts.put(OrderStatus.AVAILABLE_FOR_B, available);
+        counts.put(OrderStatus.ACKNOWLEDGED, acknowledged);
+        counts.put(OrderStatus.FAILED, 0L);
+        return counts;
+    }
+}
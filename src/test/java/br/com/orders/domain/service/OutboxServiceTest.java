@@ -0,0 +1,100 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.adapters.out.mongo.OutboxEventRepository;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEvent;
+import br.com.orders.domain.model.OutboxEventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Captor
+    private ArgumentCaptor<List<OutboxEvent>> eventsCaptor;
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxEventRepository, orderRepository, 2, 10);
+    }
+
+    @Test
+    void shouldRecordTheOwedEventAtTheMarkedVersionAndClearTheMarker() {
+        // Given - acknowledged at version 4, then saved again before the backfill ran
+        var order = acknowledged("ORDER-001").withPendingEventVersion(4L).withVersion(5L);
+        when(orderRepository.findPendingEvents(2)).thenReturn(List.of(order));
+
+        // When
+        var cleared = outboxService.backfillPendingEvents();
+
+        // Then
+        assertThat(cleared).isEqualTo(1);
+        verify(outboxEventRepository).recordAll(eventsCaptor.capture());
+        assertThat(eventsCaptor.getValue()).singleElement().satisfies(event -> {
+            assertThat(event.getId()).isEqualTo("ORDER-001:ORDER_ACKNOWLEDGED:4");
+            assertThat(event.getType()).isEqualTo(OutboxEventType.ORDER_ACKNOWLEDGED);
+            assertThat(event.getStatus()).isEqualTo(OrderStatus.ACKNOWLEDGED);
+            assertThat(event.getOrderVersion()).isEqualTo(4L);
+        });
+        verify(orderRepository).clearPendingEvents(List.of(order));
+    }
+
+    @Test
+    void shouldKeepBackfillingWhileBatchesComeBackFull() {
+        // Given
+        when(orderRepository.findPendingEvents(2)).thenReturn(
+                List.of(acknowledged("ORDER-001"), acknowledged("ORDER-002")), List.of(acknowledged("ORDER-003")));
+
+        // When
+        var cleared = outboxService.backfillPendingEvents();
+
+        // Then
+        assertThat(cleared).isEqualTo(3);
+        verify(outboxEventRepository, times(2)).recordAll(any());
+        verify(orderRepository, times(2)).clearPendingEvents(any());
+    }
+
+    @Test
+    void shouldDoNothingWhenNoEventIsOwed() {
+        // Given
+        when(orderRepository.findPendingEvents(2)).thenReturn(List.of());
+
+        // When
+        var cleared = outboxService.backfillPendingEvents();
+
+        // Then
+        assertThat(cleared).isZero();
+        verifyNoInteractions(outboxEventRepository);
+        verify(orderRepository, never()).clearPendingEvents(any());
+    }
+
+    private static Order acknowledged(final String id) {
+        return Order.builder()
+                .id(id)
+                .externalId("EXT-" + id)
+                .status(OrderStatus.ACKNOWLEDGED)
+                .version(1L)
+                .build()
+                .owing(OutboxEventType.ORDER_ACKNOWLEDGED);
+    }
+}
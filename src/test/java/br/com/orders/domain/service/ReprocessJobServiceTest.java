@@ -0,0 +1,189 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.adapters.out.mongo.ReprocessJobRepository;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.ReprocessJob;
+import br.com.orders.domain.model.ReprocessJob.Outcome;
+import br.com.orders.domain.model.ReprocessJob.Partition;
+import br.com.orders.domain.model.ReprocessMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReprocessJobServiceTest {
+
+    private static final List<OrderStatus> FAILED = List.of(OrderStatus.FAILED);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Mock
+    private ReprocessJobRepository jobRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ReprocessOrderService reprocessOrderService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReprocessJobService reprocessJobService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 1 worker, 4 ranges per worker, batches of 2, 10000 orders/s
+        reprocessJobService = new ReprocessJobService(jobRepository, orderRepository, reprocessOrderService, meterRegistry,
+                1, 4, 2, 10_000, Duration.ofMinutes(2), Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reprocessJobService.shutdown();
+    }
+
+    @Test
+    void shouldCutTheSampleIntoRangesPerIdTypeCoveringEachFromItsLowestValue() {
+        // Given: 15 ObjectIds and 5 legacy UUID strings
+        var objectIds = IntStream.range(0, 15).mapToObj(i -> new ObjectId().toHexString()).toList();
+        var strings = List.of("0a-uuid", "3b-uuid", "5c-uuid", "8d-uuid", "fe-uuid");
+        var sample = new ArrayList<String>(objectIds);
+        sample.addAll(strings);
+
+        // When
+        var partitions = ReprocessJobService.partition(sample, 4);
+
+        // Then: one string range and three ObjectId ranges, contiguous and open-ended per type
+        assertThat(partitions).extracting(Partition::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(partitions.get(0).getFromId()).isEqualTo(ReprocessJobService.MIN_STRING_ID);
+        assertThat(partitions.get(0).getToId()).isNull();
+        assertThat(partitions.get(1).getFromId()).isEqualTo(ReprocessJobService.MIN_OBJECT_ID);
+        assertThat(partitions.get(1).getToId()).isEqualTo(partitions.get(2).getFromId());
+        assertThat(partitions.get(2).getToId()).isEqualTo(partitions.get(3).getFromId());
+        assertThat(partitions.get(3).getToId()).isNull();
+        assertThat(ReprocessJobService.partition(List.of(), 4))
+                .extracting(Partition::getFromId)
+                .containsExactly(ReprocessJobService.MIN_STRING_ID, ReprocessJobService.MIN_OBJECT_ID);
+    }
+
+    @Test
+    void shouldCheckpointEveryBatchAndCompleteOnceAllRangesAreDone() {
+        // Given: one range left, the other already done before a restart
+        var job = job(List.of(range(0, "a", "lastString", true), range(1, ReprocessJobService.MIN_OBJECT_ID, null, false)));
+        var first = List.of(order("ORDER-1"), order("ORDER-2"));
+        var second = List.of(order("ORDER-3"));
+        when(orderRepository.findReprocessBatch(FAILED, CUTOFF, ReprocessJobService.MIN_OBJECT_ID, null, null, 2)).thenReturn(first);
+        when(orderRepository.findReprocessBatch(FAILED, CUTOFF, ReprocessJobService.MIN_OBJECT_ID, null, "ORDER-2", 2)).thenReturn(second);
+        when(reprocessOrderService.reprocess(any(), eq(ReprocessMode.FAILED)))
+                .thenReturn(Outcome.UPDATED, Outcome.CONFLICT)
+                .thenThrow(new IllegalStateException("boom"));
+        when(jobRepository.checkpoint(eq("JOB-1"), any(), eq(1), any(), any(), anyBoolean(), any())).thenReturn(true);
+
+        // When
+        reprocessJobService.run(new ReprocessJobService.Run(job));
+
+        // Then
+        verify(jobRepository).checkpoint(eq("JOB-1"), any(), eq(1), eq("ORDER-2"),
+                eq(counts(Outcome.UPDATED, 1L, Outcome.CONFLICT, 1L)), eq(false), any());
+        verify(jobRepository).checkpoint(eq("JOB-1"), any(), eq(1), eq("ORDER-3"),
+                eq(counts(Outcome.FAILED, 1L)), eq(true), any());
+        verify(jobRepository).complete(eq("JOB-1"), any(), any());
+        verify(orderRepository, never()).findReprocessBatch(any(), any(), eq("a"), any(), any(), anyInt());
+        assertThat(meterRegistry.get("orders.reprocess.orders").tag("mode", "FAILED").tag("outcome", "FAILED").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldStopWithoutCompletingOnceTheJobIsCancelledElsewhere() {
+        // Given
+        var job = job(List.of(range(0, ReprocessJobService.MIN_OBJECT_ID, null, false)));
+        when(orderRepository.findReprocessBatch(FAILED, CUTOFF, ReprocessJobService.MIN_OBJECT_ID, null, null, 2))
+                .thenReturn(List.of(order("ORDER-1"), order("ORDER-2")));
+        when(reprocessOrderService.reprocess(any(), eq(ReprocessMode.FAILED))).thenReturn(Outcome.UPDATED);
+        when(jobRepository.checkpoint(eq("JOB-1"), any(), eq(0), eq("ORDER-2"), any(), eq(false), any())).thenReturn(false);
+
+        // When
+        reprocessJobService.run(new ReprocessJobService.Run(job));
+
+        // Then
+        verify(orderRepository, times(1)).findReprocessBatch(any(), any(), any(), any(), any(), anyInt());
+        verify(jobRepository, never()).complete(any(), any(), any());
+        verify(jobRepository, never()).release(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectInvalidOrConcurrentJobs() {
+        // Given
+        when(jobRepository.existsRunning(ReprocessMode.FAILED)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> reprocessJobService.start(ReprocessMode.FAILED, List.of(OrderStatus.ACKNOWLEDGED), null))
+                .isInstanceOf(ReprocessJobService.InvalidReprocessJobException.class);
+        assertThatThrownBy(() -> reprocessJobService.start(ReprocessMode.RECALCULATE, null, 0))
+                .isInstanceOf(ReprocessJobService.InvalidReprocessJobException.class);
+        assertThatThrownBy(() -> reprocessJobService.start(ReprocessMode.FAILED, null, null))
+                .isInstanceOf(ReprocessJobService.ReprocessJobConflictException.class);
+        verify(jobRepository, never()).insert(any());
+    }
+
+    @Test
+    void shouldReportAConflictWhenAnotherInstanceStartsTheSameModeFirst() {
+        // Given: the unique RUNNING-per-mode index rejects the insert
+        when(jobRepository.existsRunning(ReprocessMode.FAILED)).thenReturn(false);
+        when(orderRepository.sampleReprocessIds(eq(FAILED), any(), anyInt())).thenReturn(List.of());
+        when(orderRepository.countReprocessTargets(eq(FAILED), any())).thenReturn(0L);
+        when(jobRepository.insert(any())).thenThrow(new DuplicateKeyException("running_mode_uidx"));
+
+        // When & Then
+        assertThatThrownBy(() -> reprocessJobService.start(ReprocessMode.FAILED, null, null))
+                .isInstanceOf(ReprocessJobService.ReprocessJobConflictException.class);
+    }
+
+    private static ReprocessJob job(final List<Partition> partitions) {
+        return ReprocessJob.builder()
+                .id("JOB-1")
+                .mode(ReprocessMode.FAILED)
+                .state(ReprocessJob.State.RUNNING)
+                .statuses(FAILED)
+                .updatedBefore(CUTOFF)
+                .rate(10_000)
+                .partitions(partitions)
+                .build();
+    }
+
+    private static Partition range(final int index, final String fromId, final String lastId, final boolean done) {
+        return Partition.builder().index(index).fromId(fromId).lastId(lastId).done(done).build();
+    }
+
+    private static Order order(final String id) {
+        return Order.builder().id(id).status(OrderStatus.FAILED).version(1L).build();
+    }
+
+    private static Map<Outcome, Long> counts(final Object... outcomeAndCount) {
+        var counts = new EnumMap<Outcome, Long>(Outcome.class);
+        for (int i = 0; i < outcomeAndCount.length; i += 2) {
+            counts.put((Outcome) outcomeAndCount[i], (Long) outcomeAndCount[i + 1]);
+        }
+        return counts;
+    }
+}
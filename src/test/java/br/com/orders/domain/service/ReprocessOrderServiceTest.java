@@ -0,0 +1,120 @@
+package br.com.orders.domain.service;
+
+import br.com.orders.adapters.out.mongo.OrderRepository;
+import br.com.orders.domain.model.Order;
+import br.com.orders.domain.model.OrderItem;
+import br.com.orders.domain.model.OrderStatus;
+import br.com.orders.domain.model.OutboxEventType;
+import br.com.orders.domain.model.ReprocessJob.Outcome;
+import br.com.orders.domain.model.ReprocessMode;
+import br.com.orders.domain.service.OrderItemsService.ItemTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReprocessOrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemsService orderItemsService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private OrderStatsService orderStatsService;
+
+    private ReprocessOrderService reprocessOrderService;
+
+    private Order failedOrder;
+
+    @BeforeEach
+    void setUp() {
+        reprocessOrderService = new ReprocessOrderService(orderRepository, new MoneyCalculator(), orderItemsService,
+                outboxService, orderStatsService);
+        failedOrder = Order.create("EXT-001", List.of(
+                        OrderItem.create("PROD-001", "Product 1", new BigDecimal("10.50"), 2),
+                        OrderItem.create("PROD-002", "Product 2", new BigDecimal("5.00"), 1)), "CORR-001")
+                .withId("ORDER-001")
+                .withStatus(OrderStatus.FAILED)
+                .withVersion(3L);
+    }
+
+    @Test
+    void shouldMakeFailedOrderAvailableAndRecordItsEvent() {
+        // Given
+        var updated = failedOrder.withStatus(OrderStatus.AVAILABLE_FOR_B).withTotalAmount(new BigDecimal("26.00")).withVersion(4L);
+        when(orderRepository.updateIfUnchanged(eq(failedOrder), eq(OrderStatus.AVAILABLE_FOR_B),
+                argThat(total -> total.compareTo(new BigDecimal("26.00")) == 0), eq(2), any()))
+                .thenReturn(Optional.of(updated));
+
+        // When
+        var outcome = reprocessOrderService.reprocess(failedOrder, ReprocessMode.FAILED);
+
+        // Then
+        assertThat(outcome).isEqualTo(Outcome.UPDATED);
+        verify(outboxService).record(OutboxEventType.ORDER_AVAILABLE, updated);
+        verify(orderStatsService).recordTransition(OrderStatus.FAILED, OrderStatus.AVAILABLE_FOR_B);
+    }
+
+    @Test
+    void shouldLeaveOrderToTheConcurrentWriteThatChangedIt() {
+        // Given
+        when(orderRepository.updateIfUnchanged(eq(failedOrder), eq(OrderStatus.AVAILABLE_FOR_B), any(), eq(2), any()))
+                .thenReturn(Optional.empty());
+
+        // When
+        var outcome = reprocessOrderService.reprocess(failedOrder, ReprocessMode.FAILED);
+
+        // Then
+        assertThat(outcome).isEqualTo(Outcome.CONFLICT);
+        verifyNoInteractions(outboxService, orderStatsService);
+    }
+
+    @Test
+    void shouldOnlyWriteRecalculatedTotalsThatChanged() {
+        // Given: the same total stored, and a chunked order whose chunks now add up differently
+        var current = failedOrder.withStatus(OrderStatus.ACKNOWLEDGED).withTotalAmount(new BigDecimal("26.00"));
+        var chunked = current.withId("ORDER-002").withItems(List.of()).withItemSetId("SET-1");
+        when(orderItemsService.retotal("SET-1")).thenReturn(Optional.of(new ItemTotals(1500, new BigDecimal("30.00"))));
+        when(orderRepository.updateIfUnchanged(eq(chunked), eq(OrderStatus.ACKNOWLEDGED), any(), eq(1500), any()))
+                .thenReturn(Optional.of(chunked.withTotalAmount(new BigDecimal("30.00"))));
+
+        // When
+        var unchanged = reprocessOrderService.reprocess(current, ReprocessMode.RECALCULATE);
+        var recalculated = reprocessOrderService.reprocess(chunked, ReprocessMode.RECALCULATE);
+
+        // Then
+        assertThat(unchanged).isEqualTo(Outcome.UNCHANGED);
+        assertThat(recalculated).isEqualTo(Outcome.UPDATED);
+        verify(orderRepository, never()).updateIfUnchanged(eq(current), any(), any(), anyInt(), any());
+        verifyNoInteractions(outboxService, orderStatsService);
+    }
+
+    @Test
+    void shouldSkipOrdersWithoutItemsToTotal() {
+        // Given: a large order that failed after its chunks were dropped
+        var withoutItems = failedOrder.withItems(null);
+
+        // When
+        var outcome = reprocessOrderService.reprocess(withoutItems, ReprocessMode.FAILED);
+
+        // Then
+        assertThat(outcome).isEqualTo(Outcome.SKIPPED);
+        verifyNoInteractions(orderRepository, outboxService, orderStatsService);
+    }
+}